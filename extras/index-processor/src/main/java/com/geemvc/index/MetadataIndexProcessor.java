@@ -0,0 +1,231 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes the types and methods that carry geeMVC or JAX-RS annotations to META-INF/geemvc/index, which geeMVC reads at startup instead
+ * of scanning the classes of this module. Types are recorded with all their annotations, including inherited ones, and methods with their
+ * direct annotations. Further annotation packages can be indexed with the option "geemvc.index.packages" (comma separated).
+ * <p>
+ * An incremental build only compiles some of the classes, so the entries of the previous index are kept for the types that have not been
+ * compiled again and still exist.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(MetadataIndexProcessor.PACKAGES_OPTION)
+public class MetadataIndexProcessor extends AbstractProcessor {
+    public static final String INDEX_LOCATION = "META-INF/geemvc/index";
+
+    public static final String PACKAGES_OPTION = "geemvc.index.packages";
+
+    protected static final List<String> DEFAULT_PACKAGES = Arrays.asList("com.geemvc.", "javax.ws.rs.");
+
+    protected final Set<String> entries = new TreeSet<>();
+
+    // Binary names of the types compiled in this run, their previous index entries are replaced.
+    protected final Set<String> indexedTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            for (Element rootElement : roundEnv.getRootElements()) {
+                if (rootElement instanceof TypeElement)
+                    indexType((TypeElement) rootElement);
+            }
+        }
+
+        // Other processors may process the same annotations.
+        return false;
+    }
+
+    protected void indexType(TypeElement type) {
+        String typeName = processingEnv.getElementUtils().getBinaryName(type).toString();
+
+        indexedTypes.add(typeName);
+
+        for (AnnotationMirror annotation : processingEnv.getElementUtils().getAllAnnotationMirrors(type)) {
+            String annotationName = annotationName(annotation);
+
+            if (isIndexed(annotationName))
+                entries.add("T " + annotationName + " " + typeName);
+        }
+
+        for (Element enclosedElement : type.getEnclosedElements()) {
+            if (enclosedElement.getKind() == ElementKind.METHOD) {
+                indexMethod(typeName, (ExecutableElement) enclosedElement);
+            } else if (enclosedElement instanceof TypeElement) {
+                indexType((TypeElement) enclosedElement);
+            }
+        }
+    }
+
+    protected void indexMethod(String typeName, ExecutableElement method) {
+        List<String> parameterTypes = new ArrayList<>();
+
+        for (VariableElement parameter : method.getParameters()) {
+            parameterTypes.add(typeName(processingEnv.getTypeUtils().erasure(parameter.asType())));
+        }
+
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            String annotationName = annotationName(annotation);
+
+            if (isIndexed(annotationName))
+                entries.add("M " + annotationName + " " + typeName + " " + method.getSimpleName() + " " + String.join(",", parameterTypes));
+        }
+    }
+
+    protected String typeName(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY)
+            return typeName(((ArrayType) type).getComponentType()) + "[]";
+
+        if (type.getKind() == TypeKind.DECLARED)
+            return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+
+        // Primitive types.
+        return type.toString();
+    }
+
+    protected String annotationName(AnnotationMirror annotation) {
+        return processingEnv.getElementUtils().getBinaryName((TypeElement) annotation.getAnnotationType().asElement()).toString();
+    }
+
+    protected boolean isIndexed(String annotationName) {
+        for (String indexedPackage : indexedPackages()) {
+            if (annotationName.startsWith(indexedPackage))
+                return true;
+        }
+
+        return false;
+    }
+
+    protected List<String> indexedPackages() {
+        String configuredPackages = processingEnv.getOptions().get(PACKAGES_OPTION);
+
+        if (configuredPackages == null || configuredPackages.trim().isEmpty())
+            return DEFAULT_PACKAGES;
+
+        List<String> packages = new ArrayList<>(DEFAULT_PACKAGES);
+
+        for (String configuredPackage : configuredPackages.split(",")) {
+            if (!configuredPackage.trim().isEmpty())
+                packages.add(configuredPackage.trim().endsWith(".") ? configuredPackage.trim() : configuredPackage.trim() + ".");
+        }
+
+        return packages;
+    }
+
+    /**
+     * Returns the entries of the index written by the previous compilation, or null if there is none.
+     */
+    protected List<String> readPreviousIndex() {
+        try {
+            FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            List<String> previousEntries = new ArrayList<>();
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty() && !line.startsWith("#"))
+                        previousEntries.add(line);
+                }
+            }
+
+            return previousEntries;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Keeps the previous entries of types that have not been compiled again and that still exist.
+     */
+    protected void mergePreviousIndex(List<String> previousEntries) {
+        for (String previousEntry : previousEntries) {
+            String[] entry = previousEntry.split(" ", 4);
+
+            if (entry.length < 3 || indexedTypes.contains(entry[2]))
+                continue;
+
+            if (processingEnv.getElementUtils().getTypeElement(entry[2].replace('$', '.')) != null)
+                entries.add(previousEntry);
+        }
+    }
+
+    protected void writeIndex() {
+        List<String> previousEntries = readPreviousIndex();
+
+        if (previousEntries != null)
+            mergePreviousIndex(previousEntries);
+
+        // An index that no longer has any entries is still rewritten, so that it does not list removed types.
+        if (entries.isEmpty() && previousEntries == null)
+            return;
+
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+
+            try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# geeMVC metadata index. Generated by " + MetadataIndexProcessor.class.getName() + ", do not edit.\n");
+
+                for (String entry : entries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write the geeMVC metadata index: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MetadataIndexProcessorTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    protected File sourceDir;
+    protected File classesDir;
+
+    @Before
+    public void setUp() throws IOException {
+        sourceDir = tempFolder.newFolder("src");
+        classesDir = tempFolder.newFolder("classes");
+
+        source("com.example.Indexed", "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface Indexed {}");
+        source("com.example.First", "@Indexed public class First { @Indexed public void show(long id, String[] tags) {} public void hidden() {} }");
+        source("com.example.Second", "@Indexed public class Second { public static class Nested { @Indexed public void list() {} } }");
+        source("com.example.Plain", "public class Plain {}");
+    }
+
+    @Test
+    public void testCompile() throws Exception {
+        compile("com.example.Indexed", "com.example.First", "com.example.Second", "com.example.Plain");
+
+        assertEquals(Arrays.asList( //
+                "M com.example.Indexed com.example.First show long,java.lang.String[]", //
+                "M com.example.Indexed com.example.Second$Nested list ", //
+                "T com.example.Indexed com.example.First", //
+                "T com.example.Indexed com.example.Second"), index());
+    }
+
+    @Test
+    public void testIncrementalCompile() throws Exception {
+        compile("com.example.Indexed", "com.example.First", "com.example.Second", "com.example.Plain");
+
+        // Only the changed class is compiled again, the index keeps the entries of the other classes.
+        source("com.example.First", "@Indexed public class First { public void show(long id, String[] tags) {} }");
+        compile("com.example.First");
+
+        assertEquals(Arrays.asList( //
+                "M com.example.Indexed com.example.Second$Nested list ", //
+                "T com.example.Indexed com.example.First", //
+                "T com.example.Indexed com.example.Second"), index());
+
+        // Entries of removed classes are dropped.
+        new File(sourceDir, "com/example/Second.java").delete();
+        new File(classesDir, "com/example/Second.class").delete();
+        new File(classesDir, "com/example/Second$Nested.class").delete();
+
+        compile("com.example.First");
+
+        assertEquals(Collections.singletonList("T com.example.Indexed com.example.First"), index());
+    }
+
+    protected void source(String className, String body) throws IOException {
+        int dotPos = className.lastIndexOf('.');
+        File sourceFile = new File(sourceDir, className.replace('.', '/') + ".java");
+        sourceFile.getParentFile().mkdirs();
+
+        Files.write(sourceFile.toPath(), Collections.singletonList("package " + className.substring(0, dotPos) + "; " + body), StandardCharsets.UTF_8);
+    }
+
+    protected void compile(String... classNames) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        List<File> sourceFiles = new ArrayList<>();
+
+        for (String className : classNames) {
+            sourceFiles.add(new File(sourceDir, className.replace('.', '/') + ".java"));
+        }
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(sourceFiles);
+            List<String> options = Arrays.asList("-d", classesDir.getPath(), "-classpath", classesDir.getPath(), "-A" + MetadataIndexProcessor.PACKAGES_OPTION + "=com.example");
+
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, compilationUnits);
+            task.setProcessors(Collections.singletonList(new MetadataIndexProcessor()));
+
+            assertTrue(task.call());
+        }
+    }
+
+    protected List<String> index() throws IOException {
+        List<String> entries = new ArrayList<>();
+
+        for (String line : Files.readAllLines(new File(classesDir, MetadataIndexProcessor.INDEX_LOCATION).toPath(), StandardCharsets.UTF_8)) {
+            if (!line.startsWith("#"))
+                entries.add(line);
+        }
+
+        return entries;
+    }
+}
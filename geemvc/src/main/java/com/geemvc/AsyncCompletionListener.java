@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+
+/**
+ * Runs a task exactly once when an asynchronous request has completed, failed or timed out. The task receives true if the request did
+ * not complete normally.
+ */
+public class AsyncCompletionListener implements AsyncListener {
+    protected final Consumer<Boolean> task;
+    protected final AtomicBoolean isDone = new AtomicBoolean(false);
+
+    public AsyncCompletionListener(Consumer<Boolean> task) {
+        this.task = task;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) throws IOException {
+        run(false);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) throws IOException {
+        run(true);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) throws IOException {
+        run(true);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) throws IOException {
+        // Listeners are removed when the request is put into async mode again.
+        event.getAsyncContext().addListener(this);
+    }
+
+    protected void run(boolean failed) {
+        if (isDone.compareAndSet(false, true))
+            task.accept(failed);
+    }
+}
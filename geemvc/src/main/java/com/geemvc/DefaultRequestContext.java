@@ -35,9 +35,13 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
+import com.geemvc.bind.param.ParamIndex;
 import com.geemvc.handler.HandlerResolutionPlan;
 import com.geemvc.handler.RequestHandler;
+import com.geemvc.multipart.Multipart;
 import com.geemvc.view.GeemvcKey;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
 
 public class DefaultRequestContext implements RequestContext {
     protected HttpServletRequest request;
@@ -58,6 +62,13 @@ public class DefaultRequestContext implements RequestContext {
 
     protected boolean isInitialized = false;
 
+    protected ParamIndex paramIndex = null;
+
+    protected Map<String, String[]> parameterMap = null;
+
+    @Inject
+    protected Injector injector;
+
     @Override
     public RequestContext build(ServletRequest request, ServletResponse response, ServletContext servletContext) {
         if (isInitialized)
@@ -140,7 +151,27 @@ public class DefaultRequestContext implements RequestContext {
 
     @Override
     public Map<String, String[]> getParameterMap() {
-        return request.getParameterMap();
+        if (parameterMap == null) {
+            // The body must be parsed before the container gets a chance to consume it.
+            Multipart multipart = multipart();
+
+            if (multipart == null) {
+                parameterMap = request.getParameterMap();
+            } else {
+                parameterMap = new LinkedHashMap<>(request.getParameterMap());
+                parameterMap.putAll(multipart.fields());
+            }
+        }
+
+        return parameterMap;
+    }
+
+    @Override
+    public ParamIndex paramIndex() {
+        if (paramIndex == null)
+            paramIndex = injector.getInstance(ParamIndex.class).build(getParameterMap());
+
+        return paramIndex;
     }
 
     @Override
@@ -335,6 +366,12 @@ public class DefaultRequestContext implements RequestContext {
         return response;
     }
 
+    @Override
+    public RequestContext response(ServletResponse response) {
+        this.response = (HttpServletResponse) response;
+        return this;
+    }
+
     @Override
     public ServletContext getServletContext() {
         return servletContext;
@@ -22,15 +22,30 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
+import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.ext.RuntimeDelegate;
 
+import com.geemvc.admission.AdmissionController;
 import com.geemvc.annotation.Request;
-import com.geemvc.bind.MethodParam;
+import com.geemvc.bind.ArgumentResolver;
 import com.geemvc.bind.MethodParams;
+import com.geemvc.coalesce.CapturingResponse;
+import com.geemvc.coalesce.Coalescer;
+import com.geemvc.coalesce.Flight;
+import com.geemvc.concurrency.Bulkhead;
+import com.geemvc.concurrency.Bulkheads;
 import com.geemvc.config.Configuration;
 import com.geemvc.config.Configurations;
 import com.geemvc.handler.CompositeControllerResolver;
@@ -41,6 +56,9 @@ import com.geemvc.handler.RequestHandlerInfo;
 import com.geemvc.handler.RequestHandlers;
 import com.geemvc.i18n.locale.LocaleResolver;
 import com.geemvc.i18n.notice.Notices;
+import com.geemvc.inject.InjectorProvider;
+import com.geemvc.inject.Injectors;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.intercept.Interceptors;
 import com.geemvc.intercept.LifecycleContext;
 import com.geemvc.intercept.annotation.PostBinding;
@@ -53,6 +71,10 @@ import com.geemvc.logging.Log;
 import com.geemvc.logging.annotation.Logger;
 import com.geemvc.matcher.PathMatcher;
 import com.geemvc.matcher.PathMatcherKey;
+import com.geemvc.metrics.RequestMetrics;
+import com.geemvc.metrics.Stage;
+import com.geemvc.multipart.MultipartException;
+import com.geemvc.multipart.MultipartSizeException;
 import com.geemvc.validation.Errors;
 import com.geemvc.validation.ResultOnlyRequestHandler;
 import com.geemvc.validation.ValidationContext;
@@ -62,9 +84,10 @@ import com.geemvc.view.ViewHandler;
 import com.geemvc.view.bean.Result;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Singleton;
 
+@Singleton
 public class DefaultRequestRunner implements RequestRunner {
-    protected final Configuration configuration = Configurations.get();
     protected final CompositeControllerResolver controllerResolver;
     protected final CompositeHandlerResolver handlerResolver;
     protected final RequestHandlers requestHandlers;
@@ -77,6 +100,21 @@ public class DefaultRequestRunner implements RequestRunner {
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected InstanceFactory instanceFactory;
+
+    @Inject
+    protected RequestMetrics requestMetrics;
+
+    @Inject
+    protected Bulkheads bulkheads;
+
+    @Inject
+    protected Coalescer coalescer;
+
+    @Inject
+    protected AdmissionController admissionController;
+
     @Logger
     protected Log log;
 
@@ -101,22 +139,82 @@ public class DefaultRequestRunner implements RequestRunner {
         initJaxRsRuntime();
 
         // Create a new Error instance for collecting errors.
-        Errors errors = injector.getInstance(Errors.class);
+        Errors errors = instanceFactory.create(Errors.class);
         // Create a new Notices instance for collecting notice information.
-        Notices notices = injector.getInstance(Notices.class);
+        Notices notices = instanceFactory.create(Notices.class);
 
         // Add errors and notices to thread local stash so that they can be retrieved in taglibs etc.
         ThreadStash.put(Errors.class, errors);
         ThreadStash.put(Notices.class, notices);
 
         RequestHandler requestHandler = null;
+        boolean isAdmitted = false;
+        long admittedNanos = 0;
+        Bulkhead acquiredBulkhead = null;
+        long acquiredNanos = 0;
+        Flight flight = null;
+        CapturingResponse capturingResponse = null;
+        boolean isCompleted = false;
 
         try {
             // Find the request handler for the current request.
+            long startNanos = requestMetrics.start();
             requestHandler = resolveHandler(requestCtx);
+            requestMetrics.stop(Stage.RESOLVE, requestHandler, startNanos);
+
+            // Shed requests early when the application is overloaded, starting with the routes of lowest criticality.
+            if (admissionController.isEnabled()) {
+                if (!admissionController.admit(requestHandler)) {
+                    handleShed(requestCtx);
+                    return;
+                }
+
+                isAdmitted = true;
+                admittedNanos = System.nanoTime();
+            }
 
             // Process the locale for this request and set the character encoding.
+            startNanos = requestMetrics.start();
             processLocale(requestCtx);
+            requestMetrics.stop(Stage.LOCALE, requestHandler, startNanos);
+
+            // Let identical concurrent GET requests share a single execution if the request-handler has been annotated with @Coalesce.
+            flight = coalescer.join(requestHandler, requestCtx);
+
+            if (flight != null && !flight.isLeader()) {
+                if (flight.replay((HttpServletResponse) requestCtx.getResponse()))
+                    return;
+
+                // The response of the other request is not available, so we execute the request-handler ourselves.
+                flight = null;
+            }
+
+            if (flight != null) {
+                capturingResponse = new CapturingResponse((HttpServletResponse) requestCtx.getResponse(), flight.maxBytes());
+                requestCtx.response(capturingResponse);
+
+                if (requestCtx.getResponse() == capturingResponse) {
+                    ThreadStash.put(ServletResponse.class, capturingResponse);
+                } else {
+                    // The request context cannot replace its response, so there is nothing to share with the waiting requests.
+                    flight.complete(null);
+                    flight = null;
+                    capturingResponse = null;
+                }
+            }
+
+            // Enforce the concurrency limit of the request-handler, if one has been set with @Concurrency.
+            Bulkhead bulkhead = bulkheads.get(requestHandler);
+
+            if (bulkhead != null) {
+                if (!bulkhead.acquire()) {
+                    handleRejected(requestCtx, bulkhead);
+                    return;
+                }
+
+                acquiredBulkhead = bulkhead;
+                acquiredNanos = System.nanoTime();
+            }
 
             // Add context attributes to request for later use in taglibs etc.
             setContextAttributes(requestCtx, errors, notices);
@@ -124,26 +222,237 @@ public class DefaultRequestRunner implements RequestRunner {
             // Process the resolved request-handler.
             Result result = processRequestHandler(requestHandler, requestCtx, errors, notices);
 
-            // Adds the content type to the response.
-            setContentType(result, requestHandler, requestCtx);
+            LifecycleContext lifecycleCtx = ThreadStash.lifecycleContext();
 
-            // Adds cache headers to the current response.
-            setCacheHeaders(result, requestCtx);
+            // The request-handler returned a CompletionStage, so we continue processing once it has completed.
+            if (lifecycleCtx != null && lifecycleCtx.deferred() != null) {
+                CompletionStage<?> deferred = lifecycleCtx.deferred();
 
-            if (result != null) {
-                // Process the view that resulted from invoking the request-handler method.
-                processView(result, requestCtx);
-            } else {
-                processEmptyView(requestCtx);
+                processDeferred(requestHandler, requestCtx, errors, notices, lifecycleCtx);
+
+                // Keep the permit until the deferred result has completed.
+                if (acquiredBulkhead != null) {
+                    Bulkhead deferredBulkhead = acquiredBulkhead;
+                    long deferredAcquiredNanos = acquiredNanos;
+
+                    acquiredBulkhead = null;
+                    deferred.whenComplete((value, t) -> deferredBulkhead.release(System.nanoTime() - deferredAcquiredNanos));
+                }
+
+                // The request is still in-flight until the deferred result has completed.
+                if (isAdmitted) {
+                    long deferredAdmittedNanos = admittedNanos;
+
+                    isAdmitted = false;
+                    deferred.whenComplete((value, t) -> admissionController.release(System.nanoTime() - deferredAdmittedNanos));
+                }
+
+                return;
             }
+
+            processResult(result, requestHandler, requestCtx);
+            isCompleted = true;
         } catch (HandlerNotFoundException e) {
             handle404(requestCtx);
             return;
+        } catch (MultipartException e) {
+            handleMultipartError(e, requestCtx);
+            return;
+        } finally {
+            if (acquiredBulkhead != null)
+                acquiredBulkhead.release(System.nanoTime() - acquiredNanos);
+
+            if (isAdmitted)
+                admissionController.release(System.nanoTime() - admittedNanos);
+
+            // Deferred, asynchronously streamed and failed responses are not shared, the waiting requests execute the request-handler
+            // themselves. An asynchronous stream has not written its body yet at this point.
+            if (flight != null)
+                flight.complete(isCompleted && !isAsync(requestCtx) ? capturingResponse.capture() : null);
+        }
+    }
+
+    protected boolean isAsync(RequestContext requestCtx) {
+        return requestCtx.getRequest().isAsyncStarted() || requestCtx.getAttribute(GeemvcKey.ASYNC_STREAM) != null;
+    }
+
+    protected void processResult(Result result, RequestHandler requestHandler, RequestContext requestCtx) throws ServletException, IOException {
+        // Adds the content type to the response.
+        setContentType(result, requestHandler, requestCtx);
+
+        // Adds cache headers to the current response.
+        setCacheHeaders(result, requestCtx);
+
+        if (result != null) {
+            // Process the view that resulted from invoking the request-handler method.
+            processView(result, requestCtx);
+        } else {
+            processEmptyView(requestCtx);
+        }
+    }
+
+    protected void processDeferred(RequestHandler requestHandler, RequestContext requestCtx, Errors errors, Notices notices, LifecycleContext lifecycleCtx) throws ServletException, IOException, HandlerNotFoundException {
+        processDeferred(requestHandler, requestCtx, errors, notices, lifecycleCtx, null);
+    }
+
+    protected void processDeferred(RequestHandler requestHandler, RequestContext requestCtx, Errors errors, Notices notices, LifecycleContext lifecycleCtx, DeferredListener deferredListener) throws ServletException, IOException, HandlerNotFoundException {
+        CompletionStage<?> deferred = lifecycleCtx.deferred();
+        HttpServletRequest request = (HttpServletRequest) requestCtx.getRequest();
+        long timeout = deferredTimeout();
+
+        // Without async support we have no choice but to wait for the result on the current thread.
+        if (!request.isAsyncStarted() && !request.isAsyncSupported()) {
+            log.debug("Async processing is not supported for path '{}'. Waiting for deferred result of request handler '{}'.", () -> requestCtx.getPath(), () -> requestHandler);
+
+            Object value = null;
+
+            try {
+                value = timeout > 0 ? deferred.toCompletableFuture().get(timeout, TimeUnit.MILLISECONDS) : deferred.toCompletableFuture().get();
+            } catch (TimeoutException e) {
+                handleDeferredTimeout(requestHandler, requestCtx);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+
+            Result result = completeDeferred(value, requestHandler, requestCtx, errors, notices, lifecycleCtx);
+
+            if (lifecycleCtx.deferred() != null) {
+                processDeferred(requestHandler, requestCtx, errors, notices, lifecycleCtx);
+            } else {
+                processResult(result, requestHandler, requestCtx);
+            }
+
+            return;
+        }
+
+        AsyncContext asyncCtx = request.isAsyncStarted() ? request.getAsyncContext() : request.startAsync(request, requestCtx.getResponse());
+
+        // A chained request-handler may have returned another CompletionStage, in which case the listener is already registered.
+        if (deferredListener == null) {
+            deferredListener = new DeferredListener(requestHandler, requestCtx);
+            asyncCtx.addListener(deferredListener);
+
+            if (timeout > 0)
+                asyncCtx.setTimeout(timeout);
+        } else {
+            deferredListener.suspend();
+        }
+
+        DeferredListener listener = deferredListener;
+
+        log.debug("Suspending request for path '{}' until the deferred result of request handler '{}' has completed.", () -> requestCtx.getPath(), () -> requestHandler);
+
+        // Capture the thread local state of the current request so that it can be restored on the completion thread.
+        RequestStash stash = ThreadStash.capture();
+        InjectorProvider injectorProvider = Injectors.get();
+        Configuration configuration = Configurations.get();
+
+        deferred.whenComplete((value, t) -> resumeDeferred(value, t, asyncCtx, listener, stash, injectorProvider, configuration, requestHandler, requestCtx, errors, notices, lifecycleCtx));
+    }
+
+    protected void resumeDeferred(Object value, Throwable t, AsyncContext asyncCtx, DeferredListener deferredListener, RequestStash stash, InjectorProvider injectorProvider, Configuration configuration, RequestHandler requestHandler,
+            RequestContext requestCtx, Errors errors, Notices notices, LifecycleContext lifecycleCtx) {
+
+        // The async context has timed out or failed in the meantime, so the response has already been dealt with.
+        if (!deferredListener.resume()) {
+            log.debug("Discarding the deferred result of request handler '{}' as the request has timed out or failed.", () -> requestHandler);
+            return;
+        }
+
+        InjectorProvider previousInjectorProvider = Injectors.get();
+        Configuration previousConfiguration = Configurations.get();
+
+        ThreadStash.restore(stash);
+        Injectors.set(injectorProvider);
+        Configurations.set(configuration);
+
+        boolean isComplete = true;
+
+        try {
+            if (t != null) {
+                handleDeferredError(t, requestHandler, requestCtx);
+            } else {
+                Result result = completeDeferred(value, requestHandler, requestCtx, errors, notices, lifecycleCtx);
+
+                // A chained request-handler may also have returned a CompletionStage.
+                if (lifecycleCtx.deferred() != null) {
+                    isComplete = false;
+                    processDeferred(requestHandler, requestCtx, errors, notices, lifecycleCtx, deferredListener);
+                } else {
+                    processResult(result, requestHandler, requestCtx);
+                }
+            }
+        } catch (HandlerNotFoundException e) {
+            try {
+                handle404(requestCtx);
+            } catch (ServletException | IOException e2) {
+                log.error("Unable to send 404 for path '" + requestCtx.getPath() + "'.", e2);
+            }
+        } catch (Throwable e) {
+            handleDeferredError(e, requestHandler, requestCtx);
+        } finally {
+            // An asynchronous stream writer completes the request itself once all data has been written.
+            if (isComplete && requestCtx.getAttribute(GeemvcKey.ASYNC_STREAM) == null)
+                asyncCtx.complete();
+
+            ThreadStash.cleanup();
+            Injectors.set(previousInjectorProvider);
+            Configurations.set(previousConfiguration);
+        }
+    }
+
+    protected Result completeDeferred(Object value, RequestHandler requestHandler, RequestContext requestCtx, Errors errors, Notices notices, LifecycleContext lifecycleCtx) throws HandlerNotFoundException {
+        lifecycleCtx.deferred(null);
+
+        Result handlerResult = result(value);
+
+        log.debug("Deferred request handler returned view '{}'.", () -> handlerResult);
+
+        if (handlerResult != null) {
+            lifecycleCtx.result(handlerResult);
+        }
+
+        return postHandle(requestHandler, requestCtx, errors, notices, lifecycleCtx);
+    }
+
+    protected void handleDeferredError(Throwable t, RequestHandler requestHandler, RequestContext requestCtx) {
+        log.error("Deferred result of request handler '" + requestHandler + "' completed with an error.", t);
+
+        HttpServletResponse response = (HttpServletResponse) requestCtx.getResponse();
+
+        try {
+            if (!response.isCommitted())
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        } catch (IOException e) {
+            log.error("Unable to send error for path '" + requestCtx.getPath() + "'.", e);
         }
     }
 
+    protected void handleDeferredTimeout(RequestHandler requestHandler, RequestContext requestCtx) {
+        log.warn("Deferred result of request handler '{}' did not complete within {}ms.", () -> requestHandler, () -> deferredTimeout());
+
+        HttpServletResponse response = (HttpServletResponse) requestCtx.getResponse();
+
+        try {
+            if (!response.isCommitted())
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        } catch (IOException e) {
+            log.error("Unable to send error for path '" + requestCtx.getPath() + "'.", e);
+        }
+    }
+
+    protected long deferredTimeout() {
+        return Configurations.get().deferredTimeout();
+    }
+
     protected void processView(Result result, RequestContext requestCtx) throws ServletException, IOException {
+        long startNanos = requestMetrics.start();
         viewHandler.handle(result, requestCtx);
+        requestMetrics.stop(Stage.VIEW, requestCtx.requestHandler(), startNanos);
     }
 
     protected void processEmptyView(RequestContext requestCtx) throws ServletException, IOException {
@@ -152,7 +461,7 @@ public class DefaultRequestRunner implements RequestRunner {
 
     protected Result processRequestHandler(RequestHandler requestHandler, RequestContext requestCtx, Errors errors, Notices notices) throws HandlerNotFoundException {
 
-        LifecycleContext lifecycleCtx = injector.getInstance(LifecycleContext.class).build(requestHandler, requestCtx, errors, notices);
+        LifecycleContext lifecycleCtx = instanceFactory.create(LifecycleContext.class).build(requestHandler, requestCtx, errors, notices);
         ThreadStash.put(LifecycleContext.class, lifecycleCtx);
 
         // ---------- Intercept lifecycle: PreBinding.
@@ -222,7 +531,18 @@ public class DefaultRequestRunner implements RequestRunner {
         }
 
         if (lifecycleCtx.isInvokeHandler()) {
-            Result handlerResult = result(intercept(requestHandler, typedValues, requestCtx, errors, notices));
+            long startNanos = requestMetrics.start();
+            Object handlerReturnValue = intercept(requestHandler, typedValues, requestCtx, errors, notices);
+            requestMetrics.stop(Stage.HANDLER, requestHandler, startNanos);
+
+            // Post-handle processing continues once the CompletionStage has completed.
+            if (handlerReturnValue instanceof CompletionStage) {
+                log.debug("Request handler '{}' returned a deferred result.", () -> requestHandler);
+                lifecycleCtx.deferred((CompletionStage<?>) handlerReturnValue);
+                return null;
+            }
+
+            Result handlerResult = result(handlerReturnValue);
 
             log.debug("Request handler returned view '{}'.", () -> handlerResult);
 
@@ -231,6 +551,10 @@ public class DefaultRequestRunner implements RequestRunner {
             }
         }
 
+        return postHandle(requestHandler, requestCtx, errors, notices, lifecycleCtx);
+    }
+
+    protected Result postHandle(RequestHandler requestHandler, RequestContext requestCtx, Errors errors, Notices notices, LifecycleContext lifecycleCtx) throws HandlerNotFoundException {
         Result postHandleResult = result(interceptors.interceptLifecycle(PostHandle.class, lifecycleCtx));
 
         if (postHandleResult != null) {
@@ -309,9 +633,13 @@ public class DefaultRequestRunner implements RequestRunner {
     }
 
     protected Result preHandlerValidation(RequestHandler requestHandler, Map<String, Object> typedValues, RequestContext requestCtx, Errors errors, Notices notices) {
-        ValidationContext validationCtx = injector.getInstance(ValidationContext.class).build(requestCtx, typedValues, notices);
+        long startNanos = requestMetrics.start();
+
+        ValidationContext validationCtx = instanceFactory.create(ValidationContext.class).build(requestCtx, typedValues, notices);
         Object result = validator.validate(requestHandler, validationCtx, errors);
 
+        requestMetrics.stop(Stage.VALIDATION, requestHandler, startNanos);
+
         Result errorResult = null;
 
         if (result != null) {
@@ -387,16 +715,22 @@ public class DefaultRequestRunner implements RequestRunner {
     }
 
     protected Bindings bindings(RequestHandler requestHandler, RequestContext requestCtx, Errors errors, Notices notices) {
-        // Get the parameters of the request handler method.
-        List<MethodParam> methodParameters = methodParams.get(requestHandler, requestCtx);
+        long startNanos = requestMetrics.start();
+
+        // Get the argument resolvers of the request handler method, which are compiled once per handler.
+        ArgumentResolver[] argumentResolvers = methodParams.argumentResolvers(requestHandler);
 
-        // Fetch the String request values for the fetched method parameters.
-        Map<String, List<String>> requestValues = methodParams.values(methodParameters, requestCtx, errors, notices);
+        // Fetch the String request values for the handler arguments.
+        Map<String, List<String>> requestValues = methodParams.values(argumentResolvers, requestCtx, errors, notices);
 
         // Now we convert the string parameters to the appropriate types.
-        Map<String, Object> typedValues = methodParams.typedValues(requestValues, methodParameters, requestCtx, errors, notices);
+        Map<String, Object> typedValues = methodParams.typedValues(requestValues, argumentResolvers, requestCtx, errors, notices);
+
+        Bindings bindings = instanceFactory.create(Bindings.class).build(requestValues, typedValues, errors, notices);
+
+        requestMetrics.stop(Stage.BINDING, requestHandler, startNanos);
 
-        return injector.getInstance(Bindings.class).build(requestValues, typedValues, errors, notices);
+        return bindings;
     }
 
     protected void processLocale(RequestContext requestCtx) {
@@ -405,7 +739,7 @@ public class DefaultRequestRunner implements RequestRunner {
 
         Locale locale = localeResolver.resolve(requestCtx);
 
-        String characterEncoding = configuration.characterEncodingFor(locale);
+        String characterEncoding = Configurations.get().characterEncodingFor(locale);
 
         log.debug("Using locale '{}' and character encoding '{}'.", () -> locale, () -> characterEncoding);
 
@@ -434,8 +768,10 @@ public class DefaultRequestRunner implements RequestRunner {
             log.debug("Using contentType '{}' from mapped 'produces'.", () -> produces);
             response.setContentType(produces);
         } else if (result != null) {
-            log.debug("Using contentType '{}' from configuration'.", () -> configuration.defaultContentType());
-            response.setContentType(configuration.defaultContentType());
+            String defaultContentType = Configurations.get().defaultContentType();
+
+            log.debug("Using contentType '{}' from configuration'.", () -> defaultContentType);
+            response.setContentType(defaultContentType);
         }
     }
 
@@ -473,12 +809,40 @@ public class DefaultRequestRunner implements RequestRunner {
         }
     }
 
+    protected void handleRejected(RequestContext requestCtx, Bulkhead bulkhead) throws ServletException, IOException {
+        log.debug("Rejecting request for path '{}' as the concurrency limit of request handler '{}' has been reached ({}).", () -> requestCtx.getPath(), () -> requestCtx.requestHandler(), () -> bulkhead);
+
+        HttpServletResponse response = (HttpServletResponse) requestCtx.getResponse();
+        response.setHeader("Retry-After", String.valueOf(bulkhead.retryAfterSeconds()));
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
+
+    protected void handleShed(RequestContext requestCtx) throws ServletException, IOException {
+        log.debug("Shedding request for path '{}' with criticality {} at a load of {}.", () -> requestCtx.getPath(), () -> admissionController.criticality(requestCtx.requestHandler()), () -> admissionController.load());
+
+        HttpServletResponse response = (HttpServletResponse) requestCtx.getResponse();
+        response.setHeader("Retry-After", String.valueOf(admissionController.retryAfterSeconds()));
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
+
     protected void handle404(RequestContext requestCtx) throws ServletException, IOException {
         ((HttpServletResponse) requestCtx.getResponse()).sendError(HttpServletResponse.SC_NOT_FOUND);
     }
 
+    /**
+     * Rejects multipart requests that exceed a size limit with 413 and malformed ones with 400.
+     */
+    protected void handleMultipartError(MultipartException e, RequestContext requestCtx) throws ServletException, IOException {
+        log.debug("Rejecting multipart request for path '{}': {}", () -> requestCtx.getPath(), () -> e.getMessage());
+
+        HttpServletResponse response = (HttpServletResponse) requestCtx.getResponse();
+
+        if (!response.isCommitted())
+            response.sendError(e instanceof MultipartSizeException ? HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE : HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+    }
+
     protected void initJaxRsRuntime() {
-        if (configuration.isJaxRsEnabled()) {
+        if (Configurations.get().isJaxRsEnabled()) {
             // JAX-RS runtime delegate.
             log.debug("Initializging JAX-RS Runtime.");
             RuntimeDelegate.setInstance(injector.getInstance(RuntimeDelegate.class));
@@ -486,4 +850,63 @@ public class DefaultRequestRunner implements RequestRunner {
             log.debug("JAX-RS Runtime disabled by configuration.");
         }
     }
+
+    /**
+     * Keeps track of whether a suspended request may still be resumed. Once the async context has timed out or failed, the deferred result is
+     * discarded when it completes. The listener is shared by the chained deferred results of a request. If the deferred result is being streamed,
+     * the events are passed on to the stream writer.
+     */
+    protected class DeferredListener implements AsyncListener {
+        protected static final int PENDING = 0;
+        protected static final int RESUMING = 1;
+        protected static final int EXPIRED = 2;
+
+        protected final RequestHandler requestHandler;
+        protected final RequestContext requestCtx;
+        protected final AtomicInteger state = new AtomicInteger(PENDING);
+
+        protected DeferredListener(RequestHandler requestHandler, RequestContext requestCtx) {
+            this.requestHandler = requestHandler;
+            this.requestCtx = requestCtx;
+        }
+
+        protected boolean resume() {
+            return state.compareAndSet(PENDING, RESUMING);
+        }
+
+        protected void suspend() {
+            state.set(PENDING);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            if (state.compareAndSet(PENDING, EXPIRED)) {
+                handleDeferredTimeout(requestHandler, requestCtx);
+                event.getAsyncContext().complete();
+            } else if (streamListener() != null) {
+                streamListener().onTimeout(event);
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) throws IOException {
+            if (state.compareAndSet(PENDING, EXPIRED))
+                log.warn("Async processing of the deferred result of request handler '{}' failed: {}", () -> requestHandler, () -> event.getThrowable());
+            else if (streamListener() != null)
+                streamListener().onError(event);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) throws IOException {
+        }
+
+        protected AsyncListener streamListener() {
+            Object asyncStream = requestCtx.getAttribute(GeemvcKey.ASYNC_STREAM);
+            return asyncStream instanceof AsyncListener ? (AsyncListener) asyncStream : null;
+        }
+    }
 }
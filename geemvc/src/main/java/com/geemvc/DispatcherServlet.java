@@ -17,7 +17,8 @@
 package com.geemvc;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Enumeration;
@@ -33,6 +34,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
+import com.geemvc.bootstrap.Bootstrap;
 import com.geemvc.config.Configuration;
 import com.geemvc.config.Configurations;
 import com.geemvc.converter.adapter.DateConverterAdapter;
@@ -40,8 +42,14 @@ import com.geemvc.inject.DefaultInjectorProvider;
 import com.geemvc.inject.InjectorProvider;
 import com.geemvc.inject.Injectors;
 import com.geemvc.matcher.PathMatcher;
+import com.geemvc.metrics.CountingResponse;
+import com.geemvc.metrics.MetricsEndpoint;
+import com.geemvc.metrics.RequestMetrics;
+import com.geemvc.metrics.SlowRequestLog;
+import com.geemvc.multipart.Multipart;
 import com.geemvc.reflect.ReflectionsStash;
 import com.geemvc.reflect.ReflectionsWrapper;
+import com.geemvc.warmup.WarmUp;
 import com.google.inject.Injector;
 import com.google.inject.Singleton;
 
@@ -51,7 +59,8 @@ import jodd.typeconverter.TypeConverterManager;
 public class DispatcherServlet extends HttpServlet {
     private static final long serialVersionUID = 6824931404770992086L;
 
-    protected SimpleDateFormat dateFormat = new SimpleDateFormat("dd.MM.yyyy HH:mm:ss z");
+    // DateTimeFormatter is immutable, so unlike SimpleDateFormat it can be shared by concurrent requests.
+    protected final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss z");
 
     protected InjectorProvider ínjectorProvider;
 
@@ -64,6 +73,70 @@ public class DispatcherServlet extends HttpServlet {
 
         // Register the Jodd type converter.
         TypeConverterManager.register(Date.class, new DateConverterAdapter());
+
+        // Scan the classpath now instead of on the first request.
+        if (configuration.isBootstrapEager() || configuration.warmUpIterations() > 0)
+            bootstrap(config, configuration);
+    }
+
+    protected void bootstrap(ServletConfig servletConfig, Configuration configuration) {
+        Configurations.set(configuration);
+        ThreadStash.put(ServletConfig.class, servletConfig);
+
+        try {
+            Injector injector = injector(servletConfig.getServletContext());
+
+            if (configuration.isBootstrapEager())
+                injector.getInstance(Bootstrap.class).run(configuration.bootstrapParallelism());
+        } catch (RuntimeException e) {
+            // The metadata is built lazily by the first requests instead.
+            servletConfig.getServletContext().log("Unable to bootstrap geeMVC eagerly, continuing with lazy initialization.", e);
+        } finally {
+            Injectors.clear();
+            ReflectionsStash.clear();
+            ThreadStash.cleanup();
+            Configurations.set(null);
+        }
+
+        // Exercise the request path in the background, so that the readiness path can be served in the meantime.
+        if (configuration.warmUpIterations() > 0) {
+            Thread warmUpThread = new Thread(() -> warmUp(servletConfig, configuration), "geemvc-warm-up");
+            warmUpThread.setDaemon(true);
+            warmUpThread.start();
+        }
+    }
+
+    protected void warmUp(ServletConfig servletConfig, Configuration configuration) {
+        Configurations.set(configuration);
+        ThreadStash.put(ServletConfig.class, servletConfig);
+
+        try {
+            Injector injector = injector(servletConfig.getServletContext());
+            injector.getInstance(WarmUp.class).run(servletConfig.getServletContext(), configuration.warmUpIterations());
+        } catch (RuntimeException e) {
+            servletConfig.getServletContext().log("Unable to warm up geeMVC.", e);
+        } finally {
+            Injectors.clear();
+            ReflectionsStash.clear();
+            ThreadStash.cleanup();
+            Configurations.set(null);
+        }
+    }
+
+    /**
+     * Stops the background threads of geeMVC, so that they do not outlive the application when it is undeployed.
+     */
+    @Override
+    public void destroy() {
+        if (ínjectorProvider != null) {
+            try {
+                ínjectorProvider.provide().getInstance(SlowRequestLog.class).close();
+            } catch (RuntimeException e) {
+                log("Unable to close the slow request log.", e);
+            }
+        }
+
+        super.destroy();
     }
 
     @Override
@@ -98,7 +171,6 @@ public class DispatcherServlet extends HttpServlet {
             // Add request objects to thread local stash for the rare case where these cannot be injected.
             ThreadStash.put(ServletConfig.class, servletConfig);
             ThreadStash.put(ServletRequest.class, request);
-            ThreadStash.put(ServletResponse.class, response);
 
             // AsyncContext asyncContext = request.startAsync(request,
             // response);
@@ -108,21 +180,60 @@ public class DispatcherServlet extends HttpServlet {
             // response.getOutputStream().setWriteListener(dispatcher);
             Injector injector = injector(servletConfig.getServletContext());
 
-            RequestContext requestCtx = injector.getInstance(RequestContext.class).build(request, response, getServletContext());
-
             injector.getInstance(ReflectionsWrapper.class).configure();
 
+            RequestMetrics requestMetrics = injector.getInstance(RequestMetrics.class);
+
+            // Count the bytes written so that the response size can be reported in the slow-request log.
+            if (requestMetrics.isResponseSizeTracked())
+                response = new CountingResponse(response);
+
+            ThreadStash.put(ServletResponse.class, response);
+
+            RequestContext requestCtx = injector.getInstance(RequestContext.class).build(request, response, getServletContext());
+
             // Executor executor = (Executor)
             // request.getServletContext().getAttribute("executor");
             // executor.execute(injector.getInstance(RequestProcessor.class).build(asyncContext,
             // requestCtx));
 
-            Set<String> excudePathMappings = Configurations.get().excludePathMappinig();
+            Configuration configuration = Configurations.get();
+
+            // Serve the built-in metrics endpoint if enabled.
+            if (configuration.isMetricsEnabled() && configuration.metricsPath().equals(requestCtx.getPath())) {
+                injector.getInstance(MetricsEndpoint.class).handle(request, response);
+                return;
+            }
+
+            // Serve the readiness check if enabled.
+            if (configuration.readinessPath() != null && configuration.readinessPath().equals(requestCtx.getPath())) {
+                handleReadiness(injector, configuration, response);
+                return;
+            }
+
+            Set<String> excudePathMappings = configuration.excludePathMappinig();
             if (excudePathMappings != null && !excudePathMappings.isEmpty() && ignore(request.getRequestURI(), excudePathMappings))
                 return;
 
             RequestRunner requestRunner = injector.getInstance(RequestRunner.class);
-            requestRunner.process(requestCtx);
+
+            long startNanos = requestMetrics.begin();
+            boolean failed = true;
+
+            try {
+                requestRunner.process(requestCtx);
+                failed = response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            } finally {
+                if (request.isAsyncStarted()) {
+                    // A deferred result or an asynchronous stream is still being processed, so the request ends when the async context completes.
+                    // Uploaded files must remain readable until then.
+                    RequestStash stash = ThreadStash.capture();
+                    request.getAsyncContext().addListener(new AsyncCompletionListener(asyncFailed -> endAsync(stash, requestCtx, requestMetrics, startNanos, asyncFailed)));
+                } else {
+                    requestMetrics.end(requestCtx.requestHandler(), startNanos, failed);
+                    cleanupMultipart(request);
+                }
+            }
         } catch (IOException | ServletException e) {
             String requestInfo = getRequestInfo(request, response);
             System.out.println(requestInfo);
@@ -140,6 +251,37 @@ public class DispatcherServlet extends HttpServlet {
         }
     }
 
+    protected void endAsync(RequestStash stash, RequestContext requestCtx, RequestMetrics requestMetrics, long startNanos, boolean failed) {
+        ThreadStash.restore(stash);
+
+        try {
+            HttpServletResponse response = (HttpServletResponse) requestCtx.getResponse();
+            requestMetrics.end(requestCtx.requestHandler(), startNanos, failed || response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        } finally {
+            cleanupMultipart(requestCtx.getRequest());
+            ThreadStash.cleanup();
+        }
+    }
+
+    /**
+     * Removes the temporary files of uploads that have not been moved by the handler.
+     */
+    protected void cleanupMultipart(ServletRequest request) {
+        Multipart multipart = (Multipart) request.getAttribute(Multipart.ATTRIBUTE);
+
+        if (multipart != null)
+            multipart.cleanup();
+    }
+
+    protected void handleReadiness(Injector injector, Configuration configuration, HttpServletResponse response) throws IOException {
+        WarmUp warmUp = configuration.warmUpIterations() <= 0 ? null : injector.getInstance(WarmUp.class);
+        boolean ready = warmUp == null || warmUp.isReady();
+
+        response.setStatus(ready ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setContentType("text/plain");
+        response.getWriter().write(ready ? "READY" : warmUp.isFailed() ? "FAILED" : "WARMING_UP");
+    }
+
     protected boolean ignore(String requestURI, Set<String> excudePathMappings) {
         Injector injector = Injectors.provide();
 
@@ -210,7 +352,7 @@ public class DispatcherServlet extends HttpServlet {
 
         StringBuilder info = new StringBuilder();
         info.append(Char.NEWLINE).append("--------------------------------------------------------------------").append(Char.NEWLINE);
-        info.append("Exception in DispatcherServlet on: ").append(dateFormat.format(new Date())).append(Char.NEWLINE);
+        info.append("Exception in DispatcherServlet on: ").append(dateFormat.format(ZonedDateTime.now())).append(Char.NEWLINE);
         info.append("Request URL: ").append(httpRequest.getRequestURL()).append(Char.NEWLINE);
         info.append("Request URI: ").append(httpRequest.getRequestURI()).append(Char.NEWLINE);
         info.append("Request QueryString: ").append(httpRequest.getQueryString()).append(Char.NEWLINE);
@@ -26,8 +26,12 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpSession;
 
+import com.geemvc.bind.param.ParamIndex;
 import com.geemvc.handler.HandlerResolutionPlan;
 import com.geemvc.handler.RequestHandler;
+import com.geemvc.inject.Injectors;
+import com.geemvc.multipart.Multipart;
+import com.geemvc.multipart.MultipartParser;
 
 public interface RequestContext {
     RequestContext build(ServletRequest request, ServletResponse response, ServletContext servletContext);
@@ -48,6 +52,41 @@ public interface RequestContext {
 
     Map<String, String[]> getParameterMap();
 
+    // The methods below have default implementations, so that existing custom request contexts keep compiling.
+
+    /**
+     * Returns the request parameters indexed by their prefixes. The default implementation builds a new index on every call, implementations
+     * should build it once on first use.
+     */
+    default ParamIndex paramIndex() {
+        return Injectors.provide().getInstance(ParamIndex.class).build(getParameterMap());
+    }
+
+    /**
+     * Returns the parsed multipart/form-data request or null if this is not a multipart request. The body is parsed once on first use and kept
+     * as a request attribute.
+     */
+    default Multipart multipart() {
+        ServletRequest request = getRequest();
+
+        if (request == null)
+            return null;
+
+        Multipart multipart = (Multipart) request.getAttribute(Multipart.ATTRIBUTE);
+
+        if (multipart == null) {
+            MultipartParser multipartParser = Injectors.provide().getInstance(MultipartParser.class);
+
+            if (!multipartParser.isMultipart(this))
+                return null;
+
+            multipart = multipartParser.parse(this);
+            request.setAttribute(Multipart.ATTRIBUTE, multipart);
+        }
+
+        return multipart;
+    }
+
     Map<String, String[]> getHeaderMap();
 
     Map<String, String[]> getCookieMap();
@@ -74,6 +113,14 @@ public interface RequestContext {
 
     ServletResponse getResponse();
 
+    /**
+     * Replaces the response, e.g. with a wrapper that captures the output. The default implementation does not support this and leaves the
+     * response unchanged, so callers check {@link #getResponse()} afterwards.
+     */
+    default RequestContext response(ServletResponse response) {
+        return this;
+    }
+
     ServletContext getServletContext();
 
     HttpSession getSession();
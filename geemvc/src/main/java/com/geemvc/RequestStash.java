@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.geemvc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import com.geemvc.i18n.notice.Notices;
+import com.geemvc.intercept.LifecycleContext;
+import com.geemvc.validation.Errors;
+
+/**
+ * Holds the thread local values of a single request. The objects used on every request are kept in typed fields, anything else goes into a small
+ * overflow map. Nested dispatches (forwards, includes) get their own stash which points to the stash of the outer request.
+ */
+public class RequestStash {
+    protected final RequestStash parent;
+
+    protected RequestContext requestContext;
+    protected Errors errors;
+    protected Notices notices;
+    protected LifecycleContext lifecycleContext;
+    protected ServletConfig servletConfig;
+    protected ServletRequest servletRequest;
+    protected ServletResponse servletResponse;
+
+    protected Map<Object, Object> overflow;
+
+    public RequestStash(RequestStash parent) {
+        this.parent = parent;
+    }
+
+    public RequestStash parent() {
+        return parent;
+    }
+
+    /**
+     * Returns a detached copy of this stash that can be handed over to another thread.
+     */
+    public RequestStash copy(RequestStash newParent) {
+        RequestStash copy = new RequestStash(newParent);
+        copy.requestContext = requestContext;
+        copy.errors = errors;
+        copy.notices = notices;
+        copy.lifecycleContext = lifecycleContext;
+        copy.servletConfig = servletConfig;
+        copy.servletRequest = servletRequest;
+        copy.servletResponse = servletResponse;
+
+        if (overflow != null)
+            copy.overflow = new HashMap<>(overflow);
+
+        return copy;
+    }
+
+    public Object get(Object key) {
+        if (key == RequestContext.class)
+            return requestContext;
+        else if (key == Errors.class)
+            return errors;
+        else if (key == Notices.class)
+            return notices;
+        else if (key == LifecycleContext.class)
+            return lifecycleContext;
+        else if (key == ServletConfig.class)
+            return servletConfig;
+        else if (key == ServletRequest.class)
+            return servletRequest;
+        else if (key == ServletResponse.class)
+            return servletResponse;
+
+        return overflow == null ? null : overflow.get(key);
+    }
+
+    public void put(Object key, Object value) {
+        if (key == RequestContext.class)
+            requestContext = (RequestContext) value;
+        else if (key == Errors.class)
+            errors = (Errors) value;
+        else if (key == Notices.class)
+            notices = (Notices) value;
+        else if (key == LifecycleContext.class)
+            lifecycleContext = (LifecycleContext) value;
+        else if (key == ServletConfig.class)
+            servletConfig = (ServletConfig) value;
+        else if (key == ServletRequest.class)
+            servletRequest = (ServletRequest) value;
+        else if (key == ServletResponse.class)
+            servletResponse = (ServletResponse) value;
+        else {
+            if (overflow == null)
+                overflow = new HashMap<>(4);
+
+            overflow.put(key, value);
+        }
+    }
+
+    public RequestContext requestContext() {
+        return requestContext;
+    }
+
+    public Errors errors() {
+        return errors;
+    }
+
+    public Notices notices() {
+        return notices;
+    }
+
+    public LifecycleContext lifecycleContext() {
+        return lifecycleContext;
+    }
+
+    public ServletConfig servletConfig() {
+        return servletConfig;
+    }
+
+    public ServletRequest servletRequest() {
+        return servletRequest;
+    }
+
+    public ServletResponse servletResponse() {
+        return servletResponse;
+    }
+}
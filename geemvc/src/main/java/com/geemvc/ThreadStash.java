@@ -16,142 +16,131 @@
 
 package com.geemvc;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 
-public class ThreadStash {
-    protected static final String REQUEST_STACK_KEY = "REQUEST_STACK";
-    protected static final Integer GLOBAL_MAP_KEY = 0;
+import com.geemvc.i18n.notice.Notices;
+import com.geemvc.intercept.LifecycleContext;
+import com.geemvc.validation.Errors;
 
-    protected static ThreadLocal<Map<Integer, Map<Object, Object>>> STASH = new ThreadLocal<Map<Integer, Map<Object, Object>>>() {
-        protected Map<Integer, Map<Object, Object>> initialValue() {
-            return new HashMap<Integer, Map<Object, Object>>();
-        }
-    };
+public class ThreadStash {
+    protected static final ThreadLocal<RequestStash> STASH = new ThreadLocal<>();
 
     /**
-     * Adds a value for the provided key to the current local map.
+     * Adds a value for the provided key to the stash of the current request.
      */
     public static void put(Object key, Object value) {
-        localMap().put(key, value);
+        current().put(key, value);
     }
 
     /**
-     * Return a value for the provided key using the current local map.
+     * Return a value for the provided key using the stash of the current request.
      */
     public static Object get(Object key) {
-        return localMap().get(key);
+        RequestStash stash = STASH.get();
+        return stash == null ? null : stash.get(key);
     }
 
     /**
-     * Cleans up the current local map.
+     * Removes the stash of the current request, making the stash of the outer request the current one again.
      */
     public static void clear() {
-        clearLocalMap();
+        pop();
     }
 
     /**
-     * Cleans up the current local map. If all local maps have been cleaned up, we remove the complete stash for this thread.
+     * Removes the stash of the current request. If there is no outer request, we remove the complete stash for this thread.
      */
     public static void cleanup() {
-        clearLocalMap();
-
-        if (requestStackIsEmpty())
-            STASH.remove();
+        pop();
     }
 
     /**
-     * Adds a new element to the request stack. As more than 1 request can take place in a single Thread, we give each one its own thread local space.
+     * Adds a new stash for the given request. As more than 1 request can take place in a single Thread (forwards, includes), we give each one its own
+     * stash that points to the one of the outer request.
      */
     public static void prepare(HttpServletRequest request) {
-        String requestURL = new StringBuilder(request.getMethod())
-                .append(Char.SPACE).append(request.getRequestURI())
-                .append(Char.QUESTION_MARK).append(request.getQueryString()).toString();
+        RequestStash stash = new RequestStash(STASH.get());
+        stash.put(ServletRequest.class, request);
 
-        requestStack().add(0, requestURL.hashCode());
+        STASH.set(stash);
     }
 
     /**
-     * Returns the current request stack list, creating a new one if it does not exist yet.
+     * Returns a copy of the current stash so that it can be restored on another thread, for example when a request is being completed asynchronously.
      */
-    protected static List<Integer> requestStack() {
-        return requestStack(true);
+    public static RequestStash capture() {
+        return current().copy(null);
     }
 
     /**
-     * Returns the current request stack list, optionally creating a new one if it does not exist yet.
+     * Makes a previously captured stash the current one on this thread. Call {@link #cleanup()} when done.
      */
-    protected static List<Integer> requestStack(boolean isCreate) {
-        Map<Object, Object> globalMap = globalMap();
-        List<Integer> reqStack = (List<Integer>) globalMap.get(REQUEST_STACK_KEY);
-
-        if (reqStack == null && isCreate) {
-            reqStack = new ArrayList<>();
-            globalMap.put(REQUEST_STACK_KEY, reqStack);
-        }
-
-        return reqStack;
+    public static void restore(RequestStash capturedStash) {
+        STASH.set(capturedStash.copy(STASH.get()));
     }
 
     /**
-     * Returns a global map that is not specific to the current request.
+     * Returns the stash of the current request, creating a new one if it does not exist yet.
      */
-    protected static Map<Object, Object> globalMap() {
-        Map<Integer, Map<Object, Object>> stackMaps = (Map<Integer, Map<Object, Object>>) STASH.get();
-        Map<Object, Object> globalMap = stackMaps.get(GLOBAL_MAP_KEY);
+    public static RequestStash current() {
+        RequestStash stash = STASH.get();
 
-        if (globalMap == null) {
-            globalMap = new HashMap<>();
-            stackMaps.put(GLOBAL_MAP_KEY, globalMap);
+        if (stash == null) {
+            stash = new RequestStash(null);
+            STASH.set(stash);
         }
 
-        return globalMap;
+        return stash;
     }
 
-    /**
-     * Returns a local map specific to the current request.
-     */
-    protected static Map<Object, Object> localMap() {
-        List<Integer> reqStack = requestStack();
-        Integer currentStackKey = reqStack.get(0);
-
-        Map<Integer, Map<Object, Object>> stackMaps = STASH.get();
-        Map<Object, Object> localMap = stackMaps.get(currentStackKey);
+    public static RequestContext requestContext() {
+        RequestStash stash = STASH.get();
+        return stash == null ? null : stash.requestContext();
+    }
 
-        if (localMap == null) {
-            localMap = new HashMap<>();
-            stackMaps.put(currentStackKey, localMap);
-        }
+    public static Errors errors() {
+        RequestStash stash = STASH.get();
+        return stash == null ? null : stash.errors();
+    }
 
-        return localMap;
+    public static Notices notices() {
+        RequestStash stash = STASH.get();
+        return stash == null ? null : stash.notices();
     }
 
-    /**
-     * Clears the local map, specific to the current request.
-     */
-    protected static void clearLocalMap() {
-        List<Integer> reqStack = requestStack();
+    public static LifecycleContext lifecycleContext() {
+        RequestStash stash = STASH.get();
+        return stash == null ? null : stash.lifecycleContext();
+    }
 
-        if (reqStack == null || reqStack.isEmpty())
-            return;
+    public static ServletConfig servletConfig() {
+        RequestStash stash = STASH.get();
+        return stash == null ? null : stash.servletConfig();
+    }
 
-        Integer currentStackKey = reqStack.remove(0);
+    public static ServletRequest servletRequest() {
+        RequestStash stash = STASH.get();
+        return stash == null ? null : stash.servletRequest();
+    }
 
-        if (currentStackKey != null) {
-            Map<Integer, Map<Object, Object>> stackMaps = STASH.get();
-            stackMaps.remove(currentStackKey);
-        }
+    public static ServletResponse servletResponse() {
+        RequestStash stash = STASH.get();
+        return stash == null ? null : stash.servletResponse();
     }
 
-    /**
-     * Checks if the stack is empty or if there are still local maps that exist for other requests.
-     */
-    protected static boolean requestStackIsEmpty() {
-        List<Integer> reqStack = requestStack(false);
-        return reqStack == null || reqStack.isEmpty();
+    protected static void pop() {
+        RequestStash stash = STASH.get();
+
+        if (stash == null)
+            return;
+
+        if (stash.parent() == null) {
+            STASH.remove();
+        } else {
+            STASH.set(stash.parent());
+        }
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.admission;
+
+import com.geemvc.handler.RequestHandler;
+
+public interface AdmissionController {
+    /**
+     * Returns true if "admission-max-in-flight" or "admission-max-latency" has been configured.
+     */
+    boolean isEnabled();
+
+    /**
+     * Decides whether the request should be processed. Admitted requests must be passed to {@link #release(long)} once they have
+     * completed.
+     */
+    boolean admit(RequestHandler requestHandler);
+
+    /**
+     * Marks an admitted request as completed.
+     *
+     * @param latencyNanos
+     *            the processing time of the request, used as the latency signal.
+     */
+    void release(long latencyNanos);
+
+    Criticality criticality(RequestHandler requestHandler);
+
+    /**
+     * The current load, where 1.0 means that one of the configured limits has been reached.
+     */
+    double load();
+
+    int inFlight();
+
+    long shed();
+
+    int retryAfterSeconds();
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.admission;
+
+/**
+ * How important a route is when the application is overloaded. A request is shed once the current load reaches the {@link #maxLoad()}
+ * of its route, so that low criticality routes are rejected first and critical routes are never rejected.
+ */
+public enum Criticality {
+    CRITICAL(Double.POSITIVE_INFINITY),
+    HIGH(1.0),
+    NORMAL(0.8),
+    LOW(0.5),
+
+    /**
+     * Not set, a request-handler takes the criticality of its controller and a controller is {@link #NORMAL}. This is the default of
+     * {@link com.geemvc.annotation.Request#criticality()}, so that an explicit NORMAL on a request-handler can override its controller.
+     */
+    INHERIT(0.8);
+
+    private final double maxLoad;
+
+    private Criticality(double maxLoad) {
+        this.maxLoad = maxLoad;
+    }
+
+    public double maxLoad() {
+        return maxLoad;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.admission;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.geemvc.annotation.Request;
+import com.geemvc.config.Configuration;
+import com.geemvc.config.Configurations;
+import com.geemvc.handler.RequestHandler;
+import com.geemvc.logging.DefaultLog;
+import com.geemvc.logging.Log;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Sheds requests by criticality once the application is overloaded. The load is the higher of the number of in-flight requests relative
+ * to "admission-max-in-flight" and the mean latency of the last one-second window relative to "admission-max-latency". The latency
+ * signal is dropped if no request has completed for a whole window, so that shedding stops once the application has recovered.
+ * <p>
+ * The criticality of a route is taken from "admission-criticality" (e.g. "ReportController=LOW, HealthController.ping=CRITICAL") or
+ * from {@link Request#criticality()}.
+ */
+@Singleton
+public class DefaultAdmissionController implements AdmissionController {
+    protected static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    protected final int maxInFlight;
+    protected final long maxLatencyNanos;
+    protected final int retryAfterSeconds;
+    protected final Map<String, Criticality> configuredCriticality;
+
+    protected final Map<Method, Criticality> criticalities = new ConcurrentHashMap<>();
+
+    // Created here, because the configured criticality is parsed in the constructor before the logger could be injected.
+    protected Log log = new DefaultLog().get(DefaultAdmissionController.class);
+
+    protected final AtomicInteger inFlight = new AtomicInteger();
+    protected final LongAdder shed = new LongAdder();
+
+    protected final LongAdder latencySum = new LongAdder();
+    protected final LongAdder latencyCount = new LongAdder();
+    protected volatile long windowStart = System.nanoTime();
+    protected volatile long recentLatencyNanos;
+
+    @Inject
+    public DefaultAdmissionController() {
+        this(Configurations.get());
+    }
+
+    protected DefaultAdmissionController(Configuration configuration) {
+        this(configuration == null ? 0 : configuration.admissionMaxInFlight(), configuration == null ? 0 : configuration.admissionMaxLatency(), configuration == null ? 1 : configuration.admissionRetryAfter(),
+                configuration == null ? Collections.emptyMap() : configuration.admissionCriticality());
+    }
+
+    public DefaultAdmissionController(int maxInFlight, long maxLatencyMillis, int retryAfterSeconds, Map<String, String> configuredCriticality) {
+        this.maxInFlight = maxInFlight;
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.configuredCriticality = criticality(configuredCriticality);
+    }
+
+    /**
+     * Parses the configured criticality once. Invalid values are logged and ignored, instead of failing every request that needs this
+     * singleton.
+     */
+    protected Map<String, Criticality> criticality(Map<String, String> configuredCriticality) {
+        Map<String, Criticality> criticality = new HashMap<>();
+
+        for (Map.Entry<String, String> entry : configuredCriticality.entrySet()) {
+            try {
+                criticality.put(entry.getKey(), Criticality.valueOf(entry.getValue().trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring the invalid criticality '{}' of the route '{}' in the configuration '{}'. Valid values are {}.", () -> entry.getValue(), () -> entry.getKey(), () -> Configuration.ADMISSION_CRITICALITY_KEY,
+                        () -> Arrays.toString(Criticality.values()));
+            }
+        }
+
+        return criticality;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return maxInFlight > 0 || maxLatencyNanos > 0;
+    }
+
+    @Override
+    public boolean admit(RequestHandler requestHandler) {
+        if (load() >= criticality(requestHandler).maxLoad()) {
+            shed.increment();
+            return false;
+        }
+
+        inFlight.incrementAndGet();
+
+        return true;
+    }
+
+    @Override
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+
+        latencySum.add(latencyNanos);
+        latencyCount.increment();
+
+        long now = System.nanoTime();
+
+        if (now - windowStart >= WINDOW_NANOS)
+            closeWindow(now);
+    }
+
+    protected synchronized void closeWindow(long now) {
+        // Another thread may have closed the window in the meantime.
+        if (now - windowStart < WINDOW_NANOS)
+            return;
+
+        long count = latencyCount.sumThenReset();
+        long sum = latencySum.sumThenReset();
+
+        recentLatencyNanos = count == 0 ? 0 : sum / count;
+        windowStart = now;
+    }
+
+    @Override
+    public Criticality criticality(RequestHandler requestHandler) {
+        if (requestHandler == null)
+            return Criticality.NORMAL;
+
+        Method handlerMethod = requestHandler.handlerMethod();
+
+        Criticality criticality = criticalities.get(handlerMethod);
+
+        if (criticality == null)
+            criticality = criticalities.computeIfAbsent(handlerMethod, this::resolveCriticality);
+
+        return criticality;
+    }
+
+    protected Criticality resolveCriticality(Method handlerMethod) {
+        Class<?> controllerClass = handlerMethod.getDeclaringClass();
+
+        // The configuration wins over the annotations, so that routes can be re-prioritized without a new release.
+        String[] configKeys = { controllerClass.getName() + "." + handlerMethod.getName(), controllerClass.getSimpleName() + "." + handlerMethod.getName(), controllerClass.getName(), controllerClass.getSimpleName() };
+
+        for (String configKey : configKeys) {
+            Criticality criticality = configuredCriticality.get(configKey);
+
+            if (criticality != null && criticality != Criticality.INHERIT)
+                return criticality;
+        }
+
+        Request methodRequest = handlerMethod.getAnnotation(Request.class);
+
+        if (methodRequest != null && methodRequest.criticality() != Criticality.INHERIT)
+            return methodRequest.criticality();
+
+        Request controllerRequest = controllerClass.getAnnotation(Request.class);
+
+        return controllerRequest == null || controllerRequest.criticality() == Criticality.INHERIT ? Criticality.NORMAL : controllerRequest.criticality();
+    }
+
+    @Override
+    public double load() {
+        double load = maxInFlight > 0 ? (double) inFlight.get() / maxInFlight : 0;
+
+        if (maxLatencyNanos > 0 && System.nanoTime() - windowStart < 2 * WINDOW_NANOS)
+            load = Math.max(load, (double) recentLatencyNanos / maxLatencyNanos);
+
+        return load;
+    }
+
+    @Override
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public long shed() {
+        return shed.sum();
+    }
+
+    @Override
+    public int retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -21,6 +21,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import com.geemvc.admission.Criticality;
 import com.geemvc.validation.Validator;
 
 @Retention(RetentionPolicy.RUNTIME)
@@ -50,6 +51,8 @@ public @interface Request {
 
     int priority() default 111;
 
+    Criticality criticality() default Criticality.INHERIT;
+
     Class<? extends Validator>[] validator() default {};
 
     String onError() default "";
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind;
+
+import java.util.List;
+import java.util.Map;
+
+import com.geemvc.RequestContext;
+import com.geemvc.i18n.notice.Notices;
+import com.geemvc.validation.Errors;
+
+/**
+ * Resolves a single argument of a request handler. The parameter adapter, name and converters of the argument are looked up once when
+ * the resolver is built, so that resolving the argument of a request only has to fetch and convert the request values.
+ */
+public interface ArgumentResolver {
+    ArgumentResolver build(MethodParam methodParam);
+
+    MethodParam methodParam();
+
+    String name();
+
+    /**
+     * Returns the string values of the argument found in the request.
+     */
+    List<String> requestValues(Map<String, List<String>> requestValues, RequestContext requestCtx, Errors errors, Notices notices);
+
+    /**
+     * Converts the request values of the argument to the type of the method parameter.
+     */
+    Object resolve(Map<String, List<String>> requestValues, Map<String, Object> typedValues, RequestContext requestCtx, Errors errors, Notices notices);
+}
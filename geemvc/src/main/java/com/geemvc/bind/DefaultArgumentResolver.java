@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import com.geemvc.RequestContext;
+import com.geemvc.Str;
+import com.geemvc.bind.param.ParamAdapter;
+import com.geemvc.bind.param.ParamAdapterFactory;
+import com.geemvc.bind.param.ParamContext;
+import com.geemvc.bind.param.TypedParamAdapter;
+import com.geemvc.converter.ConverterAdapter;
+import com.geemvc.converter.ConverterAdapterFactory;
+import com.geemvc.converter.ConverterContext;
+import com.geemvc.converter.SimpleConverter;
+import com.geemvc.converter.bean.BeanConverterAdapter;
+import com.geemvc.converter.bean.BeanConverterAdapterFactory;
+import com.geemvc.i18n.notice.Notices;
+import com.geemvc.inject.InstanceFactory;
+import com.geemvc.logging.Log;
+import com.geemvc.logging.annotation.Logger;
+import com.geemvc.reflect.ReflectionProvider;
+import com.geemvc.validation.Errors;
+import com.google.inject.Inject;
+
+public class DefaultArgumentResolver implements ArgumentResolver {
+    protected final ParamAdapterFactory paramAdapterFactory;
+    protected final ConverterAdapterFactory converterAdapterFactory;
+    protected final BeanConverterAdapterFactory beanConverterAdapterFactory;
+    protected final ReflectionProvider reflectionProvider;
+    protected final SimpleConverter simpleConverter;
+
+    protected MethodParam methodParam;
+    protected Annotation paramAnnotation;
+    protected ParamAdapter<Annotation> paramAdapter;
+    protected boolean isTypedParamAdapter;
+    protected String name;
+    protected Class<?> type;
+    protected Type parameterizedType;
+    protected List<Class<?>> genericType;
+    protected boolean isNullable;
+    protected boolean isSimpleType;
+    protected ConverterAdapter<?> converterAdapter;
+    protected volatile BeanConverterAdapter<?> beanConverter;
+
+    @Inject
+    protected InstanceFactory instanceFactory;
+
+    @Logger
+    protected Log log;
+
+    @Inject
+    public DefaultArgumentResolver(ParamAdapterFactory paramAdapterFactory, ConverterAdapterFactory converterAdapterFactory, BeanConverterAdapterFactory beanConverterAdapterFactory, ReflectionProvider reflectionProvider,
+            SimpleConverter simpleConverter) {
+        this.paramAdapterFactory = paramAdapterFactory;
+        this.converterAdapterFactory = converterAdapterFactory;
+        this.beanConverterAdapterFactory = beanConverterAdapterFactory;
+        this.reflectionProvider = reflectionProvider;
+        this.simpleConverter = simpleConverter;
+    }
+
+    @Override
+    public ArgumentResolver build(MethodParam methodParam) {
+        this.methodParam = methodParam;
+        this.paramAnnotation = methodParam.paramAnnotation();
+        this.type = methodParam.type();
+        this.parameterizedType = methodParam.parameterizedType();
+        this.isNullable = methodParam.isNullable();
+
+        if (paramAnnotation == null) {
+            this.name = methodParam.name();
+            return this;
+        }
+
+        this.paramAdapter = paramAdapterFactory.create(paramAnnotation.annotationType());
+
+        String annotationName = paramAdapter.getName(paramAnnotation);
+        this.name = Str.isEmpty(annotationName) ? methodParam.name() : annotationName;
+
+        // Typed parameter adapters return the final value themselves, so no converters are needed.
+        this.isTypedParamAdapter = paramAdapter instanceof TypedParamAdapter;
+
+        if (!isTypedParamAdapter) {
+            this.genericType = parameterizedType == null ? null : reflectionProvider.getGenericType(parameterizedType);
+            this.isSimpleType = simpleConverter.canConvert(type);
+            this.converterAdapter = converterAdapterFactory.create(type, parameterizedType);
+        }
+
+        return this;
+    }
+
+    @Override
+    public List<String> requestValues(Map<String, List<String>> requestValues, RequestContext requestCtx, Errors errors, Notices notices) {
+        if (paramAdapter == null)
+            return null;
+
+        ParamContext paramCtx = instanceFactory.create(ParamContext.class).build(methodParam, requestValues, null, requestCtx, errors, notices);
+
+        return paramAdapter.getValue(paramAnnotation, name, paramCtx);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Override
+    public Object resolve(Map<String, List<String>> requestValues, Map<String, Object> typedValues, RequestContext requestCtx, Errors errors, Notices notices) {
+        if (isTypedParamAdapter) {
+            ParamContext paramCtx = instanceFactory.create(ParamContext.class).build(methodParam, requestValues, typedValues, requestCtx, errors, notices);
+            return ((TypedParamAdapter) paramAdapter).getTypedValue(paramAnnotation, name, paramCtx);
+        }
+
+        List<String> value = requestValues.get(name);
+
+        // No value in request found to convert.
+        if (value == null) {
+            // If parameter is a bean and @Nullable is not set, we create a new empty instance.
+            if (!isNullable && !isSimpleType) {
+                BeanConverterAdapter beanConverter = beanConverter();
+
+                if (beanConverter != null)
+                    return beanConverter.newInstance(type, converterCtx(requestValues, requestCtx, errors, notices));
+
+                log.warn("Unable to find a compatible bean converter for the bean '{}' while attempting to bind values to the method param '{}'. Binding 'null' instead.", () -> type.getName(), () -> methodParam.name());
+            }
+
+            return null;
+        } else if (value.size() == 0) {
+            return null;
+        }
+
+        if (converterAdapter != null && Str.isEmpty(value.get(0)))
+            return null;
+
+        ConverterContext converterCtx = converterCtx(requestValues, requestCtx, errors, notices);
+
+        if (converterAdapter != null && ((ConverterAdapter) converterAdapter).canConvert(value, converterCtx))
+            return converterAdapter.fromStrings(value, converterCtx);
+
+        if (isSimpleType) {
+            try {
+                return simpleConverter.fromString(value.get(0), type);
+            } catch (Exception e) {
+                log.warn("Unable to convert parameter '{}' due to the following error: '{}'. Binding 'null' instead.", () -> name, () -> e.getMessage());
+                return null;
+            }
+        }
+
+        BeanConverterAdapter beanConverter = beanConverter();
+
+        if (beanConverter != null)
+            return beanConverter.fromStrings(value, name, type, converterCtx);
+
+        log.warn("Unable to find a compatible bean converter for the bean '{}' while attempting to bind values to the method param '{}'. Binding 'null' instead.", () -> type.getName(), () -> methodParam.name());
+
+        return null;
+    }
+
+    /**
+     * The bean converter is only looked up when the argument is actually bound as a bean, as not every non-simple type has one.
+     */
+    protected BeanConverterAdapter<?> beanConverter() {
+        if (beanConverter == null)
+            beanConverter = beanConverterAdapterFactory.create(type, parameterizedType);
+
+        return beanConverter;
+    }
+
+    protected ConverterContext converterCtx(Map<String, List<String>> requestValues, RequestContext requestCtx, Errors errors, Notices notices) {
+        return instanceFactory.create(ConverterContext.class).build(name, type, genericType, requestCtx, requestValues, errors, notices);
+    }
+
+    @Override
+    public MethodParam methodParam() {
+        return methodParam;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultArgumentResolver [name=" + name + ", type=" + type + ", paramAdapter=" + (paramAdapter == null ? null : paramAdapter.getClass().getName()) + "]";
+    }
+}
@@ -17,32 +17,29 @@
 package com.geemvc.bind;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Type;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.geemvc.RequestContext;
 import com.geemvc.Str;
+import com.geemvc.cache.Cache;
 import com.geemvc.bind.param.ParamAdapter;
 import com.geemvc.bind.param.ParamAdapterFactory;
-import com.geemvc.bind.param.ParamContext;
-import com.geemvc.bind.param.TypedParamAdapter;
-import com.geemvc.converter.ConverterAdapter;
 import com.geemvc.converter.ConverterAdapterFactory;
-import com.geemvc.converter.ConverterContext;
-import com.geemvc.converter.SimpleConverter;
-import com.geemvc.converter.bean.BeanConverterAdapter;
 import com.geemvc.converter.bean.BeanConverterAdapterFactory;
 import com.geemvc.handler.RequestHandler;
 import com.geemvc.i18n.notice.Notices;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.logging.Log;
 import com.geemvc.logging.annotation.Logger;
 import com.geemvc.reflect.ReflectionProvider;
 import com.geemvc.validation.Errors;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Singleton;
 
+@Singleton
 public class DefaultMethodParams implements MethodParams {
     protected final ParamAdapterFactory paramAdapterFactory;
     protected final ConverterAdapterFactory converterAdapterFactory;
@@ -52,6 +49,12 @@ public class DefaultMethodParams implements MethodParams {
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected InstanceFactory instanceFactory;
+
+    @Inject
+    protected Cache cache;
+
     @Logger
     protected Log log;
 
@@ -69,116 +72,68 @@ public class DefaultMethodParams implements MethodParams {
     }
 
     @Override
-    public Map<String, List<String>> values(List<MethodParam> methodParams, RequestContext requestCtx, Errors errors, Notices notices) {
-        Map<String, List<String>> paramValues = new LinkedHashMap<>();
+    public ArgumentResolver[] argumentResolvers(RequestHandler requestHandler) {
+        if (requestHandler == null)
+            return null;
+
+        ArgumentResolver[] argumentResolvers = (ArgumentResolver[]) cache.get(DefaultMethodParams.class, requestHandler.handlerMethod());
+
+        if (argumentResolvers == null) {
+            argumentResolvers = argumentResolvers(requestHandler.methodParams());
+            cache.put(DefaultMethodParams.class, requestHandler.handlerMethod(), argumentResolvers);
+        }
+
+        return argumentResolvers;
+    }
 
-        if (methodParams != null && !methodParams.isEmpty()) {
-            for (MethodParam methodParam : methodParams) {
-                Annotation paramAnnotation = methodParam.paramAnnotation();
+    protected ArgumentResolver[] argumentResolvers(List<MethodParam> methodParams) {
+        if (methodParams == null)
+            return new ArgumentResolver[0];
 
-                if (paramAnnotation != null) {
-                    ParamAdapter<Annotation> paramAdapter = paramAdapterFactory.create(paramAnnotation.annotationType());
+        ArgumentResolver[] argumentResolvers = new ArgumentResolver[methodParams.size()];
 
-                    ParamContext paramCtx = injector.getInstance(ParamContext.class).build(methodParam, paramValues, null, requestCtx, errors, notices);
+        for (int i = 0; i < argumentResolvers.length; i++) {
+            argumentResolvers[i] = injector.getInstance(ArgumentResolver.class).build(methodParams.get(i));
+        }
+
+        return argumentResolvers;
+    }
 
-                    String name = name(paramAdapter, paramAnnotation, methodParam);
+    @Override
+    public Map<String, List<String>> values(List<MethodParam> methodParams, RequestContext requestCtx, Errors errors, Notices notices) {
+        return values(argumentResolvers(methodParams), requestCtx, errors, notices);
+    }
 
-                    paramValues.put(name, paramAdapter.getValue(paramAnnotation, name, paramCtx));
-                }
+    @Override
+    public Map<String, List<String>> values(ArgumentResolver[] argumentResolvers, RequestContext requestCtx, Errors errors, Notices notices) {
+        Map<String, List<String>> paramValues = new LinkedHashMap<>();
+
+        if (argumentResolvers != null) {
+            for (ArgumentResolver argumentResolver : argumentResolvers) {
+                if (argumentResolver.methodParam().paramAnnotation() != null)
+                    paramValues.put(argumentResolver.name(), argumentResolver.requestValues(paramValues, requestCtx, errors, notices));
             }
         }
 
         return paramValues;
     }
 
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     @Override
     public Map<String, Object> typedValues(Map<String, List<String>> requestValues, List<MethodParam> methodParams, RequestContext requestCtx, Errors errors, Notices notices) {
-        SimpleConverter simpleConverter = injector.getInstance(SimpleConverter.class);
+        return typedValues(requestValues, argumentResolvers(methodParams), requestCtx, errors, notices);
+    }
 
+    /**
+     * The typed values are added in the order of the handler method's parameters, which the request handler relies on when filling the
+     * argument array.
+     */
+    @Override
+    public Map<String, Object> typedValues(Map<String, List<String>> requestValues, ArgumentResolver[] argumentResolvers, RequestContext requestCtx, Errors errors, Notices notices) {
         Map<String, Object> typedValues = new LinkedHashMap<>();
 
-        if (methodParams != null && !methodParams.isEmpty()) {
-            for (MethodParam methodParam : methodParams) {
-                ParamContext paramCtx = injector.getInstance(ParamContext.class).build(methodParam, requestValues, typedValues, requestCtx, errors, notices);
-
-                Annotation paramAnnotation = methodParam.paramAnnotation();
-
-                // Find adapter class for the method parameter annotation.
-                ParamAdapter<Annotation> paramAdapter = paramAdapterFactory.create(paramAnnotation.annotationType());
-
-                String name = name(paramAdapter, paramAnnotation, methodParam);
-
-                // If the ParamAdapter is already returning a specific type, we will skip type-conversion and just add
-                // the value directly to the typedValues map.
-                if (paramAdapter instanceof TypedParamAdapter) {
-                    Object typedValue = ((TypedParamAdapter) paramAdapter).getTypedValue(paramAnnotation, name, paramCtx);
-                    typedValues.put(name, typedValue);
-                    continue;
-                }
-
-                List<String> value = requestValues.get(name);
-                Class<?> type = methodParam.type();
-
-                Type parameterizedType = methodParam.parameterizedType();
-                List<Class<?>> genericType = null;
-
-                if (parameterizedType != null)
-                    genericType = reflectionProvider.getGenericType(parameterizedType);
-
-                ConverterContext converterCtx = injector.getInstance(ConverterContext.class).build(name, type, genericType, requestCtx, requestValues, errors, notices);
-
-                // No value in request found to convert.
-                if (value == null) {
-                    // If parameter is a bean and @Nullable is not set, we create a new empty instance.
-                    if (!methodParam.isNullable() && !simpleConverter.canConvert((Class<?>) type)) {
-                        BeanConverterAdapter beanConverter = beanConverterAdapterFactory.create(type, methodParam.parameterizedType());
-
-                        if (beanConverter != null) {
-                            typedValues.put(name, beanConverter.newInstance(type, converterCtx));
-                        } else {
-                            log.warn("Unable to find a compatible bean converter for the bean '{}' while attempting to bind values to the method param '{}'. Binding 'null' instead.", () -> type.getName(), () -> methodParam.name());
-                            typedValues.put(name, null);
-                        }
-                    } else {
-                        // Otherwise we simply pass a null value to the handler.
-                        typedValues.put(name, null);
-                    }
-
-                    continue;
-                } else if (value.size() == 0) {
-                    typedValues.put(name, null);
-                    continue;
-                }
-
-                ConverterAdapter<?> converterAdapter = converterAdapterFactory.create(type, parameterizedType);
-
-                if (converterAdapter != null && Str.isEmpty(value.get(0))) {
-                    typedValues.put(name, null);
-                } else if (converterAdapter != null && converterAdapter.canConvert(value, converterCtx)) {
-                    Object convertedValue = converterAdapter.fromStrings(value, converterCtx);
-                    typedValues.put(name, convertedValue);
-                } else {
-                    if (simpleConverter.canConvert((Class<?>) type)) {
-                        try {
-                            Object typedVal = simpleConverter.fromString(value.get(0), (Class<?>) type);
-                            typedValues.put(name, typedVal);
-                        } catch (Exception e) {
-                            log.warn("Unable to convert parameter '{}' due to the following error: '{}'. Binding 'null' instead.", () -> name, () -> e.getMessage());
-                            typedValues.put(name, null);
-                        }
-                    } else {
-                        BeanConverterAdapter beanConverter = beanConverterAdapterFactory.create(type, methodParam.parameterizedType());
-
-                        if (beanConverter != null) {
-                            Object bean = beanConverter.fromStrings(value, name, type, converterCtx);
-                            typedValues.put(name, bean);
-                        } else {
-                            log.warn("Unable to find a compatible bean converter for the bean '{}' while attempting to bind values to the method param '{}'. Binding 'null' instead.", () -> type.getName(), () -> methodParam.name());
-                            typedValues.put(name, null);
-                        }
-                    }
-                }
+        if (argumentResolvers != null) {
+            for (ArgumentResolver argumentResolver : argumentResolvers) {
+                typedValues.put(argumentResolver.name(), argumentResolver.resolve(requestValues, typedValues, requestCtx, errors, notices));
             }
         }
 
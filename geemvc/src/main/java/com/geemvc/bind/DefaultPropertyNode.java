@@ -17,33 +17,21 @@
 package com.geemvc.bind;
 
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.SortedSet;
-import java.util.TreeMap;
-import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import com.geemvc.Char;
 import com.geemvc.Str;
-import com.geemvc.Val;
 import com.geemvc.reflect.ReflectionProvider;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
 
-import jodd.bean.BeanUtil;
-
 public class DefaultPropertyNode implements PropertyNode {
     protected String name;
 
@@ -74,6 +62,9 @@ public class DefaultPropertyNode implements PropertyNode {
     @Inject
     Injector injector;
 
+    @Inject
+    protected PropertyPlans propertyPlans;
+
     @Inject
     protected DefaultPropertyNode(ReflectionProvider reflectionProvider) {
         this.reflectionProvider = reflectionProvider;
@@ -194,187 +185,17 @@ public class DefaultPropertyNode implements PropertyNode {
 
     @Override
     public Object get(Object bean) {
-        PropertyNode currentNode = this;
-        Object currentBean = bean;
-
-        while (!currentNode.isLeafNode() && currentNode.next() != null) {
-            currentBean = BeanUtil.getProperty(currentBean, currentNode.name());
-            currentNode = currentNode.next();
-        }
-
-        if (currentNode.isLeafNode() && currentBean != null) {
-            return BeanUtil.getProperty(currentBean, currentNode.name());
-        } else {
-            return null;
-        }
+        return propertyPlans.get(bean, relativeExpression(originalExpression));
     }
 
     @Override
     public void set(Object bean, Object value) {
-        if (!isLeaf) {
-            Object nodeBean = BeanUtil.getProperty(bean, name);
-
-            if (nodeBean == null) {
-                nodeBean = injector.getInstance(type);
-                BeanUtil.setProperty(bean, name, nodeBean);
-            }
-
-            next.set(nodeBean, value);
-        } else {
-            BeanUtil.setProperty(bean, name, validValue(value, type));
-        }
+        propertyPlans.set(bean, relativeExpression(stripBrackets(originalExpression)), value);
     }
 
     @Override
     public void set(Object bean, Object value, String expression) {
-        if (!isLeaf) {
-            if (type.isArray()) {
-                Object list = ensureExists(bean, name, type);
-
-                String extendedName = extendedName(expression);
-
-                if (extendedName.endsWith(Str.SQUARE_BRACKET_OPEN_CLOSE))
-                    extendedName = extendedName.replace(Str.SQUARE_BRACKET_OPEN_CLOSE, new StringBuilder(Str.SQUARE_BRACKET_OPEN).append(((Collection<?>) list).size()).append(Char.SQUARE_BRACKET_CLOSE).toString());
-
-                Object nodeBean = BeanUtil.getPropertySilently(bean, extendedName);
-
-                if (nodeBean == null)
-                    nodeBean = injector.getInstance(type.getComponentType());
-
-                BeanUtil.setPropertyForced(bean, extendedName, nodeBean);
-
-                next.set(nodeBean, value, expression);
-            } else if (Collection.class.isAssignableFrom(type)) {
-                Object list = ensureExists(bean, name, type);
-
-                String extendedName = extendedName(expression);
-
-                if (extendedName.endsWith(Str.SQUARE_BRACKET_OPEN_CLOSE))
-                    extendedName = extendedName.replace(Str.SQUARE_BRACKET_OPEN_CLOSE, new StringBuilder(Str.SQUARE_BRACKET_OPEN).append(((Collection<?>) list).size()).append(Char.SQUARE_BRACKET_CLOSE).toString());
-
-                Object nodeBean = BeanUtil.getPropertySilently(bean, extendedName);
-
-                if (nodeBean == null)
-                    nodeBean = injector.getInstance(genericType.get(0));
-
-                BeanUtil.setPropertyForced(bean, extendedName, nodeBean);
-
-                next.set(nodeBean, value, expression);
-            } else if (Map.class.isAssignableFrom(type)) {
-                // Object map = ensureExists(bean, name, type);
-
-                String extendedName = extendedName(expression);
-                Object nodeBean = BeanUtil.getPropertySilently(bean, extendedName);
-
-                if (nodeBean == null)
-                    nodeBean = injector.getInstance(genericType.get(1));
-
-                BeanUtil.setPropertyForced(bean, extendedName, nodeBean);
-
-                next.set(nodeBean, value, expression);
-            } else {
-                Object nodeBean = ensureExists(bean, name, type);
-
-                next.set(nodeBean, value, expression);
-            }
-        } else {
-            if (type.isArray()) {
-                Object array = ensureExists(bean, name, type);
-
-                String extendedName = extendedName(expression);
-
-                if (extendedName.endsWith(Str.SQUARE_BRACKET_OPEN_CLOSE))
-                    extendedName = extendedName.replace(Str.SQUARE_BRACKET_OPEN_CLOSE, new StringBuilder(Str.SQUARE_BRACKET_OPEN).append(Array.getLength(array)).append(Char.SQUARE_BRACKET_CLOSE).toString());
-
-                BeanUtil.setPropertyForced(bean, extendedName, validValue(value, type));
-            } else if (Collection.class.isAssignableFrom(type)) {
-                Object list = ensureExists(bean, name, type);
-
-                String extendedName = extendedName(expression);
-
-                if (extendedName.endsWith(Str.SQUARE_BRACKET_OPEN_CLOSE))
-                    extendedName = extendedName.replace(Str.SQUARE_BRACKET_OPEN_CLOSE, new StringBuilder(Str.SQUARE_BRACKET_OPEN).append(((Collection<?>) list).size()).append(Char.SQUARE_BRACKET_CLOSE).toString());
-
-                BeanUtil.setPropertyForced(bean, extendedName, validValue(value, type));
-            } else {
-                BeanUtil.setProperty(bean, name, validValue(value, type));
-            }
-        }
-    }
-
-    protected Object validValue(Object value, Class<?> targetType) {
-        if (!targetType.isPrimitive() && !targetType.isEnum())
-            return value;
-
-        if (value instanceof String && !Str.isEmpty((String) value) && !Str.NULL_STRING.equals(value)) {
-            return value;
-        } else if (value != null && !(value instanceof String)) {
-            return value;
-        }
-
-        if (targetType == byte.class) {
-            return Val.DEFAULT_BYTE;
-        } else if (targetType == short.class) {
-            return Val.DEFAULT_SHORT;
-        } else if (targetType == int.class) {
-            return Val.DEFAULT_INT;
-        } else if (targetType == long.class) {
-            return Val.DEFAULT_LONG;
-        } else if (targetType == float.class) {
-            return Val.DEFAULT_FLOAT;
-        } else if (targetType == double.class) {
-            return Val.DEFAULT_DOUBLE;
-        } else if (targetType == boolean.class) {
-            return Val.DEFAULT_BOOEAN;
-        } else if (targetType == char.class) {
-            return Val.DEFAULT_CHAR;
-        } else if (targetType.isEnum()) {
-            return asEnum((Class<? extends Enum>) targetType, value);
-        }
-
-        return null;
-    }
-
-    protected <E extends Enum<E>> E asEnum(Class<E> enumType, Object value) {
-        if (value.getClass().isEnum()) {
-            return (E) value;
-        } else if (value instanceof String) {
-            String enumVal = (String) value;
-
-            if (Str.isEmpty(enumVal))
-                return null;
-
-            try {
-                Method m = enumType.getDeclaredMethod("fromString", String.class);
-                return (E) m.invoke(null, enumVal);
-            } catch (NoSuchMethodException e) {
-                return Enum.valueOf(enumType, enumVal);
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException | SecurityException e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            }
-        } else if (value instanceof Integer) {
-            Integer enumVal = (Integer) value;
-
-            try {
-                Method m = enumType.getDeclaredMethod("fromId", int.class);
-                return (E) m.invoke(null, enumVal);
-            } catch (NoSuchMethodException e) {
-                // Try finding by ordinal() if fromId() does not exist.
-                E[] enums = enumType.getEnumConstants();
-
-                for (E constant : enums) {
-                    if (constant.ordinal() == enumVal) {
-                        return constant;
-                    }
-                }
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException | SecurityException e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            }
-
-            return null;
-        } else {
-            throw new IllegalStateException("Unable to convert object of type " + value.getClass().getName() + " to " + enumType.getName());
-        }
+        propertyPlans.set(bean, relativeExpression(expression), value);
     }
 
     protected String stripBrackets(String expression) {
@@ -385,52 +206,15 @@ public class DefaultPropertyNode implements PropertyNode {
         return m.replaceAll(Str.EMPTY);
     }
 
-    protected Object ensureExists(Object bean, String propertyName, Class<?> targetType) {
-        Object propertyValue = BeanUtil.getProperty(bean, propertyName);
-
-        if (propertyValue != null)
-            return propertyValue;
-
-        if (targetType.isArray()) {
-            Class<?> arrayType = targetType.getComponentType();
-            propertyValue = Array.newInstance(arrayType, 0);
-        } else if (List.class.isAssignableFrom(targetType)) {
-            try {
-                propertyValue = targetType.isInterface() ? new ArrayList<>() : targetType.newInstance();
-            } catch (InstantiationException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        } else if (SortedSet.class.isAssignableFrom(targetType)) {
-            try {
-                propertyValue = targetType.isInterface() ? new TreeSet<>() : targetType.newInstance();
-            } catch (InstantiationException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        } else if (SortedMap.class.isAssignableFrom(targetType)) {
-            try {
-                propertyValue = targetType.isInterface() ? new TreeMap<>() : targetType.newInstance();
-            } catch (InstantiationException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        } else if (Set.class.isAssignableFrom(targetType)) {
-            try {
-                propertyValue = targetType.isInterface() ? new LinkedHashSet<>() : targetType.newInstance();
-            } catch (InstantiationException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        } else if (Map.class.isAssignableFrom(targetType)) {
-            try {
-                propertyValue = targetType.isInterface() ? new LinkedHashMap<>() : targetType.newInstance();
-            } catch (InstantiationException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        } else {
-            propertyValue = injector.getInstance(type);
-        }
-
-        BeanUtil.setProperty(bean, propertyName, propertyValue);
+    /**
+     * Returns the part of the expression that starts at this node.
+     */
+    protected String relativeExpression(String expression) {
+        if (index == 0)
+            return expression;
 
-        return propertyValue;
+        String[] names = expression.split("\\.");
+        return String.join(String.valueOf(Char.DOT), Arrays.copyOfRange(names, index, names.length));
     }
 
     protected String pathToCurrentNode(List<String> expressionParts, int index) {
@@ -452,18 +236,6 @@ public class DefaultPropertyNode implements PropertyNode {
         return expr.toString();
     }
 
-    protected String extendedName(String expression) {
-        String[] names = expression.split("\\.");
-
-        String extendedName = names[index];
-
-        if (!extendedName.startsWith(new StringBuilder(name).append(Char.SQUARE_BRACKET_OPEN).toString())) {
-            // TODO: throw exception
-        }
-
-        return extendedName;
-    }
-
     @Override
     public boolean isLeafNode() {
         return isLeaf;
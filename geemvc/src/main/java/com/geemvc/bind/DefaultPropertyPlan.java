@@ -0,0 +1,547 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import com.geemvc.Char;
+import com.geemvc.Str;
+import com.geemvc.Val;
+import com.geemvc.reflect.ReflectionProvider;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+
+import jodd.typeconverter.TypeConverterManager;
+
+public class DefaultPropertyPlan implements PropertyPlan {
+    protected static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    protected static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    protected enum Kind {
+        BEAN, ARRAY, LIST, COLLECTION, MAP
+    }
+
+    protected Class<?> beanType;
+
+    protected String path;
+
+    protected Segment[] segments;
+
+    protected final ReflectionProvider reflectionProvider;
+
+    @Inject
+    protected Injector injector;
+
+    @Inject
+    protected DefaultPropertyPlan(ReflectionProvider reflectionProvider) {
+        this.reflectionProvider = reflectionProvider;
+    }
+
+    @Override
+    public PropertyPlan build(Class<?> beanType, String path) {
+        this.beanType = beanType;
+        this.path = path;
+
+        String[] parts = path.split("\\.");
+        segments = new Segment[parts.length];
+
+        Class<?> ownerType = beanType;
+
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                Segment previous = segments[i - 1];
+
+                // Following a collection or map, the property belongs to its elements.
+                ownerType = previous.kind == Kind.BEAN ? previous.type : previous.elementType;
+
+                if (ownerType == null)
+                    throw new IllegalStateException("Unable to determine the element type of '" + previous.name + "'. Please provide a generic type for the collection or map in " + beanType.getName() + ". Expression: '" + path + "'");
+            }
+
+            String part = parts[i];
+            boolean isIndexed = part.endsWith(Str.SQUARE_BRACKET_OPEN_CLOSE);
+            String name = isIndexed ? part.substring(0, part.length() - 2) : part;
+
+            segments[i] = newSegment(ownerType, name, isIndexed);
+        }
+
+        return this;
+    }
+
+    protected Segment newSegment(Class<?> ownerType, String name, boolean isIndexed) {
+        PropertyDescriptor pd = reflectionProvider.getPropertyDescriptor(ownerType, name);
+        Field field = publicField(ownerType, name);
+
+        if (pd == null && field == null)
+            throw new IllegalStateException("Property '" + name + "' could not be found in " + ownerType.getName() + ". Please check your expression '" + path + "'");
+
+        Segment segment = new Segment();
+        segment.name = name;
+        segment.isIndexed = isIndexed;
+        segment.type = pd != null ? pd.getPropertyType() : field.getType();
+
+        List<Class<?>> genericType = reflectionProvider.getGenericType(ownerType, name);
+
+        if (segment.type.isArray()) {
+            segment.kind = Kind.ARRAY;
+            segment.elementType = segment.type.getComponentType();
+        } else if (List.class.isAssignableFrom(segment.type)) {
+            segment.kind = Kind.LIST;
+            segment.elementType = genericType == null || genericType.isEmpty() ? null : genericType.get(0);
+        } else if (Collection.class.isAssignableFrom(segment.type)) {
+            segment.kind = Kind.COLLECTION;
+            segment.elementType = genericType == null || genericType.isEmpty() ? null : genericType.get(0);
+        } else if (Map.class.isAssignableFrom(segment.type)) {
+            segment.kind = Kind.MAP;
+            segment.elementType = genericType == null || genericType.size() < 2 ? null : genericType.get(1);
+        } else {
+            segment.kind = Kind.BEAN;
+        }
+
+        segment.getter = getter(ownerType, name, pd, field);
+        segment.setter = setter(ownerType, name, segment.type, pd, field);
+        segment.factory = factory(segment.type);
+
+        // Values are converted to the element type when they are added to a collection, array or map.
+        segment.valueType = isIndexed && segment.kind != Kind.BEAN ? segment.elementType : segment.type;
+
+        if (segment.valueType != null)
+            segment.boxedValueType = MethodType.methodType(segment.valueType).wrap().returnType();
+
+        return segment;
+    }
+
+    @Override
+    public Object get(Object bean, String[] keys) {
+        Object current = bean;
+
+        for (int i = 0; i < segments.length && current != null; i++) {
+            Segment segment = segments[i];
+            current = segment.read(current);
+
+            if (current != null && segment.isIndexed && keys[i] != null)
+                current = element(segment, current, keys[i]);
+        }
+
+        return current;
+    }
+
+    @Override
+    public void set(Object bean, String[] keys, Object value) {
+        Object current = bean;
+        int leaf = segments.length - 1;
+
+        for (int i = 0; i < leaf; i++) {
+            current = child(segments[i], current, keys[i]);
+        }
+
+        assign(segments[leaf], current, keys[leaf], value);
+    }
+
+    /**
+     * Returns the existing or a newly created value of a property that is followed by further parts of the path.
+     */
+    @SuppressWarnings("unchecked")
+    protected Object child(Segment segment, Object owner, String key) {
+        if (!segment.isIndexed || key == null || segment.kind == Kind.BEAN)
+            return ensureExists(segment, owner);
+
+        Object container = ensureExists(segment, owner);
+        Object child = null;
+
+        switch (segment.kind) {
+        case ARRAY: {
+            int index = index(key, Array.getLength(container));
+            child = index < Array.getLength(container) ? Array.get(container, index) : null;
+
+            if (child == null) {
+                child = injector.getInstance(segment.elementType);
+                setArrayElement(segment, owner, container, index, child);
+            }
+            break;
+        }
+        case LIST: {
+            List<Object> list = (List<Object>) container;
+            int index = index(key, list.size());
+            child = index < list.size() ? list.get(index) : null;
+
+            if (child == null) {
+                child = injector.getInstance(segment.elementType);
+                setListElement(list, index, child);
+            }
+            break;
+        }
+        case COLLECTION:
+            child = injector.getInstance(segment.elementType);
+            ((Collection<Object>) container).add(child);
+            break;
+        case MAP: {
+            Map<Object, Object> map = (Map<Object, Object>) container;
+            child = map.get(key);
+
+            if (child == null) {
+                child = injector.getInstance(segment.elementType);
+                map.put(key, child);
+            }
+            break;
+        }
+        default:
+            break;
+        }
+
+        return child;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void assign(Segment segment, Object owner, String key, Object value) {
+        if (!segment.isIndexed || key == null || segment.kind == Kind.BEAN) {
+            segment.write(owner, convert(segment, validValue(value, segment.type)));
+            return;
+        }
+
+        Object container = ensureExists(segment, owner);
+        Object element = convert(segment, validValue(value, segment.valueType));
+
+        switch (segment.kind) {
+        case ARRAY:
+            setArrayElement(segment, owner, container, index(key, Array.getLength(container)), element);
+            break;
+        case LIST: {
+            List<Object> list = (List<Object>) container;
+            setListElement(list, index(key, list.size()), element);
+            break;
+        }
+        case COLLECTION:
+            ((Collection<Object>) container).add(element);
+            break;
+        case MAP:
+            ((Map<Object, Object>) container).put(key, element);
+            break;
+        default:
+            break;
+        }
+    }
+
+    protected Object element(Segment segment, Object container, String key) {
+        switch (segment.kind) {
+        case ARRAY: {
+            int index = index(key, -1);
+            return index >= 0 && index < Array.getLength(container) ? Array.get(container, index) : null;
+        }
+        case LIST: {
+            List<?> list = (List<?>) container;
+            int index = index(key, -1);
+            return index >= 0 && index < list.size() ? list.get(index) : null;
+        }
+        case MAP:
+            return ((Map<?, ?>) container).get(key);
+        default:
+            return container;
+        }
+    }
+
+    protected Object ensureExists(Segment segment, Object owner) {
+        Object value = segment.read(owner);
+
+        if (value == null) {
+            value = segment.factory == null ? injector.getInstance(segment.type) : segment.factory.get();
+            segment.write(owner, value);
+        }
+
+        return value;
+    }
+
+    protected void setArrayElement(Segment segment, Object owner, Object array, int index, Object element) {
+        int length = Array.getLength(array);
+
+        if (index >= length) {
+            Object newArray = Array.newInstance(segment.elementType, index + 1);
+            System.arraycopy(array, 0, newArray, 0, length);
+            segment.write(owner, newArray);
+            array = newArray;
+        }
+
+        Array.set(array, index, element);
+    }
+
+    protected void setListElement(List<Object> list, int index, Object element) {
+        while (list.size() <= index) {
+            list.add(null);
+        }
+
+        list.set(index, element);
+    }
+
+    /**
+     * An empty index appends to the collection or array.
+     */
+    protected int index(String key, int size) {
+        if (key.isEmpty())
+            return size;
+
+        try {
+            return Integer.parseInt(key.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid index '" + key + "' in expression '" + path + "' of " + beanType.getName());
+        }
+    }
+
+    protected Object convert(Segment segment, Object value) {
+        if (value == null || segment.valueType == null || segment.boxedValueType.isInstance(value))
+            return value;
+
+        // The type converter is looked up on every call, as plans are cached while converters may be registered at any time.
+        return TypeConverterManager.convertType(value, segment.valueType);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected Object validValue(Object value, Class<?> targetType) {
+        if (targetType == null || !targetType.isPrimitive() && !targetType.isEnum())
+            return value;
+
+        if (value instanceof String && !Str.isEmpty((String) value) && !Str.NULL_STRING.equals(value)) {
+            return targetType.isEnum() ? asEnum((Class<? extends Enum>) targetType, value) : value;
+        } else if (value != null && !(value instanceof String)) {
+            return targetType.isEnum() ? asEnum((Class<? extends Enum>) targetType, value) : value;
+        }
+
+        if (targetType == byte.class) {
+            return Val.DEFAULT_BYTE;
+        } else if (targetType == short.class) {
+            return Val.DEFAULT_SHORT;
+        } else if (targetType == int.class) {
+            return Val.DEFAULT_INT;
+        } else if (targetType == long.class) {
+            return Val.DEFAULT_LONG;
+        } else if (targetType == float.class) {
+            return Val.DEFAULT_FLOAT;
+        } else if (targetType == double.class) {
+            return Val.DEFAULT_DOUBLE;
+        } else if (targetType == boolean.class) {
+            return Val.DEFAULT_BOOEAN;
+        } else if (targetType == char.class) {
+            return Val.DEFAULT_CHAR;
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <E extends Enum<E>> E asEnum(Class<E> enumType, Object value) {
+        if (value.getClass().isEnum()) {
+            return (E) value;
+        } else if (value instanceof String) {
+            String enumVal = (String) value;
+
+            if (Str.isEmpty(enumVal))
+                return null;
+
+            try {
+                Method m = enumType.getDeclaredMethod("fromString", String.class);
+                return (E) m.invoke(null, enumVal);
+            } catch (NoSuchMethodException e) {
+                return Enum.valueOf(enumType, enumVal);
+            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException | SecurityException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        } else if (value instanceof Integer) {
+            Integer enumVal = (Integer) value;
+
+            try {
+                Method m = enumType.getDeclaredMethod("fromId", int.class);
+                return (E) m.invoke(null, enumVal);
+            } catch (NoSuchMethodException e) {
+                // Try finding by ordinal() if fromId() does not exist.
+                for (E constant : enumType.getEnumConstants()) {
+                    if (constant.ordinal() == enumVal) {
+                        return constant;
+                    }
+                }
+            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException | SecurityException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+
+            return null;
+        } else {
+            throw new IllegalStateException("Unable to convert object of type " + value.getClass().getName() + " to " + enumType.getName());
+        }
+    }
+
+    protected MethodHandle getter(Class<?> ownerType, String name, PropertyDescriptor pd, Field field) {
+        try {
+            if (pd != null && pd.getReadMethod() != null)
+                return unreflect(pd.getReadMethod()).asType(GETTER_TYPE);
+
+            if (field != null)
+                return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to access property '" + name + "' of " + ownerType.getName(), e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Besides the standard bean setter, fluent setters that return the bean itself are supported as well.
+     */
+    protected MethodHandle setter(Class<?> ownerType, String name, Class<?> type, PropertyDescriptor pd, Field field) {
+        try {
+            Method writeMethod = pd == null ? null : pd.getWriteMethod();
+
+            if (writeMethod == null) {
+                String setterName = new StringBuilder("set").append(Character.toUpperCase(name.charAt(0))).append(name.substring(1)).toString();
+
+                for (Method method : ownerType.getMethods()) {
+                    if (method.getName().equals(setterName) && method.getParameterCount() == 1 && method.getParameterTypes()[0].isAssignableFrom(type) && !Modifier.isStatic(method.getModifiers())) {
+                        writeMethod = method;
+                        break;
+                    }
+                }
+            }
+
+            if (writeMethod != null)
+                return unreflect(writeMethod).asType(SETTER_TYPE);
+
+            if (field != null && !Modifier.isFinal(field.getModifiers()))
+                return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to access property '" + name + "' of " + ownerType.getName(), e);
+        }
+
+        return null;
+    }
+
+    protected MethodHandle unreflect(Method method) throws IllegalAccessException {
+        // Public methods of non-public bean classes are otherwise not accessible.
+        if (!method.isAccessible())
+            method.setAccessible(true);
+
+        return MethodHandles.lookup().unreflect(method);
+    }
+
+    protected Field publicField(Class<?> ownerType, String name) {
+        try {
+            Field field = ownerType.getField(name);
+            return Modifier.isStatic(field.getModifiers()) ? null : field;
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the factory for empty collections, arrays and maps, or null for beans, which are created by the injector.
+     */
+    protected Supplier<Object> factory(Class<?> type) {
+        if (type.isArray())
+            return () -> Array.newInstance(type.getComponentType(), 0);
+
+        if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers()) && (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type))) {
+            return () -> {
+                try {
+                    return type.newInstance();
+                } catch (InstantiationException | IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+
+        if (List.class.isAssignableFrom(type) || Collection.class == type)
+            return ArrayList::new;
+        else if (SortedSet.class.isAssignableFrom(type))
+            return TreeSet::new;
+        else if (Set.class.isAssignableFrom(type))
+            return LinkedHashSet::new;
+        else if (SortedMap.class.isAssignableFrom(type))
+            return TreeMap::new;
+        else if (Map.class.isAssignableFrom(type))
+            return LinkedHashMap::new;
+
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(beanType.getName()).append(Char.HASH).append(path).toString();
+    }
+
+    protected class Segment {
+        protected String name;
+
+        protected boolean isIndexed;
+
+        protected Kind kind;
+
+        protected Class<?> type;
+
+        protected Class<?> elementType;
+
+        protected Class<?> valueType;
+
+        protected Class<?> boxedValueType;
+
+        protected MethodHandle getter;
+
+        protected MethodHandle setter;
+
+        protected Supplier<Object> factory;
+
+        protected Object read(Object owner) {
+            if (getter == null)
+                throw new IllegalStateException("Property '" + name + "' in expression '" + path + "' of " + beanType.getName() + " is not readable");
+
+            try {
+                return (Object) getter.invokeExact(owner);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t.getMessage(), t);
+            }
+        }
+
+        protected void write(Object owner, Object value) {
+            if (setter == null)
+                throw new IllegalStateException("Property '" + name + "' in expression '" + path + "' of " + beanType.getName() + " is not writable");
+
+            try {
+                setter.invokeExact(owner, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t.getMessage(), t);
+            }
+        }
+    }
+}
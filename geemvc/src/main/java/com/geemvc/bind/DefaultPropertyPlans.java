@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.geemvc.Char;
+import com.geemvc.Str;
+import com.geemvc.cache.Cache;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+
+import jodd.bean.BeanUtil;
+
+@Singleton
+public class DefaultPropertyPlans implements PropertyPlans {
+    @Inject
+    protected Cache cache;
+
+    @Inject
+    protected Injector injector;
+
+    @Override
+    public PropertyPlan plan(Class<?> beanType, String path) {
+        // Plans are keyed by the shape of the expression only, so that "items[0].name" and "items[1].name" share the same plan.
+        String cacheKey = new StringBuilder(beanType.getName()).append(Char.HASH).append(path).toString();
+
+        PropertyPlan plan = (PropertyPlan) cache.get(DefaultPropertyPlans.class, cacheKey);
+
+        if (plan == null) {
+            plan = injector.getInstance(PropertyPlan.class).build(beanType, path);
+            cache.put(DefaultPropertyPlans.class, cacheKey, plan);
+        }
+
+        return plan;
+    }
+
+    @Override
+    public Object get(Object bean, String expression) {
+        ParsedExpression parsed = parse(expression);
+
+        if (parsed == null)
+            return BeanUtil.getPropertySilently(bean, expression);
+
+        return plan(bean.getClass(), parsed.path).get(bean, parsed.keys);
+    }
+
+    @Override
+    public void set(Object bean, String expression, Object value) {
+        ParsedExpression parsed = parse(expression);
+
+        if (parsed == null) {
+            BeanUtil.setPropertyForced(bean, expression, value);
+            return;
+        }
+
+        plan(bean.getClass(), parsed.path).set(bean, parsed.keys, value);
+    }
+
+    /**
+     * Splits the expression into its shape and the index or map key of each part. Returns null for nested indices such as
+     * "matrix[0][1]", which are not compiled into plans.
+     */
+    protected ParsedExpression parse(String expression) {
+        StringBuilder path = new StringBuilder(expression.length());
+        List<String> keys = new ArrayList<>();
+
+        String key = null;
+        int length = expression.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = expression.charAt(i);
+
+            if (c == Char.SQUARE_BRACKET_OPEN) {
+                int closePos = expression.indexOf(Char.SQUARE_BRACKET_CLOSE, i + 1);
+
+                if (closePos == -1 || key != null)
+                    return null;
+
+                key = expression.substring(i + 1, closePos);
+                path.append(Str.SQUARE_BRACKET_OPEN_CLOSE);
+                i = closePos;
+            } else if (c == Char.DOT) {
+                keys.add(key);
+                key = null;
+                path.append(c);
+            } else {
+                if (key != null)
+                    return null;
+
+                path.append(c);
+            }
+        }
+
+        keys.add(key);
+
+        return new ParsedExpression(path.toString(), keys.toArray(new String[keys.size()]));
+    }
+
+    protected static class ParsedExpression {
+        protected final String path;
+        protected final String[] keys;
+
+        protected ParsedExpression(String path, String[] keys) {
+            this.path = path;
+            this.keys = keys;
+        }
+    }
+}
@@ -29,6 +29,15 @@ import com.geemvc.validation.Errors;
 public interface MethodParams {
     List<MethodParam> get(RequestHandler requestHandler, RequestContext requestContext);
 
+    /**
+     * Returns the argument resolvers of the request handler, which are built once per handler method.
+     */
+    ArgumentResolver[] argumentResolvers(RequestHandler requestHandler);
+
+    Map<String, List<String>> values(ArgumentResolver[] argumentResolvers, RequestContext requestCtx, Errors errors, Notices notices);
+
+    Map<String, Object> typedValues(Map<String, List<String>> requestValues, ArgumentResolver[] argumentResolvers, RequestContext requestCtx, Errors errors, Notices notices);
+
     Map<String, List<String>> values(List<MethodParam> methodParams, RequestContext requestContex, Errors errors, Notices noticest);
 
     Map<String, Object> typedValues(Map<String, List<String>> requestValues, List<MethodParam> methodParams, RequestContext requestCtx, Errors errors, Notices notices);
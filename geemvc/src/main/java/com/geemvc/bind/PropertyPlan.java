@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind;
+
+/**
+ * Compiled accessors for a property path of a bean class, such as "items[].product.name". The path is resolved once, so that reading and
+ * writing the property only needs the indices and map keys of the actual expression.
+ */
+public interface PropertyPlan {
+    /**
+     * @param path
+     *            the property path with empty brackets in place of indices and map keys.
+     */
+    PropertyPlan build(Class<?> beanType, String path);
+
+    /**
+     * @param keys
+     *            the index or map key of each part of the path, or null where the expression has none. An empty key appends to a
+     *            collection or array.
+     */
+    Object get(Object bean, String[] keys);
+
+    void set(Object bean, String[] keys, Object value);
+}
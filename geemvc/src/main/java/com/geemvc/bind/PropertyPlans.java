@@ -0,0 +1,31 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind;
+
+public interface PropertyPlans {
+    PropertyPlan plan(Class<?> beanType, String path);
+
+    /**
+     * Reads the property of the given expression, for example "items[2].product.name". Returns null if an intermediate value is null.
+     */
+    Object get(Object bean, String expression);
+
+    /**
+     * Writes the property of the given expression, creating intermediate beans, collections, arrays and maps as required. The value is
+     * converted to the type of the property.
+     */
+    void set(Object bean, String expression, Object value);
+}
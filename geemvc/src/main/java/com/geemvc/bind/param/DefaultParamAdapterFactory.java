@@ -22,7 +22,9 @@ import java.util.Map;
 import com.geemvc.reflect.ReflectionProvider;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Singleton;
 
+@Singleton
 public class DefaultParamAdapterFactory implements ParamAdapterFactory {
     protected final ReflectionProvider reflectionProvider;
 
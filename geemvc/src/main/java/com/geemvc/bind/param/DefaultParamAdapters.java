@@ -16,58 +16,44 @@
 
 package com.geemvc.bind.param;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import com.geemvc.Char;
 import com.geemvc.RequestContext;
-import com.geemvc.Str;
+import com.google.inject.Singleton;
 
+@Singleton
 public class DefaultParamAdapters implements ParamAdapters {
     public List<String> getRequestValues(String paramName, RequestContext requestCtx) {
-        Map<String, String[]> paramMap = requestCtx.getParameterMap();
+        ParamIndex paramIndex = requestCtx.paramIndex();
 
-        List<String> matchingValues = new ArrayList<>();
+        ParamValues matchingValues = new ParamValues();
 
-        Set<String> keys = paramMap.keySet();
+        String[] reqValues = paramIndex.values(paramName);
 
-        for (String key : keys) {
-            if (paramName.equals(key)) {
-                String[] reqValues = paramMap.get(key);
-                matchingValues.addAll(Arrays.asList(reqValues));
-            } else if (key.startsWith(new StringBuilder(paramName).append(Char.DOT).toString())) {
-                String[] reqValues = paramMap.get(key);
-
-                for (String mapVal : reqValues) {
-                    matchingValues.add(new StringBuilder(key).append(Char.EQUALS).append(mapVal).toString());
-                }
-
-            } else if (key.startsWith(new StringBuilder(paramName).append(Char.SQUARE_BRACKET_OPEN).toString())) {
-                int openSquareBracketPos = key.indexOf(Char.SQUARE_BRACKET_OPEN);
-                int closeSquareBracketPos = key.indexOf(Char.SQUARE_BRACKET_CLOSE);
-                String key1 = key.substring(openSquareBracketPos + 1, closeSquareBracketPos);
-
-                int openSquareBracketPos2 = key.indexOf(Char.SQUARE_BRACKET_OPEN, closeSquareBracketPos + 1);
-                int closeSquareBracketPos2 = key.indexOf(Char.SQUARE_BRACKET_CLOSE, closeSquareBracketPos + 1);
+        if (reqValues != null) {
+            for (String reqValue : reqValues) {
+                matchingValues.add(null, reqValue);
+            }
+        }
 
-                String key2 = null;
+        ParamValues nestedValues = paramIndex.nested(paramName);
+        int nameLength = paramName.length();
 
-                if (openSquareBracketPos2 == closeSquareBracketPos + 1)
-                    key2 = key.substring(openSquareBracketPos2 + 1, closeSquareBracketPos2);
+        for (int i = 0; i < nestedValues.size(); i++) {
+            String key = nestedValues.path(i);
 
-                String[] reqValues = paramMap.get(key);
+            if (key.charAt(nameLength) == Char.DOT) {
+                matchingValues.add(key, nestedValues.value(i));
+            } else {
+                int openSquareBracketPos = nameLength;
+                int closeSquareBracketPos = key.indexOf(Char.SQUARE_BRACKET_CLOSE, openSquareBracketPos);
 
-                if (key2 == null) {
-                    for (String mapVal : reqValues) {
-                        matchingValues.add(new StringBuilder(key1).append(Char.EQUALS).append(mapVal).toString());
-                    }
+                // Single map key or index, e.g. "name[key]", or nested ones, e.g. "name[0][key]".
+                if (closeSquareBracketPos + 1 < key.length() && key.charAt(closeSquareBracketPos + 1) == Char.SQUARE_BRACKET_OPEN) {
+                    matchingValues.add(key.substring(nameLength), nestedValues.value(i));
                 } else {
-                    for (String mapVal : reqValues) {
-                        matchingValues.add(new StringBuilder(key.replace(paramName, Str.EMPTY)).append(Char.EQUALS).append(mapVal).toString());
-                    }
+                    matchingValues.add(key.substring(openSquareBracketPos + 1, closeSquareBracketPos), nestedValues.value(i));
                 }
             }
         }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind.param;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.geemvc.Char;
+
+public class DefaultParamIndex implements ParamIndex {
+    protected final Node root = new Node();
+
+    protected int size = 0;
+
+    @Override
+    public ParamIndex build(Map<String, String[]> parameterMap) {
+        if (parameterMap == null)
+            return this;
+
+        for (Map.Entry<String, String[]> param : parameterMap.entrySet()) {
+            Node node = root;
+
+            for (String segment : segments(param.getKey())) {
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            }
+
+            node.key = param.getKey();
+            node.values = param.getValue();
+            size++;
+        }
+
+        return this;
+    }
+
+    @Override
+    public String[] values(String name) {
+        Node node = node(name);
+        return node == null ? null : node.values;
+    }
+
+    @Override
+    public ParamValues nested(String name) {
+        Node node = node(name);
+
+        ParamValues paramValues = new ParamValues();
+
+        if (node != null) {
+            for (Node child : node.children.values()) {
+                collect(child, paramValues);
+            }
+        }
+
+        return paramValues;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    protected void collect(Node node, ParamValues paramValues) {
+        if (node.values != null) {
+            for (String value : node.values) {
+                paramValues.add(node.key, value);
+            }
+        }
+
+        for (Node child : node.children.values()) {
+            collect(child, paramValues);
+        }
+    }
+
+    protected Node node(String name) {
+        Node node = root;
+
+        for (String segment : segments(name)) {
+            node = node.children.get(segment);
+
+            if (node == null)
+                return null;
+        }
+
+        return node;
+    }
+
+    /**
+     * Splits "order.items[0].name" into "order", ".items", "[0]" and ".name". Dots within brackets do not start a new segment.
+     */
+    protected List<String> segments(String name) {
+        List<String> segments = new ArrayList<>();
+
+        int length = name.length();
+        int start = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+
+            if (c == Char.DOT && i > start) {
+                segments.add(name.substring(start, i));
+                start = i;
+            } else if (c == Char.SQUARE_BRACKET_OPEN) {
+                if (i > start)
+                    segments.add(name.substring(start, i));
+
+                int closePos = name.indexOf(Char.SQUARE_BRACKET_CLOSE, i + 1);
+                int end = closePos == -1 ? length : closePos + 1;
+
+                segments.add(name.substring(i, end));
+                start = end;
+                i = end - 1;
+            }
+        }
+
+        if (start < length)
+            segments.add(name.substring(start));
+
+        return segments;
+    }
+
+    protected static class Node {
+        protected final Map<String, Node> children = new LinkedHashMap<>();
+
+        protected String key;
+
+        protected String[] values;
+    }
+}
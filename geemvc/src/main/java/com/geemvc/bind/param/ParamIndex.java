@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind.param;
+
+import java.util.Map;
+
+/**
+ * Index of the request parameters, split at "." and "[" into a prefix tree so that the parameters of a bean can be looked up
+ * without scanning the whole parameter map.
+ */
+public interface ParamIndex {
+    ParamIndex build(Map<String, String[]> parameterMap);
+
+    /**
+     * Returns the values of the parameter with exactly the given name or null if it does not exist.
+     */
+    String[] values(String name);
+
+    /**
+     * Returns the values of all parameters nested below the given name, i.e. "name.x" and "name[x]", together with the full parameter
+     * name as their path.
+     */
+    ParamValues nested(String name);
+
+    boolean isEmpty();
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind.param;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.geemvc.Char;
+
+/**
+ * Request values together with the parameter path they were posted under. Binders can read the path and value directly, while consumers
+ * that only know the list of strings still see the "path=value" form.
+ */
+public class ParamValues extends AbstractList<String> {
+    protected final List<String> paths;
+    protected final List<String> values;
+
+    public ParamValues() {
+        this(10);
+    }
+
+    public ParamValues(int initialCapacity) {
+        this.paths = new ArrayList<>(initialCapacity);
+        this.values = new ArrayList<>(initialCapacity);
+    }
+
+    /**
+     * @param path
+     *            the parameter path or null for a plain value.
+     */
+    public ParamValues add(String path, String value) {
+        paths.add(path);
+        values.add(value);
+        return this;
+    }
+
+    public String path(int index) {
+        return paths.get(index);
+    }
+
+    public String value(int index) {
+        return values.get(index);
+    }
+
+    @Override
+    public String get(int index) {
+        String path = paths.get(index);
+        return path == null ? values.get(index) : new StringBuilder(path).append(Char.EQUALS).append(values.get(index)).toString();
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind.param.adapter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.Providers;
+
+import com.geemvc.Char;
+import com.geemvc.RequestContext;
+import com.geemvc.Str;
+import com.geemvc.annotation.Adapter;
+import com.geemvc.bind.MethodParam;
+import com.geemvc.bind.param.ParamContext;
+import com.geemvc.bind.param.TypedParamAdapter;
+import com.geemvc.bind.param.annotation.Body;
+import com.geemvc.inject.InstanceFactory;
+import com.geemvc.logging.Log;
+import com.geemvc.logging.annotation.Logger;
+import com.geemvc.reflect.ReflectionProvider;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+@Singleton
+@Adapter
+public class BodyParamAdapter implements TypedParamAdapter<Body> {
+    protected final Providers providers;
+    protected final ReflectionProvider reflectionProvider;
+
+    /**
+     * Message body readers by parameter type and media type, without the media type parameters such as the charset.
+     */
+    protected final Map<String, MessageBodyReader<?>> messageBodyReaders = new ConcurrentHashMap<>();
+
+    @Inject
+    protected InstanceFactory instanceFactory;
+
+    @Logger
+    protected Log log;
+
+    @Inject
+    protected BodyParamAdapter(Providers providers, ReflectionProvider reflectionProvider) {
+        this.providers = providers;
+        this.reflectionProvider = reflectionProvider;
+    }
+
+    @Override
+    public String getName(Body bodyParam) {
+        return Str.isEmpty(bodyParam.value()) ? bodyParam.name() : bodyParam.value();
+    }
+
+    @Override
+    public List<String> getValue(Body bodyParam, String paramName, ParamContext paramCtx) {
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Override
+    public Object getTypedValue(Body bodyParam, String paramName, ParamContext paramCtx) {
+        RequestContext requestCtx = paramCtx.requestCtx();
+        HttpServletRequest request = (HttpServletRequest) requestCtx.getRequest();
+
+        // Nothing to read.
+        if (request.getContentLength() == 0)
+            return null;
+
+        MethodParam methodParam = paramCtx.methodParam();
+        Class<?> type = methodParam.type();
+        Type genericType = methodParam.parameterizedType() == null ? type : methodParam.parameterizedType();
+
+        try {
+            // The raw stream can be passed on without a reader.
+            if (InputStream.class == type)
+                return request.getInputStream();
+
+            MediaType mediaType = mediaType(requestCtx);
+
+            if (mediaType == null) {
+                log.warn("Unable to parse the content type '{}' while attempting to bind the request body to the method param '{}'. Binding 'null' instead.", () -> requestCtx.contentType(), () -> methodParam.name());
+                return null;
+            }
+
+            MessageBodyReader reader = messageBodyReader(type, genericType, methodParam.annotations(), mediaType);
+
+            if (reader == null) {
+                log.warn("Unable to find a MessageBodyReader for the type '{}' and the media type '{}' while attempting to bind the request body to the method param '{}'. Binding 'null' instead.", () -> type.getName(), () -> mediaType,
+                        () -> methodParam.name());
+                return null;
+            }
+
+            return reader.readFrom(type, genericType, methodParam.annotations(), mediaType, headers(requestCtx), request.getInputStream());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the request body into the method param '" + methodParam.name() + "': " + e.getMessage(), e);
+        }
+    }
+
+    protected MessageBodyReader<?> messageBodyReader(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        String cacheKey = new StringBuilder(reflectionProvider.toString(type, genericType)).append(Char.PIPE).append(mediaType.getType()).append(Char.SLASH).append(mediaType.getSubtype()).toString();
+
+        MessageBodyReader<?> reader = messageBodyReaders.get(cacheKey);
+
+        if (reader == null) {
+            reader = providers.getMessageBodyReader(type, genericType, annotations, mediaType);
+
+            if (reader != null)
+                messageBodyReaders.put(cacheKey, reader);
+        }
+
+        return reader;
+    }
+
+    /**
+     * Returns null if the content type cannot be parsed.
+     */
+    protected MediaType mediaType(RequestContext requestCtx) {
+        String contentType = requestCtx.contentType();
+
+        if (Str.isEmpty(contentType))
+            return MediaType.APPLICATION_OCTET_STREAM_TYPE;
+
+        try {
+            return MediaType.valueOf(contentType);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected MultivaluedMap<String, String> headers(RequestContext requestCtx) {
+        MultivaluedMap<String, String> headers = instanceFactory.create(MultivaluedMap.class);
+
+        Map<String, String[]> headerMap = requestCtx.getHeaderMap();
+
+        if (headerMap != null) {
+            for (Map.Entry<String, String[]> header : headerMap.entrySet()) {
+                headers.put(header.getKey(), Arrays.asList(header.getValue()));
+            }
+        }
+
+        return headers;
+    }
+}
@@ -23,6 +23,7 @@ import com.geemvc.bind.param.ParamContext;
 import com.geemvc.bind.param.TypedParamAdapter;
 import com.geemvc.i18n.message.Messages;
 import com.geemvc.i18n.notice.Notices;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.reflect.ReflectionProvider;
 import com.geemvc.validation.Errors;
 import com.google.inject.Inject;
@@ -50,6 +51,9 @@ public class ContextParamAdapter implements TypedParamAdapter<Context> {
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected InstanceFactory instanceFactory;
+
     @Inject
     protected ContextParamAdapter(ReflectionProvider reflectionProvider) {
         this.reflectionProvider = reflectionProvider;
@@ -84,13 +88,13 @@ public class ContextParamAdapter implements TypedParamAdapter<Context> {
         } else if (Locale.class.isAssignableFrom(paramType)) {
             return request.getLocale();
         } else if (Errors.class.isAssignableFrom(paramType)) {
-            return ThreadStash.get(Errors.class);
+            return ThreadStash.errors();
         } else if (Notices.class.isAssignableFrom(paramType)) {
-            return ThreadStash.get(Notices.class);
+            return ThreadStash.notices();
         } else if (Messages.class.isAssignableFrom(paramType)) {
             return injector.getInstance(Messages.class);
         } else if (Bindings.class.isAssignableFrom(paramType)) {
-            return injector.getInstance(Bindings.class).build(paramCtx.requestValues(), paramCtx.typedValues(), (Errors) ThreadStash.get(Errors.class), (Notices) ThreadStash.get(Notices.class));
+            return instanceFactory.create(Bindings.class).build(paramCtx.requestValues(), paramCtx.typedValues(), ThreadStash.errors(), ThreadStash.notices());
         } else if (Map.class.isAssignableFrom(paramType)) {
             Type paramGenericType = paramCtx.methodParam().parameterizedType();
             List<Class<?>> genericType = reflectionProvider.getGenericType(paramGenericType);
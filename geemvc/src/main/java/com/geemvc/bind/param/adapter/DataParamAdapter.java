@@ -34,6 +34,7 @@ import com.geemvc.converter.bean.BeanConverterAdapter;
 import com.geemvc.converter.bean.BeanConverterAdapterFactory;
 import com.geemvc.data.DataAdapter;
 import com.geemvc.data.DataAdapterFactory;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.reflect.ReflectionProvider;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
@@ -51,6 +52,9 @@ public class DataParamAdapter implements TypedParamAdapter<Data> {
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected InstanceFactory instanceFactory;
+
     @Inject
     protected DataParamAdapter(ParamAdapters paramAdapters, DataAdapterFactory dataAdapterFactory, ReflectionProvider reflectionProvider, SimpleConverter simpleConverter, BeanConverterAdapterFactory beanConverterAdapterFactory) {
         this.paramAdapters = paramAdapters;
@@ -140,7 +144,7 @@ public class DataParamAdapter implements TypedParamAdapter<Data> {
                         BeanConverterAdapter beanConverter = beanConverterAdapterFactory.create(beanClass, null);
 
                         if (beanConverter != null) {
-                            ConverterContext converterCtx = injector.getInstance(ConverterContext.class).build(paramName, beanClass, null, requestCtx, paramCtx.requestValues(), paramCtx.errors(), paramCtx.notices());
+                            ConverterContext converterCtx = instanceFactory.create(ConverterContext.class).build(paramName, beanClass, null, requestCtx, paramCtx.requestValues(), paramCtx.errors(), paramCtx.notices());
 
                             beanConverter.bindProperties(beanData, paramName, entity, converterCtx);
                         } else {
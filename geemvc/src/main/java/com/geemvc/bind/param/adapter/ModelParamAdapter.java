@@ -16,16 +16,12 @@
 
 package com.geemvc.bind.param.adapter;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
-import com.geemvc.Char;
-import com.geemvc.Str;
 import com.geemvc.annotation.Adapter;
 import com.geemvc.bind.param.ParamAdapter;
 import com.geemvc.bind.param.ParamContext;
+import com.geemvc.bind.param.ParamValues;
 import com.geemvc.bind.param.annotation.Model;
 
 @Adapter
@@ -37,22 +33,8 @@ public class ModelParamAdapter implements ParamAdapter<Model> {
 
     @Override
     public List<String> getValue(Model modelParam, String paramName, ParamContext paramCtx) {
-        List<String> values = new ArrayList<>();
+        ParamValues values = paramCtx.requestCtx().paramIndex().nested(paramName);
 
-        Map<String, String[]> paramMap = paramCtx.requestCtx().getParameterMap();
-
-        Set<String> keys = paramMap.keySet();
-
-        for (String key : keys) {
-            if (key.startsWith(new StringBuilder(paramName).append(Str.DOT).toString()) || key.startsWith(new StringBuilder(paramName).append(Str.SQUARE_BRACKET_OPEN).toString())) {
-                String[] reqValues = paramMap.get(key);
-
-                for (String val : reqValues) {
-                    values.add(new StringBuilder(key).append(Char.EQUALS).append(val).toString());
-                }
-            }
-        }
-
-        return values == null || values.size() == 0 ? null : values;
+        return values.isEmpty() ? null : values;
     }
 }
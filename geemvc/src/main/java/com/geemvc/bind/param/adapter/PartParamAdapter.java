@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind.param.adapter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+
+import com.geemvc.Str;
+import com.geemvc.annotation.Adapter;
+import com.geemvc.bind.MethodParam;
+import com.geemvc.bind.param.ParamContext;
+import com.geemvc.bind.param.TypedParamAdapter;
+import com.geemvc.bind.param.annotation.Part;
+import com.geemvc.multipart.FilePart;
+import com.geemvc.multipart.Multipart;
+import com.google.inject.Singleton;
+
+@Singleton
+@Adapter
+public class PartParamAdapter implements TypedParamAdapter<Part> {
+    @Override
+    public String getName(Part partParam) {
+        return Str.isEmpty(partParam.value()) ? partParam.name() : partParam.value();
+    }
+
+    @Override
+    public List<String> getValue(Part partParam, String paramName, ParamContext paramCtx) {
+        return null;
+    }
+
+    @Override
+    public Object getTypedValue(Part partParam, String paramName, ParamContext paramCtx) {
+        Multipart multipart = paramCtx.requestCtx().multipart();
+
+        if (multipart == null)
+            return null;
+
+        MethodParam methodParam = paramCtx.methodParam();
+        Class<?> type = methodParam.type();
+
+        if (FilePart[].class == type) {
+            List<FilePart> parts = multipart.parts(paramName);
+            return parts.toArray(new FilePart[parts.size()]);
+        }
+
+        if (Collection.class.isAssignableFrom(type))
+            return multipart.parts(paramName);
+
+        FilePart part = multipart.part(paramName);
+
+        if (part == null || !InputStream.class.isAssignableFrom(type))
+            return part;
+
+        try {
+            return part.getInputStream();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to open the uploaded file '" + part.fileName() + "' for the method param '" + methodParam.name() + "': " + e.getMessage(), e);
+        }
+    }
+}
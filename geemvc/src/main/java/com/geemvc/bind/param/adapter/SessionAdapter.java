@@ -29,6 +29,7 @@ import com.geemvc.bind.param.annotation.Session;
 import com.geemvc.converter.ConverterContext;
 import com.geemvc.converter.bean.BeanConverterAdapter;
 import com.geemvc.converter.bean.BeanConverterAdapterFactory;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.logging.Log;
 import com.geemvc.logging.annotation.Logger;
 import com.geemvc.reflect.ReflectionProvider;
@@ -47,6 +48,9 @@ public class SessionAdapter implements TypedParamAdapter<Session> {
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected InstanceFactory instanceFactory;
+
     @Inject
     protected SessionAdapter(ParamAdapters paramAdapters, ReflectionProvider reflectionProvider, BeanConverterAdapterFactory beanConverterAdapterFactory) {
         this.paramAdapters = paramAdapters;
@@ -78,7 +82,7 @@ public class SessionAdapter implements TypedParamAdapter<Session> {
                         BeanConverterAdapter beanConverter = beanConverterAdapterFactory.create(type, null);
 
                         if (beanConverter != null) {
-                            ConverterContext converterCtx = injector.getInstance(ConverterContext.class).build(paramName, type, null, paramCtx.requestCtx(), paramCtx.requestValues(), paramCtx.errors(), paramCtx.notices());
+                            ConverterContext converterCtx = instanceFactory.create(ConverterContext.class).build(paramName, type, null, paramCtx.requestCtx(), paramCtx.requestValues(), paramCtx.errors(), paramCtx.notices());
                             beanConverter.bindProperties(requestValues, paramName, value, converterCtx);
                         } else {
                             log.warn("Unable to find a compatible bean converter for the bean '{}' while attempting to bind values to the @Session({}) param.", type.getName(), paramName);
@@ -95,7 +99,7 @@ public class SessionAdapter implements TypedParamAdapter<Session> {
                 BeanConverterAdapter beanConverter = beanConverterAdapterFactory.create(value.getClass(), null);
 
                 if (beanConverter != null) {
-                    ConverterContext converterCtx = injector.getInstance(ConverterContext.class).build(paramName, value.getClass(), null, paramCtx.requestCtx(), paramCtx.requestValues(), paramCtx.errors(), paramCtx.notices());
+                    ConverterContext converterCtx = instanceFactory.create(ConverterContext.class).build(paramName, value.getClass(), null, paramCtx.requestCtx(), paramCtx.requestValues(), paramCtx.errors(), paramCtx.notices());
                     beanConverter.bindProperties(requestValues, paramName, value, converterCtx);
                 } else {
                     log.warn("Unable to find a compatible bean converter for the bean '{}' while attempting to bind values to the @Session({}) param.", value.getClass().getName(), paramName);
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bootstrap;
+
+public interface Bootstrap {
+    /**
+     * Scans the classpath and pre-computes the framework metadata, so that the first requests do not have to. Expects the configuration,
+     * injector and servlet-config to have been set for the current thread.
+     *
+     * @param parallelism
+     *            the number of threads used to build the metadata after the classpath scan.
+     */
+    BootstrapReport run(int parallelism);
+}
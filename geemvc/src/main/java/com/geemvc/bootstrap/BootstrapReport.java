@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bootstrap;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class BootstrapReport {
+    protected final Map<String, Long> stepNanos;
+    protected final long totalNanos;
+    protected final int parallelism;
+
+    public BootstrapReport(Map<String, Long> stepNanos, long totalNanos, int parallelism) {
+        this.stepNanos = Collections.unmodifiableMap(new LinkedHashMap<>(stepNanos));
+        this.totalNanos = totalNanos;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Time spent in each bootstrap step. Steps ran in parallel, so these add up to more than {@link #totalMillis()}.
+     */
+    public Map<String, Long> stepNanos() {
+        return stepNanos;
+    }
+
+    public long totalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("geeMVC bootstrap completed in ").append(totalMillis()).append("ms (parallelism=").append(parallelism).append(")");
+
+        for (Map.Entry<String, Long> step : stepNanos.entrySet()) {
+            report.append("\n  ").append(step.getKey()).append(": ").append(TimeUnit.NANOSECONDS.toMillis(step.getValue())).append("ms");
+        }
+
+        return report.toString();
+    }
+}
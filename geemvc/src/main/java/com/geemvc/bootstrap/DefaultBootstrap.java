@@ -0,0 +1,238 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bootstrap;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.geemvc.RequestStash;
+import com.geemvc.ThreadStash;
+import com.geemvc.bind.MethodParams;
+import com.geemvc.config.Configuration;
+import com.geemvc.config.Configurations;
+import com.geemvc.handler.RequestHandler;
+import com.geemvc.inject.InjectorProvider;
+import com.geemvc.inject.Injectors;
+import com.geemvc.intercept.InterceptorResolver;
+import com.geemvc.intercept.annotation.PostBinding;
+import com.geemvc.intercept.annotation.PostHandle;
+import com.geemvc.intercept.annotation.PostValidation;
+import com.geemvc.intercept.annotation.PostView;
+import com.geemvc.intercept.annotation.PreBinding;
+import com.geemvc.intercept.annotation.PreHandle;
+import com.geemvc.intercept.annotation.PreValidation;
+import com.geemvc.intercept.annotation.PreView;
+import com.geemvc.logging.Log;
+import com.geemvc.logging.annotation.Logger;
+import com.geemvc.reflect.ReflectionProvider;
+import com.geemvc.reflect.ReflectionsStash;
+import com.geemvc.reflect.ReflectionsWrapper;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+
+/**
+ * Runs the classpath scan and then fills the caches that would otherwise be populated by the first requests. All lookups go through the
+ * same cached methods that the request path uses, so that a failed or skipped bootstrap simply falls back to lazy initialization.
+ */
+@Singleton
+public class DefaultBootstrap implements Bootstrap {
+    protected static final List<Class<? extends Annotation>> LIFECYCLE_ANNOTATIONS = Arrays.asList(PreBinding.class, PostBinding.class, PreValidation.class, PostValidation.class, PreHandle.class, PostHandle.class, PreView.class,
+            PostView.class);
+
+    protected final ReflectionsWrapper reflectionsWrapper;
+    protected final ReflectionProvider reflectionProvider;
+    protected final InterceptorResolver interceptorResolver;
+
+    @Inject
+    protected Injector injector;
+
+    @Inject
+    protected MethodParams methodParams;
+
+    @Logger
+    protected Log log;
+
+    @Inject
+    public DefaultBootstrap(ReflectionsWrapper reflectionsWrapper, ReflectionProvider reflectionProvider, InterceptorResolver interceptorResolver) {
+        this.reflectionsWrapper = reflectionsWrapper;
+        this.reflectionProvider = reflectionProvider;
+        this.interceptorResolver = interceptorResolver;
+    }
+
+    @Override
+    public BootstrapReport run(int parallelism) {
+        long startNanos = System.nanoTime();
+
+        Map<String, Long> stepNanos = new ConcurrentHashMap<>();
+
+        // Everything else depends on the classpath scan, so it always runs first.
+        timed("scan", () -> reflectionsWrapper.configure(), stepNanos);
+
+        Map<String, Runnable> steps = steps();
+
+        if (parallelism <= 1) {
+            for (Map.Entry<String, Runnable> step : steps.entrySet()) {
+                timed(step.getKey(), step.getValue(), stepNanos);
+            }
+        } else {
+            runParallel(steps, parallelism, stepNanos);
+        }
+
+        // Report the steps in the order in which they have been defined.
+        Map<String, Long> orderedStepNanos = new LinkedHashMap<>();
+        orderedStepNanos.put("scan", stepNanos.get("scan"));
+
+        for (String step : steps.keySet()) {
+            orderedStepNanos.put(step, stepNanos.get(step));
+        }
+
+        BootstrapReport report = new BootstrapReport(orderedStepNanos, System.nanoTime() - startNanos, Math.max(1, parallelism));
+
+        log.info("{}", () -> report);
+
+        return report;
+    }
+
+    /**
+     * The metadata that is built after the classpath scan. The steps may run concurrently and in any order.
+     */
+    protected Map<String, Runnable> steps() {
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+
+        steps.put("handlers", this::bootstrapHandlers);
+        steps.put("resolvers", () -> {
+            reflectionProvider.locateControllerResolvers();
+            reflectionProvider.locateHandlerResolvers();
+            reflectionProvider.locateMessageResolvers();
+        });
+        steps.put("interceptors", () -> {
+            reflectionProvider.locateAroundHandlerInterceptors();
+
+            for (Class<? extends Annotation> lifecycleAnnotation : LIFECYCLE_ANNOTATIONS) {
+                reflectionProvider.locateLifecycleInterceptors(lifecycleAnnotation);
+            }
+        });
+        steps.put("converters", () -> {
+            reflectionProvider.locateConverterAdapters();
+            reflectionProvider.locateBeanConverterAdapters();
+            reflectionProvider.locateBeanReaderAdapters();
+            reflectionProvider.locateParamAdapters();
+        });
+        steps.put("validators", reflectionProvider::locateValidationAdapters);
+        steps.put("views", () -> {
+            reflectionProvider.locateViewAdapters();
+            reflectionProvider.locateDataAdapters();
+            reflectionProvider.locateBindings();
+            reflectionProvider.locateEvaluators();
+        });
+
+        return steps;
+    }
+
+    /**
+     * Locates all controllers and their request-handlers and resolves the interceptors and argument resolvers of each request-handler.
+     */
+    protected void bootstrapHandlers() {
+        int handlerCount = 0;
+
+        for (Class<?> controllerClass : reflectionProvider.locateControllers()) {
+            for (Method handlerMethod : reflectionProvider.getRequestHandlerMethods(controllerClass).values()) {
+                RequestHandler requestHandler = injector.getInstance(RequestHandler.class).build(controllerClass, handlerMethod);
+
+                // A single request-handler must not stop the bootstrap, it will simply be resolved when it is first requested.
+                // The around handler chain and the lifecycle plan are cached by handler method, so the request handlers built later
+                // for the same method use them.
+                try {
+                    interceptorResolver.resolveAroundHandlerChain(requestHandler);
+                    interceptorResolver.resolveLifecyclePlan(requestHandler);
+                    methodParams.argumentResolvers(requestHandler);
+
+                    handlerCount++;
+                } catch (RuntimeException e) {
+                    log.warn("Unable to bootstrap request handler '{}': {}", () -> requestHandler, () -> e.getMessage());
+                }
+            }
+        }
+
+        int bootstrappedHandlers = handlerCount;
+        log.debug("Bootstrapped {} request handlers.", () -> bootstrappedHandlers);
+    }
+
+    protected void runParallel(Map<String, Runnable> steps, int parallelism, Map<String, Long> stepNanos) {
+        // The worker threads need the same thread local state as the current one.
+        Configuration configuration = Configurations.get();
+        InjectorProvider injectorProvider = Injectors.get();
+        RequestStash stash = ThreadStash.current();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, steps.size()), runnable -> {
+            Thread thread = new Thread(runnable, "geemvc-bootstrap-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (Map.Entry<String, Runnable> step : steps.entrySet()) {
+                futures.add(executor.submit(() -> {
+                    Configurations.set(configuration);
+                    Injectors.set(injectorProvider);
+                    ThreadStash.restore(stash);
+
+                    try {
+                        timed(step.getKey(), step.getValue(), stepNanos);
+                    } finally {
+                        ThreadStash.cleanup();
+                        ReflectionsStash.clear();
+                        Injectors.clear();
+                        Configurations.set(null);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while bootstrapping geeMVC.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to bootstrap geeMVC.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    protected void timed(String step, Runnable runnable, Map<String, Long> stepNanos) {
+        long startNanos = System.nanoTime();
+        runnable.run();
+        stepNanos.put(step, System.nanoTime() - startNanos);
+    }
+}
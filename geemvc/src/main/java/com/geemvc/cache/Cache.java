@@ -16,6 +16,7 @@
 
 package com.geemvc.cache;
 
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
 
@@ -51,4 +52,6 @@ public interface Cache {
     void clear();
 
     void clear(Object cacheKey);
+
+    Map<String, CacheStatistics> statistics();
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.cache;
+
+public class CacheStatistics {
+    protected final String name;
+    protected final long size;
+    protected final long hitCount;
+    protected final long missCount;
+    protected final long evictionCount;
+
+    public CacheStatistics(String name, long size, long hitCount, long missCount, long evictionCount) {
+        this.name = name;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public double hitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics [name=" + name + ", size=" + size + ", hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount + "]";
+    }
+}
@@ -16,12 +16,14 @@
 
 package com.geemvc.cache;
 
+import com.geemvc.inject.InstanceFactory;
 import com.google.common.cache.CacheBuilder;
 import com.google.inject.Inject;
-import com.google.inject.Injector;
 import com.google.inject.Singleton;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,27 +34,27 @@ public class DefaultCache implements Cache {
     protected static final String DEFAULT_CACHE_NAME = "__DEFAULT_CACHE";
 
     @Inject
-    protected Injector injector;
+    protected InstanceFactory instanceFactory;
 
     @Override
     public void put(Object key, Object value) {
-        cache(DEFAULT_CACHE_NAME).put(key, injector.getInstance(CacheEntry.class).build(value));
+        cache(DEFAULT_CACHE_NAME).put(key, instanceFactory.create(CacheEntry.class).build(value));
     }
 
     @Override
     public void put(Object cacheKey, Object key, Object value) {
-        cache(cacheKey).put(key, injector.getInstance(CacheEntry.class).build(value));
+        cache(cacheKey).put(key, instanceFactory.create(CacheEntry.class).build(value));
     }
 
     @Override
     public Object putIfAbsent(Object key, Object value) {
-        cache(DEFAULT_CACHE_NAME).put(key, injector.getInstance(CacheEntry.class).build(value));
+        cache(DEFAULT_CACHE_NAME).put(key, instanceFactory.create(CacheEntry.class).build(value));
         return true;
     }
 
     @Override
     public Object putIfAbsent(Object cacheKey, Object key, Object value) {
-        cache(cacheKey).put(key, injector.getInstance(CacheEntry.class).build(value));
+        cache(cacheKey).put(key, instanceFactory.create(CacheEntry.class).build(value));
         return true;
     }
 
@@ -101,7 +103,7 @@ public class DefaultCache implements Cache {
         return () -> {
             try {
                 final Object val = callable.call();
-                return injector.getInstance(CacheEntry.class).build(val);
+                return instanceFactory.create(CacheEntry.class).build(val);
             } catch (Exception e) {
                 e.printStackTrace();
                 throw new IllegalStateException(e);
@@ -139,6 +141,20 @@ public class DefaultCache implements Cache {
         cache(cacheKey).invalidateAll();
     }
 
+    @Override
+    public Map<String, CacheStatistics> statistics() {
+        Map<String, CacheStatistics> statistics = new TreeMap<>();
+
+        for (Map.Entry<Object, com.google.common.cache.Cache> entry : caches.entrySet()) {
+            String name = entry.getKey() instanceof Class ? ((Class<?>) entry.getKey()).getName() : String.valueOf(entry.getKey());
+            com.google.common.cache.CacheStats stats = entry.getValue().stats();
+
+            statistics.put(name, new CacheStatistics(name, entry.getValue().size(), stats.hitCount(), stats.missCount(), stats.evictionCount()));
+        }
+
+        return Collections.unmodifiableMap(statistics);
+    }
+
     protected com.google.common.cache.Cache<Object, CacheEntry> cache(Object cacheKey) {
         com.google.common.cache.Cache<Object, CacheEntry> cache = caches.get(cacheKey);
 
@@ -147,6 +163,7 @@ public class DefaultCache implements Cache {
             com.google.common.cache.Cache newCache =
                     CacheBuilder.newBuilder()
                             .maximumSize(100000)
+                            .recordStats()
                             .build();
 
             cache = caches.putIfAbsent(cacheKey, newCache);
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.coalesce;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Immutable copy of a response that can be written to the responses of coalesced requests.
+ */
+public class CapturedResponse {
+    protected final int status;
+    protected final String contentType;
+    protected final String characterEncoding;
+    protected final Map<String, List<String>> headers;
+    protected final byte[] body;
+
+    public CapturedResponse(int status, String contentType, String characterEncoding, Map<String, List<String>> headers, byte[] body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.characterEncoding = characterEncoding;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public int status() {
+        return status;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public Map<String, List<String>> headers() {
+        return headers;
+    }
+
+    public byte[] body() {
+        return body;
+    }
+
+    public void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(status);
+
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            for (String value : header.getValue()) {
+                response.addHeader(header.getKey(), value);
+            }
+        }
+
+        if (characterEncoding != null)
+            response.setCharacterEncoding(characterEncoding);
+
+        if (contentType != null)
+            response.setContentType(contentType);
+
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
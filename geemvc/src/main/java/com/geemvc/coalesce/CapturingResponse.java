@@ -0,0 +1,260 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.coalesce;
+
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Passes everything through to the wrapped response while keeping a copy of the status, headers and body, so that the response can be
+ * replayed for coalesced requests. Responses that send errors, redirects or cookies, or whose body exceeds maxBytes, are not captured.
+ */
+public class CapturingResponse extends HttpServletResponseWrapper {
+    protected final int maxBytes;
+
+    protected int status = SC_OK;
+    protected final Map<String, List<String>> headers = new LinkedHashMap<>();
+    protected final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    protected final CharArrayWriter chars = new CharArrayWriter();
+    protected boolean isCapturable = true;
+
+    protected ServletOutputStream outputStream;
+    protected PrintWriter writer;
+
+    public CapturingResponse(HttpServletResponse response, int maxBytes) {
+        super(response);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns a copy of the response or null if it cannot be shared.
+     */
+    public CapturedResponse capture() {
+        if (!isCapturable || status < 200 || status >= 300)
+            return null;
+
+        if (writer != null)
+            writer.flush();
+
+        byte[] body = bytes.toByteArray();
+
+        if (chars.size() > 0) {
+            String characterEncoding = getCharacterEncoding();
+            byte[] text = chars.toString().getBytes(characterEncoding == null ? Charset.forName("ISO-8859-1") : Charset.forName(characterEncoding));
+
+            if (body.length + text.length > maxBytes)
+                return null;
+
+            byte[] combined = new byte[body.length + text.length];
+            System.arraycopy(body, 0, combined, 0, body.length);
+            System.arraycopy(text, 0, combined, body.length, text.length);
+            body = combined;
+        }
+
+        Map<String, List<String>> capturedHeaders = new LinkedHashMap<>();
+
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            capturedHeaders.put(header.getKey(), Collections.unmodifiableList(new ArrayList<>(header.getValue())));
+        }
+
+        return new CapturedResponse(status, getContentType(), getCharacterEncoding(), Collections.unmodifiableMap(capturedHeaders), body);
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        status = sc;
+        super.setStatus(sc);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void setStatus(int sc, String sm) {
+        status = sc;
+        super.setStatus(sc, sm);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        isCapturable = false;
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        isCapturable = false;
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        isCapturable = false;
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        isCapturable = false;
+        super.addCookie(cookie);
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        List<String> values = new ArrayList<>(1);
+        values.add(value);
+        headers.put(name, values);
+        super.setHeader(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        headers.computeIfAbsent(name, k -> new ArrayList<>(1)).add(value);
+        super.addHeader(name, value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, httpDate(date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, httpDate(date));
+    }
+
+    protected String httpDate(long date) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atOffset(ZoneOffset.UTC));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            ServletOutputStream out = super.getOutputStream();
+
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+
+                    if (isCapturable(1))
+                        bytes.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+
+                    if (isCapturable(len))
+                        bytes.write(b, off, len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.close();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return out.isReady();
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    out.setWriteListener(writeListener);
+                }
+            };
+        }
+
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            PrintWriter out = super.getWriter();
+
+            writer = new PrintWriter(new Writer() {
+                @Override
+                public void write(char[] cbuf, int off, int len) throws IOException {
+                    out.write(cbuf, off, len);
+
+                    if (isCapturable(len))
+                        chars.write(cbuf, off, len);
+                }
+
+                @Override
+                public void write(String str, int off, int len) throws IOException {
+                    out.write(str, off, len);
+
+                    if (isCapturable(len))
+                        chars.write(str, off, len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.close();
+                }
+            });
+        }
+
+        return writer;
+    }
+
+    protected boolean isCapturable(int len) {
+        // Characters are counted as bytes here, the exact size is checked once the text has been encoded.
+        if (isCapturable && bytes.size() + chars.size() + len > maxBytes)
+            isCapturable = false;
+
+        return isCapturable;
+    }
+}
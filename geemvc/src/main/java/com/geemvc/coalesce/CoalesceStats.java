@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.coalesce;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how the requests to a coalesced request-handler were served.
+ */
+public class CoalesceStats {
+    protected final String handler;
+    protected final LongAdder executions = new LongAdder();
+    protected final LongAdder hits = new LongAdder();
+    protected final LongAdder misses = new LongAdder();
+
+    public CoalesceStats(String handler) {
+        this.handler = handler;
+    }
+
+    public String handler() {
+        return handler;
+    }
+
+    /**
+     * Requests that executed the request-handler on behalf of others.
+     */
+    public long executions() {
+        return executions.sum();
+    }
+
+    /**
+     * Requests that received the response of another request.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Requests that waited but had to execute the request-handler themselves, because the wait timed out or the response could not be shared.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+}
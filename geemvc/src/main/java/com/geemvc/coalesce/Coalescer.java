@@ -0,0 +1,29 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.coalesce;
+
+import com.geemvc.RequestContext;
+import com.geemvc.handler.RequestHandler;
+
+public interface Coalescer {
+    /**
+     * Joins the in-flight execution for the current request or starts a new one. Returns null if the request-handler is not annotated with
+     * {@link com.geemvc.coalesce.annotation.Coalesce} or the request is not a GET.
+     */
+    Flight join(RequestHandler requestHandler, RequestContext requestCtx);
+
+    Iterable<CoalesceStats> stats();
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.coalesce;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.geemvc.RequestContext;
+import com.geemvc.coalesce.annotation.Coalesce;
+import com.geemvc.handler.RequestHandler;
+import com.google.inject.Singleton;
+
+@Singleton
+public class DefaultCoalescer implements Coalescer {
+    protected static final String GET = "GET";
+
+    protected final Map<Method, Optional<Coalesce>> annotations = new ConcurrentHashMap<>();
+    protected final Map<Method, CoalesceStats> stats = new ConcurrentHashMap<>();
+    protected final Map<Object, CompletableFuture<CapturedResponse>> flights = new ConcurrentHashMap<>();
+
+    @Override
+    public Flight join(RequestHandler requestHandler, RequestContext requestCtx) {
+        if (!GET.equals(requestCtx.getMethod()))
+            return null;
+
+        Method handlerMethod = requestHandler.handlerMethod();
+        Coalesce coalesce = coalesce(handlerMethod);
+
+        if (coalesce == null)
+            return null;
+
+        Object key = key(handlerMethod, coalesce, requestCtx);
+        CoalesceStats handlerStats = stats.computeIfAbsent(handlerMethod, m -> new CoalesceStats(m.getDeclaringClass().getName() + "." + m.getName()));
+
+        CompletableFuture<CapturedResponse> newFlight = new CompletableFuture<>();
+        CompletableFuture<CapturedResponse> existingFlight = flights.putIfAbsent(key, newFlight);
+
+        return existingFlight == null ? new Flight(key, newFlight, true, coalesce.waitMs(), coalesce.maxBytes(), handlerStats, this)
+                : new Flight(key, existingFlight, false, coalesce.waitMs(), coalesce.maxBytes(), handlerStats, this);
+    }
+
+    @Override
+    public Iterable<CoalesceStats> stats() {
+        return Collections.unmodifiableCollection(stats.values());
+    }
+
+    protected void remove(Object key, CompletableFuture<CapturedResponse> flight) {
+        flights.remove(key, flight);
+    }
+
+    protected Coalesce coalesce(Method handlerMethod) {
+        Optional<Coalesce> coalesce = annotations.get(handlerMethod);
+
+        if (coalesce == null) {
+            coalesce = annotations.computeIfAbsent(handlerMethod, m -> {
+                Coalesce annotation = m.getAnnotation(Coalesce.class);
+                return Optional.ofNullable(annotation != null ? annotation : m.getDeclaringClass().getAnnotation(Coalesce.class));
+            });
+        }
+
+        return coalesce.orElse(null);
+    }
+
+    protected Object key(Method handlerMethod, Coalesce coalesce, RequestContext requestCtx) {
+        Map<String, String[]> parameterMap = requestCtx.getParameterMap();
+        Map<String, List<String>> parameters = new TreeMap<>();
+
+        if (coalesce.params().length == 0) {
+            for (Map.Entry<String, String[]> parameter : parameterMap.entrySet()) {
+                parameters.put(parameter.getKey(), Arrays.asList(parameter.getValue()));
+            }
+        } else {
+            for (String name : coalesce.params()) {
+                String[] values = parameterMap.get(name);
+
+                if (values != null)
+                    parameters.put(name, Arrays.asList(values));
+            }
+        }
+
+        List<Object> key = new ArrayList<>(4);
+        key.add(handlerMethod);
+        key.add(requestCtx.getPath());
+        key.add(parameters);
+        key.add(requestCtx.currentLocale());
+
+        return key;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.coalesce;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * A request's view of a coalesced execution. The leader executes the request-handler and completes the flight, all other requests with the same
+ * key wait for its response.
+ */
+public class Flight {
+    protected final Object key;
+    protected final CompletableFuture<CapturedResponse> response;
+    protected final boolean isLeader;
+    protected final long waitMs;
+    protected final int maxBytes;
+    protected final CoalesceStats stats;
+    protected final DefaultCoalescer coalescer;
+
+    public Flight(Object key, CompletableFuture<CapturedResponse> response, boolean isLeader, long waitMs, int maxBytes, CoalesceStats stats, DefaultCoalescer coalescer) {
+        this.key = key;
+        this.response = response;
+        this.isLeader = isLeader;
+        this.waitMs = waitMs;
+        this.maxBytes = maxBytes;
+        this.stats = stats;
+        this.coalescer = coalescer;
+    }
+
+    public boolean isLeader() {
+        return isLeader;
+    }
+
+    public int maxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Waits for the response of the leader and writes it to the given response. Returns false if the response is not available in time or cannot
+     * be shared, in which case the caller should execute the request-handler itself.
+     */
+    public boolean replay(HttpServletResponse servletResponse) throws IOException {
+        CapturedResponse capturedResponse = null;
+
+        try {
+            capturedResponse = response.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Fall through and let the caller execute the request-handler.
+        }
+
+        if (capturedResponse == null) {
+            stats.misses.increment();
+            return false;
+        }
+
+        capturedResponse.writeTo(servletResponse);
+        stats.hits.increment();
+
+        return true;
+    }
+
+    /**
+     * Publishes the response of the leader. Pass null if the response cannot be shared.
+     */
+    public void complete(CapturedResponse capturedResponse) {
+        coalescer.remove(key, response);
+        stats.executions.increment();
+        response.complete(capturedResponse);
+    }
+}
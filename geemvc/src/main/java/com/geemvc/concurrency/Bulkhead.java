@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.concurrency;
+
+import com.geemvc.concurrency.annotation.Concurrency;
+
+public interface Bulkhead {
+    Bulkhead build(Concurrency concurrency);
+
+    /**
+     * Attempts to obtain a permit, waiting in the queue if allowed. Returns false if the request should be rejected.
+     */
+    boolean acquire();
+
+    /**
+     * Returns the permit obtained by {@link #acquire()}.
+     *
+     * @param latencyNanos
+     *            the time the request held the permit, used by the adaptive limit.
+     */
+    void release(long latencyNanos);
+
+    int limit();
+
+    int inFlight();
+
+    int queued();
+
+    long rejected();
+
+    int retryAfterSeconds();
+}
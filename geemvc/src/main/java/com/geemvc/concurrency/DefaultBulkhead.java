@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.concurrency;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.geemvc.concurrency.annotation.Concurrency;
+
+public class DefaultBulkhead implements Bulkhead {
+    protected LimitSemaphore semaphore;
+    protected int queueSize;
+    protected long timeoutMs;
+    protected int retryAfterSeconds;
+    protected GradientLimit gradientLimit;
+
+    protected volatile int limit;
+
+    protected final AtomicInteger inFlight = new AtomicInteger();
+    protected final AtomicInteger queued = new AtomicInteger();
+    protected final LongAdder rejected = new LongAdder();
+    protected final AtomicBoolean adapting = new AtomicBoolean();
+
+    @Override
+    public Bulkhead build(Concurrency concurrency) {
+        if (this.semaphore != null)
+            throw new IllegalStateException("Bulkhead.build() can only be called once");
+
+        if (concurrency.max() < 1)
+            throw new IllegalArgumentException("The maximum concurrency of @Concurrency must be at least 1, but was " + concurrency.max() + ".");
+
+        this.limit = concurrency.max();
+        this.semaphore = new LimitSemaphore(concurrency.max());
+        this.queueSize = concurrency.queue();
+        this.timeoutMs = concurrency.timeoutMs();
+        this.retryAfterSeconds = concurrency.retryAfterSeconds();
+
+        if (concurrency.adaptive())
+            this.gradientLimit = new GradientLimit(concurrency.max());
+
+        return this;
+    }
+
+    @Override
+    public boolean acquire() {
+        if (semaphore.tryAcquire()) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+
+        // Without a queue and a timeout, requests are rejected as soon as the limit has been reached.
+        if (queueSize <= 0 || timeoutMs <= 0) {
+            rejected.increment();
+            return false;
+        }
+
+        if (queued.incrementAndGet() > queueSize) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+
+        try {
+            if (semaphore.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                inFlight.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            queued.decrementAndGet();
+        }
+
+        rejected.increment();
+        return false;
+    }
+
+    @Override
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        semaphore.release();
+
+        if (gradientLimit != null)
+            adapt(latencyNanos);
+    }
+
+    protected void adapt(long latencyNanos) {
+        gradientLimit.sample(latencyNanos);
+
+        long now = System.nanoTime();
+
+        if (gradientLimit.isWindowComplete(now) && adapting.compareAndSet(false, true)) {
+            try {
+                resize(gradientLimit.update(inFlight.get(), now));
+            } finally {
+                adapting.set(false);
+            }
+        }
+    }
+
+    protected void resize(int newLimit) {
+        int delta = newLimit - limit;
+
+        if (delta > 0)
+            semaphore.release(delta);
+        else if (delta < 0)
+            semaphore.reducePermits(-delta);
+
+        limit = newLimit;
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public int queued() {
+        return queued.get();
+    }
+
+    @Override
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public int retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultBulkhead [limit=" + limit + ", inFlight=" + inFlight + ", queued=" + queued + ", queueSize=" + queueSize + ", timeoutMs=" + timeoutMs + ", adaptive=" + (gradientLimit != null) + "]";
+    }
+
+    protected static class LimitSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        public LimitSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.concurrency;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.geemvc.concurrency.annotation.Concurrency;
+import com.geemvc.handler.RequestHandler;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+
+/**
+ * Creates one bulkhead per request-handler annotated with {@link Concurrency}. The request-handlers of a controller annotated with
+ * {@link Concurrency} share the bulkhead of the controller, unless they are annotated themselves.
+ */
+@Singleton
+public class DefaultBulkheads implements Bulkheads {
+    protected final Map<Method, Optional<Bulkhead>> bulkheads = new ConcurrentHashMap<>();
+    protected final Map<Class<?>, Bulkhead> controllerBulkheads = new ConcurrentHashMap<>();
+
+    @Inject
+    protected Injector injector;
+
+    @Override
+    public Bulkhead get(RequestHandler requestHandler) {
+        Method handlerMethod = requestHandler.handlerMethod();
+
+        Optional<Bulkhead> bulkhead = bulkheads.get(handlerMethod);
+
+        if (bulkhead == null)
+            bulkhead = bulkheads.computeIfAbsent(handlerMethod, this::newBulkhead);
+
+        return bulkhead.orElse(null);
+    }
+
+    protected Optional<Bulkhead> newBulkhead(Method handlerMethod) {
+        Concurrency concurrency = handlerMethod.getAnnotation(Concurrency.class);
+
+        if (concurrency != null)
+            return Optional.of(injector.getInstance(Bulkhead.class).build(concurrency));
+
+        Concurrency controllerConcurrency = handlerMethod.getDeclaringClass().getAnnotation(Concurrency.class);
+
+        if (controllerConcurrency == null)
+            return Optional.empty();
+
+        return Optional.of(controllerBulkheads.computeIfAbsent(handlerMethod.getDeclaringClass(), controllerClass -> injector.getInstance(Bulkhead.class).build(controllerConcurrency)));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gradient based concurrency limit, similar to the one in Netflix' concurrency-limits library. Latencies are collected in windows of 100ms.
+ * At the end of each window the limit is multiplied by the ratio of the lowest observed latency to the current one (at least 0.5) and a
+ * small queue allowance of sqrt(limit) is added. The limit therefore shrinks as soon as latency grows and grows back slowly while it is low.
+ * <p>
+ * Samples may be added concurrently, {@link #update(int, long)} must only be called by one thread at a time.
+ */
+public class GradientLimit {
+    protected static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    protected static final int MIN_WINDOW_SAMPLES = 10;
+    protected static final int MIN_LATENCY_RESET_WINDOWS = 600;
+    protected static final double SMOOTHING = 0.2;
+
+    protected final int maxLimit;
+
+    protected final LongAdder latencySum = new LongAdder();
+    protected final LongAdder latencyCount = new LongAdder();
+    protected volatile long windowStart = System.nanoTime();
+
+    protected long minLatency = Long.MAX_VALUE;
+    protected int windows;
+    protected double estimatedLimit;
+
+    public GradientLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = maxLimit;
+    }
+
+    public void sample(long latencyNanos) {
+        latencySum.add(latencyNanos);
+        latencyCount.increment();
+    }
+
+    public boolean isWindowComplete(long nowNanos) {
+        return nowNanos - windowStart >= WINDOW_NANOS && latencyCount.sum() >= MIN_WINDOW_SAMPLES;
+    }
+
+    /**
+     * Closes the current window and returns the new limit.
+     */
+    public int update(int inFlight, long nowNanos) {
+        long count = latencyCount.sumThenReset();
+        long sum = latencySum.sumThenReset();
+        windowStart = nowNanos;
+
+        if (count == 0)
+            return limit();
+
+        long latency = Math.max(1, sum / count);
+
+        // Periodically forget the lowest latency, so that we adapt if the handler has become slower for good.
+        if (++windows % MIN_LATENCY_RESET_WINDOWS == 0)
+            minLatency = latency;
+        else
+            minLatency = Math.min(minLatency, latency);
+
+        double gradient = Math.max(0.5, Math.min(1.0, (double) minLatency / latency));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+
+        // Do not grow the limit if it is not being used.
+        if (inFlight < estimatedLimit / 2)
+            newLimit = Math.min(newLimit, estimatedLimit);
+
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+
+        estimatedLimit = Math.max(1, Math.min(maxLimit, newLimit));
+
+        return limit();
+    }
+
+    public int limit() {
+        return (int) estimatedLimit;
+    }
+}
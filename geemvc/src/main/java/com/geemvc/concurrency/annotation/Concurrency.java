@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.concurrency.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the number of concurrent executions of a request-handler. Requests exceeding the limit wait in a queue of the given size for at most
+ * timeoutMs. Requests that cannot be queued or time out are rejected with 503 and a Retry-After header. An annotation on a handler method
+ * takes precedence over one on the controller. The limit of a controller applies to all of its request-handlers together.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface Concurrency {
+    int max();
+
+    int queue() default 0;
+
+    long timeoutMs() default 0;
+
+    int retryAfterSeconds() default 1;
+
+    /**
+     * Adjusts the limit between 1 and max using the observed latency.
+     */
+    boolean adaptive() default false;
+}
@@ -16,6 +16,7 @@
 
 package com.geemvc.config;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -42,12 +43,74 @@ public interface Configuration {
 
     static final String REFLECTIONS_EXCLUDE_LIBS_KEY = "reflections-exclude-libs";
 
+    static final String REFLECTIONS_INDEX_KEY = "reflections-index";
+
+    static final String REFLECTIONS_SCAN_THREADS_KEY = "reflections-scan-threads";
+
+    static final String REFLECTIONS_SCAN_RESOURCES_KEY = "reflections-scan-resources";
+
+    static final String REFLECTIONS_INCLUDE_PACKAGES_KEY = "reflections-include-packages";
+
+    static final String REFLECTIONS_EXCLUDE_PACKAGES_KEY = "reflections-exclude-packages";
+
+    static final String REFLECTIONS_SNAPSHOT_KEY = "reflections-snapshot";
+
+    static final String REFLECTIONS_SNAPSHOT_DIR_KEY = "reflections-snapshot-dir";
+
     static final String EXCLUDE_PATH_MAPPING_KEY = "exclude-path-mapping";
 
     static final String SUPPORTED_URI_SUFFIXES_KEY = "supported-uri-suffixes";
 
     static final String JAX_RS_ENABLED_KEY = "jax-rs-enabled";
 
+    static final String METRICS_ENABLED_KEY = "metrics-enabled";
+
+    static final String METRICS_PATH_KEY = "metrics-path";
+
+    static final String SLOW_REQUEST_THRESHOLD_KEY = "slow-request-threshold";
+
+    static final String SLOW_REQUEST_SAMPLE_RATE_KEY = "slow-request-sample-rate";
+
+    static final String SLOW_REQUEST_RATE_LIMIT_KEY = "slow-request-rate-limit";
+
+    static final String SLOW_REQUEST_QUEUE_SIZE_KEY = "slow-request-queue-size";
+
+    static final String ADMISSION_MAX_IN_FLIGHT_KEY = "admission-max-in-flight";
+
+    static final String ADMISSION_MAX_LATENCY_KEY = "admission-max-latency";
+
+    static final String ADMISSION_RETRY_AFTER_KEY = "admission-retry-after";
+
+    static final String ADMISSION_CRITICALITY_KEY = "admission-criticality";
+
+    static final String BOOTSTRAP_EAGER_KEY = "bootstrap-eager";
+
+    static final String BOOTSTRAP_PARALLELISM_KEY = "bootstrap-parallelism";
+
+    static final String WARMUP_ITERATIONS_KEY = "warmup-iterations";
+
+    static final String WARMUP_REQUESTS_KEY = "warmup-requests";
+
+    static final String READINESS_PATH_KEY = "readiness-path";
+
+    static final String MULTIPART_MAX_REQUEST_SIZE_KEY = "multipart-max-request-size";
+
+    static final String MULTIPART_MAX_FILE_SIZE_KEY = "multipart-max-file-size";
+
+    static final String MULTIPART_MAX_FIELD_SIZE_KEY = "multipart-max-field-size";
+
+    static final String MULTIPART_MAX_FIELDS_SIZE_KEY = "multipart-max-fields-size";
+
+    static final String MULTIPART_MAX_PARTS_KEY = "multipart-max-parts";
+
+    static final String MULTIPART_FILE_SIZE_THRESHOLD_KEY = "multipart-file-size-threshold";
+
+    static final String MULTIPART_TEMP_DIR_KEY = "multipart-temp-dir";
+
+    static final String DEFERRED_TIMEOUT_KEY = "deferred-timeout";
+
+    static final String STREAM_TIMEOUT_KEY = "stream-timeout";
+
     Configuration build(Map<String, String> configurationMap);
 
     String viewPrefix();
@@ -73,4 +136,156 @@ public interface Configuration {
     List<String> reflectionsLibExcludes();
 
     boolean isJaxRsEnabled();
+
+    // The settings below default to the disabled behavior, so that existing custom configurations keep compiling.
+
+    default boolean isReflectionsIndexEnabled() {
+        return false;
+    }
+
+    default int reflectionsScanThreads() {
+        return 1;
+    }
+
+    default boolean isReflectionsScanResources() {
+        return false;
+    }
+
+    default List<String> reflectionsIncludePackages() {
+        return Collections.emptyList();
+    }
+
+    default List<String> reflectionsExcludePackages() {
+        return Collections.emptyList();
+    }
+
+    default boolean isReflectionsSnapshotEnabled() {
+        return false;
+    }
+
+    default String reflectionsSnapshotDir() {
+        return null;
+    }
+
+    default boolean isMetricsEnabled() {
+        return false;
+    }
+
+    default String metricsPath() {
+        return "/_geemvc/metrics";
+    }
+
+    default long slowRequestThreshold() {
+        return 0;
+    }
+
+    default double slowRequestSampleRate() {
+        return 1.0;
+    }
+
+    default int slowRequestRateLimit() {
+        return 10;
+    }
+
+    default int slowRequestQueueSize() {
+        return 1000;
+    }
+
+    default int admissionMaxInFlight() {
+        return 0;
+    }
+
+    default long admissionMaxLatency() {
+        return 0;
+    }
+
+    default int admissionRetryAfter() {
+        return 1;
+    }
+
+    default Map<String, String> admissionCriticality() {
+        return Collections.emptyMap();
+    }
+
+    default boolean isBootstrapEager() {
+        return false;
+    }
+
+    default int bootstrapParallelism() {
+        return 1;
+    }
+
+    default int warmUpIterations() {
+        return 0;
+    }
+
+    default List<String> warmUpRequests() {
+        return Collections.emptyList();
+    }
+
+    default String readinessPath() {
+        return null;
+    }
+
+    /**
+     * Maximum size of a multipart request body in bytes, or -1 for no limit.
+     */
+    default long multipartMaxRequestSize() {
+        return 10 * 1024 * 1024;
+    }
+
+    /**
+     * Maximum size of a single uploaded file in bytes, or -1 for no limit.
+     */
+    default long multipartMaxFileSize() {
+        return -1;
+    }
+
+    /**
+     * Maximum size of a text field in a multipart request in bytes. Text fields are always kept in memory.
+     */
+    default long multipartMaxFieldSize() {
+        return 1024 * 1024;
+    }
+
+    /**
+     * Maximum size of all text fields of a multipart request together in bytes, or -1 for no limit.
+     */
+    default long multipartMaxFieldsSize() {
+        return 2 * 1024 * 1024;
+    }
+
+    /**
+     * Maximum number of parts in a multipart request, or -1 for no limit.
+     */
+    default int multipartMaxParts() {
+        return 1000;
+    }
+
+    /**
+     * Number of bytes of uploaded files that are kept in memory per request. Files that do not fit in are written to temporary files.
+     */
+    default int multipartFileSizeThreshold() {
+        return 64 * 1024;
+    }
+
+    default String multipartTempDir() {
+        return null;
+    }
+
+    /**
+     * Maximum time in milliseconds that a request waits for the deferred result of a request handler. With 0 the request waits as long as
+     * the servlet container allows, or without limit when async processing is not supported.
+     */
+    default long deferredTimeout() {
+        return 30000;
+    }
+
+    /**
+     * Maximum time in milliseconds that an asynchronous stream may take to write all of its data. With 0 the timeout of the servlet container
+     * applies. The stream of a deferred result is bounded by {@link #deferredTimeout()} instead.
+     */
+    default long streamTimeout() {
+        return 300000;
+    }
 }
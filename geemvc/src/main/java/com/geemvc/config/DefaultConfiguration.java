@@ -51,6 +51,30 @@ public class DefaultConfiguration implements Configuration {
 
     protected InjectorProvider ínjectorProvider = null;
 
+    protected String defaultMetricsPath = "/_geemvc/metrics";
+
+    protected double defaultSlowRequestSampleRate = 1.0;
+
+    protected int defaultSlowRequestRateLimit = 10;
+
+    protected int defaultSlowRequestQueueSize = 1000;
+
+    protected int defaultAdmissionRetryAfter = 1;
+
+    protected long defaultMultipartMaxRequestSize = 10 * 1024 * 1024;
+
+    protected long defaultMultipartMaxFieldSize = 1024 * 1024;
+
+    protected long defaultMultipartMaxFieldsSize = 2 * 1024 * 1024;
+
+    protected int defaultMultipartMaxParts = 1000;
+
+    protected int defaultMultipartFileSizeThreshold = 64 * 1024;
+
+    protected long defaultDeferredTimeout = 30000;
+
+    protected long defaultStreamTimeout = 300000;
+
     @Override
     public Configuration build(Map<String, String> configurationMap) {
         this.configurationMap = configurationMap;
@@ -244,16 +268,237 @@ public class DefaultConfiguration implements Configuration {
         return excludeLibsInReflections;
     }
 
+    @Override
+    public boolean isReflectionsIndexEnabled() {
+        String configuredIndexEnabled = configurationMap.get(REFLECTIONS_INDEX_KEY);
+        return Str.isEmpty(configuredIndexEnabled) ? true : Boolean.valueOf(configuredIndexEnabled.trim());
+    }
+
+    @Override
+    public int reflectionsScanThreads() {
+        String configuredScanThreads = configurationMap.get(REFLECTIONS_SCAN_THREADS_KEY);
+        return Str.isEmpty(configuredScanThreads) ? Runtime.getRuntime().availableProcessors() : Integer.valueOf(configuredScanThreads.trim());
+    }
+
+    @Override
+    public boolean isReflectionsScanResources() {
+        String configuredScanResources = configurationMap.get(REFLECTIONS_SCAN_RESOURCES_KEY);
+        return Str.isEmpty(configuredScanResources) ? false : Boolean.valueOf(configuredScanResources.trim());
+    }
+
+    @Override
+    public List<String> reflectionsIncludePackages() {
+        return tokens(configurationMap.get(REFLECTIONS_INCLUDE_PACKAGES_KEY));
+    }
+
+    @Override
+    public List<String> reflectionsExcludePackages() {
+        return tokens(configurationMap.get(REFLECTIONS_EXCLUDE_PACKAGES_KEY));
+    }
+
+    protected List<String> tokens(String configuredValue) {
+        List<String> tokens = new ArrayList<>();
+
+        if (!Str.isEmpty(configuredValue)) {
+            StringTokenizer st = new StringTokenizer(configuredValue, Str.COMMA);
+
+            while (st.hasMoreTokens()) {
+                String token = st.nextToken().trim();
+
+                if (!token.isEmpty())
+                    tokens.add(token);
+            }
+        }
+
+        return tokens;
+    }
+
+    @Override
+    public boolean isReflectionsSnapshotEnabled() {
+        String configuredSnapshotEnabled = configurationMap.get(REFLECTIONS_SNAPSHOT_KEY);
+        return Str.isEmpty(configuredSnapshotEnabled) ? true : Boolean.valueOf(configuredSnapshotEnabled.trim());
+    }
+
+    @Override
+    public String reflectionsSnapshotDir() {
+        String configuredSnapshotDir = configurationMap.get(REFLECTIONS_SNAPSHOT_DIR_KEY);
+        return Str.isEmpty(configuredSnapshotDir) ? null : configuredSnapshotDir.trim();
+    }
+
     @Override
     public boolean isJaxRsEnabled() {
         String configuredJaxRsEnabled = configurationMap.get(JAX_RS_ENABLED_KEY);
         return Str.isEmpty(configuredJaxRsEnabled) ? true : Boolean.valueOf(configuredJaxRsEnabled);
     }
 
+    @Override
+    public boolean isMetricsEnabled() {
+        String configuredMetricsEnabled = configurationMap.get(METRICS_ENABLED_KEY);
+        return Str.isEmpty(configuredMetricsEnabled) ? false : Boolean.valueOf(configuredMetricsEnabled.trim());
+    }
+
+    @Override
+    public String metricsPath() {
+        String configuredMetricsPath = configurationMap.get(METRICS_PATH_KEY);
+        return Str.isEmpty(configuredMetricsPath) ? defaultMetricsPath : configuredMetricsPath.trim();
+    }
+
+    @Override
+    public long slowRequestThreshold() {
+        String configuredThreshold = configurationMap.get(SLOW_REQUEST_THRESHOLD_KEY);
+        return Str.isEmpty(configuredThreshold) ? 0 : Long.valueOf(configuredThreshold.trim());
+    }
+
+    @Override
+    public double slowRequestSampleRate() {
+        String configuredSampleRate = configurationMap.get(SLOW_REQUEST_SAMPLE_RATE_KEY);
+        return Str.isEmpty(configuredSampleRate) ? defaultSlowRequestSampleRate : Double.valueOf(configuredSampleRate.trim());
+    }
+
+    @Override
+    public int slowRequestRateLimit() {
+        String configuredRateLimit = configurationMap.get(SLOW_REQUEST_RATE_LIMIT_KEY);
+        return Str.isEmpty(configuredRateLimit) ? defaultSlowRequestRateLimit : Integer.valueOf(configuredRateLimit.trim());
+    }
+
+    @Override
+    public int slowRequestQueueSize() {
+        String configuredQueueSize = configurationMap.get(SLOW_REQUEST_QUEUE_SIZE_KEY);
+        return Str.isEmpty(configuredQueueSize) ? defaultSlowRequestQueueSize : Integer.valueOf(configuredQueueSize.trim());
+    }
+
+    @Override
+    public int admissionMaxInFlight() {
+        String configuredMaxInFlight = configurationMap.get(ADMISSION_MAX_IN_FLIGHT_KEY);
+        return Str.isEmpty(configuredMaxInFlight) ? 0 : Integer.valueOf(configuredMaxInFlight.trim());
+    }
+
+    @Override
+    public long admissionMaxLatency() {
+        String configuredMaxLatency = configurationMap.get(ADMISSION_MAX_LATENCY_KEY);
+        return Str.isEmpty(configuredMaxLatency) ? 0 : Long.valueOf(configuredMaxLatency.trim());
+    }
+
+    @Override
+    public int admissionRetryAfter() {
+        String configuredRetryAfter = configurationMap.get(ADMISSION_RETRY_AFTER_KEY);
+        return Str.isEmpty(configuredRetryAfter) ? defaultAdmissionRetryAfter : Integer.valueOf(configuredRetryAfter.trim());
+    }
+
+    @Override
+    public Map<String, String> admissionCriticality() {
+        String configuredCriticality = configurationMap.get(ADMISSION_CRITICALITY_KEY);
+
+        Map<String, String> criticality = new LinkedHashMap<>();
+
+        if (!Str.isEmpty(configuredCriticality)) {
+            StringTokenizer st = new StringTokenizer(configuredCriticality, Str.COMMA);
+
+            while (st.hasMoreTokens()) {
+                String mapping = st.nextToken();
+                int equalsPos = mapping.indexOf(Char.EQUALS);
+
+                if (equalsPos > 0)
+                    criticality.put(mapping.substring(0, equalsPos).trim(), mapping.substring(equalsPos + 1).trim());
+            }
+        }
+
+        return criticality;
+    }
+
+    @Override
+    public boolean isBootstrapEager() {
+        String configuredBootstrapEager = configurationMap.get(BOOTSTRAP_EAGER_KEY);
+        return Str.isEmpty(configuredBootstrapEager) ? true : Boolean.valueOf(configuredBootstrapEager.trim());
+    }
+
+    @Override
+    public int bootstrapParallelism() {
+        String configuredParallelism = configurationMap.get(BOOTSTRAP_PARALLELISM_KEY);
+        return Str.isEmpty(configuredParallelism) ? Runtime.getRuntime().availableProcessors() : Integer.valueOf(configuredParallelism.trim());
+    }
+
+    @Override
+    public int warmUpIterations() {
+        String configuredWarmUpIterations = configurationMap.get(WARMUP_ITERATIONS_KEY);
+        return Str.isEmpty(configuredWarmUpIterations) ? 0 : Integer.valueOf(configuredWarmUpIterations.trim());
+    }
+
+    @Override
+    public List<String> warmUpRequests() {
+        return tokens(configurationMap.get(WARMUP_REQUESTS_KEY));
+    }
+
+    @Override
+    public String readinessPath() {
+        String configuredReadinessPath = configurationMap.get(READINESS_PATH_KEY);
+        return Str.isEmpty(configuredReadinessPath) ? null : configuredReadinessPath.trim();
+    }
+
+    @Override
+    public long multipartMaxRequestSize() {
+        String configuredMaxRequestSize = configurationMap.get(MULTIPART_MAX_REQUEST_SIZE_KEY);
+        return Str.isEmpty(configuredMaxRequestSize) ? defaultMultipartMaxRequestSize : Long.valueOf(configuredMaxRequestSize.trim());
+    }
+
+    @Override
+    public long multipartMaxFileSize() {
+        String configuredMaxFileSize = configurationMap.get(MULTIPART_MAX_FILE_SIZE_KEY);
+        return Str.isEmpty(configuredMaxFileSize) ? -1 : Long.valueOf(configuredMaxFileSize.trim());
+    }
+
+    @Override
+    public long multipartMaxFieldSize() {
+        String configuredMaxFieldSize = configurationMap.get(MULTIPART_MAX_FIELD_SIZE_KEY);
+        return Str.isEmpty(configuredMaxFieldSize) ? defaultMultipartMaxFieldSize : Long.valueOf(configuredMaxFieldSize.trim());
+    }
+
+    @Override
+    public long multipartMaxFieldsSize() {
+        String configuredMaxFieldsSize = configurationMap.get(MULTIPART_MAX_FIELDS_SIZE_KEY);
+        return Str.isEmpty(configuredMaxFieldsSize) ? defaultMultipartMaxFieldsSize : Long.valueOf(configuredMaxFieldsSize.trim());
+    }
+
+    @Override
+    public int multipartMaxParts() {
+        String configuredMaxParts = configurationMap.get(MULTIPART_MAX_PARTS_KEY);
+        return Str.isEmpty(configuredMaxParts) ? defaultMultipartMaxParts : Integer.valueOf(configuredMaxParts.trim());
+    }
+
+    @Override
+    public int multipartFileSizeThreshold() {
+        String configuredFileSizeThreshold = configurationMap.get(MULTIPART_FILE_SIZE_THRESHOLD_KEY);
+        return Str.isEmpty(configuredFileSizeThreshold) ? defaultMultipartFileSizeThreshold : Integer.valueOf(configuredFileSizeThreshold.trim());
+    }
+
+    @Override
+    public String multipartTempDir() {
+        String configuredTempDir = configurationMap.get(MULTIPART_TEMP_DIR_KEY);
+        return Str.isEmpty(configuredTempDir) ? null : configuredTempDir.trim();
+    }
+
+    @Override
+    public long deferredTimeout() {
+        String configuredDeferredTimeout = configurationMap.get(DEFERRED_TIMEOUT_KEY);
+        return Str.isEmpty(configuredDeferredTimeout) ? defaultDeferredTimeout : Long.valueOf(configuredDeferredTimeout.trim());
+    }
+
+    @Override
+    public long streamTimeout() {
+        String configuredStreamTimeout = configurationMap.get(STREAM_TIMEOUT_KEY);
+        return Str.isEmpty(configuredStreamTimeout) ? defaultStreamTimeout : Long.valueOf(configuredStreamTimeout.trim());
+    }
+
     @Override
     public String toString() {
         return "DefaultConfiguration [viewPrefix()=" + viewPrefix() + ", viewSuffix()=" + viewSuffix() + ", defaultCharacterEncoding()=" + defaultCharacterEncoding() + ", defaultContentType()=" + defaultContentType() + ", supportedLocales()="
                 + supportedLocales() + ", injectorProvider()=" + injectorProvider() + ", excludePathMappinig()=" + excludePathMappinig() + ", supportedUriSuffixes()=" + supportedUriSuffixes() + ", reflectionsLibIncludes()=" + reflectionsLibIncludes()
-                + ", reflectionsLibExcludes()=" + reflectionsLibExcludes() + ", isJaxRsEnabled()=" + isJaxRsEnabled() + "]";
+                + ", reflectionsLibExcludes()=" + reflectionsLibExcludes() + ", isReflectionsIndexEnabled()=" + isReflectionsIndexEnabled() + ", reflectionsScanThreads()=" + reflectionsScanThreads() + ", reflectionsIncludePackages()=" + reflectionsIncludePackages()
+                + ", reflectionsExcludePackages()=" + reflectionsExcludePackages() + ", isReflectionsSnapshotEnabled()=" + isReflectionsSnapshotEnabled() + ", isJaxRsEnabled()=" + isJaxRsEnabled() + ", isMetricsEnabled()=" + isMetricsEnabled() + ", metricsPath()=" + metricsPath() + ", slowRequestThreshold()=" + slowRequestThreshold()
+                + ", admissionMaxInFlight()=" + admissionMaxInFlight() + ", admissionMaxLatency()=" + admissionMaxLatency() + ", isBootstrapEager()=" + isBootstrapEager()
+                + ", bootstrapParallelism()=" + bootstrapParallelism() + ", warmUpIterations()=" + warmUpIterations() + ", readinessPath()=" + readinessPath()
+                + ", multipartMaxRequestSize()=" + multipartMaxRequestSize() + ", multipartMaxFileSize()=" + multipartMaxFileSize() + ", multipartMaxFieldSize()=" + multipartMaxFieldSize() + ", multipartMaxFieldsSize()=" + multipartMaxFieldsSize()
+                + ", multipartMaxParts()=" + multipartMaxParts() + ", multipartFileSizeThreshold()="
+                + multipartFileSizeThreshold() + ", multipartTempDir()=" + multipartTempDir() + ", deferredTimeout()=" + deferredTimeout() + ", streamTimeout()=" + streamTimeout() + "]";
     }
 }
@@ -13,18 +13,33 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.geemvc.converter;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.inject.Singleton;
 
 import jodd.typeconverter.TypeConverter;
 import jodd.typeconverter.TypeConverterManager;
 
+@Singleton
 public class DefaultSimpleConverter implements SimpleConverter {
+    protected static final MethodType FROM_STRING_TYPE = MethodType.methodType(Object.class, String.class);
+
+    /**
+     * The reflective conversion strategy of each class, resolved once. Type converters are still looked up per call, as they may be
+     * registered at any time.
+     */
+    protected final Map<Class<?>, Strategy> strategies = new ConcurrentHashMap<>();
+
     @Override
     public Object fromString(String value, Class<?> toClass) {
         return fromString(value, toClass, (Object[]) null);
@@ -32,41 +47,21 @@ public class DefaultSimpleConverter implements SimpleConverter {
 
     @Override
     public Object fromString(String value, Class<?> toClass, Object... options) {
-        Object o = null;
-
         TypeConverter<?> typeConverter = TypeConverterManager.lookup(toClass);
 
-        if (typeConverter != null) {
-            o = typeConverter.convert(value);
-        } else if (hasValueOfMethod(toClass)) {
-            Method m;
+        if (typeConverter != null)
+            return typeConverter.convert(value);
 
-            try {
-                m = toClass.getMethod("valueOf", String.class);
-                m.setAccessible(true);
-                o = m.invoke(null, value);
-            } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-            }
-        } else if (hasFromString(toClass)) {
-            Method m;
-
-            try {
-                m = toClass.getMethod("fromString", String.class);
-                m.setAccessible(true);
-                o = m.invoke(null, value);
-            } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-            }
-        } else if (hasSingleStringConstructor(toClass)) {
-            Constructor<?> c;
-            try {
-                c = toClass.getConstructor(String.class);
-                c.setAccessible(true);
-                o = c.newInstance(value);
-            } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-            }
-        }
+        MethodHandle fromString = strategy(toClass).fromString;
 
-        return o;
+        if (fromString == null)
+            return null;
+
+        try {
+            return (Object) fromString.invokeExact(value);
+        } catch (Throwable t) {
+            return null;
+        }
     }
 
     @Override
@@ -76,54 +71,89 @@ public class DefaultSimpleConverter implements SimpleConverter {
 
     @Override
     public boolean canConvert(Class<?> toClass) {
-        return TypeConverterManager.lookup(toClass) != null || hasValueOfMethod(toClass) || hasFromString(toClass) || hasAsString(toClass) || hasSingleStringConstructor(toClass);
+        if (TypeConverterManager.lookup(toClass) != null)
+            return true;
+
+        Strategy strategy = strategy(toClass);
+        return strategy.fromString != null || strategy.hasAsString;
     }
 
-    protected boolean hasValueOfMethod(Class<?> clazz) {
-        Method m;
+    protected Strategy strategy(Class<?> clazz) {
+        return strategies.computeIfAbsent(clazz, this::resolveStrategy);
+    }
+
+    /**
+     * Looks for a static valueOf(String) method, then a static fromString(String) method and finally a constructor that accepts a single
+     * String. The has* methods decide which of these are used, so subclasses can still narrow or widen the candidates.
+     */
+    protected Strategy resolveStrategy(Class<?> clazz) {
+        MethodHandle fromString = null;
 
         try {
-            m = clazz.getMethod("valueOf", String.class);
-        } catch (NoSuchMethodException | SecurityException e) {
-            return false;
+            if (hasValueOfMethod(clazz)) {
+                fromString = MethodHandles.lookup().unreflect(accessible(staticMethod(clazz, "valueOf", String.class))).asType(FROM_STRING_TYPE);
+            } else if (hasFromString(clazz)) {
+                fromString = MethodHandles.lookup().unreflect(accessible(staticMethod(clazz, "fromString", String.class))).asType(FROM_STRING_TYPE);
+            } else if (hasSingleStringConstructor(clazz)) {
+                fromString = MethodHandles.lookup().unreflectConstructor(accessible(stringConstructor(clazz))).asType(FROM_STRING_TYPE);
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            fromString = null;
         }
 
-        return m != null && Modifier.isStatic(m.getModifiers());
+        return new Strategy(fromString, hasAsString(clazz));
     }
 
-    protected boolean hasFromString(Class<?> clazz) {
-        Method m;
-
+    protected Method staticMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
         try {
-            m = clazz.getMethod("fromString", String.class);
+            Method m = clazz.getMethod(name, parameterTypes);
+            return Modifier.isStatic(m.getModifiers()) ? m : null;
         } catch (NoSuchMethodException | SecurityException e) {
-            return false;
+            return null;
         }
-
-        return m != null && Modifier.isStatic(m.getModifiers());
     }
 
-    protected boolean hasAsString(Class<?> clazz) {
-        Method m;
-
+    protected Constructor<?> stringConstructor(Class<?> clazz) {
         try {
-            m = clazz.getMethod("asString");
+            return clazz.getConstructor(String.class);
         } catch (NoSuchMethodException | SecurityException e) {
-            return false;
+            return null;
+        }
+    }
+
+    protected <T extends AccessibleObject> T accessible(T accessibleObject) {
+        try {
+            accessibleObject.setAccessible(true);
+        } catch (RuntimeException e) {
+            // Public members are accessible anyway.
         }
 
-        return m != null && Modifier.isStatic(m.getModifiers());
+        return accessibleObject;
+    }
+
+    protected boolean hasValueOfMethod(Class<?> clazz) {
+        return staticMethod(clazz, "valueOf", String.class) != null;
+    }
+
+    protected boolean hasFromString(Class<?> clazz) {
+        return staticMethod(clazz, "fromString", String.class) != null;
+    }
+
+    protected boolean hasAsString(Class<?> clazz) {
+        return staticMethod(clazz, "asString") != null;
     }
 
     protected boolean hasSingleStringConstructor(Class<?> clazz) {
-        Constructor<?> c;
+        return stringConstructor(clazz) != null;
+    }
 
-        try {
-            c = clazz.getConstructor(String.class);
-        } catch (NoSuchMethodException | SecurityException e) {
-            return false;
-        }
+    protected static class Strategy {
+        protected final MethodHandle fromString;
+        protected final boolean hasAsString;
 
-        return c != null;
+        protected Strategy(MethodHandle fromString, boolean hasAsString) {
+            this.fromString = fromString;
+            this.hasAsString = hasAsString;
+        }
     }
 }
@@ -19,8 +19,8 @@ package com.geemvc.converter.bean;
 import java.util.List;
 
 import com.geemvc.Char;
-import com.geemvc.Str;
-import com.geemvc.bind.PropertyNode;
+import com.geemvc.bind.PropertyPlans;
+import com.geemvc.bind.param.ParamValues;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
 
@@ -29,6 +29,9 @@ public abstract class AbstractBeanConverter {
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected PropertyPlans propertyPlans;
+
     public void _bindProperty(Object beanInstance, String expression, List<String> value) {
         if (value != null && value.size() > 1) {
             for (String val : value) {
@@ -43,23 +46,13 @@ public abstract class AbstractBeanConverter {
         int dotPos = expression.indexOf(Char.DOT);
         String propertyExpression = expression.substring(dotPos + 1);
 
-        PropertyNode propertyNode = injector.getInstance(PropertyNode.class).build(propertyExpression, beanInstance.getClass());
-
-        if (propertyExpression.contains(Str.SQUARE_BRACKET_OPEN)) {
-            propertyNode.set(beanInstance, value, propertyExpression);
-        } else {
-            propertyNode.set(beanInstance, value);
-        }
+        propertyPlans.set(beanInstance, propertyExpression, value);
     }
 
     public void _bindProperties(List<String> values, String beanName, Object beanInstance) {
         if (beanName != null) {
-            for (String val : values) {
-                int equalsPos = val.indexOf(Char.EQUALS);
-                String propertyExpression = val.substring(0, equalsPos);
-                String properyValue = val.substring(equalsPos + 1);
-
-                _bindProperty(beanInstance, propertyExpression, properyValue);
+            for (int i = 0; i < values.size(); i++) {
+                _bindProperty(beanInstance, _propertyExpression(values, i), _propertyValue(values, i));
             }
         }
     }
@@ -70,12 +63,8 @@ public abstract class AbstractBeanConverter {
         if (beanName != null && beanType != null) {
             beanInstance = _newInstance(beanType);
 
-            for (String val : values) {
-                int equalsPos = val.indexOf(Char.EQUALS);
-                String propertyExpression = val.substring(0, equalsPos);
-                String properyValue = val.substring(equalsPos + 1);
-
-                _bindProperty(beanInstance, propertyExpression, properyValue);
+            for (int i = 0; i < values.size(); i++) {
+                _bindProperty(beanInstance, _propertyExpression(values, i), _propertyValue(values, i));
             }
         }
 
@@ -88,15 +77,13 @@ public abstract class AbstractBeanConverter {
         if (beanName != null && beanType != null) {
             beanInstance = _newInstance(beanType);
 
-            for (String val : values) {
-                int equalsPos = val.indexOf(Char.EQUALS);
-                String propertyExpression = val.substring(0, equalsPos);
+            String prefix = new StringBuilder(beanName).append(Char.SQUARE_BRACKET_OPEN).append(index).append(Char.SQUARE_BRACKET_CLOSE).toString();
 
-                if (propertyExpression.startsWith(new StringBuilder(beanName).append(Char.SQUARE_BRACKET_OPEN).append(index).append(Char.SQUARE_BRACKET_CLOSE).toString())) {
-                    String properyValue = val.substring(equalsPos + 1);
+            for (int i = 0; i < values.size(); i++) {
+                String propertyExpression = _propertyExpression(values, i);
 
-                    _bindProperty(beanInstance, propertyExpression, properyValue);
-                }
+                if (propertyExpression.startsWith(prefix))
+                    _bindProperty(beanInstance, propertyExpression, _propertyValue(values, i));
             }
         }
 
@@ -109,16 +96,13 @@ public abstract class AbstractBeanConverter {
         if (beanName != null && beanType != null) {
             beanInstance = _newInstance(beanType);
 
-            for (String val : values) {
-                int equalsPos = val.indexOf(Char.EQUALS);
-                String propertyExpression = val.substring(0, equalsPos);
+            String prefix = new StringBuilder(beanName).append(Char.SQUARE_BRACKET_OPEN).append(index).append(Char.SQUARE_BRACKET_CLOSE).append(Char.SQUARE_BRACKET_OPEN).append(mapKey).append(Char.SQUARE_BRACKET_CLOSE).toString();
 
-                if (propertyExpression.startsWith(new StringBuilder(beanName).append(Char.SQUARE_BRACKET_OPEN).append(index).append(Char.SQUARE_BRACKET_CLOSE).append(Char.SQUARE_BRACKET_OPEN).append(mapKey).append(Char.SQUARE_BRACKET_CLOSE)
-                        .toString())) {
-                    String properyValue = val.substring(equalsPos + 1);
+            for (int i = 0; i < values.size(); i++) {
+                String propertyExpression = _propertyExpression(values, i);
 
-                    _bindProperty(beanInstance, propertyExpression, properyValue);
-                }
+                if (propertyExpression.startsWith(prefix))
+                    _bindProperty(beanInstance, propertyExpression, _propertyValue(values, i));
             }
         }
 
@@ -131,15 +115,13 @@ public abstract class AbstractBeanConverter {
         if (beanName != null && beanType != null) {
             beanInstance = _newInstance(beanType);
 
-            for (String val : values) {
-                int equalsPos = val.indexOf(Char.EQUALS);
-                String propertyExpression = val.substring(0, equalsPos);
+            String prefix = new StringBuilder(beanName).append(Char.SQUARE_BRACKET_OPEN).append(mapKey).append(Char.SQUARE_BRACKET_CLOSE).toString();
 
-                if (propertyExpression.startsWith(new StringBuilder(beanName).append(Char.SQUARE_BRACKET_OPEN).append(mapKey).append(Char.SQUARE_BRACKET_CLOSE).toString())) {
-                    String properyValue = val.substring(equalsPos + 1);
+            for (int i = 0; i < values.size(); i++) {
+                String propertyExpression = _propertyExpression(values, i);
 
-                    _bindProperty(beanInstance, propertyExpression, properyValue);
-                }
+                if (propertyExpression.startsWith(prefix))
+                    _bindProperty(beanInstance, propertyExpression, _propertyValue(values, i));
             }
         }
 
@@ -152,22 +134,42 @@ public abstract class AbstractBeanConverter {
         if (beanName != null && beanType != null) {
             beanInstance = _newInstance(beanType);
 
-            for (String val : values) {
-                int equalsPos = val.indexOf(Char.EQUALS);
-                String propertyExpression = val.substring(0, equalsPos);
+            String prefix = new StringBuilder(beanName).append(Char.SQUARE_BRACKET_OPEN).append(mapKey).append(Char.SQUARE_BRACKET_CLOSE).append(Char.SQUARE_BRACKET_OPEN).append(index).append(Char.SQUARE_BRACKET_CLOSE).toString();
 
-                if (propertyExpression.startsWith(new StringBuilder(beanName).append(Char.SQUARE_BRACKET_OPEN).append(mapKey).append(Char.SQUARE_BRACKET_CLOSE).append(Char.SQUARE_BRACKET_OPEN).append(index).append(Char.SQUARE_BRACKET_CLOSE)
-                        .toString())) {
-                    String properyValue = val.substring(equalsPos + 1);
+            for (int i = 0; i < values.size(); i++) {
+                String propertyExpression = _propertyExpression(values, i);
 
-                    _bindProperty(beanInstance, propertyExpression, properyValue);
-                }
+                if (propertyExpression.startsWith(prefix))
+                    _bindProperty(beanInstance, propertyExpression, _propertyValue(values, i));
             }
         }
 
         return beanInstance;
     }
 
+    /**
+     * Values coming from the request parameter index already carry their path, so they do not need to be split again.
+     */
+    protected String _propertyExpression(List<String> values, int index) {
+        if (values instanceof ParamValues) {
+            String path = ((ParamValues) values).path(index);
+
+            if (path != null)
+                return path;
+        }
+
+        String val = values.get(index);
+        return val.substring(0, val.indexOf(Char.EQUALS));
+    }
+
+    protected String _propertyValue(List<String> values, int index) {
+        if (values instanceof ParamValues && ((ParamValues) values).path(index) != null)
+            return ((ParamValues) values).value(index);
+
+        String val = values.get(index);
+        return val.substring(val.indexOf(Char.EQUALS) + 1);
+    }
+
     public Object _newInstance(Class<?> beanType) {
         return injector.getInstance(beanType);
     }
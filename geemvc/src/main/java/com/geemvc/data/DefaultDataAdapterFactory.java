@@ -21,7 +21,9 @@ import java.util.Map;
 import com.geemvc.reflect.ReflectionProvider;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Singleton;
 
+@Singleton
 public class DefaultDataAdapterFactory implements DataAdapterFactory {
     protected final ReflectionProvider reflectionProvider;
 
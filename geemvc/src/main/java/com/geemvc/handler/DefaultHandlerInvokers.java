@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.handler;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.geemvc.reflect.MethodHandleInvoker;
+import com.geemvc.reflect.MethodInvoker;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+
+@Singleton
+public class DefaultHandlerInvokers implements HandlerInvokers {
+    protected final Map<Method, MethodInvoker> invokers = new ConcurrentHashMap<>();
+    protected final Map<Class<?>, Provider<?>> controllerProviders = new ConcurrentHashMap<>();
+
+    @Inject
+    protected Injector injector;
+
+    @Override
+    public MethodInvoker invoker(Method handlerMethod) {
+        MethodInvoker invoker = invokers.get(handlerMethod);
+
+        if (invoker == null)
+            invoker = invokers.computeIfAbsent(handlerMethod, MethodHandleInvoker::new);
+
+        return invoker;
+    }
+
+    @Override
+    public Provider<?> controllerProvider(Class<?> controllerClass) {
+        Provider<?> controllerProvider = controllerProviders.get(controllerClass);
+
+        if (controllerProvider == null)
+            controllerProvider = controllerProviders.computeIfAbsent(controllerClass, injector::getProvider);
+
+        return controllerProvider;
+    }
+}
@@ -16,7 +16,6 @@
 
 package com.geemvc.handler;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
@@ -36,8 +35,11 @@ import com.geemvc.annotation.Request;
 import com.geemvc.bind.MethodParam;
 import com.geemvc.helper.Annotations;
 import com.geemvc.matcher.PathMatcher;
+import com.geemvc.reflect.MethodHandleInvoker;
+import com.geemvc.reflect.MethodInvoker;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Provider;
 
 import jodd.paramo.MethodParameter;
 import jodd.paramo.Paramo;
@@ -47,17 +49,23 @@ public class DefaultRequestHandler implements RequestHandler {
     protected Method method = null;
     protected String name = null;
     protected PathMatcher pathMatcher = null;
-    protected List<MethodParam> methodParams = null;
+    protected volatile List<MethodParam> methodParams = null;
+    protected MethodInvoker invoker = null;
+    protected Provider<?> controllerProvider = null;
 
     protected boolean isInitialized = false;
 
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected HandlerInvokers handlerInvokers;
+
     public RequestHandler build(Class<?> controllerClass, Method method) {
         if (!isInitialized) {
             this.controllerClass = controllerClass;
             this.method = method;
+            this.invoker = handlerInvokers == null ? new MethodHandleInvoker(method) : handlerInvokers.invoker(method);
 
             isInitialized = true;
         } else {
@@ -132,7 +140,8 @@ public class DefaultRequestHandler implements RequestHandler {
     @Override
     public List<MethodParam> methodParams() {
         if (methodParams == null) {
-            methodParams = new ArrayList<>();
+            // Request handlers are shared between requests, so the list is only published once it is complete.
+            List<MethodParam> params = new ArrayList<>();
 
             Method m = handlerMethod();
             Parameter[] parameters = m.getParameters();
@@ -144,9 +153,11 @@ public class DefaultRequestHandler implements RequestHandler {
                     Parameter parameter = parameters[i];
                     MethodParameter mParameter = mParameters[i];
 
-                    methodParams.add(injector.getInstance(MethodParam.class).build(mParameter.getName(), parameter.getType(), parameter.getParameterizedType(), parameter.getAnnotations()));
+                    params.add(injector.getInstance(MethodParam.class).build(mParameter.getName(), parameter.getType(), parameter.getParameterizedType(), parameter.getAnnotations()));
                 }
             }
+
+            methodParams = params;
         }
 
         return methodParams;
@@ -155,15 +166,43 @@ public class DefaultRequestHandler implements RequestHandler {
     @Override
     public Object invoke(Map<String, Object> parameters) {
         try {
-            Object[] args = null;
+            return invoker.invoke(controller(), args(parameters));
+        } catch (Throwable t) {
+            throw new IllegalStateException("Unable to invoke request handler: " + toGenericString() + ". " + t.getMessage(), t);
+        }
+    }
+
+    /**
+     * Copies the typed values into their argument slots. The values are collected in the same order as the method parameters, so we can simply
+     * fill the array positionally.
+     */
+    protected Object[] args(Map<String, Object> parameters) {
+        if (parameters == null || parameters.isEmpty())
+            return null;
+
+        int parameterCount = invoker.parameterCount();
 
-            if (parameters != null && !parameters.isEmpty())
-                args = parameters.values().toArray();
+        if (parameters.size() != parameterCount)
+            throw new IllegalArgumentException("Expected " + parameterCount + " arguments but got " + parameters.size() + " " + parameters.keySet());
 
-            return method.invoke(injector == null ? controllerClass.newInstance() : injector.getInstance(controllerClass), args);
-        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException | InstantiationException e) {
-            throw new IllegalStateException("Unable to invoke request handler: " + toGenericString() + ". " + e.getMessage(), e);
+        Object[] args = new Object[parameterCount];
+
+        int i = 0;
+        for (Object value : parameters.values()) {
+            args[i++] = value;
         }
+
+        return args;
+    }
+
+    protected Object controller() throws InstantiationException, IllegalAccessException {
+        if (injector == null)
+            return controllerClass.newInstance();
+
+        if (controllerProvider == null)
+            controllerProvider = handlerInvokers == null ? injector.getProvider(controllerClass) : handlerInvokers.controllerProvider(controllerClass);
+
+        return controllerProvider.get();
     }
 
     @Override
@@ -38,6 +38,7 @@ import com.geemvc.annotation.Request;
 import com.geemvc.helper.Annotations;
 import com.geemvc.helper.Controllers;
 import com.geemvc.helper.MimeTypes;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.logging.Log;
 import com.geemvc.logging.annotation.Logger;
 import com.geemvc.matcher.CookieMatcher;
@@ -50,16 +51,20 @@ import com.geemvc.view.bean.Result;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Singleton;
 
+@Singleton
 public class DefaultRequestHandlers implements RequestHandlers {
     protected final CompositeHandlerResolver handlerResolver;
     protected final Controllers controllers;
     protected final Annotations annotations;
-    protected final PathMatcher pathMatcher;
 
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected InstanceFactory instanceFactory;
+
     @Logger
     protected Log log;
 
@@ -67,11 +72,10 @@ public class DefaultRequestHandlers implements RequestHandlers {
     protected String contentTypeHeader = "Content-Type";
 
     @Inject
-    public DefaultRequestHandlers(CompositeHandlerResolver handlerResolver, Controllers controllers, Annotations annotations, PathMatcher pathMatcher) {
+    public DefaultRequestHandlers(CompositeHandlerResolver handlerResolver, Controllers controllers, Annotations annotations) {
         this.handlerResolver = handlerResolver;
         this.controllers = controllers;
         this.annotations = annotations;
-        this.pathMatcher = pathMatcher;
     }
 
     @Override
@@ -107,7 +111,8 @@ public class DefaultRequestHandlers implements RequestHandlers {
             Request requestMapping = requestHandler.handlerRequestMapping();
             String basePath = controllers.getBasePath(requestHandler.controllerClass());
             String path = annotations.path(requestMapping);
-            requestHandler.pathMatcher(pathMatcher.build(basePath, path));
+            // PathMatcher.build() changes the matcher, so every handler needs its own instance.
+            requestHandler.pathMatcher(injector.getInstance(PathMatcher.class).build(basePath, path));
         }
 
         return requestHandler;
@@ -124,10 +129,10 @@ public class DefaultRequestHandlers implements RequestHandlers {
         String[] cookies = requestMapping.cookies();
         String handles = requestMapping.handles();
 
-        MatcherContext paramMatcherCtx = injector.getInstance(MatcherContext.class);
-        MatcherContext headerMatcherCtx = injector.getInstance(MatcherContext.class);
-        MatcherContext cookieMatcherCtx = injector.getInstance(MatcherContext.class);
-        MatcherContext handlesMatcherCtx = injector.getInstance(MatcherContext.class);
+        MatcherContext paramMatcherCtx = instanceFactory.create(MatcherContext.class);
+        MatcherContext headerMatcherCtx = instanceFactory.create(MatcherContext.class);
+        MatcherContext cookieMatcherCtx = instanceFactory.create(MatcherContext.class);
+        MatcherContext handlesMatcherCtx = instanceFactory.create(MatcherContext.class);
 
         if (hasRequestMethod(requestMapping, requestCtx)
                 && (params == null || params.length == 0 || parametersMatch(requestMapping, requestCtx, paramMatcherCtx))
@@ -137,7 +142,7 @@ public class DefaultRequestHandlers implements RequestHandlers {
                 && (cookies == null || cookies.length == 0 || cookiesMatch(requestMapping, requestCtx, cookieMatcherCtx))
                 && (handles == null || handles.trim().isEmpty() || handleScriptMatches(requestMapping, requestCtx, handlesMatcherCtx))) {
 
-            HandlerResolutionPlan handlerResolutionPlan = injector.getInstance(HandlerResolutionPlan.class).buildCompatible(paramMatcherCtx.resolvedExpressions(),
+            HandlerResolutionPlan handlerResolutionPlan = instanceFactory.create(HandlerResolutionPlan.class).buildCompatible(paramMatcherCtx.resolvedExpressions(),
                     headerMatcherCtx.resolvedExpressions(),
                     cookieMatcherCtx.resolvedExpressions(),
                     handlesMatcherCtx.resolvedExpressions());
@@ -147,7 +152,7 @@ public class DefaultRequestHandlers implements RequestHandlers {
             return handlerResolutionPlan;
         }
 
-        return injector.getInstance(HandlerResolutionPlan.class).build();
+        return instanceFactory.create(HandlerResolutionPlan.class).build();
     }
 
     @Override
@@ -457,7 +462,7 @@ public class DefaultRequestHandlers implements RequestHandlers {
             for (String ignorePath : ignorePaths) {
                 PathMatcher matcher = injector.getInstance(PathMatcher.class).build(ignorePath);
 
-                if (matcher.matches(requestCtx, injector.getInstance(MatcherContext.class)))
+                if (matcher.matches(requestCtx, instanceFactory.create(MatcherContext.class)))
                     return true;
             }
         }
@@ -20,6 +20,7 @@ import com.geemvc.RequestContext;
 import com.geemvc.cache.Cache;
 import com.geemvc.helper.Annotations;
 import com.geemvc.helper.Controllers;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.matcher.MatcherContext;
 import com.geemvc.matcher.PathMatcher;
 import com.geemvc.matcher.PathMatcherKey;
@@ -44,6 +45,9 @@ public class DefaultSimpleControllerResolver implements SimpleControllerResolver
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected InstanceFactory instanceFactory;
+
     protected static final String CONTROLLERS_CACHE_KEY = "geemvc/resolvedControllers";
 
     @Inject
@@ -69,7 +73,7 @@ public class DefaultSimpleControllerResolver implements SimpleControllerResolver
             Class<?> controllerClass = entry.getValue();
             PathMatcher pathMatcher = entry.getKey().matcher();
 
-            MatcherContext matcherCtx = injector.getInstance(MatcherContext.class);
+            MatcherContext matcherCtx = instanceFactory.create(MatcherContext.class);
 
             if (pathMatcher.matches(requestCtx, matcherCtx)) {
 
@@ -90,7 +94,7 @@ public class DefaultSimpleControllerResolver implements SimpleControllerResolver
         for (Class<?> controllerClass : controllerClasses) {
             PathMatcher matcher = injector.getInstance(PathMatcher.class).build(controllers.getBasePath(controllerClass));
 
-            controllerMap.put(injector.getInstance(PathMatcherKey.class).build(controllerClass, matcher), controllerClass);
+            controllerMap.put(instanceFactory.create(PathMatcherKey.class).build(controllerClass, matcher), controllerClass);
         }
 
         return controllerMap;
@@ -29,6 +29,7 @@ import com.geemvc.annotation.Request;
 import com.geemvc.cache.Cache;
 import com.geemvc.helper.Annotations;
 import com.geemvc.helper.Controllers;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.logging.Log;
 import com.geemvc.logging.annotation.Logger;
 import com.geemvc.matcher.MatcherContext;
@@ -53,6 +54,9 @@ public class DefaultSimpleHandlerResolver implements SimpleHandlerResolver {
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected InstanceFactory instanceFactory;
+
     @Logger
     protected Log log;
 
@@ -154,7 +158,7 @@ public class DefaultSimpleHandlerResolver implements SimpleHandlerResolver {
                     String path = annotations.path(requestMapping);
 
                     PathMatcher pathMatcher = injector.getInstance(PathMatcher.class).build(basePath, path);
-                    MatcherContext pathMatcherCtx = injector.getInstance(MatcherContext.class);
+                    MatcherContext pathMatcherCtx = instanceFactory.create(MatcherContext.class);
 
                     boolean pathMatches = pathMatcher.matches(requestCtx, pathMatcherCtx);
 
@@ -205,7 +209,7 @@ public class DefaultSimpleHandlerResolver implements SimpleHandlerResolver {
                     String path = annotations.path(requestMapping);
 
                     PathMatcher pathMatcher = injector.getInstance(PathMatcher.class).build(basePath, path);
-                    MatcherContext pathMatcherCtx = injector.getInstance(MatcherContext.class);
+                    MatcherContext pathMatcherCtx = instanceFactory.create(MatcherContext.class);
 
                     boolean pathMatches = pathMatcher.matches(requestCtx, pathMatcherCtx);
 
@@ -248,17 +252,11 @@ public class DefaultSimpleHandlerResolver implements SimpleHandlerResolver {
 
         // Now we go into the second filtering stage. Her we attempt to filter by parameters, headers etc.
         for (RequestHandler preFilteredHandler : preFilteredHandlers) {
-            Request requestMapping = preFilteredHandler.handlerRequestMapping();
-
             if (requestHandlers.handlerResolutionPlan(preFilteredHandler, requestCtx).isCompatible()) {
                 log.trace("Found request handler '{}' for matching request parameters, headers, consumes, produces, cookies and handles statement.", () -> preFilteredHandler);
 
-                RequestHandler requestHandler = injector.getInstance(RequestHandler.class)
-                        .build(preFilteredHandler.controllerClass(), preFilteredHandler.handlerMethod())
-                        .name(requestMapping.name())
-                        .pathMatcher(preFilteredHandler.pathMatcher());
-
-                foundHandlers.add(requestHandler);
+                // The pre-filtered handlers are cached, so they are shared instead of being built again for every request.
+                foundHandlers.add(preFilteredHandler);
             }
         }
 
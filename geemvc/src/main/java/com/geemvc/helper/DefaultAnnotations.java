@@ -37,6 +37,7 @@ import javax.ws.rs.Produces;
 
 import com.geemvc.HttpMethod;
 import com.geemvc.Str;
+import com.geemvc.admission.Criticality;
 import com.geemvc.annotation.Request;
 import com.geemvc.intercept.OnView;
 import com.geemvc.intercept.When;
@@ -217,6 +218,11 @@ public class DefaultAnnotations implements Annotations {
                 return requestMapping == null ? 111 : requestMapping.priority();
             }
 
+            @Override
+            public Criticality criticality() {
+                return requestMapping == null ? Criticality.INHERIT : requestMapping.criticality();
+            }
+
             @Override
             public String path() {
                 return value();
@@ -355,6 +361,11 @@ public class DefaultAnnotations implements Annotations {
                 return requestMapping == null ? 111 : requestMapping.priority();
             }
 
+            @Override
+            public Criticality criticality() {
+                return requestMapping == null ? Criticality.INHERIT : requestMapping.criticality();
+            }
+
             @Override
             public String path() {
                 return value();
@@ -22,6 +22,7 @@ import com.geemvc.RequestContext;
 import com.geemvc.Str;
 import com.geemvc.annotation.Request;
 import com.geemvc.cache.Cache;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.matcher.MatcherContext;
 import com.geemvc.matcher.PathMatcher;
 import com.google.inject.Inject;
@@ -36,6 +37,9 @@ public class DefaultControllers implements Controllers {
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected InstanceFactory instanceFactory;
+
     protected static final String BASE_PATH_CACHE_KEY = "geemvc/controller/basePath/%s";
 
     @Override
@@ -80,7 +84,7 @@ public class DefaultControllers implements Controllers {
         if (ignorePaths != null && ignorePaths.length > 0) {
             for (String ignorePath : ignorePaths) {
                 PathMatcher matcher = injector.getInstance(PathMatcher.class).build(ignorePath);
-                MatcherContext matcherCtx = injector.getInstance(MatcherContext.class);
+                MatcherContext matcherCtx = instanceFactory.create(MatcherContext.class);
 
                 if (matcher.matches(requestCtx, matcherCtx))
                     return true;
@@ -22,9 +22,12 @@ import com.geemvc.RequestContext;
 import com.geemvc.Str;
 import com.geemvc.handler.RequestHandler;
 
+import com.google.inject.Singleton;
+
 /**
  * Created by Michael on 14.07.2016.
  */
+@Singleton
 public class DefaultPaths implements Paths {
 
     @Override
@@ -66,6 +66,6 @@ public class DefaultMessages implements Messages {
     }
 
     protected RequestContext requestContext() {
-        return (RequestContext) ThreadStash.get(RequestContext.class);
+        return ThreadStash.requestContext();
     }
 }
@@ -32,6 +32,13 @@ public class DefaultNotices implements Notices {
     @Inject
     protected Injector injector;
 
+    public DefaultNotices() {
+    }
+
+    public DefaultNotices(Injector injector) {
+        this.injector = injector;
+    }
+
     @Override
     public void add(String field, String message, Object... args) {
         if (notices == null)
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.inject;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+import com.geemvc.Bindings;
+import com.geemvc.DefaultBindings;
+import com.geemvc.bind.param.DefaultParamContext;
+import com.geemvc.bind.param.ParamContext;
+import com.geemvc.cache.CacheEntry;
+import com.geemvc.cache.DefaultCacheEntry;
+import com.geemvc.converter.ConverterContext;
+import com.geemvc.converter.DefaultConverterContext;
+import com.geemvc.handler.DefaultHandlerResolutionPlan;
+import com.geemvc.handler.HandlerResolutionPlan;
+import com.geemvc.i18n.notice.DefaultNotices;
+import com.geemvc.i18n.notice.Notices;
+import com.geemvc.intercept.DefaultLifecycleContext;
+import com.geemvc.intercept.LifecycleContext;
+import com.geemvc.matcher.DefaultMatcherContext;
+import com.geemvc.matcher.DefaultPathMatcherKey;
+import com.geemvc.matcher.MatcherContext;
+import com.geemvc.matcher.PathMatcherKey;
+import com.geemvc.rest.jaxrs.util.DefaultMultivaluedMap;
+import com.geemvc.script.DefaultEvaluatorContext;
+import com.geemvc.script.EvaluatorContext;
+import com.geemvc.validation.DefaultErrors;
+import com.geemvc.validation.DefaultValidationContext;
+import com.geemvc.validation.Errors;
+import com.geemvc.validation.ValidationContext;
+import com.geemvc.view.binding.BindingContext;
+import com.geemvc.view.binding.DefaultBindingContext;
+import com.google.inject.Binding;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Singleton;
+import com.google.inject.spi.LinkedKeyBinding;
+
+@Singleton
+public class DefaultInstanceFactory implements InstanceFactory {
+    protected final Injector injector;
+
+    protected final Map<Class<?>, Supplier<?>> suppliers = new IdentityHashMap<>();
+
+    @Inject
+    public DefaultInstanceFactory(Injector injector) {
+        this.injector = injector;
+
+        register(Errors.class, DefaultErrors.class, () -> new DefaultErrors(injector));
+        register(Notices.class, DefaultNotices.class, () -> new DefaultNotices(injector));
+        register(MatcherContext.class, DefaultMatcherContext.class, DefaultMatcherContext::new);
+        register(EvaluatorContext.class, DefaultEvaluatorContext.class, () -> new DefaultEvaluatorContext(injector));
+        register(ParamContext.class, DefaultParamContext.class, DefaultParamContext::new);
+        register(ConverterContext.class, DefaultConverterContext.class, DefaultConverterContext::new);
+        register(ValidationContext.class, DefaultValidationContext.class, DefaultValidationContext::new);
+        register(LifecycleContext.class, DefaultLifecycleContext.class, DefaultLifecycleContext::new);
+        register(BindingContext.class, DefaultBindingContext.class, DefaultBindingContext::new);
+        register(Bindings.class, DefaultBindings.class, DefaultBindings::new);
+        register(HandlerResolutionPlan.class, DefaultHandlerResolutionPlan.class, DefaultHandlerResolutionPlan::new);
+        register(PathMatcherKey.class, DefaultPathMatcherKey.class, DefaultPathMatcherKey::new);
+        register(CacheEntry.class, DefaultCacheEntry.class, DefaultCacheEntry::new);
+        register(MultivaluedMap.class, DefaultMultivaluedMap.class, DefaultMultivaluedMap::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T create(Class<T> type) {
+        Supplier<?> supplier = suppliers.get(type);
+
+        return supplier == null ? injector.getInstance(type) : (T) supplier.get();
+    }
+
+    /**
+     * Only uses the direct constructor when the type is still bound to its default implementation. If an application has overridden the binding in
+     * its module we fall back to the Guice provider, so that the existing configureXXX() override points keep working.
+     */
+    protected <T> void register(Class<T> type, Class<? extends T> defaultImplementation, Supplier<? extends T> constructor) {
+        Binding<T> binding = injector.getExistingBinding(Key.get(type));
+
+        if (binding == null)
+            return;
+
+        if (binding instanceof LinkedKeyBinding && ((LinkedKeyBinding<T>) binding).getLinkedKey().getTypeLiteral().getRawType() == defaultImplementation && !hasCustomBinding(defaultImplementation)) {
+            suppliers.put(type, constructor);
+        } else {
+            suppliers.put(type, binding.getProvider()::get);
+        }
+    }
+
+    /**
+     * The default implementation itself may also have been rebound, e.g. to a subclass.
+     */
+    protected boolean hasCustomBinding(Class<?> defaultImplementation) {
+        Binding<?> binding = injector.getExistingBinding(Key.get(defaultImplementation));
+        return binding instanceof LinkedKeyBinding;
+    }
+}
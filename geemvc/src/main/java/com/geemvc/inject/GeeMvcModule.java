@@ -32,24 +32,42 @@ import com.geemvc.DefaultRequestRunner;
 import com.geemvc.InternalRequestContext;
 import com.geemvc.RequestContext;
 import com.geemvc.RequestRunner;
+import com.geemvc.admission.AdmissionController;
+import com.geemvc.admission.DefaultAdmissionController;
+import com.geemvc.bind.ArgumentResolver;
+import com.geemvc.bind.DefaultArgumentResolver;
 import com.geemvc.bind.DefaultMethodParam;
 import com.geemvc.bind.DefaultMethodParams;
 import com.geemvc.bind.DefaultPropertyNode;
+import com.geemvc.bind.DefaultPropertyPlan;
+import com.geemvc.bind.DefaultPropertyPlans;
 import com.geemvc.bind.MethodParam;
 import com.geemvc.bind.MethodParams;
 import com.geemvc.bind.PropertyNode;
+import com.geemvc.bind.PropertyPlan;
+import com.geemvc.bind.PropertyPlans;
 import com.geemvc.bind.param.DefaultParamAdapterFactory;
 import com.geemvc.bind.param.DefaultParamAdapterKey;
 import com.geemvc.bind.param.DefaultParamAdapters;
 import com.geemvc.bind.param.DefaultParamContext;
+import com.geemvc.bind.param.DefaultParamIndex;
 import com.geemvc.bind.param.ParamAdapterFactory;
 import com.geemvc.bind.param.ParamAdapterKey;
 import com.geemvc.bind.param.ParamAdapters;
 import com.geemvc.bind.param.ParamContext;
+import com.geemvc.bind.param.ParamIndex;
+import com.geemvc.bootstrap.Bootstrap;
+import com.geemvc.bootstrap.DefaultBootstrap;
 import com.geemvc.cache.Cache;
 import com.geemvc.cache.CacheEntry;
 import com.geemvc.cache.DefaultCache;
 import com.geemvc.cache.DefaultCacheEntry;
+import com.geemvc.coalesce.Coalescer;
+import com.geemvc.coalesce.DefaultCoalescer;
+import com.geemvc.concurrency.Bulkhead;
+import com.geemvc.concurrency.Bulkheads;
+import com.geemvc.concurrency.DefaultBulkhead;
+import com.geemvc.concurrency.DefaultBulkheads;
 import com.geemvc.config.Configuration;
 import com.geemvc.config.Configurations;
 import com.geemvc.converter.ConverterAdapterFactory;
@@ -68,6 +86,7 @@ import com.geemvc.handler.CompositeControllerResolver;
 import com.geemvc.handler.CompositeHandlerResolver;
 import com.geemvc.handler.DefaultCompositeControllerResolver;
 import com.geemvc.handler.DefaultCompositeHandlerResolver;
+import com.geemvc.handler.DefaultHandlerInvokers;
 import com.geemvc.handler.DefaultHandlerResolutionPlan;
 import com.geemvc.handler.DefaultRequestHandler;
 import com.geemvc.handler.DefaultRequestHandlerInfo;
@@ -76,6 +95,7 @@ import com.geemvc.handler.DefaultRequestHandlers;
 import com.geemvc.handler.DefaultRequestMappingKey;
 import com.geemvc.handler.DefaultSimpleControllerResolver;
 import com.geemvc.handler.DefaultSimpleHandlerResolver;
+import com.geemvc.handler.HandlerInvokers;
 import com.geemvc.handler.HandlerResolutionPlan;
 import com.geemvc.handler.RequestHandler;
 import com.geemvc.handler.RequestHandlerInfo;
@@ -110,16 +130,20 @@ import com.geemvc.i18n.notice.DefaultNotice;
 import com.geemvc.i18n.notice.DefaultNotices;
 import com.geemvc.i18n.notice.Notice;
 import com.geemvc.i18n.notice.Notices;
+import com.geemvc.intercept.AroundHandlerChain;
+import com.geemvc.intercept.DefaultAroundHandlerChain;
 import com.geemvc.intercept.DefaultInterceptorResolver;
 import com.geemvc.intercept.DefaultInterceptors;
 import com.geemvc.intercept.DefaultInvocationContext;
 import com.geemvc.intercept.DefaultLifecycleContext;
 import com.geemvc.intercept.DefaultLifecycleInterceptor;
+import com.geemvc.intercept.DefaultLifecyclePlan;
 import com.geemvc.intercept.InterceptorResolver;
 import com.geemvc.intercept.Interceptors;
 import com.geemvc.intercept.InvocationContext;
 import com.geemvc.intercept.LifecycleContext;
 import com.geemvc.intercept.LifecycleInterceptor;
+import com.geemvc.intercept.LifecyclePlan;
 import com.geemvc.logging.DefaultLog;
 import com.geemvc.logging.Log;
 import com.geemvc.logging.LoggerTypeListener;
@@ -137,6 +161,14 @@ import com.geemvc.matcher.MatcherContext;
 import com.geemvc.matcher.ParamMatcher;
 import com.geemvc.matcher.PathMatcher;
 import com.geemvc.matcher.PathMatcherKey;
+import com.geemvc.metrics.DefaultMetricsEndpoint;
+import com.geemvc.metrics.DefaultSlowRequestLog;
+import com.geemvc.metrics.MetricsEndpoint;
+import com.geemvc.metrics.RequestMetrics;
+import com.geemvc.metrics.SlowRequestLog;
+import com.geemvc.metrics.TracingRequestMetrics;
+import com.geemvc.multipart.DefaultMultipartParser;
+import com.geemvc.multipart.MultipartParser;
 import com.geemvc.reader.DefaultReaderAdapterKey;
 import com.geemvc.reader.ReaderAdapterKey;
 import com.geemvc.reader.bean.BeanReaderAdapterFactory;
@@ -202,6 +234,8 @@ import com.geemvc.view.binding.BindingContext;
 import com.geemvc.view.binding.BindingResolver;
 import com.geemvc.view.binding.DefaultBindingContext;
 import com.geemvc.view.binding.DefaultBindingResolver;
+import com.geemvc.warmup.DefaultWarmUp;
+import com.geemvc.warmup.WarmUp;
 import com.google.inject.AbstractModule;
 import com.google.inject.matcher.Matchers;
 
@@ -211,6 +245,7 @@ public class GeeMvcModule extends AbstractModule {
     protected void configure() {
         configureLog();
         configureLoggerTypeListener();
+        configureInstanceFactory();
         configureCache();
         configureCacheEntry();
         configureRequestRunner();
@@ -231,6 +266,7 @@ public class GeeMvcModule extends AbstractModule {
         configureMatcherContext();
         configurePathRegex();
         configureRequestHandler();
+        configureHandlerInvokers();
         configureRequestHandlers();
         configureRequestHandlerInfo();
         configureRequestHandlerKey();
@@ -257,9 +293,14 @@ public class GeeMvcModule extends AbstractModule {
         configureParamAdapterKey();
         configureParamAdapters();
         configureParamContext();
+        configureParamIndex();
+        configureMultipartParser();
         configureMethodParams();
+        configureArgumentResolver();
         configureMethodParam();
         configurePropertyNode();
+        configurePropertyPlan();
+        configurePropertyPlans();
         configureViewBean();
         configureViewAdapterFactory();
         configureViewHandler();
@@ -270,8 +311,10 @@ public class GeeMvcModule extends AbstractModule {
         configureInterceptorResolver();
         configureInterceptors();
         configureInvocationContext();
+        configureAroundHandlerChain();
         configureLifecycleInterceptor();
         configureLifecycleContext();
+        configureLifecyclePlan();
         configureBindingResolver();
         configureBindingContext();
         configureNotice();
@@ -289,6 +332,15 @@ public class GeeMvcModule extends AbstractModule {
         configureViewOnlyRequestHandler();
         configureStreamViewHandler();
         configureUriBuilder();
+        configureRequestMetrics();
+        configureMetricsEndpoint();
+        configureSlowRequestLog();
+        configureBulkhead();
+        configureBulkheads();
+        configureCoalescer();
+        configureAdmissionController();
+        configureBootstrap();
+        configureWarmUp();
 
         // Jax-RS
         configureJaxRSRuntimeDelegate();
@@ -469,6 +521,14 @@ public class GeeMvcModule extends AbstractModule {
         bind(ParamContext.class).to(DefaultParamContext.class);
     }
 
+    protected void configureParamIndex() {
+        bind(ParamIndex.class).to(DefaultParamIndex.class);
+    }
+
+    protected void configureMultipartParser() {
+        bind(MultipartParser.class).to(DefaultMultipartParser.class);
+    }
+
     protected void configureSimpleConverter() {
         bind(SimpleConverter.class).to(DefaultSimpleConverter.class);
     }
@@ -489,6 +549,10 @@ public class GeeMvcModule extends AbstractModule {
         bind(RequestHandler.class).to(DefaultRequestHandler.class);
     }
 
+    protected void configureHandlerInvokers() {
+        bind(HandlerInvokers.class).to(DefaultHandlerInvokers.class);
+    }
+
     protected void configureRequestHandlers() {
         bind(RequestHandlers.class).to(DefaultRequestHandlers.class);
     }
@@ -501,6 +565,10 @@ public class GeeMvcModule extends AbstractModule {
         bind(MethodParams.class).to(DefaultMethodParams.class);
     }
 
+    protected void configureArgumentResolver() {
+        bind(ArgumentResolver.class).to(DefaultArgumentResolver.class);
+    }
+
     protected void configureMethodParam() {
         bind(MethodParam.class).to(DefaultMethodParam.class);
     }
@@ -517,6 +585,10 @@ public class GeeMvcModule extends AbstractModule {
         bind(HandlerResolutionPlan.class).to(DefaultHandlerResolutionPlan.class);
     }
 
+    protected void configureInstanceFactory() {
+        bind(InstanceFactory.class).to(DefaultInstanceFactory.class);
+    }
+
     protected void configureRequestRunner() {
         bind(RequestRunner.class).to(DefaultRequestRunner.class);
     }
@@ -637,6 +709,14 @@ public class GeeMvcModule extends AbstractModule {
         bind(PropertyNode.class).to(DefaultPropertyNode.class);
     }
 
+    protected void configurePropertyPlan() {
+        bind(PropertyPlan.class).to(DefaultPropertyPlan.class);
+    }
+
+    protected void configurePropertyPlans() {
+        bind(PropertyPlans.class).to(DefaultPropertyPlans.class);
+    }
+
     protected void configureViewBean() {
         bind(Result.class).to(DefaultResult.class);
     }
@@ -661,10 +741,15 @@ public class GeeMvcModule extends AbstractModule {
         bind(Interceptors.class).to(DefaultInterceptors.class);
     }
 
+    @SuppressWarnings("deprecation")
     protected void configureInvocationContext() {
         bind(InvocationContext.class).to(DefaultInvocationContext.class);
     }
 
+    protected void configureAroundHandlerChain() {
+        bind(AroundHandlerChain.class).to(DefaultAroundHandlerChain.class);
+    }
+
     protected void configureLifecycleInterceptor() {
         bind(LifecycleInterceptor.class).to(DefaultLifecycleInterceptor.class);
     }
@@ -673,6 +758,10 @@ public class GeeMvcModule extends AbstractModule {
         bind(LifecycleContext.class).to(DefaultLifecycleContext.class);
     }
 
+    protected void configureLifecyclePlan() {
+        bind(LifecyclePlan.class).to(DefaultLifecyclePlan.class);
+    }
+
     protected void configureBindingResolver() {
         bind(BindingResolver.class).to(DefaultBindingResolver.class);
     }
@@ -685,6 +774,44 @@ public class GeeMvcModule extends AbstractModule {
         bind(UriBuilder.class).to(DefaultUriBuilder.class);
     }
 
+    protected void configureRequestMetrics() {
+        // Handlers may enable the slow-request log with @SlowRequest, which is only known after the classpath has been scanned. The tracing
+        // metrics hand everything to the histograms or ignore it if no request is traced.
+        bind(RequestMetrics.class).to(TracingRequestMetrics.class);
+    }
+
+    protected void configureMetricsEndpoint() {
+        bind(MetricsEndpoint.class).to(DefaultMetricsEndpoint.class);
+    }
+
+    protected void configureSlowRequestLog() {
+        bind(SlowRequestLog.class).to(DefaultSlowRequestLog.class);
+    }
+
+    protected void configureBulkhead() {
+        bind(Bulkhead.class).to(DefaultBulkhead.class);
+    }
+
+    protected void configureBulkheads() {
+        bind(Bulkheads.class).to(DefaultBulkheads.class);
+    }
+
+    protected void configureBootstrap() {
+        bind(Bootstrap.class).to(DefaultBootstrap.class);
+    }
+
+    protected void configureWarmUp() {
+        bind(WarmUp.class).to(DefaultWarmUp.class);
+    }
+
+    protected void configureAdmissionController() {
+        bind(AdmissionController.class).to(DefaultAdmissionController.class);
+    }
+
+    protected void configureCoalescer() {
+        bind(Coalescer.class).to(DefaultCoalescer.class);
+    }
+
     protected Configuration configuration() {
         return (Configuration) Configurations.get();
     }
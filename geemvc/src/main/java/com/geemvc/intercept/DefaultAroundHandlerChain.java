@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.intercept;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.geemvc.RequestContext;
+import com.geemvc.handler.RequestHandler;
+import com.geemvc.i18n.notice.Notices;
+import com.geemvc.logging.Log;
+import com.geemvc.logging.annotation.Logger;
+import com.geemvc.validation.Errors;
+
+public class DefaultAroundHandlerChain implements AroundHandlerChain {
+    protected static final AroundHandler[] NONE = new AroundHandler[0];
+
+    protected AroundHandler[] aroundHandlers = NONE;
+
+    @Logger
+    protected Log log;
+
+    @Override
+    public AroundHandlerChain build(Collection<AroundHandler> aroundHandlers) {
+        if (aroundHandlers != null && !aroundHandlers.isEmpty())
+            this.aroundHandlers = aroundHandlers.toArray(new AroundHandler[aroundHandlers.size()]);
+
+        return this;
+    }
+
+    @Override
+    public List<AroundHandler> aroundHandlers() {
+        return Collections.unmodifiableList(Arrays.asList(aroundHandlers));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return aroundHandlers.length == 0;
+    }
+
+    @Override
+    public Object proceed(RequestHandler targetHandler, Map<String, Object> targetArgs, RequestContext requestCtx, Errors errors, Notices notices) {
+        return new ChainInvocationContext(this, targetHandler, targetArgs, requestCtx, errors, notices).proceed();
+    }
+
+    /**
+     * Invocation context that walks the chain by position. The position is restored after each around handler returns, so that an around handler
+     * may call {@link #proceed()} more than once.
+     */
+    protected static class ChainInvocationContext implements InvocationContext {
+        protected final DefaultAroundHandlerChain chain;
+        protected final RequestHandler targetHandler;
+        protected final Map<String, Object> targetArgs;
+        protected final RequestContext requestContext;
+        protected final Errors errors;
+        protected final Notices notices;
+
+        protected int position = 0;
+        protected Throwable failure;
+
+        protected ChainInvocationContext(DefaultAroundHandlerChain chain, RequestHandler targetHandler, Map<String, Object> targetArgs, RequestContext requestContext, Errors errors, Notices notices) {
+            this.chain = chain;
+            this.targetHandler = targetHandler;
+            this.targetArgs = targetArgs;
+            this.requestContext = requestContext;
+            this.errors = errors;
+            this.notices = notices;
+        }
+
+        @Override
+        public InvocationContext build(RequestHandler targetHandler, Map<String, Object> targetArgs, Set<AroundHandler> interceptors, RequestContext requestContext, Errors errors, Notices notices) {
+            throw new IllegalStateException("The invocation context of an AroundHandlerChain does not support this build method");
+        }
+
+        @Override
+        public Object proceed() {
+            int current = position;
+
+            try {
+                if (current < chain.aroundHandlers.length) {
+                    AroundHandler aroundHandler = chain.aroundHandlers[current];
+
+                    chain.log.trace("Invoking around handler '{}'.", () -> aroundHandler.getClass().getName());
+
+                    position = current + 1;
+                    return aroundHandler.invokeAround(this);
+                } else {
+                    chain.log.trace("Invoking request handler '{}' with args {}.", () -> targetHandler, () -> targetArgs);
+                    return targetHandler.invoke(targetArgs);
+                }
+            } catch (Throwable e) {
+                // The exception passes through every outer around handler, only log it where it occurred.
+                if (e != failure) {
+                    failure = e;
+                    chain.log.debug("Around handler chain of request handler '" + targetHandler + "' failed at position " + current + ".", e);
+                }
+
+                throw e;
+            } finally {
+                position = current;
+            }
+        }
+
+        @Override
+        public RequestHandler requestHandler() {
+            return targetHandler;
+        }
+
+        @Override
+        public Map<String, Object> args() {
+            return targetArgs;
+        }
+
+        @Override
+        public Class<?> controllerClass() {
+            return targetHandler.controllerClass();
+        }
+
+        @Override
+        public Method handlerMethod() {
+            return targetHandler.handlerMethod();
+        }
+
+        @Override
+        public RequestContext requestContext() {
+            return requestContext;
+        }
+
+        @Override
+        public Errors errors() {
+            return errors;
+        }
+
+        @Override
+        public Notices notices() {
+            return notices;
+        }
+    }
+}
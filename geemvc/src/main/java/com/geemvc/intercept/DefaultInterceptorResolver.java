@@ -26,13 +26,20 @@ import com.geemvc.logging.Log;
 import com.geemvc.logging.annotation.Logger;
 import com.geemvc.reflect.ReflectionProvider;
 import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+@Singleton
 public class DefaultInterceptorResolver implements InterceptorResolver {
 
     protected final ReflectionProvider reflectionProvider;
@@ -41,6 +48,9 @@ public class DefaultInterceptorResolver implements InterceptorResolver {
     @Inject
     protected Cache cache;
 
+    @Inject
+    protected Injector injector;
+
     @Logger
     protected Log log;
 
@@ -48,6 +58,10 @@ public class DefaultInterceptorResolver implements InterceptorResolver {
 
     protected static final String RESOLVED_LIFECYCLE_INTERCEPTORS_CACHE_KEY = "geemvc/resolvedLifecycleInterceptors/%s->%s";
 
+    protected final Map<Method, AroundHandlerChain> aroundHandlerChains = new ConcurrentHashMap<>();
+
+    protected final Map<Method, LifecyclePlan> lifecyclePlans = new ConcurrentHashMap<>();
+
     @Inject
     public DefaultInterceptorResolver(ReflectionProvider reflectionProvider, Paths paths) {
         this.reflectionProvider = reflectionProvider;
@@ -68,7 +82,7 @@ public class DefaultInterceptorResolver implements InterceptorResolver {
 
             log.trace("Found {} around interceptors.", () -> aroundHandlerInterceptors == null ? 0 : aroundHandlerInterceptors.size());
 
-            Set<AroundHandler> matchingAroundHandlerInterceptors = new LinkedHashSet<>();
+            List<AroundHandler> matchingAroundHandlerInterceptors = new ArrayList<>();
 
             String uniqueHandlerName = handlerMethod.getAnnotation(Request.class).name();
 
@@ -79,18 +93,21 @@ public class DefaultInterceptorResolver implements InterceptorResolver {
 
                 if (interceptAnno.controller().length == 0 && interceptAnno.method().length == 0 && interceptAnno.name().length == 0) {
                     matchingAroundHandlerInterceptors.add(aroundHandler);
-                } else if (Arrays.binarySearch(interceptAnno.controller(), controllerClass) >= 0 && interceptAnno.method().length == 0 && interceptAnno.name().length == 0) {
+                } else if (contains(interceptAnno.controller(), controllerClass) && interceptAnno.method().length == 0 && interceptAnno.name().length == 0) {
                     matchingAroundHandlerInterceptors.add(aroundHandler);
-                } else if (Arrays.binarySearch(interceptAnno.controller(), controllerClass) >= 0 && Arrays.binarySearch(interceptAnno.method(), handlerMethod.getName()) >= 0) {
+                } else if (contains(interceptAnno.controller(), controllerClass) && contains(interceptAnno.method(), handlerMethod.getName())) {
                     matchingAroundHandlerInterceptors.add(aroundHandler);
-                } else if (Arrays.binarySearch(interceptAnno.controller(), controllerClass) >= 0 && uniqueHandlerName != null && Arrays.binarySearch(interceptAnno.name(), uniqueHandlerName) >= 0) {
+                } else if (contains(interceptAnno.controller(), controllerClass) && uniqueHandlerName != null && contains(interceptAnno.name(), uniqueHandlerName)) {
                     matchingAroundHandlerInterceptors.add(aroundHandler);
                 }
             }
 
-            log.trace("Found {} matching around interceptors for request handler '{}'.", () -> matchingAroundHandlerInterceptors == null ? 0 : matchingAroundHandlerInterceptors.size(), () -> requestHandler);
+            // Order by weight and then by class name, so that the order does not depend on the classpath scan.
+            matchingAroundHandlerInterceptors.sort(Comparator.comparingInt((AroundHandler aroundHandler) -> weight(aroundHandler)).thenComparing(aroundHandler -> aroundHandler.getClass().getName()));
 
-            return matchingAroundHandlerInterceptors;
+            log.trace("Found {} matching around interceptors for request handler '{}'.", () -> matchingAroundHandlerInterceptors.size(), () -> requestHandler);
+
+            return new LinkedHashSet<>(matchingAroundHandlerInterceptors);
         });
     }
 
@@ -143,11 +160,11 @@ public class DefaultInterceptorResolver implements InterceptorResolver {
 
                     if (lifecycleAnno.controller().length == 0 && lifecycleAnno.method().length == 0 && lifecycleAnno.name().length == 0) {
                         matchingLifecycleInterceptors.add(lifecycleInterceptor);
-                    } else if (Arrays.binarySearch(lifecycleAnno.controller(), controllerClass) >= 0 && lifecycleAnno.method().length == 0 && lifecycleAnno.name().length == 0) {
+                    } else if (contains(lifecycleAnno.controller(), controllerClass) && lifecycleAnno.method().length == 0 && lifecycleAnno.name().length == 0) {
                         matchingLifecycleInterceptors.add(lifecycleInterceptor);
-                    } else if (Arrays.binarySearch(lifecycleAnno.controller(), controllerClass) >= 0 && Arrays.binarySearch(lifecycleAnno.method(), handlerMethod.getName()) >= 0) {
+                    } else if (contains(lifecycleAnno.controller(), controllerClass) && contains(lifecycleAnno.method(), handlerMethod.getName())) {
                         matchingLifecycleInterceptors.add(lifecycleInterceptor);
-                    } else if (Arrays.binarySearch(lifecycleAnno.controller(), controllerClass) >= 0 && uniqueHandlerName != null && Arrays.binarySearch(lifecycleAnno.name(), uniqueHandlerName) >= 0) {
+                    } else if (contains(lifecycleAnno.controller(), controllerClass) && uniqueHandlerName != null && contains(lifecycleAnno.name(), uniqueHandlerName)) {
                         matchingLifecycleInterceptors.add(lifecycleInterceptor);
                     }
                 }
@@ -160,6 +177,56 @@ public class DefaultInterceptorResolver implements InterceptorResolver {
         });
     }
 
+    /**
+     * The around handler chain is compiled once per handler method, so that request handler instances built for the same method share it.
+     */
+    @Override
+    public AroundHandlerChain resolveAroundHandlerChain(RequestHandler requestHandler) {
+        AroundHandlerChain aroundHandlerChain = aroundHandlerChains.get(requestHandler.handlerMethod());
+
+        if (aroundHandlerChain == null)
+            aroundHandlerChain = aroundHandlerChains.computeIfAbsent(requestHandler.handlerMethod(), handlerMethod -> injector.getInstance(AroundHandlerChain.class).build(resolveInterceptors(requestHandler)));
+
+        return aroundHandlerChain;
+    }
+
+    /**
+     * The lifecycle plan is compiled once per handler method, so that request handler instances built for the same method share it.
+     */
+    @Override
+    public LifecyclePlan resolveLifecyclePlan(RequestHandler requestHandler) {
+        LifecyclePlan lifecyclePlan = lifecyclePlans.get(requestHandler.handlerMethod());
+
+        if (lifecyclePlan == null)
+            lifecyclePlan = lifecyclePlans.computeIfAbsent(requestHandler.handlerMethod(), handlerMethod -> compileLifecyclePlan(requestHandler));
+
+        return lifecyclePlan;
+    }
+
+    protected LifecyclePlan compileLifecyclePlan(RequestHandler requestHandler) {
+        log.trace("Compiling lifecycle plan for request handler '{}'.", () -> requestHandler);
+
+        LifecyclePlan lifecyclePlan = injector.getInstance(LifecyclePlan.class).build(lifecycleAnnotation -> resolveLifecycleInterceptors(lifecycleAnnotation, requestHandler));
+
+        log.debug("Compiled lifecycle plan for request handler '{}' (empty={}).", () -> requestHandler, () -> lifecyclePlan.isEmpty());
+
+        return lifecyclePlan;
+    }
+
+    protected int weight(AroundHandler aroundHandler) {
+        Intercept interceptAnno = annotation(aroundHandler);
+        return interceptAnno == null ? 0 : interceptAnno.weight();
+    }
+
+    protected boolean contains(Object[] values, Object value) {
+        for (Object v : values) {
+            if (v.equals(value))
+                return true;
+        }
+
+        return false;
+    }
+
     protected Intercept annotation(AroundHandler aroundHandler) {
         Intercept anno = aroundHandler.getClass().getAnnotation(Intercept.class);
 
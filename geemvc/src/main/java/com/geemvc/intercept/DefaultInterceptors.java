@@ -23,25 +23,27 @@ import com.geemvc.i18n.notice.Notices;
 import com.geemvc.intercept.annotation.Lifecycle;
 import com.geemvc.logging.Log;
 import com.geemvc.logging.annotation.Logger;
+import com.geemvc.metrics.RequestMetrics;
+import com.geemvc.metrics.Stage;
 import com.geemvc.validation.Errors;
 import com.google.inject.Inject;
-import com.google.inject.Injector;
+import com.google.inject.Singleton;
 
 import java.lang.annotation.Annotation;
 import java.util.Map;
-import java.util.Set;
 
+@Singleton
 public class DefaultInterceptors implements Interceptors {
 
     protected final InterceptorResolver interceptorResolver;
     protected final Paths paths;
 
+    @Inject
+    protected RequestMetrics requestMetrics;
+
     @Logger
     protected Log log;
 
-    @Inject
-    protected Injector injector;
-
     @Inject
     public DefaultInterceptors(InterceptorResolver interceptorResolver, Paths paths) {
         this.interceptorResolver = interceptorResolver;
@@ -50,10 +52,10 @@ public class DefaultInterceptors implements Interceptors {
 
     @Override
     public Object intercept(RequestHandler targetRequestHandler, Map<String, Object> targetArgs, RequestContext requestCtx, Errors errors, Notices notices) {
-        Set<AroundHandler> aroundInterceptors = interceptorResolver.resolveInterceptors(targetRequestHandler);
+        AroundHandlerChain aroundHandlerChain = interceptorResolver.resolveAroundHandlerChain(targetRequestHandler);
 
-        if (aroundInterceptors != null && !aroundInterceptors.isEmpty()) {
-            return injector.getInstance(InvocationContext.class).build(targetRequestHandler, targetArgs, aroundInterceptors, requestCtx, errors, notices).proceed();
+        if (!aroundHandlerChain.isEmpty()) {
+            return aroundHandlerChain.proceed(targetRequestHandler, targetArgs, requestCtx, errors, notices);
         } else {
             return targetRequestHandler.invoke(targetArgs);
         }
@@ -61,26 +63,40 @@ public class DefaultInterceptors implements Interceptors {
 
     @Override
     public Object interceptLifecycle(Class<? extends Annotation> lifecycleAnnotation, LifecycleContext lifecycleCtx) {
-        log.trace("Looking for lifecycle interceptors at stage '{}'.", () -> lifecycleAnnotation.getSimpleName());
+        LifecyclePlan lifecyclePlan = interceptorResolver.resolveLifecyclePlan(lifecycleCtx.requestHandler());
 
-        Set<LifecycleInterceptor> lifecycleInterceptors = interceptorResolver.resolveLifecycleInterceptors(lifecycleAnnotation, lifecycleCtx.requestHandler());
+        if (lifecyclePlan.isEmpty())
+            return null;
 
-        if (lifecycleInterceptors != null && !lifecycleInterceptors.isEmpty()) {
-            for (LifecycleInterceptor lifecycleInterceptor : lifecycleInterceptors) {
-                Lifecycle lifecycle = lifecycleInterceptor.lifecycleAnnotation();
+        LifecycleInterceptor[] lifecycleInterceptors = lifecyclePlan.interceptors(lifecycleAnnotation);
+
+        if (lifecycleInterceptors.length > 0) {
+            log.trace("Invoking {} lifecycle interceptors at stage '{}'.", () -> lifecycleInterceptors.length, () -> lifecycleAnnotation.getSimpleName());
+
+            long startNanos = requestMetrics.start();
+            Object view = invokeLifecycleInterceptors(lifecycleInterceptors, lifecycleAnnotation, lifecycleCtx);
+            requestMetrics.stop(Stage.of(lifecycleAnnotation), lifecycleCtx.requestHandler(), startNanos);
 
-                if ((lifecycle.when() == When.ALWAYS || (lifecycle.when() == When.NO_ERRORS && lifecycleCtx.errors().isEmpty()) || (lifecycle.when() == When.HAS_ERRORS && !lifecycleCtx.errors().isEmpty()))
-                        && (lifecycle.onView() == OnView.ALWAYS || (lifecycle.onView() == OnView.NOT_EXISTS && lifecycleCtx.result() == null) || (lifecycle.onView() == OnView.EXISTS && lifecycleCtx.result() != null))) {
+            return view;
+        }
+
+        return null;
+    }
+
+    protected Object invokeLifecycleInterceptors(LifecycleInterceptor[] lifecycleInterceptors, Class<? extends Annotation> lifecycleAnnotation, LifecycleContext lifecycleCtx) {
+        for (LifecycleInterceptor lifecycleInterceptor : lifecycleInterceptors) {
+            // Errors and the result may have been changed by a previous interceptor, so we check the state on each iteration.
+            if (LifecycleConditions.matches(lifecycleInterceptor.conditions(), LifecycleConditions.state(lifecycleCtx))) {
+                Lifecycle lifecycle = lifecycleInterceptor.lifecycleAnnotation();
 
-                    log.trace("Invoking lifecycle interceptor '{}' for stage '{}'.", () -> lifecycleInterceptor, () -> lifecycleAnnotation.getSimpleName());
+                log.trace("Invoking lifecycle interceptor '{}' for stage '{}'.", () -> lifecycleInterceptor, () -> lifecycleAnnotation.getSimpleName());
 
-                    Object view = lifecycleInterceptor.invoke(lifecycleCtx.lifecycle(lifecycle));
+                Object view = lifecycleInterceptor.invoke(lifecycleCtx.lifecycle(lifecycle));
 
-                    log.trace("Lifecycle interceptor '{}' for stage '{}' returned view '{}'.", () -> lifecycleInterceptor, () -> lifecycleAnnotation.getSimpleName(), () -> view);
+                log.trace("Lifecycle interceptor '{}' for stage '{}' returned view '{}'.", () -> lifecycleInterceptor, () -> lifecycleAnnotation.getSimpleName(), () -> view);
 
-                    if (view != null)
-                        return view;
-                }
+                if (view != null)
+                    return view;
             }
         }
 
@@ -28,6 +28,13 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Invocation context that walks a set of around handlers with an iterator.
+ *
+ * @deprecated {@link DefaultAroundHandlerChain} invokes the around handlers through its own context and no longer uses the bound
+ *             {@link InvocationContext}. This class is kept for code that builds an invocation context itself.
+ */
+@Deprecated
 public class DefaultInvocationContext implements InvocationContext {
     protected RequestHandler targetHandler;
     protected Map<String, Object> targetArgs;
@@ -19,6 +19,7 @@ package com.geemvc.intercept;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 import com.geemvc.Bindings;
 import com.geemvc.RequestContext;
@@ -35,6 +36,7 @@ public class DefaultLifecycleContext implements LifecycleContext {
     protected Errors errors;
     protected Notices notices;
     protected Result result;
+    protected CompletionStage<?> deferred;
     protected boolean invokeHandler = true;
 
     @Override
@@ -115,6 +117,17 @@ public class DefaultLifecycleContext implements LifecycleContext {
         return newResult;
     }
 
+    @Override
+    public CompletionStage<?> deferred() {
+        return deferred;
+    }
+
+    @Override
+    public LifecycleContext deferred(CompletionStage<?> deferred) {
+        this.deferred = deferred;
+        return this;
+    }
+
     @Override
     public boolean isInvokeHandler() {
         return invokeHandler;
@@ -17,10 +17,8 @@
 package com.geemvc.intercept;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -47,18 +45,42 @@ import com.geemvc.intercept.annotation.PreBinding;
 import com.geemvc.intercept.annotation.PreHandle;
 import com.geemvc.intercept.annotation.PreValidation;
 import com.geemvc.intercept.annotation.PreView;
+import com.geemvc.reflect.MethodHandleInvoker;
+import com.geemvc.reflect.MethodInvoker;
 import com.geemvc.reflect.ReflectionProvider;
 import com.geemvc.validation.Errors;
 import com.geemvc.view.bean.Result;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Provider;
 
 /**
  * Created by Michael on 13.07.2016.
  */
 public class DefaultLifecycleInterceptor implements LifecycleInterceptor {
+    protected static final int SLOT_LIFECYCLE_CONTEXT = 0;
+    protected static final int SLOT_REQUEST_CONTEXT = 1;
+    protected static final int SLOT_SERVLET_REQUEST = 2;
+    protected static final int SLOT_SERVLET_RESPONSE = 3;
+    protected static final int SLOT_SERVLET_CONTEXT = 4;
+    protected static final int SLOT_HTTP_SESSION = 5;
+    protected static final int SLOT_COOKIES = 6;
+    protected static final int SLOT_LOCALE = 7;
+    protected static final int SLOT_ERRORS = 8;
+    protected static final int SLOT_NOTICES = 9;
+    protected static final int SLOT_MESSAGES = 10;
+    protected static final int SLOT_BINDINGS = 11;
+    protected static final int SLOT_RESULT = 12;
+    protected static final int SLOT_PARAMETER_MAP = 13;
+    protected static final int SLOT_UNSUPPORTED_MAP = 14;
+    protected static final int SLOT_UNSUPPORTED = 15;
+
     protected Lifecycle lifecycleAnnotation;
     protected Method interceptMethod;
+    protected int conditions;
+    protected MethodInvoker invoker;
+    protected int[] argSlots;
+    protected Provider<?> instanceProvider;
 
     @Inject
     protected Injector injector;
@@ -67,6 +89,9 @@ public class DefaultLifecycleInterceptor implements LifecycleInterceptor {
     public LifecycleInterceptor build(Annotation lifecycleAnnotation, Method interceptMethod) {
         this.lifecycleAnnotation = lifecycleAnnotation(lifecycleAnnotation);
         this.interceptMethod = interceptMethod;
+        this.conditions = this.lifecycleAnnotation == null ? 0 : LifecycleConditions.of(this.lifecycleAnnotation);
+
+        prepare();
 
         return this;
     }
@@ -95,18 +120,12 @@ public class DefaultLifecycleInterceptor implements LifecycleInterceptor {
 
     @Override
     public Object invoke(LifecycleContext lifecycleCtx) {
-        try {
-            Type[] parametersTypes = interceptMethod.getGenericParameterTypes();
-
-            if (parametersTypes.length > 0) {
-                Object[] args = args(lifecycleCtx);
+        Object[] args = argSlots.length > 0 ? args(lifecycleCtx) : null;
 
-                return interceptMethod.invoke(instance(), args);
-            } else {
-                return interceptMethod.invoke(instance(), null);
-            }
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            e.printStackTrace();
+        try {
+            return invoker.invoke(instance(), args);
+        } catch (Throwable t) {
+            t.printStackTrace();
         }
 
         return null;
@@ -117,65 +136,121 @@ public class DefaultLifecycleInterceptor implements LifecycleInterceptor {
         return lifecycleAnnotation;
     }
 
-    protected Object[] args(LifecycleContext lifecycleCtx) {
-        List<Object> args = new ArrayList();
+    @Override
+    public int conditions() {
+        return conditions;
+    }
 
+    /**
+     * Binds the intercept method to an invoker and works out once which value is to be passed to each parameter.
+     */
+    protected void prepare() {
         Class<?>[] types = interceptMethod.getParameterTypes();
         Type[] parametersTypes = interceptMethod.getGenericParameterTypes();
 
-        for (int i = 0; i < parametersTypes.length; i++) {
-            Class<?> type = types[i];
-            Type parameterType = parametersTypes[i];
+        int[] slots = new int[types.length];
 
-            List<Class<?>> genericType = injector.getInstance(ReflectionProvider.class).getGenericType(parameterType);
-            args.add(arg(type, genericType, lifecycleCtx));
+        for (int i = 0; i < types.length; i++) {
+            List<Class<?>> genericType = Map.class.isAssignableFrom(types[i]) ? injector.getInstance(ReflectionProvider.class).getGenericType(parametersTypes[i]) : null;
+            slots[i] = argSlot(types[i], genericType);
         }
 
-        return args.toArray();
+        argSlots = slots;
+        invoker = new MethodHandleInvoker(interceptMethod);
     }
 
-    protected Object arg(Class<?> type, List<Class<?>> genericType, LifecycleContext lifecycleCtx) {
-        HttpServletRequest request = (HttpServletRequest) lifecycleCtx.requestCtx().getRequest();
+    protected Object[] args(LifecycleContext lifecycleCtx) {
+        Object[] args = new Object[argSlots.length];
 
+        for (int i = 0; i < argSlots.length; i++) {
+            args[i] = arg(i, argSlots[i], lifecycleCtx);
+        }
+
+        return args;
+    }
+
+    protected int argSlot(Class<?> type, List<Class<?>> genericType) {
         if (LifecycleContext.class.isAssignableFrom(type)) {
-            return lifecycleCtx;
+            return SLOT_LIFECYCLE_CONTEXT;
         } else if (RequestContext.class.isAssignableFrom(type)) {
-            return lifecycleCtx.requestCtx();
+            return SLOT_REQUEST_CONTEXT;
         } else if (ServletRequest.class.isAssignableFrom(type)) {
-            return request;
+            return SLOT_SERVLET_REQUEST;
         } else if (ServletResponse.class.isAssignableFrom(type)) {
-            return lifecycleCtx.requestCtx().getResponse();
+            return SLOT_SERVLET_RESPONSE;
         } else if (ServletContext.class.isAssignableFrom(type)) {
-            return request.getServletContext();
+            return SLOT_SERVLET_CONTEXT;
         } else if (HttpSession.class.isAssignableFrom(type)) {
-            return request.getSession(false);
+            return SLOT_HTTP_SESSION;
         } else if (Cookie[].class.isAssignableFrom(type)) {
-            return request.getCookies();
+            return SLOT_COOKIES;
         } else if (Locale.class.isAssignableFrom(type)) {
-            return request.getLocale();
+            return SLOT_LOCALE;
         } else if (Errors.class.isAssignableFrom(type)) {
-            return lifecycleCtx.errors();
+            return SLOT_ERRORS;
         } else if (Notices.class.isAssignableFrom(type)) {
-            return lifecycleCtx.notices();
+            return SLOT_NOTICES;
         } else if (Messages.class.isAssignableFrom(type)) {
-            return injector.getInstance(Messages.class);
+            return SLOT_MESSAGES;
         } else if (Bindings.class.isAssignableFrom(type)) {
-            return lifecycleCtx.bindings();
+            return SLOT_BINDINGS;
         } else if (Result.class.isAssignableFrom(type)) {
-            return lifecycleCtx.result();
+            return SLOT_RESULT;
         } else if (Map.class.isAssignableFrom(type)) {
             if (genericType != null && genericType.size() == 2 && String.class == genericType.get(0) && String[].class == genericType.get(1)) {
-                return request.getParameterMap();
+                return SLOT_PARAMETER_MAP;
             } else {
-                throw new IllegalStateException("The interceptor method only support a map of type Map<String, String[]> which provides the request parameter map.");
+                return SLOT_UNSUPPORTED_MAP;
             }
-        } else {
-            throw new IllegalStateException("The interceptor method does not support the type: " + type);
+        }
+
+        return SLOT_UNSUPPORTED;
+    }
+
+    protected Object arg(int position, int slot, LifecycleContext lifecycleCtx) {
+        HttpServletRequest request = (HttpServletRequest) lifecycleCtx.requestCtx().getRequest();
+
+        switch (slot) {
+        case SLOT_LIFECYCLE_CONTEXT:
+            return lifecycleCtx;
+        case SLOT_REQUEST_CONTEXT:
+            return lifecycleCtx.requestCtx();
+        case SLOT_SERVLET_REQUEST:
+            return request;
+        case SLOT_SERVLET_RESPONSE:
+            return lifecycleCtx.requestCtx().getResponse();
+        case SLOT_SERVLET_CONTEXT:
+            return request.getServletContext();
+        case SLOT_HTTP_SESSION:
+            return request.getSession(false);
+        case SLOT_COOKIES:
+            return request.getCookies();
+        case SLOT_LOCALE:
+            return request.getLocale();
+        case SLOT_ERRORS:
+            return lifecycleCtx.errors();
+        case SLOT_NOTICES:
+            return lifecycleCtx.notices();
+        case SLOT_MESSAGES:
+            return injector.getInstance(Messages.class);
+        case SLOT_BINDINGS:
+            return lifecycleCtx.bindings();
+        case SLOT_RESULT:
+            return lifecycleCtx.result();
+        case SLOT_PARAMETER_MAP:
+            return request.getParameterMap();
+        case SLOT_UNSUPPORTED_MAP:
+            throw new IllegalStateException("The interceptor method only support a map of type Map<String, String[]> which provides the request parameter map.");
+        default:
+            throw new IllegalStateException("The interceptor method does not support the type: " + interceptMethod.getParameterTypes()[position]);
         }
     }
 
     protected Object instance() {
-        return injector.getInstance(interceptMethod.getDeclaringClass());
+        if (instanceProvider == null)
+            instanceProvider = injector.getProvider(interceptMethod.getDeclaringClass());
+
+        return instanceProvider.get();
     }
 
     @Override
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.intercept;
+
+import java.lang.annotation.Annotation;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.geemvc.intercept.annotation.PostBinding;
+import com.geemvc.intercept.annotation.PostHandle;
+import com.geemvc.intercept.annotation.PostValidation;
+import com.geemvc.intercept.annotation.PostView;
+import com.geemvc.intercept.annotation.PreBinding;
+import com.geemvc.intercept.annotation.PreHandle;
+import com.geemvc.intercept.annotation.PreValidation;
+import com.geemvc.intercept.annotation.PreView;
+
+public class DefaultLifecyclePlan implements LifecyclePlan {
+    protected static final LifecycleInterceptor[] NONE = new LifecycleInterceptor[0];
+
+    protected static final Class<?>[] STAGES = { PreBinding.class, PostBinding.class, PreValidation.class, PostValidation.class, PreHandle.class, PostHandle.class, PreView.class, PostView.class };
+
+    protected final LifecycleInterceptor[][] stageInterceptors = new LifecycleInterceptor[STAGES.length][];
+
+    protected boolean isEmpty = true;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public LifecyclePlan build(Function<Class<? extends Annotation>, Set<LifecycleInterceptor>> stageResolver) {
+        for (int i = 0; i < STAGES.length; i++) {
+            Set<LifecycleInterceptor> lifecycleInterceptors = stageResolver.apply((Class<? extends Annotation>) STAGES[i]);
+
+            if (lifecycleInterceptors == null || lifecycleInterceptors.isEmpty()) {
+                stageInterceptors[i] = NONE;
+            } else {
+                stageInterceptors[i] = lifecycleInterceptors.toArray(new LifecycleInterceptor[lifecycleInterceptors.size()]);
+                isEmpty = false;
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public LifecycleInterceptor[] interceptors(Class<? extends Annotation> lifecycleAnnotation) {
+        for (int i = 0; i < STAGES.length; i++) {
+            if (STAGES[i] == lifecycleAnnotation)
+                return stageInterceptors[i];
+        }
+
+        throw new IllegalArgumentException("Unknown lifecycle stage: " + lifecycleAnnotation);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return isEmpty;
+    }
+}
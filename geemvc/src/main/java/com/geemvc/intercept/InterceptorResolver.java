@@ -24,5 +24,9 @@ import java.util.Set;
 public interface InterceptorResolver {
     Set<AroundHandler> resolveInterceptors(RequestHandler requestHandler);
 
+    AroundHandlerChain resolveAroundHandlerChain(RequestHandler requestHandler);
+
     Set<LifecycleInterceptor> resolveLifecycleInterceptors(Class<? extends Annotation> lifecycleAnnotation, RequestHandler requestHandler);
+
+    LifecyclePlan resolveLifecyclePlan(RequestHandler requestHandler);
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.intercept;
+
+import com.geemvc.intercept.annotation.Lifecycle;
+
+/**
+ * Decodes the {@link When} and {@link OnView} conditions of a lifecycle interceptor into bit flags. A lifecycle interceptor is applicable when
+ * its flags contain both bits of the current request state.
+ */
+public final class LifecycleConditions {
+    public static final int NO_ERRORS = 1;
+    public static final int HAS_ERRORS = 2;
+    public static final int VIEW_NOT_EXISTS = 4;
+    public static final int VIEW_EXISTS = 8;
+
+    private LifecycleConditions() {
+    }
+
+    public static int of(Lifecycle lifecycle) {
+        int conditions = 0;
+
+        switch (lifecycle.when()) {
+        case NO_ERRORS:
+            conditions |= NO_ERRORS;
+            break;
+        case HAS_ERRORS:
+            conditions |= HAS_ERRORS;
+            break;
+        default:
+            conditions |= NO_ERRORS | HAS_ERRORS;
+        }
+
+        switch (lifecycle.onView()) {
+        case NOT_EXISTS:
+            conditions |= VIEW_NOT_EXISTS;
+            break;
+        case EXISTS:
+            conditions |= VIEW_EXISTS;
+            break;
+        default:
+            conditions |= VIEW_NOT_EXISTS | VIEW_EXISTS;
+        }
+
+        return conditions;
+    }
+
+    public static int state(LifecycleContext lifecycleCtx) {
+        return (lifecycleCtx.errors().isEmpty() ? NO_ERRORS : HAS_ERRORS) | (lifecycleCtx.result() == null ? VIEW_NOT_EXISTS : VIEW_EXISTS);
+    }
+
+    public static boolean matches(int conditions, int state) {
+        return (conditions & state) == state;
+    }
+}
@@ -18,6 +18,7 @@ package com.geemvc.intercept;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletionStage;
 
 import com.geemvc.Bindings;
 import com.geemvc.RequestContext;
@@ -50,6 +51,10 @@ public interface LifecycleContext {
 
     LifecycleContext result(Result result);
 
+    CompletionStage<?> deferred();
+
+    LifecycleContext deferred(CompletionStage<?> deferred);
+
     boolean isInvokeHandler();
 
     LifecycleContext invokeHandler(boolean invokeHandler);
@@ -30,4 +30,6 @@ public interface LifecycleInterceptor {
     Object invoke(LifecycleContext LifecycleCtx);
 
     Lifecycle lifecycleAnnotation();
+
+    int conditions();
 }
@@ -21,11 +21,11 @@ import java.util.Map;
 import java.util.Set;
 
 import com.geemvc.RequestContext;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.script.Evaluator;
 import com.geemvc.script.EvaluatorContext;
 import com.geemvc.script.EvaluatorFactory;
 import com.google.inject.Inject;
-import com.google.inject.Injector;
 
 public class DefaultCookieMatcher implements CookieMatcher {
     private static final long serialVersionUID = 8682403475843946688L;
@@ -34,7 +34,7 @@ public class DefaultCookieMatcher implements CookieMatcher {
     protected Map<String, Evaluator> cookieEvaluators = null;
 
     @Inject
-    protected Injector injector;
+    protected InstanceFactory instanceFactory;
 
     protected final EvaluatorFactory evaluatorFactory;
 
@@ -78,7 +78,7 @@ public class DefaultCookieMatcher implements CookieMatcher {
         for (String mappedExpression : keys) {
             Evaluator evaluator = cookieEvaluators.get(mappedExpression);
 
-            EvaluatorContext evalCtx = injector.getInstance(EvaluatorContext.class).build(requestCookies).append(requestCtx);
+            EvaluatorContext evalCtx = instanceFactory.create(EvaluatorContext.class).build(requestCookies).append(requestCtx);
 
             if (!evaluator.matches(evalCtx))
                 return false;
@@ -21,11 +21,11 @@ import java.util.Map;
 import java.util.Set;
 
 import com.geemvc.RequestContext;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.script.Evaluator;
 import com.geemvc.script.EvaluatorContext;
 import com.geemvc.script.EvaluatorFactory;
 import com.google.inject.Inject;
-import com.google.inject.Injector;
 
 public class DefaultHandlesMatcher implements HandlesMatcher {
     private static final long serialVersionUID = 8682403475843946688L;
@@ -36,7 +36,7 @@ public class DefaultHandlesMatcher implements HandlesMatcher {
     protected final EvaluatorFactory evaluatorFactory;
 
     @Inject
-    protected Injector injector;
+    protected InstanceFactory instanceFactory;
 
     @Inject
     protected DefaultHandlesMatcher(EvaluatorFactory evaluatorFactory) {
@@ -69,7 +69,7 @@ public class DefaultHandlesMatcher implements HandlesMatcher {
         for (String mappedExpression : keys) {
             Evaluator evaluator = handlesEvaluators.get(mappedExpression);
 
-            EvaluatorContext evalCtx = injector.getInstance(EvaluatorContext.class).append(requestCtx);
+            EvaluatorContext evalCtx = instanceFactory.create(EvaluatorContext.class).append(requestCtx);
 
             if (!evaluator.matches(evalCtx))
                 return false;
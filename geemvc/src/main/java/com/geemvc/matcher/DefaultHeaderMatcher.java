@@ -25,6 +25,7 @@ import java.util.Set;
 import com.geemvc.RequestContext;
 import com.geemvc.Str;
 import com.geemvc.helper.Strings;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.script.Evaluator;
 import com.geemvc.script.EvaluatorContext;
 import com.geemvc.script.EvaluatorFactory;
@@ -42,6 +43,9 @@ public class DefaultHeaderMatcher implements HeaderMatcher {
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected InstanceFactory instanceFactory;
+
     protected final EvaluatorFactory evaluatorFactory;
 
     @Inject
@@ -88,7 +92,7 @@ public class DefaultHeaderMatcher implements HeaderMatcher {
         for (String mappedExpression : keys) {
             Evaluator evaluator = headerEvaluators.get(mappedExpression);
 
-            EvaluatorContext evalCtx = injector.getInstance(EvaluatorContext.class).build(requestHeaders, true).append(requestCtx);
+            EvaluatorContext evalCtx = instanceFactory.create(EvaluatorContext.class).build(requestHeaders, true).append(requestCtx);
 
             String name = headerName(mappedExpression);
 
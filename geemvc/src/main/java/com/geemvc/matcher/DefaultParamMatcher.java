@@ -21,11 +21,11 @@ import java.util.Map;
 import java.util.Set;
 
 import com.geemvc.RequestContext;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.script.Evaluator;
 import com.geemvc.script.EvaluatorContext;
 import com.geemvc.script.EvaluatorFactory;
 import com.google.inject.Inject;
-import com.google.inject.Injector;
 
 public class DefaultParamMatcher implements ParamMatcher {
     private static final long serialVersionUID = 8682403475843946688L;
@@ -34,7 +34,7 @@ public class DefaultParamMatcher implements ParamMatcher {
     protected Map<String, Evaluator> paramEvaluators = null;
 
     @Inject
-    protected Injector injector;
+    protected InstanceFactory instanceFactory;
 
     protected final EvaluatorFactory evaluatorFactory;
 
@@ -78,7 +78,7 @@ public class DefaultParamMatcher implements ParamMatcher {
         for (String mappedExpression : keys) {
             Evaluator evaluator = paramEvaluators.get(mappedExpression);
 
-            EvaluatorContext evalCtx = injector.getInstance(EvaluatorContext.class).build(requestParameters).append(requestCtx);
+            EvaluatorContext evalCtx = instanceFactory.create(EvaluatorContext.class).build(requestParameters).append(requestCtx);
 
             if (!evaluator.matches(evalCtx))
                 return false;
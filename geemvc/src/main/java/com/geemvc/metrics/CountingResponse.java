@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Counts the bytes written to the output stream or the writer of a response, so that the size can be reported in the slow-request log.
+ * Characters written to the writer are counted with their length in the character encoding of the response.
+ */
+public class CountingResponse extends HttpServletResponseWrapper {
+    protected long size;
+
+    protected ServletOutputStream outputStream;
+    protected PrintWriter writer;
+
+    public CountingResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            ServletOutputStream out = super.getOutputStream();
+
+            if (out == null)
+                return null;
+
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    size++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    size += len;
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.close();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return out.isReady();
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    out.setWriteListener(writeListener);
+                }
+            };
+        }
+
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            PrintWriter out = super.getWriter();
+
+            if (out == null)
+                return null;
+
+            Charset charset = charset();
+
+            writer = new PrintWriter(new Writer() {
+                @Override
+                public void write(int c) throws IOException {
+                    out.write(c);
+                    size += byteLength(charset, String.valueOf((char) c), 0, 1);
+                }
+
+                @Override
+                public void write(char[] cbuf, int off, int len) throws IOException {
+                    out.write(cbuf, off, len);
+                    size += byteLength(charset, CharBuffer.wrap(cbuf), off, off + len);
+                }
+
+                @Override
+                public void write(String str, int off, int len) throws IOException {
+                    out.write(str, off, len);
+                    size += byteLength(charset, str, off, off + len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.close();
+                }
+            });
+        }
+
+        return writer;
+    }
+
+    protected Charset charset() {
+        try {
+            return getCharacterEncoding() == null ? StandardCharsets.ISO_8859_1 : Charset.forName(getCharacterEncoding());
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.ISO_8859_1;
+        }
+    }
+
+    /**
+     * Returns the number of bytes of the given characters in the charset. UTF-8 and single-byte charsets are counted without encoding the
+     * characters.
+     */
+    protected static long byteLength(Charset charset, CharSequence chars, int start, int end) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            long length = 0;
+
+            for (int i = start; i < end; i++) {
+                char c = chars.charAt(i);
+
+                // Each half of a surrogate pair is counted with 2 of the 4 bytes of the code point.
+                if (c < 0x80)
+                    length++;
+                else if (c < 0x800 || Character.isSurrogate(c))
+                    length += 2;
+                else
+                    length += 3;
+            }
+
+            return length;
+        }
+
+        if (StandardCharsets.ISO_8859_1.equals(charset) || StandardCharsets.US_ASCII.equals(charset))
+            return end - start;
+
+        return charset.encode(CharBuffer.wrap(chars, start, end)).remaining();
+    }
+}
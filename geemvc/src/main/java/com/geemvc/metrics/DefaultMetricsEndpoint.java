@@ -0,0 +1,322 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.geemvc.Str;
+import com.geemvc.cache.Cache;
+import com.geemvc.cache.CacheStatistics;
+import com.geemvc.admission.AdmissionController;
+import com.geemvc.coalesce.CoalesceStats;
+import com.geemvc.coalesce.Coalescer;
+import com.geemvc.handler.CompositeControllerResolver;
+import com.geemvc.metrics.HistogramRequestMetrics.HandlerMetrics;
+import com.geemvc.reflect.ReflectionProvider;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+@Singleton
+public class DefaultMetricsEndpoint implements MetricsEndpoint {
+    protected static final String FORMAT_PARAMETER = "format";
+    protected static final String FORMAT_PROMETHEUS = "prometheus";
+    protected static final String FORMAT_JSON = "json";
+
+    protected static final String JSON_CONTENT_TYPE = "application/json";
+    protected static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4";
+
+    protected static final double[] QUANTILES = { 0.5, 0.95, 0.99, 0.999 };
+    protected static final String[] QUANTILE_NAMES = { "p50", "p95", "p99", "p999" };
+
+    protected final RequestMetrics requestMetrics;
+    protected final Cache cache;
+    protected final CompositeControllerResolver controllerResolver;
+    protected final ReflectionProvider reflectionProvider;
+    protected final Coalescer coalescer;
+    protected final AdmissionController admissionController;
+
+    @Inject
+    public DefaultMetricsEndpoint(RequestMetrics requestMetrics, Cache cache, CompositeControllerResolver controllerResolver, ReflectionProvider reflectionProvider, Coalescer coalescer,
+            AdmissionController admissionController) {
+        this.requestMetrics = requestMetrics;
+        this.cache = cache;
+        this.controllerResolver = controllerResolver;
+        this.reflectionProvider = reflectionProvider;
+        this.coalescer = coalescer;
+        this.admissionController = admissionController;
+    }
+
+    @Override
+    public void handle(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HistogramRequestMetrics histogramMetrics = histogramMetrics();
+
+        if (histogramMetrics == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setHeader("Cache-Control", "no-cache");
+        response.setCharacterEncoding("UTF-8");
+
+        if (isPrometheus(request)) {
+            response.setContentType(PROMETHEUS_CONTENT_TYPE);
+            writePrometheus(histogramMetrics, response.getWriter());
+        } else {
+            response.setContentType(JSON_CONTENT_TYPE);
+            writeJson(histogramMetrics, response.getWriter());
+        }
+    }
+
+    protected HistogramRequestMetrics histogramMetrics() {
+        RequestMetrics metrics = requestMetrics instanceof TracingRequestMetrics ? ((TracingRequestMetrics) requestMetrics).delegate() : requestMetrics;
+        return metrics instanceof HistogramRequestMetrics ? (HistogramRequestMetrics) metrics : null;
+    }
+
+    protected boolean isPrometheus(HttpServletRequest request) {
+        String format = request.getParameter(FORMAT_PARAMETER);
+
+        if (!Str.isEmpty(format))
+            return FORMAT_PROMETHEUS.equalsIgnoreCase(format.trim());
+
+        String accept = request.getHeader("Accept");
+
+        return accept != null && accept.contains("text/plain") && !accept.contains(JSON_CONTENT_TYPE);
+    }
+
+    protected int routeCount() {
+        int routeCount = 0;
+
+        for (Class<?> controllerClass : controllerResolver.allControllers().values()) {
+            routeCount += reflectionProvider.getRequestHandlerMethods(controllerClass).size();
+        }
+
+        return routeCount;
+    }
+
+    protected void writeJson(HistogramRequestMetrics histogramMetrics, PrintWriter out) {
+        out.append("{\"inFlight\":").print(histogramMetrics.inFlight());
+        out.append(",\"routes\":").print(routeCount());
+        out.append(",\"handlers\":[");
+
+        int x = 0;
+        for (HandlerMetrics handlerMetrics : histogramMetrics.handlerMetrics().values()) {
+            if (x++ > 0)
+                out.append(',');
+
+            out.append("{\"handler\":").append(jsonString(handlerMetrics.name()));
+            out.append(",\"count\":").print(handlerMetrics.count());
+            out.append(",\"errors\":").print(handlerMetrics.errors());
+            out.append(",\"inFlight\":").print(handlerMetrics.inFlight());
+            out.append(",\"latencyMicros\":");
+            writeJsonLatency(handlerMetrics.histogram(Stage.REQUEST), out);
+            out.append(",\"stagesMicros\":{");
+
+            int y = 0;
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram histogram = handlerMetrics.histogram(stage);
+
+                if (stage == Stage.REQUEST || histogram.count() == 0)
+                    continue;
+
+                if (y++ > 0)
+                    out.append(',');
+
+                out.append(jsonString(stage.metricName())).append(':');
+                writeJsonLatency(histogram, out);
+            }
+
+            out.append("}}");
+        }
+
+        out.append("],\"caches\":[");
+
+        x = 0;
+        for (CacheStatistics cacheStatistics : cache.statistics().values()) {
+            if (x++ > 0)
+                out.append(',');
+
+            out.append("{\"cache\":").append(jsonString(cacheStatistics.name()));
+            out.append(",\"size\":").print(cacheStatistics.size());
+            out.append(",\"hits\":").print(cacheStatistics.hitCount());
+            out.append(",\"misses\":").print(cacheStatistics.missCount());
+            out.append(",\"evictions\":").print(cacheStatistics.evictionCount());
+            out.append('}');
+        }
+
+        out.append("],\"coalesced\":[");
+
+        x = 0;
+        for (CoalesceStats coalesceStats : coalescer.stats()) {
+            if (x++ > 0)
+                out.append(',');
+
+            out.append("{\"handler\":").append(jsonString(coalesceStats.handler()));
+            out.append(",\"executions\":").print(coalesceStats.executions());
+            out.append(",\"hits\":").print(coalesceStats.hits());
+            out.append(",\"misses\":").print(coalesceStats.misses());
+            out.append('}');
+        }
+
+        out.append(']');
+
+        if (admissionController.isEnabled()) {
+            out.append(",\"admission\":{\"load\":").print(admissionController.load());
+            out.append(",\"inFlight\":").print(admissionController.inFlight());
+            out.append(",\"shed\":").print(admissionController.shed());
+            out.append('}');
+        }
+
+        out.append('}');
+        out.flush();
+    }
+
+    protected void writeJsonLatency(LatencyHistogram histogram, PrintWriter out) {
+        out.append("{\"count\":").print(histogram.count());
+        out.append(",\"mean\":").print(histogram.mean() / 1000);
+
+        for (int i = 0; i < QUANTILES.length; i++) {
+            out.append(",\"").append(QUANTILE_NAMES[i]).append("\":").print(histogram.percentile(QUANTILES[i]) / 1000);
+        }
+
+        out.append(",\"max\":").print(histogram.max() / 1000);
+        out.append('}');
+    }
+
+    protected void writePrometheus(HistogramRequestMetrics histogramMetrics, PrintWriter out) {
+        Collection<HandlerMetrics> allHandlerMetrics = histogramMetrics.handlerMetrics().values();
+
+        out.append("# TYPE geemvc_requests_in_flight gauge\n");
+        out.append("geemvc_requests_in_flight ").print(histogramMetrics.inFlight());
+        out.append('\n');
+
+        out.append("# TYPE geemvc_routes gauge\n");
+        out.append("geemvc_routes ").print(routeCount());
+        out.append('\n');
+
+        out.append("# TYPE geemvc_request_duration_seconds summary\n");
+        for (HandlerMetrics handlerMetrics : allHandlerMetrics) {
+            writePrometheusSummary("geemvc_request_duration_seconds", "handler=\"" + prometheusLabel(handlerMetrics.name()) + "\"", handlerMetrics.histogram(Stage.REQUEST), out);
+        }
+
+        out.append("# TYPE geemvc_request_errors_total counter\n");
+        for (HandlerMetrics handlerMetrics : allHandlerMetrics) {
+            out.append("geemvc_request_errors_total{handler=\"").append(prometheusLabel(handlerMetrics.name())).append("\"} ").print(handlerMetrics.errors());
+            out.append('\n');
+        }
+
+        out.append("# TYPE geemvc_handler_requests_in_flight gauge\n");
+        for (HandlerMetrics handlerMetrics : allHandlerMetrics) {
+            out.append("geemvc_handler_requests_in_flight{handler=\"").append(prometheusLabel(handlerMetrics.name())).append("\"} ").print(handlerMetrics.inFlight());
+            out.append('\n');
+        }
+
+        out.append("# TYPE geemvc_stage_duration_seconds summary\n");
+        for (HandlerMetrics handlerMetrics : allHandlerMetrics) {
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram histogram = handlerMetrics.histogram(stage);
+
+                if (stage == Stage.REQUEST || histogram.count() == 0)
+                    continue;
+
+                writePrometheusSummary("geemvc_stage_duration_seconds", "handler=\"" + prometheusLabel(handlerMetrics.name()) + "\",stage=\"" + stage.metricName() + "\"", histogram, out);
+            }
+        }
+
+        Map<String, CacheStatistics> cacheStatistics = cache.statistics();
+
+        writePrometheusCacheMetric("geemvc_cache_size", "gauge", cacheStatistics, CacheStatistics::size, out);
+        writePrometheusCacheMetric("geemvc_cache_hits_total", "counter", cacheStatistics, CacheStatistics::hitCount, out);
+        writePrometheusCacheMetric("geemvc_cache_misses_total", "counter", cacheStatistics, CacheStatistics::missCount, out);
+        writePrometheusCacheMetric("geemvc_cache_evictions_total", "counter", cacheStatistics, CacheStatistics::evictionCount, out);
+
+        out.append("# TYPE geemvc_coalesced_requests_total counter\n");
+        for (CoalesceStats coalesceStats : coalescer.stats()) {
+            String handler = prometheusLabel(coalesceStats.handler());
+
+            out.append("geemvc_coalesced_requests_total{handler=\"").append(handler).append("\",result=\"execution\"} ").print(coalesceStats.executions());
+            out.append('\n');
+            out.append("geemvc_coalesced_requests_total{handler=\"").append(handler).append("\",result=\"hit\"} ").print(coalesceStats.hits());
+            out.append('\n');
+            out.append("geemvc_coalesced_requests_total{handler=\"").append(handler).append("\",result=\"miss\"} ").print(coalesceStats.misses());
+            out.append('\n');
+        }
+
+        if (admissionController.isEnabled()) {
+            out.append("# TYPE geemvc_admission_load gauge\n");
+            out.append("geemvc_admission_load ").print(admissionController.load());
+            out.append('\n');
+
+            out.append("# TYPE geemvc_requests_shed_total counter\n");
+            out.append("geemvc_requests_shed_total ").print(admissionController.shed());
+            out.append('\n');
+        }
+
+        out.flush();
+    }
+
+    protected void writePrometheusSummary(String name, String labels, LatencyHistogram histogram, PrintWriter out) {
+        for (double quantile : QUANTILES) {
+            out.append(name).append('{').append(labels).append(",quantile=\"").append(String.valueOf(quantile)).append("\"} ").append(seconds(histogram.percentile(quantile)));
+            out.append('\n');
+        }
+
+        out.append(name).append("_sum{").append(labels).append("} ").append(seconds(histogram.sum()));
+        out.append('\n');
+        out.append(name).append("_count{").append(labels).append("} ").print(histogram.count());
+        out.append('\n');
+    }
+
+    protected void writePrometheusCacheMetric(String name, String type, Map<String, CacheStatistics> cacheStatistics, ToLongFunction<CacheStatistics> value, PrintWriter out) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+
+        for (CacheStatistics statistics : cacheStatistics.values()) {
+            out.append(name).append("{cache=\"").append(prometheusLabel(statistics.name())).append("\"} ").print(value.applyAsLong(statistics));
+            out.append('\n');
+        }
+    }
+
+    protected String seconds(long nanos) {
+        return String.valueOf(nanos / 1_000_000_000d);
+    }
+
+    protected String jsonString(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == '"' || c == '\\')
+                sb.append('\\').append(c);
+            else if (c < 0x20)
+                sb.append(String.format("\\u%04x", (int) c));
+            else
+                sb.append(c);
+        }
+
+        return sb.append('"').toString();
+    }
+
+    protected String prometheusLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
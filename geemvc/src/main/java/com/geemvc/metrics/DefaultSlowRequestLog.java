@@ -0,0 +1,151 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.geemvc.config.Configuration;
+import com.geemvc.config.Configurations;
+import com.geemvc.logging.Log;
+import com.geemvc.logging.annotation.Logger;
+import com.google.inject.Singleton;
+
+/**
+ * Hands slow-request records over to a single daemon thread through a bounded queue. Request threads never wait: records that are not
+ * sampled, exceed the rate-limit of the current second or do not fit into the queue are dropped. The thread is started with the first record
+ * and stopped by {@link #close()}.
+ */
+@Singleton
+public class DefaultSlowRequestLog implements SlowRequestLog {
+    protected final double sampleRate;
+    protected final int rateLimit;
+    protected final BlockingQueue<SlowRequestRecord> queue;
+
+    protected final AtomicLong currentSecond = new AtomicLong();
+    protected final AtomicInteger loggedInCurrentSecond = new AtomicInteger();
+    protected final LongAdder dropped = new LongAdder();
+    protected final AtomicBoolean writerStarted = new AtomicBoolean();
+    protected final AtomicBoolean closed = new AtomicBoolean();
+
+    protected volatile Thread writer;
+
+    @Logger
+    protected Log log;
+
+    public DefaultSlowRequestLog() {
+        this(Configurations.get());
+    }
+
+    protected DefaultSlowRequestLog(Configuration configuration) {
+        this(configuration == null ? 1.0 : configuration.slowRequestSampleRate(), configuration == null ? 10 : configuration.slowRequestRateLimit(), configuration == null ? 1000 : configuration.slowRequestQueueSize());
+    }
+
+    protected DefaultSlowRequestLog(double sampleRate, int rateLimit, int queueSize) {
+        this.sampleRate = sampleRate;
+        this.rateLimit = rateLimit;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    @Override
+    public boolean isSampled() {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)
+            return false;
+
+        long second = System.nanoTime() / 1_000_000_000L;
+        long previousSecond = currentSecond.get();
+
+        if (second != previousSecond && currentSecond.compareAndSet(previousSecond, second))
+            loggedInCurrentSecond.set(0);
+
+        if (loggedInCurrentSecond.incrementAndGet() > rateLimit) {
+            dropped.increment();
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public void log(SlowRequestRecord record) {
+        if (closed.get()) {
+            dropped.increment();
+            return;
+        }
+
+        if (writerStarted.compareAndSet(false, true))
+            startWriter();
+
+        if (!queue.offer(record))
+            dropped.increment();
+    }
+
+    @Override
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true))
+            return;
+
+        Thread currentWriter = writer;
+
+        if (currentWriter != null) {
+            currentWriter.interrupt();
+
+            try {
+                currentWriter.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    protected void startWriter() {
+        writer = new Thread(this::write, "geemvc-slow-request-log");
+        writer.setDaemon(true);
+        writer.start();
+
+        // The log may have been closed while the writer was starting.
+        if (closed.get())
+            writer.interrupt();
+    }
+
+    protected void write() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                SlowRequestRecord record = queue.take();
+                log.warn(record.toString());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Write what has been queued before the log was closed.
+        SlowRequestRecord record;
+
+        while ((record = queue.poll()) != null) {
+            log.warn(record.toString());
+        }
+    }
+}
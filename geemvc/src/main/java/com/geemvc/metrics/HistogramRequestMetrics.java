@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.geemvc.handler.RequestHandler;
+import com.google.inject.Singleton;
+
+/**
+ * Keeps a {@link LatencyHistogram} per request-handler and stage together with error counts and in-flight gauges. All counters are
+ * {@link LongAdder}s, so recording never takes a lock. This implementation is bound when the configuration setting "metrics-enabled" is true.
+ * <p>
+ * As the request-handler is not known when a request begins, the per-handler in-flight gauge is incremented once the handler has been
+ * resolved, i.e. when the {@link Stage#RESOLVE} stage is stopped.
+ */
+@Singleton
+public class HistogramRequestMetrics implements RequestMetrics {
+    protected static final String UNRESOLVED = "-";
+
+    protected final Map<Object, HandlerMetrics> handlerMetrics = new ConcurrentHashMap<>();
+
+    protected final LongAdder inFlight = new LongAdder();
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public long start() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void stop(Stage stage, RequestHandler requestHandler, long startNanos) {
+        if (startNanos == 0)
+            return;
+
+        HandlerMetrics metrics = handlerMetrics(requestHandler);
+        metrics.histogram(stage).record(System.nanoTime() - startNanos);
+
+        if (stage == Stage.RESOLVE && requestHandler != null)
+            metrics.inFlight.increment();
+    }
+
+    @Override
+    public long begin() {
+        inFlight.increment();
+        return System.nanoTime();
+    }
+
+    @Override
+    public void end(RequestHandler requestHandler, long startNanos, boolean failed) {
+        inFlight.decrement();
+
+        if (startNanos == 0)
+            return;
+
+        HandlerMetrics metrics = handlerMetrics(requestHandler);
+        metrics.histogram(Stage.REQUEST).record(System.nanoTime() - startNanos);
+
+        if (requestHandler != null)
+            metrics.inFlight.decrement();
+
+        if (failed)
+            metrics.errors.increment();
+    }
+
+    public long inFlight() {
+        return inFlight.sum();
+    }
+
+    public Map<Object, HandlerMetrics> handlerMetrics() {
+        return Collections.unmodifiableMap(handlerMetrics);
+    }
+
+    protected HandlerMetrics handlerMetrics(RequestHandler requestHandler) {
+        Object key = requestHandler == null ? UNRESOLVED : requestHandler.handlerMethod();
+
+        HandlerMetrics metrics = handlerMetrics.get(key);
+
+        if (metrics == null)
+            metrics = handlerMetrics.computeIfAbsent(key, k -> new HandlerMetrics(handlerName(requestHandler)));
+
+        return metrics;
+    }
+
+    protected String handlerName(RequestHandler requestHandler) {
+        if (requestHandler == null)
+            return UNRESOLVED;
+
+        if (requestHandler.name() != null && !requestHandler.name().isEmpty())
+            return requestHandler.name();
+
+        Method handlerMethod = requestHandler.handlerMethod();
+
+        return handlerMethod.getDeclaringClass().getName() + "." + handlerMethod.getName();
+    }
+
+    public static class HandlerMetrics {
+        protected final String name;
+        protected final LatencyHistogram[] histograms = new LatencyHistogram[Stage.values().length];
+        protected final LongAdder errors = new LongAdder();
+        protected final LongAdder inFlight = new LongAdder();
+
+        public HandlerMetrics(String name) {
+            this.name = name;
+
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public LatencyHistogram histogram(Stage stage) {
+            return histograms[stage.ordinal()];
+        }
+
+        public long count() {
+            return histogram(Stage.REQUEST).count();
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+
+        public long inFlight() {
+            return inFlight.sum();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets. Each power of two is split into 4 sub-buckets, which keeps the error of a percentile
+ * below 25% while only needing a fixed array of 156 counters. Values are clamped to 2^40 nanoseconds (about 18 minutes).
+ * <p>
+ * Recording is striped by thread: each stripe has its own bucket array, which is only created once a thread mapping to it records a
+ * value. Reading a percentile sums up all stripes.
+ */
+public class LatencyHistogram {
+    protected static final int SUB_BUCKET_BITS = 2;
+    protected static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    protected static final long MAX_VALUE = (1L << 40) - 1;
+    protected static final int BUCKETS = bucket(MAX_VALUE) + 1;
+    protected static final int STRIPES = Math.min(16, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    protected final AtomicReferenceArray<AtomicLongArray> stripes;
+    protected final int stripeMask;
+    protected final LongAdder count = new LongAdder();
+    protected final LongAdder sum = new LongAdder();
+    protected final AtomicLong max = new AtomicLong();
+
+    public LatencyHistogram() {
+        this(STRIPES);
+    }
+
+    /**
+     * @param stripes
+     *            the number of stripes, which must be a power of two.
+     */
+    public LatencyHistogram(int stripes) {
+        if (Integer.bitCount(stripes) != 1)
+            throw new IllegalArgumentException("The number of stripes must be a power of two, but was " + stripes + ".");
+
+        this.stripes = new AtomicReferenceArray<>(stripes);
+        this.stripeMask = stripes - 1;
+    }
+
+    public void record(long nanos) {
+        long value = nanos < 0 ? 0 : nanos > MAX_VALUE ? MAX_VALUE : nanos;
+
+        stripe().incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long sum() {
+        return sum.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public long mean() {
+        long c = count();
+        return c == 0 ? 0 : sum() / c;
+    }
+
+    /**
+     * Returns the upper bound of the bucket that contains the given percentile (0.0 - 1.0), capped at the largest recorded value.
+     */
+    public long percentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+
+        for (int s = 0; s < stripes.length(); s++) {
+            AtomicLongArray buckets = stripes.get(s);
+
+            if (buckets == null)
+                continue;
+
+            for (int i = 0; i < BUCKETS; i++) {
+                long bucketCount = buckets.get(i);
+                counts[i] += bucketCount;
+                total += bucketCount;
+            }
+        }
+
+        if (total == 0)
+            return 0;
+
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+
+            if (seen >= rank && counts[i] > 0)
+                return Math.min(upperBound(i), max());
+        }
+
+        return max();
+    }
+
+    protected AtomicLongArray stripe() {
+        int index = (int) Thread.currentThread().getId() & stripeMask;
+
+        AtomicLongArray buckets = stripes.get(index);
+
+        if (buckets == null) {
+            stripes.compareAndSet(index, null, new AtomicLongArray(BUCKETS));
+            buckets = stripes.get(index);
+        }
+
+        return buckets;
+    }
+
+    protected static int bucket(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) | subBucket;
+    }
+
+    protected static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+
+        int shift = (bucket >> SUB_BUCKET_BITS) - 1;
+        long base = SUB_BUCKETS | (bucket & (SUB_BUCKETS - 1));
+
+        return ((base + 1) << shift) - 1;
+    }
+}
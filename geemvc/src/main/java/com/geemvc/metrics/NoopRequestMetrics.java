@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import com.geemvc.handler.RequestHandler;
+import com.google.inject.Singleton;
+
+@Singleton
+public class NoopRequestMetrics implements RequestMetrics {
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public long start() {
+        return 0;
+    }
+
+    @Override
+    public void stop(Stage stage, RequestHandler requestHandler, long startNanos) {
+    }
+
+    @Override
+    public long begin() {
+        return 0;
+    }
+
+    @Override
+    public void end(RequestHandler requestHandler, long startNanos, boolean failed) {
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.geemvc.handler.RequestHandler;
+
+/**
+ * Forwards stage timings to an external metrics registry, e.g. a Dropwizard <code>MetricRegistry</code>:
+ *
+ * <pre>
+ * new RegistryRequestMetrics("geemvc", (name, nanos) -&gt; registry.timer(name).update(nanos, TimeUnit.NANOSECONDS));
+ * </pre>
+ *
+ * Metric names have the form <code>prefix.handlerName.stage</code> and are cached so that no strings are built per request. Failed requests are
+ * additionally recorded as <code>prefix.handlerName.errors</code>.
+ */
+public class RegistryRequestMetrics implements RequestMetrics {
+    protected static final String UNRESOLVED = "unresolved";
+    protected static final int ERRORS = Stage.values().length;
+
+    protected final String prefix;
+    protected final Recorder recorder;
+    protected final Map<Object, String[]> metricNames = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface Recorder {
+        void record(String metricName, long nanos);
+    }
+
+    public RegistryRequestMetrics(String prefix, Recorder recorder) {
+        this.prefix = prefix;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public long start() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void stop(Stage stage, RequestHandler requestHandler, long startNanos) {
+        if (startNanos == 0)
+            return;
+
+        recorder.record(metricNames(requestHandler)[stage.ordinal()], System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public long begin() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void end(RequestHandler requestHandler, long startNanos, boolean failed) {
+        if (startNanos == 0)
+            return;
+
+        long nanos = System.nanoTime() - startNanos;
+        String[] names = metricNames(requestHandler);
+
+        recorder.record(names[Stage.REQUEST.ordinal()], nanos);
+
+        if (failed)
+            recorder.record(names[ERRORS], nanos);
+    }
+
+    protected String[] metricNames(RequestHandler requestHandler) {
+        Object key = requestHandler == null ? UNRESOLVED : requestHandler.handlerMethod();
+
+        String[] names = metricNames.get(key);
+
+        if (names == null)
+            names = metricNames.computeIfAbsent(key, k -> newMetricNames(requestHandler));
+
+        return names;
+    }
+
+    protected String[] newMetricNames(RequestHandler requestHandler) {
+        String handlerName = UNRESOLVED;
+
+        if (requestHandler != null) {
+            Method handlerMethod = requestHandler.handlerMethod();
+            handlerName = handlerMethod.getDeclaringClass().getSimpleName() + "." + handlerMethod.getName();
+        }
+
+        Stage[] stages = Stage.values();
+        String[] names = new String[stages.length + 1];
+
+        for (Stage stage : stages) {
+            names[stage.ordinal()] = metricName(handlerName, stage.metricName());
+        }
+
+        names[ERRORS] = metricName(handlerName, "errors");
+
+        return names;
+    }
+
+    protected String metricName(String handlerName, String name) {
+        return new StringBuilder(prefix).append('.').append(handlerName).append('.').append(name).toString();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import com.geemvc.handler.RequestHandler;
+
+/**
+ * Receives the timings of the individual stages of a request. Callers obtain a timestamp with {@link #start()} at the beginning of a stage and
+ * hand it back to {@link #stop(Stage, RequestHandler, long)} at the end. Implementations must be thread-safe and should not block.
+ */
+public interface RequestMetrics {
+    boolean isEnabled();
+
+    /**
+     * Returns the current {@link System#nanoTime()} or 0 if metrics are disabled.
+     */
+    long start();
+
+    void stop(Stage stage, RequestHandler requestHandler, long startNanos);
+
+    /**
+     * Marks the beginning of a request and returns the current {@link System#nanoTime()} or 0 if metrics are disabled.
+     */
+    long begin();
+
+    /**
+     * Marks the end of a request that was started with {@link #begin()}. The time is recorded as {@link Stage#REQUEST}.
+     */
+    void end(RequestHandler requestHandler, long startNanos, boolean failed);
+
+    /**
+     * Returns true if the size of the response is reported, so that the response has to be wrapped in a {@link CountingResponse}.
+     */
+    default boolean isResponseSizeTracked() {
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+/**
+ * Sums up the stage timings of a single request. Lives in the {@link com.geemvc.ThreadStash} of the request while the slow-request log is
+ * enabled.
+ */
+public class RequestTrace {
+    protected final long[] stageNanos = new long[Stage.values().length];
+
+    public void add(Stage stage, long nanos) {
+        stageNanos[stage.ordinal()] += nanos;
+    }
+
+    public long nanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+}
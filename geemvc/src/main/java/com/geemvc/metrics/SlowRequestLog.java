@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import java.io.Closeable;
+
+/**
+ * Writes {@link SlowRequestRecord}s without blocking the request thread.
+ */
+public interface SlowRequestLog extends Closeable {
+    /**
+     * Decides whether the current slow request should be logged, taking the sample-rate and the rate-limit into account. Called before the
+     * record is built so that requests which are not logged cost next to nothing.
+     */
+    boolean isSampled();
+
+    /**
+     * Queues the record for logging. If the queue is full the record is dropped.
+     */
+    void log(SlowRequestRecord record);
+
+    long dropped();
+
+    /**
+     * Stops writing records, e.g. when the application is undeployed. Records that are logged afterwards are dropped.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of a request that exceeded its slow-request threshold. Everything is captured on the request thread so that the record can be
+ * written later by the logging thread.
+ */
+public class SlowRequestRecord {
+    protected final Instant timestamp;
+    protected final String method;
+    protected final String uri;
+    protected final String handler;
+    protected final String thread;
+    protected final int status;
+    protected final long totalNanos;
+    protected final long[] stageNanos;
+    protected final int boundParameters;
+    protected final int validationErrors;
+    protected final String view;
+    protected final long responseSize;
+
+    public SlowRequestRecord(Instant timestamp, String method, String uri, String handler, String thread, int status, long totalNanos, long[] stageNanos, int boundParameters, int validationErrors, String view, long responseSize) {
+        this.timestamp = timestamp;
+        this.method = method;
+        this.uri = uri;
+        this.handler = handler;
+        this.thread = thread;
+        this.status = status;
+        this.totalNanos = totalNanos;
+        this.stageNanos = stageNanos;
+        this.boundParameters = boundParameters;
+        this.validationErrors = validationErrors;
+        this.view = view;
+        this.responseSize = responseSize;
+    }
+
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    public String method() {
+        return method;
+    }
+
+    public String uri() {
+        return uri;
+    }
+
+    public String handler() {
+        return handler;
+    }
+
+    public String thread() {
+        return thread;
+    }
+
+    public int status() {
+        return status;
+    }
+
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    public long stageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    public int boundParameters() {
+        return boundParameters;
+    }
+
+    public int validationErrors() {
+        return validationErrors;
+    }
+
+    public String view() {
+        return view;
+    }
+
+    /**
+     * Returns the number of bytes or characters written to the response.
+     */
+    public long responseSize() {
+        return responseSize;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Slow request: ").append(method).append(' ').append(uri).append(" took ").append(millis(totalNanos)).append("ms");
+        sb.append(" [time=").append(timestamp);
+        sb.append(", handler=").append(handler);
+        sb.append(", status=").append(status);
+        sb.append(", boundParameters=").append(boundParameters);
+        sb.append(", validationErrors=").append(validationErrors);
+        sb.append(", view=").append(view);
+        sb.append(", responseSize=").append(responseSize);
+        sb.append(", thread=").append(thread);
+        sb.append("] stages:");
+
+        for (Stage stage : Stage.values()) {
+            long nanos = stageNanos[stage.ordinal()];
+
+            if (stage != Stage.REQUEST && nanos > 0)
+                sb.append(' ').append(stage.metricName()).append('=').append(millis(nanos)).append("ms");
+        }
+
+        return sb.toString();
+    }
+
+    protected String millis(long nanos) {
+        return String.valueOf(nanos / 1000 / 1000d);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import java.lang.annotation.Annotation;
+
+import com.geemvc.intercept.annotation.PostBinding;
+import com.geemvc.intercept.annotation.PostHandle;
+import com.geemvc.intercept.annotation.PostValidation;
+import com.geemvc.intercept.annotation.PostView;
+import com.geemvc.intercept.annotation.PreBinding;
+import com.geemvc.intercept.annotation.PreHandle;
+import com.geemvc.intercept.annotation.PreValidation;
+import com.geemvc.intercept.annotation.PreView;
+
+/**
+ * The stages of a request that are timed by {@link RequestMetrics}.
+ */
+public enum Stage {
+    REQUEST("request"),
+    RESOLVE("resolve"),
+    LOCALE("locale"),
+    BINDING("binding"),
+    VALIDATION("validation"),
+    PRE_BINDING("preBinding"),
+    POST_BINDING("postBinding"),
+    PRE_VALIDATION("preValidation"),
+    POST_VALIDATION("postValidation"),
+    PRE_HANDLE("preHandle"),
+    HANDLER("handler"),
+    POST_HANDLE("postHandle"),
+    VIEW("view"),
+    PRE_VIEW("preView"),
+    RENDER("render"),
+    POST_VIEW("postView");
+
+    private final String metricName;
+
+    Stage(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+
+    public static Stage of(Class<? extends Annotation> lifecycleAnnotation) {
+        if (lifecycleAnnotation == PreBinding.class)
+            return PRE_BINDING;
+        else if (lifecycleAnnotation == PostBinding.class)
+            return POST_BINDING;
+        else if (lifecycleAnnotation == PreValidation.class)
+            return PRE_VALIDATION;
+        else if (lifecycleAnnotation == PostValidation.class)
+            return POST_VALIDATION;
+        else if (lifecycleAnnotation == PreHandle.class)
+            return PRE_HANDLE;
+        else if (lifecycleAnnotation == PostHandle.class)
+            return POST_HANDLE;
+        else if (lifecycleAnnotation == PreView.class)
+            return PRE_VIEW;
+        else if (lifecycleAnnotation == PostView.class)
+            return POST_VIEW;
+
+        throw new IllegalArgumentException("Unknown lifecycle stage: " + lifecycleAnnotation);
+    }
+}
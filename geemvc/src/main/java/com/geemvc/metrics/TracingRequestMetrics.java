@@ -0,0 +1,225 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.geemvc.Bindings;
+import com.geemvc.ThreadStash;
+import com.geemvc.config.Configuration;
+import com.geemvc.config.Configurations;
+import com.geemvc.handler.RequestHandler;
+import com.geemvc.intercept.LifecycleContext;
+import com.geemvc.metrics.annotation.SlowRequest;
+import com.geemvc.reflect.ReflectionsWrapper;
+import com.geemvc.validation.Errors;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+
+/**
+ * Keeps the stage timings of each request in a {@link RequestTrace} and hands requests that exceed their threshold to the
+ * {@link SlowRequestLog}. All timings are passed on to the histograms if "metrics-enabled" is also true. Requests are only traced if
+ * "slow-request-threshold" is greater than 0 or a controller or request-handler is annotated with {@link SlowRequest}, otherwise everything
+ * is handed to the histograms or ignored.
+ */
+@Singleton
+public class TracingRequestMetrics implements RequestMetrics {
+    protected final RequestMetrics delegate;
+    protected final SlowRequestLog slowRequestLog;
+    protected final long defaultThresholdNanos;
+
+    protected final Map<Method, Long> handlerThresholds = new ConcurrentHashMap<>();
+
+    protected Injector injector;
+
+    // Resolved on first use, because the classpath has not been scanned when the injector creates this instance.
+    protected volatile Boolean tracing;
+
+    @Inject
+    public TracingRequestMetrics(Injector injector, SlowRequestLog slowRequestLog) {
+        this(delegate(injector, Configurations.get()), slowRequestLog, Configurations.get() == null ? 0 : Configurations.get().slowRequestThreshold());
+        this.injector = injector;
+    }
+
+    public TracingRequestMetrics(RequestMetrics delegate, SlowRequestLog slowRequestLog, long defaultThresholdMillis) {
+        this.delegate = delegate;
+        this.slowRequestLog = slowRequestLog;
+        this.defaultThresholdNanos = defaultThresholdMillis * 1_000_000L;
+    }
+
+    protected static RequestMetrics delegate(Injector injector, Configuration configuration) {
+        return configuration != null && configuration.isMetricsEnabled() ? injector.getInstance(HistogramRequestMetrics.class) : injector.getInstance(NoopRequestMetrics.class);
+    }
+
+    public RequestMetrics delegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns true if requests are traced, because a slow-request threshold has been configured globally or for a controller or
+     * request-handler.
+     */
+    public boolean isTracing() {
+        Boolean isTracing = tracing;
+
+        if (isTracing == null) {
+            isTracing = defaultThresholdNanos > 0 || hasSlowRequestHandlers();
+            tracing = isTracing;
+        }
+
+        return isTracing;
+    }
+
+    protected boolean hasSlowRequestHandlers() {
+        if (injector == null)
+            return false;
+
+        ReflectionsWrapper reflectionsWrapper = injector.getInstance(ReflectionsWrapper.class).configure();
+
+        return !reflectionsWrapper.getTypesAnnotatedWith(SlowRequest.class).isEmpty() || !reflectionsWrapper.getMethodsAnnotatedWith(SlowRequest.class).isEmpty();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return isTracing() || delegate.isEnabled();
+    }
+
+    @Override
+    public boolean isResponseSizeTracked() {
+        return isTracing();
+    }
+
+    @Override
+    public long start() {
+        return isTracing() ? System.nanoTime() : delegate.start();
+    }
+
+    @Override
+    public void stop(Stage stage, RequestHandler requestHandler, long startNanos) {
+        if (!isTracing()) {
+            delegate.stop(stage, requestHandler, startNanos);
+            return;
+        }
+
+        long nanos = System.nanoTime() - startNanos;
+
+        RequestTrace trace = (RequestTrace) ThreadStash.get(RequestTrace.class);
+
+        if (trace != null)
+            trace.add(stage, nanos);
+
+        if (delegate.isEnabled())
+            delegate.stop(stage, requestHandler, startNanos);
+    }
+
+    @Override
+    public long begin() {
+        if (!isTracing())
+            return delegate.begin();
+
+        ThreadStash.put(RequestTrace.class, new RequestTrace());
+
+        long startNanos = System.nanoTime();
+
+        if (delegate.isEnabled())
+            delegate.begin();
+
+        return startNanos;
+    }
+
+    @Override
+    public void end(RequestHandler requestHandler, long startNanos, boolean failed) {
+        if (!isTracing()) {
+            delegate.end(requestHandler, startNanos, failed);
+            return;
+        }
+
+        long totalNanos = System.nanoTime() - startNanos;
+
+        if (delegate.isEnabled())
+            delegate.end(requestHandler, startNanos, failed);
+
+        long thresholdNanos = thresholdNanos(requestHandler);
+
+        if (thresholdNanos > 0 && totalNanos > thresholdNanos && slowRequestLog.isSampled())
+            slowRequestLog.log(record(requestHandler, totalNanos));
+    }
+
+    protected long thresholdNanos(RequestHandler requestHandler) {
+        if (requestHandler == null)
+            return defaultThresholdNanos;
+
+        Long thresholdNanos = handlerThresholds.get(requestHandler.handlerMethod());
+
+        if (thresholdNanos == null)
+            thresholdNanos = handlerThresholds.computeIfAbsent(requestHandler.handlerMethod(), this::resolveThresholdNanos);
+
+        return thresholdNanos;
+    }
+
+    protected long resolveThresholdNanos(Method handlerMethod) {
+        SlowRequest slowRequest = handlerMethod.getAnnotation(SlowRequest.class);
+
+        if (slowRequest == null)
+            slowRequest = handlerMethod.getDeclaringClass().getAnnotation(SlowRequest.class);
+
+        return slowRequest == null ? defaultThresholdNanos : slowRequest.thresholdMillis() * 1_000_000L;
+    }
+
+    protected SlowRequestRecord record(RequestHandler requestHandler, long totalNanos) {
+        RequestTrace trace = (RequestTrace) ThreadStash.get(RequestTrace.class);
+        HttpServletRequest request = (HttpServletRequest) ThreadStash.servletRequest();
+        ServletResponse response = ThreadStash.servletResponse();
+        LifecycleContext lifecycleCtx = ThreadStash.lifecycleContext();
+        Errors errors = ThreadStash.errors();
+
+        long[] stageNanos = new long[Stage.values().length];
+
+        if (trace != null) {
+            for (Stage stage : Stage.values()) {
+                stageNanos[stage.ordinal()] = trace.nanos(stage);
+            }
+        }
+
+        stageNanos[Stage.REQUEST.ordinal()] = totalNanos;
+
+        Bindings bindings = lifecycleCtx == null ? null : lifecycleCtx.bindings();
+        String view = lifecycleCtx == null || lifecycleCtx.result() == null ? null : lifecycleCtx.result().view();
+
+        String uri = request == null ? null : request.getQueryString() == null ? request.getRequestURI() : request.getRequestURI() + "?" + request.getQueryString();
+
+        return new SlowRequestRecord(Instant.now(), request == null ? null : request.getMethod(), uri, handlerName(requestHandler), Thread.currentThread().getName(),
+                response instanceof HttpServletResponse ? ((HttpServletResponse) response).getStatus() : 0, totalNanos, stageNanos, bindings == null || bindings.typedValues() == null ? 0 : bindings.typedValues().size(),
+                errors == null ? 0 : errors.allErrors().size(), view, response instanceof CountingResponse ? ((CountingResponse) response).size() : -1);
+    }
+
+    protected String handlerName(RequestHandler requestHandler) {
+        if (requestHandler == null)
+            return null;
+
+        Method handlerMethod = requestHandler.handlerMethod();
+
+        return handlerMethod.getDeclaringClass().getName() + "." + handlerMethod.getName();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class DefaultFilePart implements FilePart {
+    protected final String name;
+    protected final String fileName;
+    protected final String contentType;
+    protected final long size;
+    protected final byte[] content;
+    protected final File file;
+
+    public DefaultFilePart(String name, String fileName, String contentType, long size, byte[] content, File file) {
+        this.name = name;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.size = size;
+        this.content = content;
+        this.file = file;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String fileName() {
+        return fileName;
+    }
+
+    @Override
+    public String contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    @Override
+    public File file() {
+        return file;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return file == null ? new ByteArrayInputStream(content) : new FileInputStream(file);
+    }
+
+    @Override
+    public void delete() {
+        if (file != null)
+            file.delete();
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultFilePart [name=" + name + ", fileName=" + fileName + ", contentType=" + contentType + ", size=" + size + ", file=" + file + "]";
+    }
+}
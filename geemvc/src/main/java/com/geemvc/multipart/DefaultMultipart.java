@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.multipart;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DefaultMultipart implements Multipart {
+    protected final Map<String, String[]> fields = new LinkedHashMap<>();
+    protected final List<FilePart> parts = new ArrayList<>();
+
+    public DefaultMultipart addField(String name, String value) {
+        String[] values = fields.get(name);
+
+        if (values == null) {
+            values = new String[] { value };
+        } else {
+            String[] newValues = new String[values.length + 1];
+            System.arraycopy(values, 0, newValues, 0, values.length);
+            newValues[values.length] = value;
+            values = newValues;
+        }
+
+        fields.put(name, values);
+        return this;
+    }
+
+    public DefaultMultipart addPart(FilePart part) {
+        parts.add(part);
+        return this;
+    }
+
+    @Override
+    public Map<String, String[]> fields() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    @Override
+    public List<FilePart> parts() {
+        return Collections.unmodifiableList(parts);
+    }
+
+    @Override
+    public List<FilePart> parts(String name) {
+        List<FilePart> namedParts = new ArrayList<>();
+
+        for (FilePart part : parts) {
+            if (part.name().equals(name))
+                namedParts.add(part);
+        }
+
+        return namedParts;
+    }
+
+    @Override
+    public FilePart part(String name) {
+        for (FilePart part : parts) {
+            if (part.name().equals(name))
+                return part;
+        }
+
+        return null;
+    }
+
+    @Override
+    public void cleanup() {
+        for (FilePart part : parts) {
+            part.delete();
+        }
+    }
+}
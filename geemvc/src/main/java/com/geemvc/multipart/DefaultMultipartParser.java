@@ -0,0 +1,230 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+
+import com.geemvc.RequestContext;
+import com.geemvc.Str;
+import com.geemvc.config.Configuration;
+import com.geemvc.config.Configurations;
+import com.geemvc.logging.Log;
+import com.geemvc.logging.annotation.Logger;
+import com.geemvc.multipart.MultipartStream.PartHeaders;
+import com.google.inject.Singleton;
+
+@Singleton
+public class DefaultMultipartParser implements MultipartParser {
+    protected static final String MULTIPART_FORM_DATA = "multipart/form-data";
+    protected static final String SERVLET_TEMP_DIR = "javax.servlet.context.tempdir";
+    protected static final String DEFAULT_CHARSET = "UTF-8";
+
+    @Logger
+    protected Log log;
+
+    @Override
+    public boolean isMultipart(RequestContext requestCtx) {
+        String contentType = requestCtx.getRequest().getContentType();
+        return contentType != null && contentType.toLowerCase().startsWith(MULTIPART_FORM_DATA);
+    }
+
+    @Override
+    public Multipart parse(RequestContext requestCtx) {
+        HttpServletRequest request = (HttpServletRequest) requestCtx.getRequest();
+        Configuration configuration = Configurations.get();
+
+        long maxRequestSize = configuration.multipartMaxRequestSize();
+
+        // Reject oversized requests before reading anything.
+        if (maxRequestSize >= 0 && request.getContentLengthLong() > maxRequestSize)
+            throw new MultipartSizeException("The multipart request of " + request.getContentLengthLong() + " bytes exceeds the maximum size of " + maxRequestSize + " bytes");
+
+        String boundary = PartHeaders.param(request.getContentType(), "boundary");
+
+        if (Str.isEmpty(boundary))
+            throw new MultipartException("No boundary found in the content-type '" + request.getContentType() + "'");
+
+        String charset = request.getCharacterEncoding() == null ? DEFAULT_CHARSET : request.getCharacterEncoding();
+
+        DefaultMultipart multipart = new DefaultMultipart();
+
+        try (InputStream in = request.getInputStream()) {
+            MultipartStream multipartStream = new MultipartStream(in, boundary, maxRequestSize);
+            File tempDir = tempDir(requestCtx.getServletContext(), configuration);
+            Budget budget = new Budget(configuration);
+
+            boolean hasNext = multipartStream.skipPreamble();
+
+            while (hasNext) {
+                budget.addPart();
+
+                PartHeaders headers = multipartStream.readHeaders();
+                InputStream partStream = multipartStream.partStream();
+
+                if (headers.name() != null) {
+                    if (headers.isFile()) {
+                        if (!headers.fileName().isEmpty())
+                            multipart.addPart(readFile(headers, partStream, tempDir, budget));
+                    } else {
+                        multipart.addField(headers.name(), readField(headers, partStream, charset, budget));
+                    }
+                }
+
+                hasNext = multipartStream.nextPart(partStream);
+            }
+
+            log.trace("Read multipart request with {} fields and {} files ({} bytes, {} bytes in memory).", () -> multipart.fields().size(), () -> multipart.parts().size(), () -> multipartStream.bytesRead(),
+                    () -> budget.fieldsSize + budget.memorySize);
+        } catch (IOException e) {
+            multipart.cleanup();
+            throw new MultipartException("Unable to read multipart request", e);
+        } catch (RuntimeException e) {
+            multipart.cleanup();
+            throw e;
+        }
+
+        return multipart;
+    }
+
+    protected String readField(PartHeaders headers, InputStream partStream, String charset, Budget budget) throws IOException {
+        ByteArrayOutputStream value = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+
+        while ((n = partStream.read(buffer)) != -1) {
+            if (budget.maxFieldSize >= 0 && value.size() + n > budget.maxFieldSize)
+                throw new MultipartSizeException("The multipart field '" + headers.name() + "' exceeds the maximum size of " + budget.maxFieldSize + " bytes");
+
+            budget.addFieldBytes(n);
+            value.write(buffer, 0, n);
+        }
+
+        String partCharset = headers.contentType() == null ? null : PartHeaders.param(headers.contentType(), "charset");
+
+        try {
+            return value.toString(partCharset == null ? charset : partCharset);
+        } catch (UnsupportedEncodingException e) {
+            return value.toString(DEFAULT_CHARSET);
+        }
+    }
+
+    /**
+     * Keeps the file in memory as long as the in-memory files of the request stay below the configured threshold and writes it to a
+     * temporary file beyond that.
+     */
+    protected FilePart readFile(PartHeaders headers, InputStream partStream, File tempDir, Budget budget) throws IOException {
+        ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        OutputStream out = memory;
+        File file = null;
+        long size = 0;
+
+        byte[] buffer = new byte[4096];
+        int n;
+
+        try {
+            while ((n = partStream.read(buffer)) != -1) {
+                size += n;
+
+                if (budget.maxFileSize >= 0 && size > budget.maxFileSize)
+                    throw new MultipartSizeException("The uploaded file '" + headers.fileName() + "' exceeds the maximum size of " + budget.maxFileSize + " bytes");
+
+                if (file == null && budget.memorySize + size > budget.memoryThreshold) {
+                    file = File.createTempFile("geemvc-upload-", ".tmp", tempDir);
+                    out = new FileOutputStream(file);
+                    memory.writeTo(out);
+                    memory = null;
+                }
+
+                out.write(buffer, 0, n);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (file != null) {
+                out.close();
+                file.delete();
+            }
+
+            throw e;
+        }
+
+        out.close();
+
+        if (file == null)
+            budget.memorySize += size;
+
+        return new DefaultFilePart(headers.name(), fileName(headers.fileName()), headers.contentType(), size, memory == null ? null : memory.toByteArray(), file);
+    }
+
+    /**
+     * Some browsers send the full client path, of which only the name is kept.
+     */
+    protected String fileName(String fileName) {
+        int separatorPos = Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\'));
+        return separatorPos == -1 ? fileName : fileName.substring(separatorPos + 1);
+    }
+
+    protected File tempDir(ServletContext servletContext, Configuration configuration) {
+        if (configuration.multipartTempDir() != null)
+            return new File(configuration.multipartTempDir());
+
+        Object servletTempDir = servletContext == null ? null : servletContext.getAttribute(SERVLET_TEMP_DIR);
+
+        return servletTempDir instanceof File ? (File) servletTempDir : null;
+    }
+
+    /**
+     * Limits and bytes used so far of a single multipart request.
+     */
+    protected static class Budget {
+        protected final long maxFileSize;
+        protected final long maxFieldSize;
+        protected final long maxFieldsSize;
+        protected final int maxParts;
+        protected final long memoryThreshold;
+
+        protected int parts = 0;
+        protected long fieldsSize = 0;
+        protected long memorySize = 0;
+
+        protected Budget(Configuration configuration) {
+            this.maxFileSize = configuration.multipartMaxFileSize();
+            this.maxFieldSize = configuration.multipartMaxFieldSize();
+            this.maxFieldsSize = configuration.multipartMaxFieldsSize();
+            this.maxParts = configuration.multipartMaxParts();
+            this.memoryThreshold = configuration.multipartFileSizeThreshold();
+        }
+
+        protected void addPart() {
+            if (maxParts >= 0 && ++parts > maxParts)
+                throw new MultipartSizeException("The multipart request exceeds the maximum number of " + maxParts + " parts");
+        }
+
+        protected void addFieldBytes(int n) {
+            fieldsSize += n;
+
+            if (maxFieldsSize >= 0 && fieldsSize > maxFieldsSize)
+                throw new MultipartSizeException("The fields of the multipart request exceed the maximum size of " + maxFieldsSize + " bytes");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.multipart;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A file uploaded with a multipart request. Small files are kept in memory, larger ones are written to a temporary file that is deleted
+ * at the end of the request.
+ */
+public interface FilePart {
+    String name();
+
+    String fileName();
+
+    String contentType();
+
+    long size();
+
+    boolean isInMemory();
+
+    /**
+     * Returns the temporary file or null if the content is kept in memory.
+     */
+    File file();
+
+    /**
+     * Opens a new stream on the content of the part.
+     */
+    InputStream getInputStream() throws IOException;
+
+    void delete();
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.multipart;
+
+import java.util.List;
+import java.util.Map;
+
+public interface Multipart {
+    /**
+     * Request attribute under which the parsed multipart request is stored.
+     */
+    static final String ATTRIBUTE = Multipart.class.getName();
+
+    /**
+     * Returns the text fields of the multipart request.
+     */
+    Map<String, String[]> fields();
+
+    List<FilePart> parts();
+
+    List<FilePart> parts(String name);
+
+    FilePart part(String name);
+
+    /**
+     * Deletes the temporary files of the request.
+     */
+    void cleanup();
+}
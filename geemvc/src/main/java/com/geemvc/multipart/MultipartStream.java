@@ -0,0 +1,306 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a multipart/form-data body one part at a time through a fixed-size buffer. The body of the current part is exposed as a stream
+ * that ends at the next boundary, so no part is ever buffered as a whole.
+ */
+public class MultipartStream {
+    protected static final byte CR = 0x0D;
+    protected static final byte LF = 0x0A;
+    protected static final byte DASH = 0x2D;
+
+    protected static final int DEFAULT_BUFFER_SIZE = 8192;
+    protected static final int HEADER_SIZE_MAX = 10240;
+
+    protected final InputStream in;
+    protected final byte[] delimiter;
+    protected final byte[] buffer;
+    protected final long maxSize;
+
+    protected int head = 0;
+    protected int tail = 0;
+    protected boolean eof = false;
+    protected long bytesRead = 0;
+
+    /**
+     * @param in
+     *            the request body.
+     * @param boundary
+     *            the boundary from the content-type header.
+     * @param maxSize
+     *            the maximum number of bytes to read from the request body or -1 for no limit.
+     */
+    public MultipartStream(InputStream in, String boundary, long maxSize) {
+        // Prepending a CRLF lets the first boundary be found like all the others.
+        this.in = new SequenceInputStream(new ByteArrayInputStream(new byte[] { CR, LF }), in);
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[Math.max(DEFAULT_BUFFER_SIZE, delimiter.length * 2)];
+        this.maxSize = maxSize < 0 ? -1 : maxSize + 2;
+    }
+
+    /**
+     * Skips the preamble and moves to the first part. Returns false if the body contains no parts.
+     */
+    public boolean skipPreamble() throws IOException {
+        drain(new PartInputStream());
+        return hasNextPart();
+    }
+
+    /**
+     * Moves to the next part after the current one has been read to its end. Returns false if the closing boundary has been reached.
+     */
+    public boolean nextPart(InputStream partStream) throws IOException {
+        drain(partStream);
+        return hasNextPart();
+    }
+
+    /**
+     * Reads the headers of the current part. Header names are returned in lower case.
+     */
+    public PartHeaders readHeaders() throws IOException {
+        StringBuilder headers = new StringBuilder();
+        byte[] line = new byte[256];
+        int lineLength = 0;
+        int size = 0;
+
+        while (true) {
+            byte b = readByte();
+
+            if (++size > HEADER_SIZE_MAX)
+                throw new MultipartSizeException("The part headers exceed the maximum size of " + HEADER_SIZE_MAX + " bytes");
+
+            if (b == LF && lineLength > 0 && line[lineLength - 1] == CR) {
+                if (lineLength == 1)
+                    break;
+
+                headers.append(new String(line, 0, lineLength - 1, StandardCharsets.UTF_8)).append('\n');
+                lineLength = 0;
+            } else {
+                if (lineLength == line.length) {
+                    byte[] newLine = new byte[line.length * 2];
+                    System.arraycopy(line, 0, newLine, 0, lineLength);
+                    line = newLine;
+                }
+
+                line[lineLength++] = b;
+            }
+        }
+
+        return new PartHeaders(headers.toString());
+    }
+
+    /**
+     * Returns a stream on the body of the current part that ends at the next boundary.
+     */
+    public InputStream partStream() {
+        return new PartInputStream();
+    }
+
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    protected boolean hasNextPart() throws IOException {
+        byte first = readByte();
+        byte second = readByte();
+
+        if (first == DASH && second == DASH)
+            return false;
+
+        if (first == CR && second == LF)
+            return true;
+
+        throw new MultipartException("Unexpected characters after multipart boundary");
+    }
+
+    protected void drain(InputStream partStream) throws IOException {
+        byte[] skip = new byte[1024];
+
+        while (partStream.read(skip) != -1) {
+            // Discard the remainder of the part.
+        }
+    }
+
+    protected byte readByte() throws IOException {
+        if (head == tail && !fill())
+            throw new MultipartException("Unexpected end of multipart request");
+
+        return buffer[head++];
+    }
+
+    /**
+     * Moves the unread bytes to the start of the buffer and reads more from the request body. Returns false if nothing more could be read.
+     */
+    protected boolean fill() throws IOException {
+        if (eof)
+            return false;
+
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+
+        int n = in.read(buffer, tail, buffer.length - tail);
+
+        if (n == -1) {
+            eof = true;
+            return false;
+        }
+
+        bytesRead += n;
+
+        if (maxSize != -1 && bytesRead > maxSize)
+            throw new MultipartSizeException("The multipart request exceeds the maximum size of " + (maxSize - 2) + " bytes");
+
+        tail += n;
+        return true;
+    }
+
+    /**
+     * Returns the position of the delimiter in the unread part of the buffer or -1.
+     */
+    protected int findDelimiter() {
+        int last = tail - delimiter.length;
+
+        outer: for (int i = head; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j])
+                    continue outer;
+            }
+
+            return i;
+        }
+
+        return -1;
+    }
+
+    protected class PartInputStream extends InputStream {
+        protected boolean closed = false;
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (closed)
+                return -1;
+
+            if (len == 0)
+                return 0;
+
+            while (true) {
+                int pos = findDelimiter();
+
+                if (pos == head) {
+                    head += delimiter.length;
+                    closed = true;
+                    return -1;
+                }
+
+                // Without a delimiter in sight, the last bytes may still be the start of one.
+                int available = pos == -1 ? tail - head - (delimiter.length - 1) : pos - head;
+
+                if (available > 0) {
+                    int n = Math.min(len, available);
+                    System.arraycopy(buffer, head, b, off, n);
+                    head += n;
+                    return n;
+                }
+
+                if (!fill())
+                    throw new MultipartException("Unexpected end of multipart request");
+            }
+        }
+    }
+
+    public static class PartHeaders {
+        protected final String name;
+        protected final String fileName;
+        protected final String contentType;
+
+        protected PartHeaders(String headers) {
+            String disposition = null;
+            String type = null;
+
+            for (String line : headers.split("\n")) {
+                int colonPos = line.indexOf(':');
+
+                if (colonPos == -1)
+                    continue;
+
+                String headerName = line.substring(0, colonPos).trim().toLowerCase();
+
+                if ("content-disposition".equals(headerName))
+                    disposition = line.substring(colonPos + 1).trim();
+                else if ("content-type".equals(headerName))
+                    type = line.substring(colonPos + 1).trim();
+            }
+
+            this.name = disposition == null ? null : param(disposition, "name");
+            this.fileName = disposition == null ? null : param(disposition, "filename");
+            this.contentType = type;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public String fileName() {
+            return fileName;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public boolean isFile() {
+            return fileName != null;
+        }
+
+        /**
+         * Returns the value of a header parameter, e.g. 'name' in 'form-data; name="field"'.
+         */
+        public static String param(String header, String paramName) {
+            for (String param : header.split(";")) {
+                int equalsPos = param.indexOf('=');
+
+                if (equalsPos == -1 || !paramName.equalsIgnoreCase(param.substring(0, equalsPos).trim()))
+                    continue;
+
+                String value = param.substring(equalsPos + 1).trim();
+
+                if (value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"')
+                    value = value.substring(1, value.length() - 1);
+
+                return value;
+            }
+
+            return null;
+        }
+    }
+}
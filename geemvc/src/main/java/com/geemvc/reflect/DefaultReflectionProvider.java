@@ -29,6 +29,7 @@ import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -76,7 +77,9 @@ import com.geemvc.view.binding.Bindable;
 import com.geemvc.view.binding.annotation.Binding;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Singleton;
 
+@Singleton
 public class DefaultReflectionProvider implements ReflectionProvider {
     protected final ReflectionsWrapper reflectionsWrapper;
     protected final Annotations annotations;
@@ -221,7 +224,7 @@ public class DefaultReflectionProvider implements ReflectionProvider {
                     aroundHandlerInterceptorClasses.add(interceptClass);
             }
 
-            aroundHandlerInterceptorClasses.sort((cl1, cl2) -> cl1.getAnnotation(Intercept.class).weight() - cl2.getAnnotation(Intercept.class).weight());
+            aroundHandlerInterceptorClasses.sort(Comparator.comparingInt((Class<?> cl) -> cl.getAnnotation(Intercept.class).weight()).thenComparing(Class::getName));
 
             for (Class<?> aroundHandlerInterceptorClass : aroundHandlerInterceptorClasses) {
                 AroundHandler aroundHandler = (AroundHandler) injector.getInstance(aroundHandlerInterceptorClass);
@@ -20,12 +20,23 @@ import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletContext;
@@ -33,9 +44,11 @@ import javax.servlet.ServletContext;
 import org.reflections.Reflections;
 import org.reflections.scanners.MethodAnnotationsScanner;
 import org.reflections.scanners.ResourcesScanner;
+import org.reflections.scanners.Scanner;
 import org.reflections.scanners.SubTypesScanner;
 import org.reflections.scanners.TypeAnnotationsScanner;
 import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
 
 import com.geemvc.Str;
 import com.geemvc.ThreadStash;
@@ -55,6 +68,16 @@ public class DefaultReflectionsProvider implements ReflectionsProvider {
     protected Pattern appGeemvcJarPattern = Pattern.compile(".*geemvc\\-\\d\\.\\d\\.\\d.*\\.jar$");
     protected Pattern appGensonJarPattern = Pattern.compile(".*genson\\-\\d\\.\\d\\.*\\.jar$");
 
+    protected static final String GEEMVC_PACKAGE = "com.geemvc";
+    protected static final String GENSON_PACKAGE = "com.owlike.genson";
+    protected static final int NUM_SLOWEST_REPORTED = 10;
+
+    protected MetadataIndex index;
+
+    protected Map<URL, Long> scanTimes = Collections.emptyMap();
+
+    protected final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
     // @Logger TODO: Find other way when injector is not initialized yet.
     protected Log log = new DefaultLog().get(DefaultReflectionsProvider.class);
 
@@ -97,13 +120,35 @@ public class DefaultReflectionsProvider implements ReflectionsProvider {
             }
 
             // Set all scanners. Can be changed in the extend() method if necessary.
-            cb = cb.setScanners(new ResourcesScanner(), new TypeAnnotationsScanner(), new MethodAnnotationsScanner(), new SubTypesScanner());
+            cb = cb.setScanners(scanners());
+
+            // Only parse class-files in the configured packages.
+            cb = applyPackageFilter(cb);
 
             // Give the developer a chance to extend the ConfigurationBuilder without having to re-implement the whole class.
             extend(cb);
 
+            // Locations that contain a metadata index generated at compile time do not need to be scanned.
+            cb = applyIndex(cb);
+
+            // Restore the scan of the previous start if the classpath has not changed.
+            ReflectionsSnapshot snapshot = snapshot();
+            String classpathHash = snapshot == null ? null : classpathHash(snapshot, cb);
+
+            if (classpathHash != null) {
+                reflections = readSnapshot(snapshot, classpathHash, cb);
+
+                if (reflections != null) {
+                    log.info("Restored org.reflections scan from snapshot '{}'.", () -> classpathHash);
+                    return reflections;
+                }
+            }
+
             // Finally build the reflections.
-            reflections = cb.build();
+            reflections = scan(cb);
+
+            if (classpathHash != null)
+                writeSnapshot(snapshot, classpathHash, reflections);
 
         } catch (Exception e) {
             throw new IllegalStateException(e);
@@ -112,6 +157,224 @@ public class DefaultReflectionsProvider implements ReflectionsProvider {
         return reflections;
     }
 
+    /**
+     * The resources scanner is only needed for {@link ReflectionsWrapper#getResources(Pattern)}, which geeMVC itself does not use.
+     */
+    protected Scanner[] scanners() {
+        if (configuration() != null && configuration().isReflectionsScanResources())
+            return new Scanner[] { new ResourcesScanner(), new TypeAnnotationsScanner(), new MethodAnnotationsScanner(), new SubTypesScanner() };
+
+        return new Scanner[] { new TypeAnnotationsScanner(), new MethodAnnotationsScanner(), new SubTypesScanner() };
+    }
+
+    protected ConfigurationBuilder applyPackageFilter(ConfigurationBuilder cb) {
+        if (configuration() == null)
+            return cb;
+
+        List<String> includePackages = configuration().reflectionsIncludePackages();
+        List<String> excludePackages = configuration().reflectionsExcludePackages();
+
+        if (includePackages.isEmpty() && excludePackages.isEmpty())
+            return cb;
+
+        FilterBuilder filter = new FilterBuilder();
+
+        if (!includePackages.isEmpty()) {
+            // geeMVC always needs its own classes.
+            filter.includePackage(GEEMVC_PACKAGE).includePackage(GENSON_PACKAGE);
+
+            for (String includePackage : includePackages) {
+                filter.includePackage(includePackage);
+            }
+        }
+
+        for (String excludePackage : excludePackages) {
+            filter.excludePackage(excludePackage);
+        }
+
+        return cb.filterInputsBy(filter);
+    }
+
+    /**
+     * Scans each location separately so that locations can be scanned in parallel and the time spent per location can be reported.
+     */
+    protected Reflections scan(ConfigurationBuilder cb) throws InterruptedException, ExecutionException {
+        return scan(cb, configuration() == null ? 1 : configuration().reflectionsScanThreads());
+    }
+
+    protected Reflections scan(ConfigurationBuilder cb, int maxThreads) throws InterruptedException, ExecutionException {
+        Set<URL> urls = cb.getUrls();
+        int threads = Math.min(maxThreads, urls.size());
+
+        ExecutorService executor = threads > 1 ? newScanExecutor(threads) : null;
+
+        scanTimes = new ConcurrentHashMap<>();
+        long startNanos = System.nanoTime();
+
+        try {
+            // With an executor service the store of org.reflections is synchronized.
+            cb.setExecutorService(executor);
+
+            Reflections reflections = new DeferredReflections(cb);
+
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (URL url : urls) {
+                if (executor == null) {
+                    scan(reflections, url);
+                } else {
+                    futures.add(executor.submit(() -> scan(reflections, url)));
+                }
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            logScanTimes(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), Math.max(threads, 1));
+
+            return reflections;
+        } finally {
+            cb.setExecutorService(null);
+
+            if (executor != null)
+                executor.shutdownNow();
+        }
+    }
+
+    protected void scan(Reflections reflections, URL url) {
+        long startNanos = System.nanoTime();
+        reflections.scan(url);
+        scanTimes.put(url, System.nanoTime() - startNanos);
+    }
+
+    protected ExecutorService newScanExecutor(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "geemvc-scan-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    protected void logScanTimes(long totalMillis, int threads) {
+        List<Map.Entry<URL, Long>> slowest = new ArrayList<>(scanTimes.entrySet());
+        slowest.sort(Map.Entry.<URL, Long> comparingByValue().reversed());
+
+        log.info("Scanned {} locations with org.reflections in {}ms using {} thread(s). Slowest: {}", () -> slowest.size(), () -> totalMillis, () -> threads,
+                () -> slowest.stream().limit(NUM_SLOWEST_REPORTED).map(e -> e.getKey() + "=" + TimeUnit.NANOSECONDS.toMillis(e.getValue()) + "ms").collect(Collectors.joining(", ")));
+
+        for (Map.Entry<URL, Long> scanTime : slowest) {
+            log.debug("Scanned '{}' in {}ms.", () -> scanTime.getKey(), () -> TimeUnit.NANOSECONDS.toMillis(scanTime.getValue()));
+        }
+    }
+
+    /**
+     * Returns the time in nanoseconds spent scanning each location during the last scan.
+     */
+    public Map<URL, Long> scanTimes() {
+        return scanTimes;
+    }
+
+    /**
+     * Returns the snapshot store for the scan result, by default located in the servlet container's temporary directory for this
+     * webapp. Returns null if snapshots are disabled or no directory is available.
+     */
+    protected ReflectionsSnapshot snapshot() {
+        if (configuration() == null || !configuration().isReflectionsSnapshotEnabled())
+            return null;
+
+        if (configuration().reflectionsSnapshotDir() != null)
+            return new ReflectionsSnapshot(new File(configuration().reflectionsSnapshotDir()));
+
+        ServletContext servletContext = servletContext();
+        File tempDir = servletContext == null ? null : (File) servletContext.getAttribute(ServletContext.TEMPDIR);
+
+        return tempDir == null ? null : new ReflectionsSnapshot(tempDir);
+    }
+
+    /**
+     * Returns the settings that change the scan result but cannot be read back from the {@link ConfigurationBuilder}, so that a snapshot
+     * is not restored after they have changed.
+     */
+    protected List<String> scanSettings() {
+        List<String> settings = new ArrayList<>();
+
+        if (configuration() == null)
+            return settings;
+
+        for (String includePackage : configuration().reflectionsIncludePackages()) {
+            settings.add("include:" + includePackage);
+        }
+
+        for (String excludePackage : configuration().reflectionsExcludePackages()) {
+            settings.add("exclude:" + excludePackage);
+        }
+
+        return settings;
+    }
+
+    protected String classpathHash(ReflectionsSnapshot snapshot, ConfigurationBuilder cb) {
+        try {
+            return snapshot.hash(cb, scanSettings());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to compute classpath hash for the org.reflections snapshot: {}", () -> e.getMessage());
+            return null;
+        }
+    }
+
+    protected Reflections readSnapshot(ReflectionsSnapshot snapshot, String classpathHash, ConfigurationBuilder cb) {
+        try {
+            return snapshot.read(classpathHash, cb);
+        } catch (IOException e) {
+            log.warn("Unable to read org.reflections snapshot: {}", () -> e.getMessage());
+            return null;
+        }
+    }
+
+    protected void writeSnapshot(ReflectionsSnapshot snapshot, String classpathHash, Reflections reflections) {
+        try {
+            snapshot.write(classpathHash, reflections);
+        } catch (IOException | RuntimeException e) {
+            // Not being able to write the snapshot only means that the next start will scan again.
+            log.warn("Unable to write org.reflections snapshot: {}", () -> e.getMessage());
+        }
+    }
+
+    protected ConfigurationBuilder applyIndex(ConfigurationBuilder cb) {
+        index = new MetadataIndex(mainClassLoader());
+
+        if (configuration() != null && !configuration().isReflectionsIndexEnabled())
+            return cb;
+
+        Set<URL> urlsToScan = new LinkedHashSet<>();
+
+        for (URL url : cb.getUrls()) {
+            URL indexUrl = MetadataIndex.locate(url);
+
+            if (indexUrl == null) {
+                urlsToScan.add(url);
+                continue;
+            }
+
+            try {
+                index.read(indexUrl);
+                log.info("Using metadata index '{}' instead of scanning '{}'.", () -> indexUrl, () -> url);
+            } catch (IOException e) {
+                log.warn("Unable to read metadata index '{}', scanning '{}' instead: {}", () -> indexUrl, () -> url, () -> e.getMessage());
+                urlsToScan.add(url);
+            }
+        }
+
+        return cb.setUrls(urlsToScan);
+    }
+
+    @Override
+    public MetadataIndex index() {
+        return index;
+    }
+
     protected ConfigurationBuilder addConfiguredIncludes(ConfigurationBuilder cb) {
         if (configuration() == null)
             return cb;
@@ -179,8 +442,7 @@ public class DefaultReflectionsProvider implements ReflectionsProvider {
         for (String exclude : excludes) {
             log.debug("Checking if lib-path '{}' is excluded using pattern '{}'.", () -> libPath, () -> exclude);
 
-            Pattern p = Pattern.compile(exclude);
-            Matcher m = p.matcher(libPath);
+            Matcher m = pattern(exclude).matcher(libPath);
 
             if (m.matches()) {
                 log.info("Excluding lib-path '{}' from org.reflections.", () -> libPath);
@@ -206,8 +468,7 @@ public class DefaultReflectionsProvider implements ReflectionsProvider {
         for (String include : includes) {
             log.debug("Checking if lib-path '{}' is included using pattern '{}'.", () -> libPath, () -> include);
 
-            Pattern p = Pattern.compile(include);
-            Matcher m = p.matcher(libPath);
+            Matcher m = pattern(include).matcher(libPath);
 
             if (m.matches()) {
                 log.info("Including lib-path '{}' from org.reflections.", () -> libPath);
@@ -218,6 +479,10 @@ public class DefaultReflectionsProvider implements ReflectionsProvider {
         return false;
     }
 
+    protected Pattern pattern(String regex) {
+        return patterns.computeIfAbsent(regex, Pattern::compile);
+    }
+
     boolean isIncludeAll() {
         List<String> includes = configuration().reflectionsLibIncludes();
         return includes.size() == 1 && "ALL".equals(includes.get(0).trim());
@@ -403,7 +668,7 @@ public class DefaultReflectionsProvider implements ReflectionsProvider {
     }
 
     protected ServletContext servletContext() {
-        ServletConfig servletConfig = (ServletConfig) ThreadStash.get(ServletConfig.class);
+        ServletConfig servletConfig = ThreadStash.servletConfig();
         return servletConfig.getServletContext();
     }
 }
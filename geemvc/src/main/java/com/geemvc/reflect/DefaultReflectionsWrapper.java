@@ -31,31 +31,51 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+/**
+ * Delegates to the {@link Reflections} of the {@link ReflectionsProvider}. Classpath locations that ship a {@link MetadataIndex} are not
+ * scanned, their types and methods are only returned by the lookups of annotated types and methods, which are the ones used by geeMVC.
+ * See {@link ReflectionsWrapper} for the lookups that do not include them.
+ */
 @Singleton
 public class DefaultReflectionsWrapper implements ReflectionsWrapper {
 
-    protected Reflections reflections;
+    protected volatile Reflections reflections;
+
+    protected MetadataIndex index;
 
     @Inject
     protected Cache cache;
 
     protected static final String REFLECTIONS_CACHE_KEY = "geemvc/reflections";
 
+    /**
+     * Scans the classpath once. This normally happens when the DispatcherServlet is initialized, so that subsequent calls are a no-op.
+     */
     @Override
     public ReflectionsWrapper configure() {
-        reflections = (Reflections) cache.get(DefaultReflectionsWrapper.class, REFLECTIONS_CACHE_KEY, () -> reflections());
+        if (reflections != null)
+            return this;
 
-        if (reflections == null)
-            throw new IllegalStateException("Unable to initialize reflections. Make sure that you have provided the correct lib, classes and classLoaders.");
+        synchronized (this) {
+            if (reflections == null) {
+                Reflections builtReflections = (Reflections) cache.get(DefaultReflectionsWrapper.class, REFLECTIONS_CACHE_KEY, () -> reflections());
+
+                if (builtReflections == null)
+                    throw new IllegalStateException("Unable to initialize reflections. Make sure that you have provided the correct lib, classes and classLoaders.");
+
+                reflections = builtReflections;
+            }
+        }
 
         return this;
     }
 
     protected Reflections reflections() {
-        ServletConfig servletConfig = (ServletConfig) ThreadStash.get(ServletConfig.class);
+        ServletConfig servletConfig = ThreadStash.servletConfig();
         ServletContext servletContext = servletConfig.getServletContext();
 
         // First we check to see if an reflections provider "instance" has already been added to the servlet-context.
@@ -80,7 +100,44 @@ public class DefaultReflectionsWrapper implements ReflectionsWrapper {
         // Add reflections-provider to the threadLocal variable.
         ReflectionsStash.set(reflectionsProvider);
 
-        return reflectionsProvider.provide();
+        Reflections providedReflections = reflectionsProvider.provide();
+        index = reflectionsProvider.index();
+
+        return providedReflections;
+    }
+
+    /**
+     * Adds the types found in the metadata index of the classpath locations that have not been scanned.
+     */
+    protected Set<Class<?>> withIndexedTypes(Set<Class<?>> types, Class<? extends Annotation> annotation, Annotation annotationValues) {
+        if (index == null || index.isEmpty())
+            return types;
+
+        Set<Class<?>> allTypes = new LinkedHashSet<>(types);
+
+        for (Class<?> type : index.getTypesAnnotatedWith(annotation)) {
+            if (annotationValues == null || annotationValues.equals(type.getAnnotation(annotation)))
+                allTypes.add(type);
+        }
+
+        return allTypes;
+    }
+
+    /**
+     * Adds the methods found in the metadata index of the classpath locations that have not been scanned.
+     */
+    protected Set<Method> withIndexedMethods(Set<Method> methods, Class<? extends Annotation> annotation, Annotation annotationValues) {
+        if (index == null || index.isEmpty())
+            return methods;
+
+        Set<Method> allMethods = new LinkedHashSet<>(methods);
+
+        for (Method method : index.getMethodsAnnotatedWith(annotation)) {
+            if (annotationValues == null || annotationValues.equals(method.getAnnotation(annotation)))
+                allMethods.add(method);
+        }
+
+        return allMethods;
     }
 
     /**
@@ -104,7 +161,7 @@ public class DefaultReflectionsWrapper implements ReflectionsWrapper {
      * depends on TypeAnnotationsScanner and SubTypesScanner configured, otherwise an empty set is returned
      */
     public Set<Class<?>> getTypesAnnotatedWith(final Class<? extends Annotation> annotation) {
-        return reflections.getTypesAnnotatedWith(annotation);
+        return withIndexedTypes(reflections.getTypesAnnotatedWith(annotation), annotation, null);
     }
 
     /**
@@ -122,7 +179,7 @@ public class DefaultReflectionsWrapper implements ReflectionsWrapper {
      * depends on TypeAnnotationsScanner and SubTypesScanner configured, otherwise an empty set is returned
      */
     public Set<Class<?>> getTypesAnnotatedWith(final Class<? extends Annotation> annotation, boolean honorInherited) {
-        return reflections.getTypesAnnotatedWith(annotation, honorInherited);
+        return withIndexedTypes(reflections.getTypesAnnotatedWith(annotation, honorInherited), annotation, null);
     }
 
     /**
@@ -133,7 +190,7 @@ public class DefaultReflectionsWrapper implements ReflectionsWrapper {
      * depends on TypeAnnotationsScanner configured, otherwise an empty set is returned
      */
     public Set<Class<?>> getTypesAnnotatedWith(final Annotation annotation) {
-        return reflections.getTypesAnnotatedWith(annotation);
+        return withIndexedTypes(reflections.getTypesAnnotatedWith(annotation), annotation.annotationType(), annotation);
     }
 
     /**
@@ -144,7 +201,7 @@ public class DefaultReflectionsWrapper implements ReflectionsWrapper {
      * depends on TypeAnnotationsScanner configured, otherwise an empty set is returned
      */
     public Set<Class<?>> getTypesAnnotatedWith(final Annotation annotation, boolean honorInherited) {
-        return reflections.getTypesAnnotatedWith(annotation, honorInherited);
+        return withIndexedTypes(reflections.getTypesAnnotatedWith(annotation, honorInherited), annotation.annotationType(), annotation);
     }
 
     /**
@@ -153,7 +210,7 @@ public class DefaultReflectionsWrapper implements ReflectionsWrapper {
      * depends on MethodAnnotationsScanner configured, otherwise an empty set is returned
      */
     public Set<Method> getMethodsAnnotatedWith(final Class<? extends Annotation> annotation) {
-        return reflections.getMethodsAnnotatedWith(annotation);
+        return withIndexedMethods(reflections.getMethodsAnnotatedWith(annotation), annotation, null);
     }
 
     /**
@@ -162,7 +219,7 @@ public class DefaultReflectionsWrapper implements ReflectionsWrapper {
      * depends on MethodAnnotationsScanner configured, otherwise an empty set is returned
      */
     public Set<Method> getMethodsAnnotatedWith(final Annotation annotation) {
-        return reflections.getMethodsAnnotatedWith(annotation);
+        return withIndexedMethods(reflections.getMethodsAnnotatedWith(annotation), annotation.annotationType(), annotation);
     }
 
     /**
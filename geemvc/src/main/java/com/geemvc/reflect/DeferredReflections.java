@@ -0,0 +1,34 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.reflect;
+
+import org.reflections.Configuration;
+import org.reflections.Reflections;
+
+/**
+ * {@link Reflections} that does not scan the configured URLs on construction. Locations are added with {@link #scan(java.net.URL)}, or
+ * the store is filled from a snapshot. The store is thread-safe if the configuration has an executor service.
+ */
+public class DeferredReflections extends Reflections {
+    public DeferredReflections(Configuration configuration) {
+        super(configuration);
+    }
+
+    @Override
+    protected void scan() {
+        // Scanning is left to the caller.
+    }
+}
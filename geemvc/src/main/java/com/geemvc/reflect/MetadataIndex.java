@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.reflect;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.geemvc.logging.DefaultLog;
+import com.geemvc.logging.Log;
+
+/**
+ * Types and methods annotated with geeMVC or JAX-RS annotations, as written to META-INF/geemvc/index by the geemvc-index-processor at
+ * compile time. Classpath locations that contain an index do not need to be scanned.
+ */
+public class MetadataIndex {
+    public static final String LOCATION = "META-INF/geemvc/index";
+
+    protected static final String TYPE_ENTRY = "T";
+    protected static final String METHOD_ENTRY = "M";
+
+    protected static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<>();
+
+    static {
+        for (Class<?> primitiveType : new Class<?>[] { boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class }) {
+            PRIMITIVE_TYPES.put(primitiveType.getName(), primitiveType);
+        }
+    }
+
+    protected final ClassLoader classLoader;
+
+    protected final Map<String, Set<String>> annotatedTypes = new HashMap<>();
+    protected final Map<String, Set<String[]>> annotatedMethods = new HashMap<>();
+    protected final List<URL> locations = new ArrayList<>();
+
+    // Same as in the DefaultReflectionsProvider, the injector has not been initialized yet.
+    protected Log log = new DefaultLog().get(MetadataIndex.class);
+
+    public MetadataIndex(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Returns the URL of the index in the given classpath location (directory or jar), or null if it does not contain one.
+     */
+    public static URL locate(URL classpathLocation) {
+        if (classpathLocation == null)
+            return null;
+
+        try {
+            String location = classpathLocation.toExternalForm();
+
+            URL indexUrl = location.endsWith(".jar") ? new URL("jar:" + location + "!/" + LOCATION) : new URL(location.endsWith("/") ? location + LOCATION : location + "/" + LOCATION);
+
+            try (InputStream in = indexUrl.openStream()) {
+                return indexUrl;
+            }
+        } catch (MalformedURLException e) {
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public MetadataIndex read(URL indexUrl) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(indexUrl.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#"))
+                    continue;
+
+                String[] entry = line.split(" ", 5);
+
+                if (TYPE_ENTRY.equals(entry[0]) && entry.length >= 3) {
+                    annotatedTypes.computeIfAbsent(entry[1], k -> new LinkedHashSet<>()).add(entry[2]);
+                } else if (METHOD_ENTRY.equals(entry[0]) && entry.length >= 4) {
+                    annotatedMethods.computeIfAbsent(entry[1], k -> new LinkedHashSet<>()).add(new String[] { entry[2], entry[3], entry.length == 5 ? entry[4] : "" });
+                }
+            }
+        }
+
+        locations.add(indexUrl);
+
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return locations.isEmpty();
+    }
+
+    public List<URL> locations() {
+        return Collections.unmodifiableList(locations);
+    }
+
+    public Set<Class<?>> getTypesAnnotatedWith(Class<? extends Annotation> annotation) {
+        Set<String> typeNames = annotatedTypes.get(annotation.getName());
+
+        if (typeNames == null)
+            return Collections.emptySet();
+
+        Set<Class<?>> types = new LinkedHashSet<>();
+
+        for (String typeName : typeNames) {
+            Class<?> type = load(typeName);
+
+            if (type != null)
+                types.add(type);
+        }
+
+        return types;
+    }
+
+    public Set<Method> getMethodsAnnotatedWith(Class<? extends Annotation> annotation) {
+        Set<String[]> methodEntries = annotatedMethods.get(annotation.getName());
+
+        if (methodEntries == null)
+            return Collections.emptySet();
+
+        Set<Method> methods = new LinkedHashSet<>();
+
+        for (String[] methodEntry : methodEntries) {
+            Method method = method(methodEntry[0], methodEntry[1], methodEntry[2]);
+
+            if (method != null)
+                methods.add(method);
+        }
+
+        return methods;
+    }
+
+    protected Method method(String typeName, String methodName, String parameterTypeNames) {
+        Class<?> type = load(typeName);
+
+        if (type == null)
+            return null;
+
+        String[] typeNames = parameterTypeNames.isEmpty() ? new String[0] : parameterTypeNames.split(",");
+        Class<?>[] parameterTypes = new Class<?>[typeNames.length];
+
+        for (int i = 0; i < typeNames.length; i++) {
+            parameterTypes[i] = load(typeNames[i]);
+
+            if (parameterTypes[i] == null)
+                return null;
+        }
+
+        try {
+            return type.getDeclaredMethod(methodName, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            log.warn("Method '{}.{}' from the geeMVC metadata index does not exist. The index may be out of date.", () -> typeName, () -> methodName);
+            return null;
+        }
+    }
+
+    protected Class<?> load(String typeName) {
+        if (typeName.endsWith("[]")) {
+            Class<?> componentType = load(typeName.substring(0, typeName.length() - 2));
+            return componentType == null ? null : Array.newInstance(componentType, 0).getClass();
+        }
+
+        Class<?> primitiveType = PRIMITIVE_TYPES.get(typeName);
+
+        if (primitiveType != null)
+            return primitiveType;
+
+        try {
+            return Class.forName(typeName, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.warn("Class '{}' from the geeMVC metadata index could not be loaded. The index may be out of date.", () -> typeName);
+            return null;
+        }
+    }
+}
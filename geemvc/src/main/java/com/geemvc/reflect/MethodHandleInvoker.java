@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * {@link MethodInvoker} that binds the method to a {@link MethodHandle} with the shape (Object, Object[])Object. Static methods simply ignore the
+ * target and methods returning void return null.
+ */
+public class MethodHandleInvoker implements MethodInvoker {
+    protected static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    protected static final Object[] NO_ARGS = new Object[0];
+
+    protected final Method method;
+    protected final int parameterCount;
+    protected final MethodHandle methodHandle;
+
+    public MethodHandleInvoker(Method method) {
+        this.method = method;
+        this.parameterCount = method.getParameterCount();
+        this.methodHandle = methodHandle(method);
+    }
+
+    protected MethodHandle methodHandle(Method method) {
+        try {
+            if (!method.isAccessible())
+                method.setAccessible(true);
+
+            MethodHandle mh = MethodHandles.lookup().unreflect(method);
+
+            if (Modifier.isStatic(method.getModifiers()))
+                mh = MethodHandles.dropArguments(mh, 0, Object.class);
+
+            return mh.asSpreader(Object[].class, parameterCount).asType(INVOKER_TYPE);
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new IllegalStateException("Unable to create method-handle for the method: " + method.toGenericString() + ". " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object invoke(Object target, Object[] args) throws Throwable {
+        if (args == null) {
+            if (parameterCount > 0)
+                throw new IllegalArgumentException("Wrong number of arguments for method " + method.toGenericString() + " (expected " + parameterCount + ", got 0)");
+
+            args = NO_ARGS;
+        } else if (args.length != parameterCount) {
+            throw new IllegalArgumentException("Wrong number of arguments for method " + method.toGenericString() + " (expected " + parameterCount + ", got " + args.length + ")");
+        }
+
+        return methodHandle.invokeExact(target, args);
+    }
+
+    @Override
+    public int parameterCount() {
+        return parameterCount;
+    }
+
+    @Override
+    public Method method() {
+        return method;
+    }
+}
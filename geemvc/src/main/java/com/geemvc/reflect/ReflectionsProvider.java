@@ -20,4 +20,11 @@ import org.reflections.Reflections;
 
 public interface ReflectionsProvider {
     Reflections provide();
+
+    /**
+     * Returns the metadata index of the classpath locations that have not been scanned by {@link #provide()}, if any.
+     */
+    default MetadataIndex index() {
+        return null;
+    }
 }
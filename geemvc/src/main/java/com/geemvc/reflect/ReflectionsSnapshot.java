@@ -0,0 +1,269 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.reflect;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.reflections.Reflections;
+import org.reflections.scanners.Scanner;
+import org.reflections.util.ConfigurationBuilder;
+
+import com.google.common.collect.Multimap;
+
+/**
+ * Binary snapshot of the classpath scan, so that a restart with an unchanged classpath does not have to scan again. Snapshots are keyed by
+ * a hash of the scanned locations, including the size and modification time of every file in them, the scanners used and any further
+ * settings that change the scan result, such as the package filter. The format is
+ * versioned, snapshots of another format version or classpath are ignored.
+ */
+public class ReflectionsSnapshot {
+    protected static final int MAGIC = 0x67656D76;
+    protected static final int FORMAT_VERSION = 1;
+
+    protected static final String FILE_PREFIX = "geemvc-reflections-";
+    protected static final String FILE_SUFFIX = ".snapshot";
+
+    protected final File directory;
+
+    public ReflectionsSnapshot(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the hash that identifies the scan configured in the builder, or null if a location cannot be hashed because it is not a
+     * local file or directory.
+     */
+    public String hash(ConfigurationBuilder cb) throws IOException {
+        return hash(cb, Collections.emptyList());
+    }
+
+    /**
+     * Returns the hash that identifies the scan configured in the builder and the given settings. The settings cover what cannot be read back
+     * from the builder, like the inputs filter.
+     */
+    public String hash(ConfigurationBuilder cb, List<String> settings) throws IOException {
+        MessageDigest digest = sha256();
+
+        update(digest, "v" + FORMAT_VERSION);
+
+        for (String scanner : new TreeSet<>(scannerNames(cb.getScanners()))) {
+            update(digest, scanner);
+        }
+
+        for (String setting : settings) {
+            update(digest, setting);
+        }
+
+        for (String url : new TreeSet<>(urlStrings(cb.getUrls()))) {
+            File location = file(new URL(url));
+
+            if (location == null || !location.exists())
+                return null;
+
+            update(digest, url);
+
+            if (location.isDirectory()) {
+                try (Stream<Path> files = Files.walk(location.toPath())) {
+                    for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile).sorted()::iterator) {
+                        update(digest, location.toPath().relativize(file) + ":" + Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis());
+                    }
+                }
+            } else {
+                update(digest, location.length() + ":" + location.lastModified());
+            }
+        }
+
+        StringBuilder hash = new StringBuilder();
+
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+
+        return hash.toString();
+    }
+
+    /**
+     * Restores the snapshot with the given hash into a new {@link Reflections} instance, or returns null if there is none.
+     */
+    public Reflections read(String hash, ConfigurationBuilder cb) throws IOException {
+        File snapshotFile = file(hash);
+
+        if (!snapshotFile.isFile())
+            return null;
+
+        try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || !hash.equals(readString(buffer)))
+                return null;
+
+            Reflections reflections = new DeferredReflections(new ConfigurationBuilder().addClassLoaders(cb.getClassLoaders()).setScanners(cb.getScanners().toArray(new Scanner[0])));
+
+            int storeCount = buffer.getInt();
+
+            for (int i = 0; i < storeCount; i++) {
+                Multimap<String, String> store = reflections.getStore().getOrCreate(readString(buffer));
+
+                int keyCount = buffer.getInt();
+
+                for (int j = 0; j < keyCount; j++) {
+                    String key = readString(buffer);
+                    int valueCount = buffer.getInt();
+
+                    List<String> values = new ArrayList<>(valueCount);
+
+                    for (int k = 0; k < valueCount; k++) {
+                        values.add(readString(buffer));
+                    }
+
+                    store.putAll(key, values);
+                }
+            }
+
+            return reflections;
+        } catch (RuntimeException e) {
+            // A truncated or otherwise corrupt snapshot is simply ignored.
+            return null;
+        }
+    }
+
+    /**
+     * Writes the scan result for the given hash and removes the snapshots of previous classpaths.
+     */
+    public void write(String hash, Reflections reflections) throws IOException {
+        Files.createDirectories(directory.toPath());
+
+        File snapshotFile = file(hash);
+        File tmpFile = File.createTempFile(FILE_PREFIX, ".tmp", directory);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, hash);
+
+            Map<String, Multimap<String, String>> storeMap = reflections.getStore().getStoreMap();
+            out.writeInt(storeMap.size());
+
+            for (Map.Entry<String, Multimap<String, String>> store : storeMap.entrySet()) {
+                writeString(out, store.getKey());
+
+                Map<String, Collection<String>> entries = store.getValue().asMap();
+                out.writeInt(entries.size());
+
+                for (Map.Entry<String, Collection<String>> entry : entries.entrySet()) {
+                    writeString(out, entry.getKey());
+                    out.writeInt(entry.getValue().size());
+
+                    for (String value : entry.getValue()) {
+                        writeString(out, value);
+                    }
+                }
+            }
+        }
+
+        Files.move(tmpFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        File[] oldSnapshots = directory.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX) && !name.equals(snapshotFile.getName()));
+
+        if (oldSnapshots != null) {
+            for (File oldSnapshot : oldSnapshots) {
+                oldSnapshot.delete();
+            }
+        }
+    }
+
+    protected File file(String hash) {
+        return new File(directory, FILE_PREFIX + hash + FILE_SUFFIX);
+    }
+
+    protected File file(URL url) {
+        if (!"file".equals(url.getProtocol()))
+            return null;
+
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    protected List<String> scannerNames(Collection<Scanner> scanners) {
+        List<String> scannerNames = new ArrayList<>();
+
+        for (Scanner scanner : scanners) {
+            scannerNames.add(scanner.getClass().getName());
+        }
+
+        return scannerNames;
+    }
+
+    protected List<String> urlStrings(Collection<URL> urls) {
+        List<String> urlStrings = new ArrayList<>();
+
+        for (URL url : urls) {
+            urlStrings.add(url.toExternalForm());
+        }
+
+        return urlStrings;
+    }
+
+    protected void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    protected MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    protected void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    protected String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
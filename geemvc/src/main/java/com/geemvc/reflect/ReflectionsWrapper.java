@@ -25,6 +25,11 @@ import java.util.regex.Pattern;
 
 import com.google.common.base.Predicate;
 
+/**
+ * Classpath lookups. Classpath locations that ship a {@link MetadataIndex} are not scanned, so only the lookups of annotated types and
+ * methods include their classes. All other lookups, like {@link #getSubTypesOf(Class)}, {@link #getFieldsAnnotatedWith(Class)} or
+ * {@link #getResources(Pattern)}, only see the scanned locations. Set "reflections-index" to false if you need them for all locations.
+ */
 public interface ReflectionsWrapper {
     ReflectionsWrapper configure();
 
@@ -24,7 +24,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
-import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.core.Cookie;
 import javax.ws.rs.core.HttpHeaders;
@@ -34,18 +33,18 @@ import javax.ws.rs.core.MultivaluedMap;
 import com.geemvc.Char;
 import com.geemvc.Str;
 import com.geemvc.ThreadStash;
+import com.geemvc.inject.InstanceFactory;
 import com.google.inject.Inject;
-import com.google.inject.Injector;
 
 public class DefaultHttpHeaders implements HttpHeaders {
 
     protected final HttpServletRequest servletRequest;
 
     @Inject
-    protected Injector injector;
+    protected InstanceFactory instanceFactory;
 
     public DefaultHttpHeaders() {
-        this.servletRequest = (HttpServletRequest) ThreadStash.get(ServletRequest.class);
+        this.servletRequest = (HttpServletRequest) ThreadStash.servletRequest();
     }
 
     @Override
@@ -55,7 +54,7 @@ public class DefaultHttpHeaders implements HttpHeaders {
 
     @Override
     public MultivaluedMap<String, String> getRequestHeaders() {
-        MultivaluedMap mm = injector.getInstance(MultivaluedMap.class);
+        MultivaluedMap mm = instanceFactory.create(MultivaluedMap.class);
         Enumeration<String> headerNames = servletRequest.getHeaderNames();
 
         if (headerNames != null) {
@@ -16,11 +16,11 @@
 
 package com.geemvc.rest.jaxrs.context;
 
+import com.geemvc.inject.InstanceFactory;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 
 import com.google.inject.Inject;
-import com.google.inject.Injector;
 
 public class DefaultResponse extends GeeMvcResponse {
 
@@ -29,12 +29,12 @@ public class DefaultResponse extends GeeMvcResponse {
     protected MultivaluedMap<String, Object> metaData;
 
     @Inject
-    protected Injector injector;
+    protected InstanceFactory instanceFactory;
 
     @Override
     public Response build(int status) {
         this.status = status;
-        this.metaData = injector.getInstance(MultivaluedMap.class);
+        this.metaData = instanceFactory.create(MultivaluedMap.class);
         return this;
     }
 
@@ -42,7 +42,7 @@ public class DefaultResponse extends GeeMvcResponse {
     public Response build(int status, Object entity) {
         this.status = status;
         this.entity = entity;
-        this.metaData = injector.getInstance(MultivaluedMap.class);
+        this.metaData = instanceFactory.create(MultivaluedMap.class);
         return this;
     }
 
@@ -27,17 +27,17 @@ import javax.ws.rs.core.UriInfo;
 
 import com.geemvc.RequestContext;
 import com.geemvc.ThreadStash;
+import com.geemvc.inject.InstanceFactory;
 import com.google.inject.Inject;
-import com.google.inject.Injector;
 
 public class DefaultUriInfo implements UriInfo {
     protected final RequestContext requestCtx;
 
     @Inject
-    protected Injector injector;
+    protected InstanceFactory instanceFactory;
 
     public DefaultUriInfo() {
-        this.requestCtx = (RequestContext) ThreadStash.get(RequestContext.class);
+        this.requestCtx = ThreadStash.requestContext();
     }
 
     @Override
@@ -92,7 +92,7 @@ public class DefaultUriInfo implements UriInfo {
 
     @Override
     public MultivaluedMap<String, String> getPathParameters() {
-        MultivaluedMap<String, String> mvPathParameterMap = injector.getInstance(MultivaluedMap.class);
+        MultivaluedMap<String, String> mvPathParameterMap = instanceFactory.create(MultivaluedMap.class);
 
         Map<String, String[]> pathParmeters = requestCtx.getPathParameters();
 
@@ -115,7 +115,7 @@ public class DefaultUriInfo implements UriInfo {
 
     @Override
     public MultivaluedMap<String, String> getQueryParameters() {
-        MultivaluedMap<String, String> mvParameterMap = injector.getInstance(MultivaluedMap.class);
+        MultivaluedMap<String, String> mvParameterMap = instanceFactory.create(MultivaluedMap.class);
 
         Map<String, String[]> parameters = requestCtx.getParameterMap();
 
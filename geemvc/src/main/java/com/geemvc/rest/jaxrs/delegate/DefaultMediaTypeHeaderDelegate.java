@@ -29,6 +29,9 @@ public class DefaultMediaTypeHeaderDelegate implements MediaTypeHeaderDelegate {
 
         int pos = mediaType.indexOf(Char.SLASH);
 
+        if (pos == -1)
+            throw new IllegalArgumentException("Invalid MediaType '" + mediaType + "'");
+
         String topLevelType = mediaType.substring(0, pos);
         String subType = mediaType.substring(pos + 1);
 
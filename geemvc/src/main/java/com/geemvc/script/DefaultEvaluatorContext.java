@@ -37,6 +37,13 @@ public class DefaultEvaluatorContext implements EvaluatorContext {
     @Inject
     protected Injector injector;
 
+    public DefaultEvaluatorContext() {
+    }
+
+    public DefaultEvaluatorContext(Injector injector) {
+        this.injector = injector;
+    }
+
     @Override
     public EvaluatorContext build(Map<String, ?> values) {
         this.values = values;
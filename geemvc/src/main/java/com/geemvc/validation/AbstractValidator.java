@@ -22,6 +22,7 @@ import java.util.Map;
 
 import com.geemvc.Str;
 import com.geemvc.inject.Injectors;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.script.DefaultSimpleEvaluator;
 import com.geemvc.script.Evaluator;
 import com.geemvc.script.EvaluatorContext;
@@ -29,13 +30,12 @@ import com.geemvc.script.EvaluatorFactory;
 import com.geemvc.script.RegexEvaluator;
 import com.geemvc.validation.annotation.Check;
 import com.google.inject.Inject;
-import com.google.inject.Injector;
 
 public abstract class AbstractValidator {
     protected final EvaluatorFactory evaluatorFactory;
 
     @Inject
-    protected Injector injector;
+    protected InstanceFactory instanceFactory;
 
     protected AbstractValidator() {
         this.evaluatorFactory = Injectors.provide().getInstance(EvaluatorFactory.class);
@@ -143,7 +143,7 @@ public abstract class AbstractValidator {
         if (isExpression.startsWith(Str.SLASH) && isExpression.endsWith(Str.SLASH)) {
             // Make the regular expression compatible with the default regex evaluator.
             Evaluator regexEvaluator = evaluatorFactory.get("regex:", fieldName + "=" + isExpression);
-            EvaluatorContext evalCtx = injector.getInstance(EvaluatorContext.class).build(validationCtx.requestCtx().getParameterMap()).append(validationCtx.requestCtx());
+            EvaluatorContext evalCtx = instanceFactory.create(EvaluatorContext.class).build(validationCtx.requestCtx().getParameterMap()).append(validationCtx.requestCtx());
             return regexEvaluator.matches(evalCtx);
         } else {
             // Otherwise use the standard method of finding the appropriate evaluator.
@@ -152,10 +152,10 @@ public abstract class AbstractValidator {
 
             // The simple and regex evaluators expect the request parameter map.
             if (evaluator instanceof DefaultSimpleEvaluator || evaluator instanceof RegexEvaluator) {
-                evalCtx = injector.getInstance(EvaluatorContext.class).build(validationCtx.requestCtx().getParameterMap()).append(validationCtx.requestCtx());
+                evalCtx = instanceFactory.create(EvaluatorContext.class).build(validationCtx.requestCtx().getParameterMap()).append(validationCtx.requestCtx());
             } else {
                 // All other will get the converted typed map values.
-                evalCtx = injector.getInstance(EvaluatorContext.class).build(validationCtx.typedValues()).append(validationCtx.requestCtx());
+                evalCtx = instanceFactory.create(EvaluatorContext.class).build(validationCtx.typedValues()).append(validationCtx.requestCtx());
             }
 
             if (evaluator.matches(evalCtx))
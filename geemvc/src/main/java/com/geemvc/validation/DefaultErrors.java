@@ -33,6 +33,13 @@ public class DefaultErrors implements Errors {
     @Inject
     protected Injector injector;
 
+    public DefaultErrors() {
+    }
+
+    public DefaultErrors(Injector injector) {
+        this.injector = injector;
+    }
+
     @Override
     public void add(String field, String message, Object... args) {
         if (errors == null)
@@ -27,6 +27,7 @@ import com.geemvc.reflect.ReflectionProvider;
 import com.geemvc.validation.annotation.On;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Singleton;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
@@ -36,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+@Singleton
 public class DefaultValidations implements Validations {
 
     protected final ValidationAdapterFactory validationAdapterFactory;
@@ -26,6 +26,7 @@ import com.geemvc.reflect.ReflectionProvider;
 import com.geemvc.validation.annotation.CheckBean;
 import com.geemvc.validation.annotation.On;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletRequest;
@@ -36,6 +37,7 @@ import javax.validation.Valid;
 import java.lang.annotation.Annotation;
 import java.util.*;
 
+@Singleton
 public class DefaultValidator extends AbstractValidator implements Validator {
 
     protected final Validations validations;
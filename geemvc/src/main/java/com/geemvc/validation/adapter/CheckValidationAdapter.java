@@ -63,10 +63,10 @@ public class CheckValidationAdapter extends AbstractValidator implements Validat
 
             // The simple and regex evaluators expect the request parameter map.
             if (evaluator instanceof DefaultSimpleEvaluator || evaluator instanceof RegexEvaluator) {
-                evalCtx = injector.getInstance(EvaluatorContext.class).build(validationCtx.requestCtx().getParameterMap()).append(validationCtx.requestCtx());
+                evalCtx = instanceFactory.create(EvaluatorContext.class).build(validationCtx.requestCtx().getParameterMap()).append(validationCtx.requestCtx());
             } else {
                 // All others will get the converted typed map values.
-                evalCtx = injector.getInstance(EvaluatorContext.class).build(validationCtx.typedValues()).append(validationCtx.requestCtx());
+                evalCtx = instanceFactory.create(EvaluatorContext.class).build(validationCtx.typedValues()).append(validationCtx.requestCtx());
             }
 
             if (evaluator.matches(evalCtx))
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.view;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import com.geemvc.logging.Log;
+import com.geemvc.logging.annotation.Logger;
+
+/**
+ * Pumps an input stream to the servlet output stream without blocking. Data is only written while the output stream is ready, so that the container
+ * thread is released whenever the client cannot keep up. The writer also listens to the async context, so that the input stream and the buffer are
+ * released when the request times out or fails before all data has been written.
+ */
+public class AsyncStreamWriter implements WriteListener, AsyncListener {
+    protected AsyncContext asyncContext;
+    protected InputStream input;
+    protected ServletOutputStream output;
+    protected byte[] buffer;
+    protected boolean complete;
+
+    @Logger
+    protected Log log;
+
+    public AsyncStreamWriter build(AsyncContext asyncContext, InputStream input) throws IOException {
+        this.asyncContext = asyncContext;
+        this.input = input;
+        this.output = asyncContext.getResponse().getOutputStream();
+        this.buffer = StreamBuffers.acquire();
+
+        return this;
+    }
+
+    /**
+     * Registers this writer with the output stream. The container calls {@link #onWritePossible()} as soon as data can be written.
+     */
+    public void start() {
+        output.setWriteListener(this);
+    }
+
+    @Override
+    public synchronized void onWritePossible() throws IOException {
+        while (!complete && output.isReady()) {
+            int read = input.read(buffer);
+
+            if (read == -1) {
+                finish();
+                return;
+            }
+
+            output.write(buffer, 0, read);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        log.warn("Unable to complete asynchronous stream: {}", () -> t.getMessage());
+        finish();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) throws IOException {
+        log.warn("Asynchronous stream timed out after {}ms.", () -> asyncContext.getTimeout());
+        finish();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) throws IOException {
+        log.warn("Asynchronous stream failed: {}", () -> event.getThrowable() == null ? null : event.getThrowable().getMessage());
+        finish();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) throws IOException {
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) throws IOException {
+    }
+
+    protected synchronized void finish() {
+        if (complete)
+            return;
+
+        complete = true;
+
+        try {
+            input.close();
+        } catch (IOException e) {
+            log.debug("Unable to close input stream: {}", () -> e.getMessage());
+        }
+
+        StreamBuffers.release(buffer);
+        buffer = null;
+
+        asyncContext.complete();
+    }
+}
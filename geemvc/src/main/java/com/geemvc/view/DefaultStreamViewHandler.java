@@ -17,34 +17,46 @@
 package com.geemvc.view;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletionStage;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.DispatcherType;
 import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Providers;
 
+import org.apache.commons.io.Charsets;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.ReaderInputStream;
 
 import com.geemvc.RequestContext;
-import com.geemvc.config.Configuration;
 import com.geemvc.config.Configurations;
 import com.geemvc.handler.RequestHandler;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.logging.Log;
 import com.geemvc.logging.annotation.Logger;
 import com.geemvc.view.bean.Result;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Singleton;
 
+@Singleton
 public class DefaultStreamViewHandler implements StreamViewHandler {
 
-    protected Configuration configuration = Configurations.get();
-
     @Inject
     protected Injector injector;
 
+    @Inject
+    protected InstanceFactory instanceFactory;
+
     @Logger
     protected Log log;
 
@@ -80,14 +92,17 @@ public class DefaultStreamViewHandler implements StreamViewHandler {
             RequestHandler requestHandler = requestCtx.requestHandler();
             Method handlerMethod = requestHandler.handlerMethod();
 
-            if (configuration.isJaxRsEnabled()) {
-                MessageBodyWriter mbw = injector.getInstance(Providers.class).getMessageBodyWriter(handlerMethod.getReturnType(), handlerMethod.getGenericReturnType(), handlerMethod.getAnnotations(), MediaType.valueOf(response.getContentType()));
+            if (Configurations.get().isJaxRsEnabled()) {
+                Class<?> returnType = returnType(handlerMethod, result.result());
+                Type genericReturnType = genericReturnType(handlerMethod, result.result());
+                MediaType mediaType = MediaType.valueOf(response.getContentType());
 
-                if (mbw != null && mbw.isWriteable(handlerMethod.getReturnType(), handlerMethod.getGenericReturnType(), handlerMethod.getAnnotations(), MediaType.valueOf(response.getContentType()))) {
-                    MultivaluedMap<String, Object> httpResponseHeaders = injector.getInstance(MultivaluedMap.class);
+                MessageBodyWriter mbw = injector.getInstance(Providers.class).getMessageBodyWriter(returnType, genericReturnType, handlerMethod.getAnnotations(), mediaType);
 
-                    mbw.writeTo(result.result(), handlerMethod.getReturnType(), handlerMethod.getGenericReturnType(), handlerMethod.getAnnotations(),
-                            MediaType.valueOf(response.getContentType()), httpResponseHeaders, response.getOutputStream());
+                if (mbw != null && mbw.isWriteable(returnType, genericReturnType, handlerMethod.getAnnotations(), mediaType)) {
+                    MultivaluedMap<String, Object> httpResponseHeaders = instanceFactory.create(MultivaluedMap.class);
+
+                    mbw.writeTo(result.result(), returnType, genericReturnType, handlerMethod.getAnnotations(), mediaType, httpResponseHeaders, response.getOutputStream());
                 } else {
                     response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE);
                 }
@@ -100,13 +115,97 @@ public class DefaultStreamViewHandler implements StreamViewHandler {
         }
 
         if (result.stream() != null) {
-            IOUtils.copy(result.stream(), response.getOutputStream());
+            if (isAsyncStream(requestCtx)) {
+                streamAsync(result.stream(), requestCtx);
+            } else {
+                IOUtils.copy(result.stream(), response.getOutputStream());
+            }
         } else if (result.reader() != null) {
-            IOUtils.copy(result.reader(), response.getOutputStream(), result.characterEncoding());
+            if (isAsyncStream(requestCtx)) {
+                streamAsync(new ReaderInputStream(result.reader(), Charsets.toCharset(result.characterEncoding())), requestCtx);
+            } else {
+                IOUtils.copy(result.reader(), response.getOutputStream(), result.characterEncoding());
+            }
         } else if (result.output() != null) {
             response.getOutputStream().write(result.output().getBytes());
         } else {
             throw new IllegalStateException("You must provide either a stream, a reader or a string output when using Results.stream(). ");
         }
     }
+
+    protected boolean isAsyncStream(RequestContext requestCtx) {
+        HttpServletRequest request = (HttpServletRequest) requestCtx.getRequest();
+
+        if (request.isAsyncStarted())
+            return true;
+
+        return request.isAsyncSupported() && (request.getDispatcherType() == DispatcherType.REQUEST || request.getDispatcherType() == DispatcherType.ASYNC);
+    }
+
+    /**
+     * Writes the stream using a {@link javax.servlet.WriteListener} so that slow clients do not block a container thread for the whole download.
+     */
+    protected void streamAsync(InputStream input, RequestContext requestCtx) throws IOException {
+        HttpServletRequest request = (HttpServletRequest) requestCtx.getRequest();
+
+        boolean isAsyncStarted = request.isAsyncStarted();
+        AsyncContext asyncCtx = isAsyncStarted ? request.getAsyncContext() : request.startAsync(request, requestCtx.getResponse());
+
+        AsyncStreamWriter streamWriter = injector.getInstance(AsyncStreamWriter.class).build(asyncCtx, input);
+
+        // Listeners and the timeout can only be set while the request is being dispatched. When a deferred result has already started async
+        // processing, its listener passes the timeout and error events on to the stream writer.
+        if (!isAsyncStarted) {
+            long timeout = streamTimeout();
+
+            if (timeout > 0)
+                asyncCtx.setTimeout(timeout);
+
+            asyncCtx.addListener(streamWriter);
+        }
+
+        // Tells the request runner that the stream writer is now responsible for completing the request.
+        request.setAttribute(GeemvcKey.ASYNC_STREAM, streamWriter);
+
+        log.debug("Streaming data asynchronously for path '{}'.", () -> requestCtx.getPath());
+
+        streamWriter.start();
+    }
+
+    protected long streamTimeout() {
+        return Configurations.get().streamTimeout();
+    }
+
+    /**
+     * Request handlers may return a CompletionStage, in which case we use the type of the value that it completed with.
+     */
+    protected Class<?> returnType(Method handlerMethod, Object value) {
+        if (!CompletionStage.class.isAssignableFrom(handlerMethod.getReturnType()))
+            return handlerMethod.getReturnType();
+
+        Type type = genericReturnType(handlerMethod, value);
+
+        if (type instanceof Class)
+            return (Class<?>) type;
+        else if (type instanceof ParameterizedType)
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+
+        return value.getClass();
+    }
+
+    protected Type genericReturnType(Method handlerMethod, Object value) {
+        if (!CompletionStage.class.isAssignableFrom(handlerMethod.getReturnType()))
+            return handlerMethod.getGenericReturnType();
+
+        Type genericReturnType = handlerMethod.getGenericReturnType();
+
+        if (genericReturnType instanceof ParameterizedType) {
+            Type typeArgument = ((ParameterizedType) genericReturnType).getActualTypeArguments()[0];
+
+            if (typeArgument != Object.class && (typeArgument instanceof Class || typeArgument instanceof ParameterizedType))
+                return typeArgument;
+        }
+
+        return value.getClass();
+    }
 }
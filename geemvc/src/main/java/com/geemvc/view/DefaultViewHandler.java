@@ -32,19 +32,23 @@ import com.geemvc.ThreadStash;
 import com.geemvc.config.Configuration;
 import com.geemvc.config.Configurations;
 import com.geemvc.helper.Requests;
+import com.geemvc.inject.InstanceFactory;
 import com.geemvc.intercept.Interceptors;
 import com.geemvc.intercept.LifecycleContext;
 import com.geemvc.intercept.annotation.PostView;
 import com.geemvc.intercept.annotation.PreView;
 import com.geemvc.logging.Log;
 import com.geemvc.logging.annotation.Logger;
+import com.geemvc.metrics.RequestMetrics;
+import com.geemvc.metrics.Stage;
 import com.geemvc.view.bean.Result;
 import com.geemvc.view.binding.Bindable;
 import com.geemvc.view.binding.BindingContext;
 import com.geemvc.view.binding.BindingResolver;
 import com.google.inject.Inject;
-import com.google.inject.Injector;
+import com.google.inject.Singleton;
 
+@Singleton
 public class DefaultViewHandler implements ViewHandler {
     protected final ViewAdapterFactory viewAdapterFactory;
     protected final StreamViewHandler streamViewHandler;
@@ -53,13 +57,14 @@ public class DefaultViewHandler implements ViewHandler {
     protected final BindingResolver bindingResolver;
 
     @Inject
-    protected Injector injector;
+    protected InstanceFactory instanceFactory;
+
+    @Inject
+    protected RequestMetrics requestMetrics;
 
     @Logger
     protected Log log;
 
-    protected Configuration configuration = Configurations.get();
-
     @Inject
     protected DefaultViewHandler(ViewAdapterFactory viewAdapterFactory, StreamViewHandler streamViewHandler, Requests requests, Interceptors interceptors, BindingResolver bindingResolver) {
         this.viewAdapterFactory = viewAdapterFactory;
@@ -81,7 +86,7 @@ public class DefaultViewHandler implements ViewHandler {
 
             log.debug("Processing forward view '{}' with adapter '{}'.", () -> viewPath, () -> viewAdapter.getClass().getName());
 
-            LifecycleContext lifecycleCtx = (LifecycleContext) ThreadStash.get(LifecycleContext.class);
+            LifecycleContext lifecycleCtx = ThreadStash.lifecycleContext();
 
             processIncomingFlashVars(requestCtx);
             processViewBinders(result, requestCtx, lifecycleCtx);
@@ -93,7 +98,9 @@ public class DefaultViewHandler implements ViewHandler {
             viewAdapter.prepare(result, requestCtx);
 
             log.trace("Forwarding request to view servlet.");
+            long startNanos = requestMetrics.start();
             viewAdapter.forward(viewPath, requestCtx);
+            requestMetrics.stop(Stage.RENDER, requestCtx.requestHandler(), startNanos);
 
             // ---------- Intercept lifecycle: PostView.
             interceptors.interceptLifecycle(PostView.class, lifecycleCtx);
@@ -115,14 +122,16 @@ public class DefaultViewHandler implements ViewHandler {
         // Assuming stream.
         else {
             log.debug("Streaming data to user for path '{}'.", () -> requestCtx.getPath());
+            long startNanos = requestMetrics.start();
             streamViewHandler.handle(result, requestCtx);
+            requestMetrics.stop(Stage.RENDER, requestCtx.requestHandler(), startNanos);
         }
     }
 
     protected void processViewBinders(Result result, RequestContext requestCtx, LifecycleContext lifecycleCtx) {
         HttpServletRequest request = (HttpServletRequest) requestCtx.getRequest();
 
-        BindingContext bindingCtx = injector.getInstance(BindingContext.class).build(requestCtx.requestHandler(), requestCtx, lifecycleCtx.errors(), lifecycleCtx.notices())
+        BindingContext bindingCtx = instanceFactory.create(BindingContext.class).build(requestCtx.requestHandler(), requestCtx, lifecycleCtx.errors(), lifecycleCtx.notices())
                 .bindings(lifecycleCtx.bindings())
                 .result(result);
 
@@ -167,6 +176,11 @@ public class DefaultViewHandler implements ViewHandler {
     }
 
     protected String viewPath(String path) {
-        return path.startsWith("/WEB-INF/") ? path : new StringBuilder("/WEB-INF").append(configuration.viewPrefix()).append(Char.SLASH).append(path).append(configuration.viewSuffix()).toString();
+        if (path.startsWith("/WEB-INF/"))
+            return path;
+
+        Configuration configuration = Configurations.get();
+
+        return new StringBuilder("/WEB-INF").append(configuration.viewPrefix()).append(Char.SLASH).append(path).append(configuration.viewSuffix()).toString();
     }
 }
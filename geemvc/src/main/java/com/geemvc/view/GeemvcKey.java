@@ -36,4 +36,6 @@ public class GeemvcKey {
     public static final String NOTICES = "__notices";
 
     public static final String FLASH_VARS = "__flashVars";
+
+    public static final String ASYNC_STREAM = "__asyncStream";
 }
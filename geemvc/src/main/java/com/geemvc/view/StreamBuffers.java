@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.geemvc.view;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small pool of byte buffers that are shared between asynchronous stream writers, so that many slow downloads do not each allocate their own buffer.
+ */
+public class StreamBuffers {
+    public static final int BUFFER_SIZE = 8192;
+
+    protected static final int MAX_POOLED_BUFFERS = 256;
+
+    protected static final Queue<byte[]> POOL = new ConcurrentLinkedQueue<>();
+
+    protected static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+    /**
+     * Returns a pooled buffer or creates a new one if the pool is empty.
+     */
+    public static byte[] acquire() {
+        byte[] buffer = POOL.poll();
+
+        if (buffer == null)
+            return new byte[BUFFER_SIZE];
+
+        POOL_SIZE.decrementAndGet();
+
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer to the pool. Buffers are simply dropped once the pool has reached its maximum size.
+     */
+    public static void release(byte[] buffer) {
+        if (buffer == null || buffer.length != BUFFER_SIZE)
+            return;
+
+        if (POOL_SIZE.incrementAndGet() > MAX_POOLED_BUFFERS) {
+            POOL_SIZE.decrementAndGet();
+            return;
+        }
+
+        POOL.offer(buffer);
+    }
+}
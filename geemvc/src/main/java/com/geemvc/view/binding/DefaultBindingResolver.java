@@ -31,7 +31,9 @@ import com.geemvc.reflect.ReflectionProvider;
 import com.geemvc.view.binding.annotation.Binding;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Singleton;
 
+@Singleton
 public class DefaultBindingResolver implements BindingResolver {
     protected final ReflectionProvider reflectionProvider;
     protected final Paths paths;
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.warmup;
+
+import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+
+import com.geemvc.Char;
+import com.geemvc.HttpMethod;
+import com.geemvc.RequestContext;
+import com.geemvc.RequestRunner;
+import com.geemvc.Str;
+import com.geemvc.ThreadStash;
+import com.geemvc.annotation.Request;
+import com.geemvc.config.Configurations;
+import com.geemvc.helper.Annotations;
+import com.geemvc.helper.Controllers;
+import com.geemvc.logging.Log;
+import com.geemvc.logging.annotation.Logger;
+import com.geemvc.matcher.PathMatcher;
+import com.geemvc.reflect.ReflectionProvider;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+
+/**
+ * Requests either the configured warm-up requests or every GET route that can be requested without path variables or parameters. Warm-up
+ * requests run the complete request lifecycle, so handlers that are requested this way should be free of side-effects.
+ */
+@Singleton
+public class DefaultWarmUp implements WarmUp {
+    protected static final Pattern PLAIN_PATH = Pattern.compile("^[\\w\\-\\./]*$");
+
+    protected final ReflectionProvider reflectionProvider;
+    protected final Controllers controllers;
+    protected final Annotations annotations;
+
+    @Inject
+    protected Injector injector;
+
+    @Logger
+    protected Log log;
+
+    protected volatile boolean ready = false;
+
+    protected volatile boolean failed = false;
+
+    @Inject
+    public DefaultWarmUp(ReflectionProvider reflectionProvider, Controllers controllers, Annotations annotations) {
+        this.reflectionProvider = reflectionProvider;
+        this.controllers = controllers;
+        this.annotations = annotations;
+    }
+
+    @Override
+    public WarmUpReport run(ServletContext servletContext, int iterations) {
+        long startNanos = System.nanoTime();
+
+        int requests = 0;
+        int failures = 0;
+        int routeCount = 0;
+
+        try {
+            List<Map.Entry<String, Map<String, String[]>>> routes = routes();
+            routeCount = routes.size();
+
+            for (int i = 0; i < iterations; i++) {
+                for (Map.Entry<String, Map<String, String[]>> route : routes) {
+                    if (!dispatch(servletContext, route.getKey(), route.getValue()))
+                        failures++;
+
+                    requests++;
+                }
+            }
+        } catch (RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+
+        WarmUpReport report = new WarmUpReport(routeCount, requests, failures, System.nanoTime() - startNanos);
+
+        // Nothing has been warmed up if every request failed.
+        if (requests > 0 && failures == requests) {
+            failed = true;
+            log.warn("{}. Not reporting ready as every warm-up request failed.", () -> report);
+        } else {
+            ready = true;
+
+            if (servletContext != null)
+                servletContext.setAttribute(READY_ATTRIBUTE, Boolean.TRUE);
+
+            log.info("{}", () -> report);
+        }
+
+        return report;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns the paths to request together with their parameters.
+     */
+    protected List<Map.Entry<String, Map<String, String[]>>> routes() {
+        List<Map.Entry<String, Map<String, String[]>>> routes = new ArrayList<>();
+
+        List<String> configuredRequests = Configurations.get().warmUpRequests();
+
+        if (configuredRequests != null && !configuredRequests.isEmpty()) {
+            for (String configuredRequest : configuredRequests) {
+                routes.add(toRoute(configuredRequest));
+            }
+
+            return routes;
+        }
+
+        Set<String> paths = new LinkedHashSet<>();
+
+        for (Class<?> controllerClass : reflectionProvider.locateControllers()) {
+            for (Method handlerMethod : reflectionProvider.getRequestHandlerMethods(controllerClass).values()) {
+                Request requestMapping = annotations.requestMapping(handlerMethod);
+
+                if (!isWarmUpCandidate(requestMapping))
+                    continue;
+
+                String mappedPath = injector.getInstance(PathMatcher.class).build(controllers.getBasePath(controllerClass), annotations.path(requestMapping)).getMappedPath();
+
+                // Paths with variables or regular expressions cannot be requested without sample values.
+                if (mappedPath != null && PLAIN_PATH.matcher(mappedPath).matches())
+                    paths.add(mappedPath.isEmpty() ? Str.SLASH : mappedPath);
+            }
+        }
+
+        for (String path : paths) {
+            routes.add(new AbstractMap.SimpleImmutableEntry<>(path, new LinkedHashMap<>()));
+        }
+
+        return routes;
+    }
+
+    protected boolean isWarmUpCandidate(Request requestMapping) {
+        if (requestMapping == null)
+            return false;
+
+        String[] methods = requestMapping.method();
+
+        if (methods != null && methods.length > 0 && Arrays.stream(methods).noneMatch(HttpMethod.GET::equalsIgnoreCase))
+            return false;
+
+        return requestMapping.params().length == 0 && requestMapping.headers().length == 0 && requestMapping.cookies().length == 0 && Str.isEmpty(requestMapping.handles());
+    }
+
+    /**
+     * Parses a configured request of the form "/path?name=value&amp;name=value".
+     */
+    protected Map.Entry<String, Map<String, String[]>> toRoute(String configuredRequest) {
+        int queryPos = configuredRequest.indexOf(Char.QUESTION_MARK);
+
+        String path = queryPos == -1 ? configuredRequest.trim() : configuredRequest.substring(0, queryPos).trim();
+        Map<String, List<String>> values = new LinkedHashMap<>();
+
+        if (queryPos != -1) {
+            for (String nameValue : configuredRequest.substring(queryPos + 1).split(String.valueOf(Char.AMPERSAND))) {
+                if (nameValue.isEmpty())
+                    continue;
+
+                int equalsPos = nameValue.indexOf(Char.EQUALS);
+                String name = equalsPos == -1 ? nameValue : nameValue.substring(0, equalsPos);
+                String value = equalsPos == -1 ? Str.EMPTY : nameValue.substring(equalsPos + 1);
+
+                values.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+            }
+        }
+
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+
+        for (Map.Entry<String, List<String>> value : values.entrySet()) {
+            parameters.put(value.getKey(), value.getValue().toArray(new String[value.getValue().size()]));
+        }
+
+        return new AbstractMap.SimpleImmutableEntry<>(path, parameters);
+    }
+
+    /**
+     * Dispatches a single warm-up request and returns false if it failed.
+     */
+    protected boolean dispatch(ServletContext servletContext, String path, Map<String, String[]> parameters) {
+        WarmUpRequest request = new WarmUpRequest(servletContext, HttpMethod.GET, path, parameters);
+        WarmUpResponse response = new WarmUpResponse();
+
+        ThreadStash.prepare(request);
+        ThreadStash.put(ServletResponse.class, response);
+
+        try {
+            // An internal request context has no response, which the request runner needs for the locale, the status and the view.
+            RequestContext requestCtx = injector.getInstance(RequestContext.class).build(request, response, servletContext);
+            injector.getInstance(RequestRunner.class).process(requestCtx);
+
+            return response.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        } catch (Exception e) {
+            log.debug("Warm-up request '{}' failed: {}", () -> path, () -> e.getMessage());
+            return false;
+        } finally {
+            ThreadStash.cleanup();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.warmup;
+
+import javax.servlet.ServletContext;
+
+public interface WarmUp {
+    /**
+     * Servlet-context attribute that is set to {@link Boolean#TRUE} once the warm-up has completed successfully, for filters and servlets outside of geeMVC.
+     */
+    static final String READY_ATTRIBUTE = WarmUp.class.getName() + ".ready";
+
+    /**
+     * Dispatches synthetic GET requests through the request runner so that caches are filled and the request path is JIT-compiled before
+     * the application takes traffic. Expects the configuration, injector and servlet-config to have been set for the current thread.
+     *
+     * @param iterations
+     *            the number of times each route is requested.
+     */
+    WarmUpReport run(ServletContext servletContext, int iterations);
+
+    /**
+     * Returns true once the warm-up has completed and at least one of its requests has succeeded.
+     */
+    boolean isReady();
+
+    /**
+     * Returns true if the warm-up could not be run or every one of its requests failed.
+     */
+    boolean isFailed();
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.warmup;
+
+import java.util.concurrent.TimeUnit;
+
+public class WarmUpReport {
+    protected final int routes;
+    protected final int requests;
+    protected final int failures;
+    protected final long totalNanos;
+
+    public WarmUpReport(int routes, int requests, int failures, long totalNanos) {
+        this.routes = routes;
+        this.requests = requests;
+        this.failures = failures;
+        this.totalNanos = totalNanos;
+    }
+
+    public int routes() {
+        return routes;
+    }
+
+    public int requests() {
+        return requests;
+    }
+
+    /**
+     * Number of requests that threw an exception or ended with a server error.
+     */
+    public int failures() {
+        return failures;
+    }
+
+    public long totalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("geeMVC warm-up completed in ").append(totalMillis()).append("ms (routes=").append(routes).append(", requests=").append(requests)
+                .append(", failures=").append(failures).append(")").toString();
+    }
+}
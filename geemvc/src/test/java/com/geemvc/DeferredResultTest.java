@@ -0,0 +1,325 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Test;
+
+import com.geemvc.annotation.Request;
+import com.geemvc.bind.MethodParams;
+import com.geemvc.handler.CompositeControllerResolver;
+import com.geemvc.handler.CompositeHandlerResolver;
+import com.geemvc.handler.RequestHandler;
+import com.geemvc.handler.RequestHandlers;
+import com.geemvc.i18n.locale.LocaleResolver;
+import com.geemvc.i18n.notice.Notices;
+import com.geemvc.intercept.Interceptors;
+import com.geemvc.intercept.LifecycleContext;
+import com.geemvc.mock.servlet.MockRequest;
+import com.geemvc.mock.servlet.MockResponse;
+import com.geemvc.mock.servlet.MockServletContext;
+import com.geemvc.test.BaseTest;
+import com.geemvc.validation.Errors;
+import com.geemvc.validation.Validator;
+import com.geemvc.view.ViewHandler;
+import com.geemvc.view.bean.Result;
+import com.google.inject.Inject;
+
+public class DeferredResultTest extends BaseTest {
+    @Test
+    public void testAsyncResult() throws Exception {
+        Result result = Results.view("deferred");
+
+        assertSame(result, processAsync("result", result));
+    }
+
+    @Test
+    public void testAsyncString() throws Exception {
+        assertEquals("deferred", processAsync("string", "view: deferred").view());
+    }
+
+    @Test
+    public void testAsyncObject() throws Exception {
+        Integer value = 42;
+
+        assertSame(value, processAsync("object", value).result());
+    }
+
+    @Test
+    public void testSyncResult() throws Exception {
+        Result result = Results.view("deferred");
+
+        assertSame(result, processSync("result", result));
+    }
+
+    @Test
+    public void testSyncString() throws Exception {
+        assertEquals("deferred", processSync("string", "view: deferred").view());
+    }
+
+    @Test
+    public void testSyncObject() throws Exception {
+        Integer value = 42;
+
+        assertSame(value, processSync("object", value).result());
+    }
+
+    @Test
+    public void testAsyncTimeoutDiscardsResult() throws Exception {
+        DeferredRequestRunner requestRunner = instance(DeferredRequestRunner.class);
+        RecordingAsyncContext asyncCtx = new RecordingAsyncContext();
+        RecordingResponse response = new RecordingResponse();
+        RequestContext requestCtx = requestContext(asyncCtx, response);
+        CompletableFuture<Result> deferred = new CompletableFuture<>();
+
+        requestRunner.processDeferred(requestHandler("result"), requestCtx, instance(Errors.class), instance(Notices.class), lifecycleContext("result", requestCtx, deferred));
+
+        assertEquals(30000, asyncCtx.timeout);
+        assertEquals(1, asyncCtx.listeners.size());
+
+        asyncCtx.listeners.get(0).onTimeout(new AsyncEvent(asyncCtx));
+
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, response.status);
+        assertEquals(1, asyncCtx.completeCount);
+
+        // The result arrives after the timeout, so the request must not be resumed.
+        deferred.complete(Results.view("deferred"));
+
+        assertNull(requestRunner.processedResult);
+        assertEquals(1, asyncCtx.completeCount);
+    }
+
+    @Test
+    public void testSyncTimeout() throws Exception {
+        DeferredRequestRunner requestRunner = instance(DeferredRequestRunner.class);
+        requestRunner.timeout = 50;
+
+        RecordingResponse response = new RecordingResponse();
+        RequestContext requestCtx = requestContext(null, response);
+
+        requestRunner.processDeferred(requestHandler("result"), requestCtx, instance(Errors.class), instance(Notices.class), lifecycleContext("result", requestCtx, new CompletableFuture<>()));
+
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, response.status);
+        assertNull(requestRunner.processedResult);
+    }
+
+    protected Result processAsync(String methodName, Object value) throws Exception {
+        DeferredRequestRunner requestRunner = instance(DeferredRequestRunner.class);
+        RecordingAsyncContext asyncCtx = new RecordingAsyncContext();
+        RequestContext requestCtx = requestContext(asyncCtx, new RecordingResponse());
+        CompletableFuture<Object> deferred = new CompletableFuture<>();
+
+        requestRunner.processDeferred(requestHandler(methodName), requestCtx, instance(Errors.class), instance(Notices.class), lifecycleContext(methodName, requestCtx, deferred));
+
+        assertNull(requestRunner.processedResult);
+
+        // Complete the deferred result on another thread, like an executor would.
+        Thread completingThread = new Thread(() -> deferred.complete(value));
+        completingThread.start();
+        completingThread.join();
+
+        assertEquals(1, asyncCtx.completeCount);
+
+        return requestRunner.processedResult;
+    }
+
+    protected Result processSync(String methodName, Object value) throws Exception {
+        DeferredRequestRunner requestRunner = instance(DeferredRequestRunner.class);
+        RequestContext requestCtx = requestContext(null, new RecordingResponse());
+        CompletableFuture<Object> deferred = new CompletableFuture<>();
+
+        new Thread(() -> deferred.complete(value)).start();
+
+        requestRunner.processDeferred(requestHandler(methodName), requestCtx, instance(Errors.class), instance(Notices.class), lifecycleContext(methodName, requestCtx, deferred));
+
+        return requestRunner.processedResult;
+    }
+
+    protected RequestHandler requestHandler(String methodName) throws Exception {
+        return instance(RequestHandler.class).build(DeferredHandlers.class, DeferredHandlers.class.getMethod(methodName));
+    }
+
+    protected LifecycleContext lifecycleContext(String methodName, RequestContext requestCtx, CompletableFuture<?> deferred) throws Exception {
+        return instance(LifecycleContext.class).build(requestHandler(methodName), requestCtx, instance(Errors.class), instance(Notices.class)).deferred(deferred);
+    }
+
+    /**
+     * Creates a request context that supports async processing if an async context is given.
+     */
+    protected RequestContext requestContext(AsyncContext asyncCtx, HttpServletResponse response) {
+        MockRequest request = new MockRequest("/webapp", "/servlet", "/webapp/servlet/deferred") {
+            protected boolean isAsyncStarted = false;
+
+            @Override
+            public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+                isAsyncStarted = true;
+                return asyncCtx;
+            }
+
+            @Override
+            public boolean isAsyncStarted() {
+                return isAsyncStarted;
+            }
+
+            @Override
+            public boolean isAsyncSupported() {
+                return asyncCtx != null;
+            }
+
+            @Override
+            public AsyncContext getAsyncContext() {
+                return asyncCtx;
+            }
+        };
+
+        return instance(RequestContext.class).build(request, response, new MockServletContext());
+    }
+
+    public static class DeferredHandlers {
+        @Request("result")
+        public CompletableFuture<Result> result() {
+            return null;
+        }
+
+        @Request("string")
+        public CompletableFuture<String> string() {
+            return null;
+        }
+
+        @Request("object")
+        public CompletableFuture<Object> object() {
+            return null;
+        }
+    }
+
+    /**
+     * Records the processed result instead of rendering the view.
+     */
+    public static class DeferredRequestRunner extends DefaultRequestRunner {
+        protected volatile Result processedResult;
+        protected long timeout = 30000;
+
+        @Inject
+        public DeferredRequestRunner(CompositeControllerResolver controllerResolver, CompositeHandlerResolver handlerResolver, RequestHandlers requestHandlers, LocaleResolver localeResolver, Interceptors interceptors,
+                MethodParams methodParams, Validator validator, ViewHandler viewHandler) {
+            super(controllerResolver, handlerResolver, requestHandlers, localeResolver, interceptors, methodParams, validator, viewHandler);
+        }
+
+        @Override
+        protected void processResult(Result result, RequestHandler requestHandler, RequestContext requestCtx) {
+            processedResult = result;
+        }
+
+        @Override
+        protected long deferredTimeout() {
+            return timeout;
+        }
+    }
+
+    protected static class RecordingResponse extends MockResponse {
+        protected int status;
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            status = sc;
+        }
+    }
+
+    protected static class RecordingAsyncContext implements AsyncContext {
+        protected final List<AsyncListener> listeners = new ArrayList<>();
+        protected long timeout;
+        protected volatile int completeCount;
+
+        @Override
+        public ServletRequest getRequest() {
+            return null;
+        }
+
+        @Override
+        public ServletResponse getResponse() {
+            return null;
+        }
+
+        @Override
+        public boolean hasOriginalRequestAndResponse() {
+            return true;
+        }
+
+        @Override
+        public void dispatch() {
+        }
+
+        @Override
+        public void dispatch(String path) {
+        }
+
+        @Override
+        public void dispatch(ServletContext context, String path) {
+        }
+
+        @Override
+        public void complete() {
+            completeCount++;
+        }
+
+        @Override
+        public void start(Runnable run) {
+            run.run();
+        }
+
+        @Override
+        public void addListener(AsyncListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void addListener(AsyncListener listener, ServletRequest servletRequest, ServletResponse servletResponse) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public <T extends AsyncListener> T createListener(Class<T> clazz) {
+            return null;
+        }
+
+        @Override
+        public void setTimeout(long timeout) {
+            this.timeout = timeout;
+        }
+
+        @Override
+        public long getTimeout() {
+            return timeout;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.Test;
+
+import com.geemvc.i18n.notice.Notices;
+import com.geemvc.test.BaseTest;
+import com.geemvc.validation.Errors;
+
+public class ThreadStashTest extends BaseTest {
+    @Test
+    public void testNestedPrepareAndCleanup() throws Exception {
+        RequestStash outerStash = ThreadStash.current();
+        ServletRequest outerRequest = ThreadStash.servletRequest();
+        Errors outerErrors = instance(Errors.class);
+
+        ThreadStash.put(Errors.class, outerErrors);
+        ThreadStash.put("key", "outer");
+
+        HttpServletRequest innerRequest = (HttpServletRequest) newRequestContext("/webapp", "/servlet", "/webapp/servlet/inner").getRequest();
+        ThreadStash.prepare(innerRequest);
+
+        // The nested request starts with an empty stash that points to the one of the outer request.
+        assertSame(outerStash, ThreadStash.current().parent());
+        assertSame(innerRequest, ThreadStash.servletRequest());
+        assertNull(ThreadStash.errors());
+        assertNull(ThreadStash.get("key"));
+
+        ThreadStash.put(Errors.class, instance(Errors.class));
+        ThreadStash.put("key", "inner");
+
+        ThreadStash.cleanup();
+
+        assertSame(outerStash, ThreadStash.current());
+        assertSame(outerRequest, ThreadStash.servletRequest());
+        assertSame(outerErrors, ThreadStash.errors());
+        assertEquals("outer", ThreadStash.get("key"));
+    }
+
+    @Test
+    public void testOverflow() throws Exception {
+        RequestStash stash = new RequestStash(null);
+
+        Errors errors = instance(Errors.class);
+        Notices notices = instance(Notices.class);
+
+        stash.put(Errors.class, errors);
+        stash.put(Notices.class, notices);
+
+        // The objects used on every request are kept in fields.
+        assertNull(stash.overflow);
+        assertSame(errors, stash.get(Errors.class));
+        assertSame(notices, stash.notices());
+
+        stash.put("key", "value");
+        stash.put(List.class, new ArrayList<>());
+
+        assertNotNull(stash.overflow);
+        assertEquals(2, stash.overflow.size());
+        assertEquals("value", stash.get("key"));
+        assertEquals(new ArrayList<>(), stash.get(List.class));
+        assertNull(stash.get("unknown"));
+
+        stash.put("key", null);
+
+        assertNull(stash.get("key"));
+
+        // A copy gets its own overflow map.
+        RequestStash copy = stash.copy(null);
+        copy.put("key", "copy");
+
+        assertNull(stash.get("key"));
+        assertEquals("copy", copy.get("key"));
+        assertSame(errors, copy.errors());
+    }
+
+    @Test
+    public void testCaptureAndRestoreAcrossThreads() throws Exception {
+        Errors errors = instance(Errors.class);
+
+        ThreadStash.put(Errors.class, errors);
+        ThreadStash.put("key", "request");
+
+        RequestStash capturedStash = ThreadStash.capture();
+
+        // Changes made after the capture are not visible to the other thread.
+        ThreadStash.put("key", "changed");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            List<Object> values = executor.submit(() -> {
+                List<Object> workerValues = new ArrayList<>();
+                workerValues.add(ThreadStash.get("key"));
+
+                ThreadStash.restore(capturedStash);
+                workerValues.add(ThreadStash.get("key"));
+                workerValues.add(ThreadStash.errors());
+
+                ThreadStash.put("key", "worker");
+                ThreadStash.cleanup();
+
+                workerValues.add(ThreadStash.get("key"));
+
+                return workerValues;
+            }).get();
+
+            assertNull(values.get(0));
+            assertEquals("request", values.get(1));
+            assertSame(errors, values.get(2));
+            assertNull(values.get(3));
+
+            // Restoring on a thread that has a stash of its own returns to that stash on cleanup.
+            HttpServletRequest workerRequest = (HttpServletRequest) newRequestContext("/webapp", "/servlet", "/webapp/servlet/worker").getRequest();
+
+            List<Object> nestedValues = executor.submit(() -> {
+                List<Object> workerValues = new ArrayList<>();
+
+                ThreadStash.prepare(workerRequest);
+                ThreadStash.restore(capturedStash);
+                workerValues.add(ThreadStash.get("key"));
+
+                ThreadStash.cleanup();
+                workerValues.add(ThreadStash.servletRequest());
+                workerValues.add(ThreadStash.get("key"));
+
+                ThreadStash.cleanup();
+
+                return workerValues;
+            }).get();
+
+            assertEquals("request", nestedValues.get(0));
+            assertSame(workerRequest, nestedValues.get(1));
+            assertNull(nestedValues.get(2));
+        } finally {
+            executor.shutdown();
+        }
+
+        // The other thread did not change the stash of this one, nor the captured one.
+        assertEquals("changed", ThreadStash.get("key"));
+        assertSame(errors, ThreadStash.errors());
+        assertEquals("request", capturedStash.get("key"));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.admission;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.geemvc.annotation.Request;
+import com.geemvc.handler.RequestHandler;
+import com.geemvc.test.BaseTest;
+
+public class AdmissionControllerTest extends BaseTest {
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(instance(AdmissionController.class).isEnabled());
+    }
+
+    @Test
+    public void testCriticality() throws Exception {
+        Map<String, String> configuredCriticality = new HashMap<>();
+        configuredCriticality.put("Handlers.configured", "critical");
+
+        AdmissionController admissionController = new DefaultAdmissionController(10, 0, 1, configuredCriticality);
+
+        assertEquals(Criticality.LOW, admissionController.criticality(requestHandler("report")));
+        assertEquals(Criticality.HIGH, admissionController.criticality(requestHandler("checkout")));
+        assertEquals(Criticality.CRITICAL, admissionController.criticality(requestHandler("configured")));
+    }
+
+    @Test
+    public void testExplicitNormalOverridesController() throws Exception {
+        AdmissionController admissionController = new DefaultAdmissionController(10, 0, 1, Collections.emptyMap());
+
+        assertEquals(Criticality.LOW, admissionController.criticality(requestHandler(LowHandlers.class, "inherited")));
+        assertEquals(Criticality.NORMAL, admissionController.criticality(requestHandler(LowHandlers.class, "normal")));
+        assertEquals(Criticality.NORMAL, admissionController.criticality(requestHandler(Handlers.class, "unannotated")));
+    }
+
+    @Test
+    public void testInvalidConfiguredCriticalityIsIgnored() throws Exception {
+        Map<String, String> configuredCriticality = new HashMap<>();
+        configuredCriticality.put("Handlers.report", "urgent");
+        configuredCriticality.put("Handlers.checkout", " low ");
+
+        AdmissionController admissionController = new DefaultAdmissionController(10, 0, 1, configuredCriticality);
+
+        assertEquals(Criticality.LOW, admissionController.criticality(requestHandler("report")));
+        assertEquals(Criticality.LOW, admissionController.criticality(requestHandler("checkout")));
+    }
+
+    @Test
+    public void testShedsByCriticality() throws Exception {
+        AdmissionController admissionController = new DefaultAdmissionController(10, 0, 2, Collections.emptyMap());
+
+        RequestHandler low = requestHandler("report");
+        RequestHandler high = requestHandler("checkout");
+
+        // Fill up half of the capacity.
+        for (int i = 0; i < 5; i++) {
+            assertTrue(admissionController.admit(high));
+        }
+
+        assertEquals(0.5, admissionController.load(), 0.0001);
+        assertFalse(admissionController.admit(low));
+        assertTrue(admissionController.admit(high));
+
+        admissionController.release(1000);
+
+        assertFalse(admissionController.admit(low));
+        assertEquals(2, admissionController.shed());
+        assertEquals(5, admissionController.inFlight());
+        assertEquals(2, admissionController.retryAfterSeconds());
+
+        for (int i = 0; i < 5; i++) {
+            admissionController.release(1000);
+        }
+
+        assertTrue(admissionController.admit(low));
+    }
+
+    public static class Handlers {
+        @Request(value = "/report", criticality = Criticality.LOW)
+        public void report() {
+        }
+
+        @Request(value = "/checkout", criticality = Criticality.HIGH)
+        public void checkout() {
+        }
+
+        @Request(value = "/configured", criticality = Criticality.LOW)
+        public void configured() {
+        }
+
+        @Request("/unannotated")
+        public void unannotated() {
+        }
+    }
+
+    @Request(value = "/low", criticality = Criticality.LOW)
+    public static class LowHandlers {
+        @Request("/inherited")
+        public void inherited() {
+        }
+
+        @Request(value = "/normal", criticality = Criticality.NORMAL)
+        public void normal() {
+        }
+    }
+
+    protected RequestHandler requestHandler(String methodName) throws Exception {
+        return requestHandler(Handlers.class, methodName);
+    }
+
+    protected RequestHandler requestHandler(Class<?> controllerClass, String methodName) throws Exception {
+        return instance(RequestHandler.class).build(controllerClass, controllerClass.getMethod(methodName));
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+import javax.ws.rs.ext.RuntimeDelegate;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.geemvc.RequestContext;
+import com.geemvc.bind.param.ParamContext;
+import com.geemvc.bind.param.adapter.BodyParamAdapter;
+import com.geemvc.bind.param.annotation.Body;
+import com.geemvc.mock.servlet.MockRequest;
+import com.geemvc.mock.servlet.MockResponse;
+import com.geemvc.mock.servlet.MockServletContext;
+import com.geemvc.reflect.ReflectionProvider;
+import com.geemvc.rest.jaxrs.delegate.DefaultRuntimeDelegate;
+import com.geemvc.test.BaseTest;
+
+public class BodyParamAdapterTest extends BaseTest {
+    @Before
+    public void setUpRuntimeDelegate() {
+        RuntimeDelegate.setInstance(new DefaultRuntimeDelegate());
+    }
+
+    @Test
+    public void testReaderSelectedByContentType() throws Exception {
+        StubProviders providers = new StubProviders();
+        BodyParamAdapter bodyParamAdapter = bodyParamAdapter(providers);
+
+        assertEquals("json:{\"a\":1}", typedValue(bodyParamAdapter, String.class, "application/json", "{\"a\":1}"));
+        assertEquals("text:hello", typedValue(bodyParamAdapter, String.class, "text/plain", "hello"));
+        assertEquals(MediaType.APPLICATION_JSON_TYPE, providers.mediaTypes.get(0));
+        assertEquals(MediaType.TEXT_PLAIN_TYPE, providers.mediaTypes.get(1));
+    }
+
+    @Test
+    public void testOctetStreamWithoutContentType() throws Exception {
+        StubProviders providers = new StubProviders();
+
+        assertEquals("binary:data", typedValue(bodyParamAdapter(providers), String.class, null, "data"));
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM_TYPE, providers.mediaTypes.get(0));
+    }
+
+    @Test
+    public void testReaderCachedPerTypeAndMediaType() throws Exception {
+        StubProviders providers = new StubProviders();
+        BodyParamAdapter bodyParamAdapter = bodyParamAdapter(providers);
+
+        typedValue(bodyParamAdapter, String.class, "application/json", "1");
+        typedValue(bodyParamAdapter, String.class, "application/json; charset=UTF-8", "2");
+
+        // The media type parameters do not change the reader.
+        assertEquals(1, providers.mediaTypes.size());
+
+        typedValue(bodyParamAdapter, String.class, "text/plain", "3");
+        typedValue(bodyParamAdapter, Object.class, "application/json", "4");
+        typedValue(bodyParamAdapter, Object.class, "application/json", "5");
+
+        assertEquals(3, providers.mediaTypes.size());
+    }
+
+    @Test
+    public void testEmptyBody() throws Exception {
+        StubProviders providers = new StubProviders();
+
+        assertNull(typedValue(bodyParamAdapter(providers), String.class, "application/json", ""));
+        assertEquals(0, providers.mediaTypes.size());
+    }
+
+    @Test
+    public void testMissingReader() throws Exception {
+        StubProviders providers = new StubProviders();
+
+        assertNull(typedValue(bodyParamAdapter(providers), String.class, "application/xml", "<a/>"));
+        assertEquals(1, providers.mediaTypes.size());
+    }
+
+    @Test
+    public void testInvalidContentType() throws Exception {
+        StubProviders providers = new StubProviders();
+
+        assertNull(typedValue(bodyParamAdapter(providers), String.class, "json", "{}"));
+        assertEquals(0, providers.mediaTypes.size());
+    }
+
+    @Test
+    public void testInputStreamPassthrough() throws Exception {
+        StubProviders providers = new StubProviders();
+        RequestContext requestCtx = requestContext("application/json", "{}");
+
+        Object value = bodyParamAdapter(providers).getTypedValue(body(), "body", paramContext(InputStream.class, requestCtx));
+
+        assertSame(requestCtx.getRequest().getInputStream(), value);
+        assertEquals(0, providers.mediaTypes.size());
+    }
+
+    protected BodyParamAdapter bodyParamAdapter(Providers providers) {
+        BodyParamAdapter bodyParamAdapter = new BodyParamAdapter(providers, instance(ReflectionProvider.class)) {
+        };
+
+        injector.injectMembers(bodyParamAdapter);
+
+        return bodyParamAdapter;
+    }
+
+    protected Object typedValue(BodyParamAdapter bodyParamAdapter, Class<?> type, String contentType, String body) {
+        return bodyParamAdapter.getTypedValue(body(), "body", paramContext(type, requestContext(contentType, body)));
+    }
+
+    protected ParamContext paramContext(Class<?> type, RequestContext requestCtx) {
+        MethodParam methodParam = instance(MethodParam.class).build("body", type, null, new Annotation[] { body() });
+        return instance(ParamContext.class).build(methodParam, new HashMap<>(), new HashMap<>(), requestCtx, null, null);
+    }
+
+    protected RequestContext requestContext(String contentType, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        Map<String, String[]> headers = new HashMap<>();
+
+        if (contentType != null)
+            headers.put("Content-Type", new String[] { contentType });
+
+        ServletInputStream in = new BodyInputStream(new ByteArrayInputStream(bytes));
+
+        MockRequest request = new MockRequest("/webapp", "/servlet", "/webapp/servlet/body", "POST", new HashMap<>(), headers) {
+            @Override
+            public int getContentLength() {
+                return bytes.length;
+            }
+
+            @Override
+            public ServletInputStream getInputStream() throws IOException {
+                return in;
+            }
+        };
+
+        return instance(RequestContext.class).build(request, new MockResponse(), new MockServletContext());
+    }
+
+    protected Body body() {
+        try {
+            return (Body) BodyController.class.getMethod("handle", String.class).getParameterAnnotations()[0][0];
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class BodyController {
+        public void handle(@Body String body) {
+        }
+    }
+
+    /**
+     * Returns a reader for JSON, plain text and binary bodies and remembers the media types that readers have been requested for.
+     */
+    protected static class StubProviders implements Providers {
+        protected final List<MediaType> mediaTypes = new ArrayList<>();
+
+        @Override
+        public <T> MessageBodyReader<T> getMessageBodyReader(Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            mediaTypes.add(mediaType);
+
+            if (mediaType.isCompatible(MediaType.APPLICATION_JSON_TYPE))
+                return new PrefixReader<>("json:");
+
+            if (mediaType.isCompatible(MediaType.TEXT_PLAIN_TYPE))
+                return new PrefixReader<>("text:");
+
+            if (mediaType.isCompatible(MediaType.APPLICATION_OCTET_STREAM_TYPE))
+                return new PrefixReader<>("binary:");
+
+            return null;
+        }
+
+        @Override
+        public <T> MessageBodyWriter<T> getMessageBodyWriter(Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return null;
+        }
+
+        @Override
+        public <T extends Throwable> ExceptionMapper<T> getExceptionMapper(Class<T> type) {
+            return null;
+        }
+
+        @Override
+        public <T> ContextResolver<T> getContextResolver(Class<T> contextType, MediaType mediaType) {
+            return null;
+        }
+    }
+
+    protected static class PrefixReader<T> implements MessageBodyReader<T> {
+        protected final String prefix;
+
+        protected PrefixReader(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T readFrom(Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[256];
+            int n;
+
+            while ((n = entityStream.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+
+            return (T) (prefix + new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    protected static class BodyInputStream extends ServletInputStream {
+        protected final InputStream in;
+
+        protected BodyInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return in.read();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return false;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+        }
+    }
+}
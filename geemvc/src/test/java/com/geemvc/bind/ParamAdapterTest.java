@@ -18,18 +18,24 @@ package com.geemvc.bind;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
 import com.geemvc.bind.param.ParamAdapter;
 import com.geemvc.bind.param.ParamAdapterFactory;
+import com.geemvc.bind.param.TypedParamAdapter;
+import com.geemvc.bind.param.adapter.BodyParamAdapter;
 import com.geemvc.bind.param.adapter.CookieParamAdapter;
 import com.geemvc.bind.param.adapter.HeaderParamAdapter;
+import com.geemvc.bind.param.adapter.PartParamAdapter;
 import com.geemvc.bind.param.adapter.PathParamAdapter;
 import com.geemvc.bind.param.adapter.RequestParamAdapter;
+import com.geemvc.bind.param.annotation.Body;
 import com.geemvc.bind.param.annotation.Cookie;
 import com.geemvc.bind.param.annotation.Header;
 import com.geemvc.bind.param.annotation.Param;
+import com.geemvc.bind.param.annotation.Part;
 import com.geemvc.bind.param.annotation.PathParam;
 import com.geemvc.test.BaseTest;
 
@@ -70,4 +76,24 @@ public class ParamAdapterTest extends BaseTest {
         assertEquals(CookieParamAdapter.class, cookieValueAdapter.getClass());
     }
 
+    @Test
+    public void testBodyAdapter() {
+        ParamAdapterFactory paramAdapterFactory = instance(ParamAdapterFactory.class);
+        ParamAdapter<Body> bodyAdapter = paramAdapterFactory.create(Body.class);
+
+        assertNotNull(bodyAdapter);
+        assertEquals(BodyParamAdapter.class, bodyAdapter.getClass());
+        assertTrue(bodyAdapter instanceof TypedParamAdapter);
+    }
+
+    @Test
+    public void testPartAdapter() {
+        ParamAdapterFactory paramAdapterFactory = instance(ParamAdapterFactory.class);
+        ParamAdapter<Part> partAdapter = paramAdapterFactory.create(Part.class);
+
+        assertNotNull(partAdapter);
+        assertEquals(PartParamAdapter.class, partAdapter.getClass());
+        assertTrue(partAdapter instanceof TypedParamAdapter);
+    }
+
 }
@@ -19,6 +19,7 @@ package com.geemvc.bind;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.math.BigDecimal;
@@ -832,4 +833,33 @@ public class ParamBindingTest extends BaseTest {
         assertEquals(new HashSet<>(Arrays.asList(new Integer[] { 110, 220, 330 })), new HashSet<>((Collection<?>) ((List<Map<Id, Integer>>) typedValues.get("myListOfMaps")).get(0).values()));
         assertEquals(new HashSet<>(Arrays.asList(new Integer[] { 119, 229, 339 })), new HashSet<>((Collection<?>) ((List<Map<String, String>>) typedValues.get("myListOfMaps")).get(1).values()));
     }
+
+    @Test
+    public void testArgumentResolversPerHandler() {
+        Errors e = instance(Errors.class);
+        Notices n = instance(Notices.class);
+
+        RequestContext reqCtx = newRequestContext("/webapp", "/servlet", "/webapp/servlet/controller17/handler17a/12345");
+
+        CompositeHandlerResolver compositeHandlerResolver = instance(CompositeHandlerResolver.class);
+        CompositeControllerResolver controllerResolver = instance(CompositeControllerResolver.class);
+        MethodParams methodParams = instance(MethodParams.class);
+
+        Map<PathMatcherKey, Class<?>> controllers = controllerResolver.resolve(reqCtx);
+        RequestHandler requestHandler = compositeHandlerResolver.resolve(reqCtx, controllers.values());
+        reqCtx.requestHandler(requestHandler);
+
+        ArgumentResolver[] argumentResolvers = methodParams.argumentResolvers(requestHandler);
+
+        assertNotNull(argumentResolvers);
+        assertSame(argumentResolvers, methodParams.argumentResolvers(requestHandler));
+        assertEquals(1, argumentResolvers.length);
+        assertEquals("id", argumentResolvers[0].name());
+
+        Map<String, List<String>> requestValues = methodParams.values(argumentResolvers, reqCtx, e, n);
+        Map<String, Object> typedValues = methodParams.typedValues(requestValues, argumentResolvers, reqCtx, e, n);
+
+        assertEquals("12345", requestValues.get("id").get(0));
+        assertEquals(12345L, typedValues.get("id"));
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.geemvc.bind.param.ParamIndex;
+import com.geemvc.bind.param.ParamValues;
+import com.geemvc.test.BaseTest;
+
+public class ParamIndexTest extends BaseTest {
+
+    protected ParamIndex newParamIndex() {
+        Map<String, String[]> parameterMap = new LinkedHashMap<>();
+        parameterMap.put("id", new String[] { "1" });
+        parameterMap.put("order.code", new String[] { "A1" });
+        parameterMap.put("order.items[0].name", new String[] { "first" });
+        parameterMap.put("order.items[1].name", new String[] { "second" });
+        parameterMap.put("order.tags[a.b]", new String[] { "x", "y" });
+        parameterMap.put("orderNumber", new String[] { "99" });
+
+        return instance(ParamIndex.class).build(parameterMap);
+    }
+
+    @Test
+    public void testExactValues() {
+        ParamIndex paramIndex = newParamIndex();
+
+        assertArrayEquals(new String[] { "1" }, paramIndex.values("id"));
+        assertArrayEquals(new String[] { "first" }, paramIndex.values("order.items[0].name"));
+        assertNull(paramIndex.values("order"));
+        assertNull(paramIndex.values("unknown"));
+    }
+
+    @Test
+    public void testNestedValues() {
+        ParamValues values = newParamIndex().nested("order");
+
+        assertEquals(5, values.size());
+        assertEquals("order.code", values.path(0));
+        assertEquals("A1", values.value(0));
+        assertEquals("order.items[1].name", values.path(2));
+        assertEquals("order.tags[a.b]", values.path(3));
+        assertEquals("order.tags[a.b]=y", values.get(4));
+    }
+
+    @Test
+    public void testNestedValuesOfUnknownPrefix() {
+        assertTrue(newParamIndex().nested("ord").isEmpty());
+        assertEquals(2, newParamIndex().nested("order.items").size());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bind;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.geemvc.mock.bean.RootBean;
+import com.geemvc.mock.type.ValueOfType;
+import com.geemvc.test.BaseTest;
+
+import jodd.typeconverter.TypeConverterManager;
+
+public class PropertyPlanTest extends BaseTest {
+
+    @Test
+    public void testPlansAreSharedByShape() {
+        RootBean rootBean = instance(RootBean.class);
+        PropertyPlans propertyPlans = instance(PropertyPlans.class);
+
+        PropertyPlan plan = propertyPlans.plan(rootBean.getClass(), "nestedBeans[].code");
+
+        assertNotNull(plan);
+        assertSame(plan, propertyPlans.plan(rootBean.getClass(), "nestedBeans[].code"));
+    }
+
+    @Test
+    public void testSettingAndGettingNestedList() {
+        RootBean rootBean = instance(RootBean.class);
+        PropertyPlans propertyPlans = instance(PropertyPlans.class);
+
+        propertyPlans.set(rootBean, "nestedBeans[1].code", "code_1");
+        propertyPlans.set(rootBean, "nestedBeans[0].count", "5");
+
+        assertEquals(2, rootBean.getNestedBeans().size());
+        assertEquals("code_1", rootBean.getNestedBeans().get(1).getCode());
+        assertEquals(5, rootBean.getNestedBeans().get(0).getCount());
+
+        assertEquals("code_1", propertyPlans.get(rootBean, "nestedBeans[1].code"));
+        assertEquals(5, propertyPlans.get(rootBean, "nestedBeans[0].count"));
+        assertNull(propertyPlans.get(rootBean, "nestedBeans[7].code"));
+    }
+
+    @Test
+    public void testSettingAndGettingMap() {
+        RootBean rootBean = instance(RootBean.class);
+        PropertyPlans propertyPlans = instance(PropertyPlans.class);
+
+        propertyPlans.set(rootBean, "mappedNestedBeans[key.one].code", "code_a");
+
+        assertEquals("code_a", rootBean.getMappedNestedBeans().get("key.one").getCode());
+        assertEquals("code_a", propertyPlans.get(rootBean, "mappedNestedBeans[key.one].code"));
+    }
+
+    @Test
+    public void testAppendingToArrayAndList() {
+        RootBean rootBean = instance(RootBean.class);
+        PropertyPlans propertyPlans = instance(PropertyPlans.class);
+
+        propertyPlans.set(rootBean, "tagsArray[]", "a");
+        propertyPlans.set(rootBean, "tagsArray[]", "b");
+        propertyPlans.set(rootBean, "tags[]", "c");
+        propertyPlans.set(rootBean, "tags[2]", "d");
+
+        assertArrayEquals(new String[] { "a", "b" }, rootBean.getTagsArray());
+        assertEquals(Arrays.asList("c", null, "d"), rootBean.getTags());
+    }
+
+    @Test
+    public void testEmptyPrimitiveUsesDefault() {
+        RootBean rootBean = instance(RootBean.class);
+        PropertyPlans propertyPlans = instance(PropertyPlans.class);
+
+        propertyPlans.set(rootBean, "count", "12");
+        assertEquals(12, rootBean.getCount());
+
+        propertyPlans.set(rootBean, "count", "");
+        assertEquals(0, rootBean.getCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnknownProperty() {
+        instance(PropertyPlans.class).set(instance(RootBean.class), "nestedBean.unknown", "x");
+    }
+
+    @Test
+    public void testConverterRegisteredAfterPlanIsUsed() {
+        PropertyPlans propertyPlans = instance(PropertyPlans.class);
+        ValueOfBean bean = new ValueOfBean();
+
+        // Builds and caches the plan before the converter exists.
+        assertNull(propertyPlans.get(bean, "value"));
+
+        TypeConverterManager.register(ValueOfType.class, value -> ValueOfType.valueOf("converted_" + value));
+
+        try {
+            propertyPlans.set(bean, "value", "abc");
+            assertEquals(ValueOfType.valueOf("converted_abc"), bean.getValue());
+        } finally {
+            TypeConverterManager.unregister(ValueOfType.class);
+        }
+    }
+
+    public static class ValueOfBean {
+        protected ValueOfType value;
+
+        public ValueOfType getValue() {
+            return value;
+        }
+
+        public void setValue(ValueOfType value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.bootstrap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.geemvc.reflect.ReflectionsWrapper;
+import com.geemvc.test.BaseTest;
+
+public class BootstrapTest extends BaseTest {
+    @Test
+    public void testSequentialBootstrap() {
+        BootstrapReport report = instance(Bootstrap.class).run(1);
+
+        assertEquals(1, report.parallelism());
+        assertEquals(Arrays.asList("scan", "handlers", "resolvers", "interceptors", "converters", "validators", "views"), new ArrayList<>(report.stepNanos().keySet()));
+        assertTrue(report.toString().startsWith("geeMVC bootstrap completed in "));
+    }
+
+    @Test
+    public void testParallelBootstrap() {
+        BootstrapReport report = instance(Bootstrap.class).run(4);
+
+        assertEquals(4, report.parallelism());
+
+        for (Long stepNanos : report.stepNanos().values()) {
+            assertNotNull(stepNanos);
+        }
+    }
+
+    @Test
+    public void testConfigureIsIdempotent() {
+        ReflectionsWrapper reflectionsWrapper = instance(ReflectionsWrapper.class);
+
+        assertSame(reflectionsWrapper, reflectionsWrapper.configure());
+        assertSame(reflectionsWrapper, reflectionsWrapper.configure());
+    }
+}
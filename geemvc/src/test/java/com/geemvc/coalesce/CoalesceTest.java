@@ -0,0 +1,281 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.coalesce;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.junit.Test;
+
+import com.geemvc.DefaultRequestRunner;
+import com.geemvc.RequestContext;
+import com.geemvc.bind.MethodParams;
+import com.geemvc.coalesce.annotation.Coalesce;
+import com.geemvc.handler.CompositeControllerResolver;
+import com.geemvc.handler.CompositeHandlerResolver;
+import com.geemvc.handler.HandlerNotFoundException;
+import com.geemvc.handler.RequestHandler;
+import com.geemvc.handler.RequestHandlers;
+import com.geemvc.i18n.locale.LocaleResolver;
+import com.geemvc.i18n.notice.Notices;
+import com.geemvc.intercept.Interceptors;
+import com.geemvc.mock.servlet.MockRequest;
+import com.geemvc.mock.servlet.MockResponse;
+import com.geemvc.mock.servlet.MockServletContext;
+import com.geemvc.test.BaseTest;
+import com.geemvc.validation.Errors;
+import com.geemvc.validation.Validator;
+import com.geemvc.view.GeemvcKey;
+import com.geemvc.view.ViewHandler;
+import com.geemvc.view.bean.Result;
+import com.google.inject.Inject;
+
+public class CoalesceTest extends BaseTest {
+    @Test
+    public void testFollowerReceivesLeaderResponse() throws Exception {
+        Coalescer coalescer = instance(Coalescer.class);
+        RequestHandler requestHandler = requestHandler("hotPage");
+
+        Flight leader = coalescer.join(requestHandler, requestContext("GET", "1"));
+        Flight follower = coalescer.join(requestHandler, requestContext("GET", "1"));
+
+        assertTrue(leader.isLeader());
+        assertFalse(follower.isLeader());
+
+        byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+        leader.complete(new CapturedResponse(200, "text/plain", "UTF-8", Collections.singletonMap("X-Test", Collections.singletonList("1")), body));
+
+        RecordingResponse response = new RecordingResponse();
+
+        assertTrue(follower.replay(response));
+        assertArrayEquals(body, response.body.toByteArray());
+        assertEquals(200, response.status);
+        assertEquals("1", response.headers.get("X-Test"));
+
+        // Once completed, the next request starts a new execution.
+        assertTrue(coalescer.join(requestHandler, requestContext("GET", "1")).isLeader());
+    }
+
+    @Test
+    public void testFollowerExecutesIfResponseCannotBeShared() throws Exception {
+        Coalescer coalescer = instance(Coalescer.class);
+        RequestHandler requestHandler = requestHandler("hotPage");
+
+        Flight leader = coalescer.join(requestHandler, requestContext("GET", "2"));
+        Flight follower = coalescer.join(requestHandler, requestContext("GET", "2"));
+
+        leader.complete(null);
+
+        assertFalse(follower.replay(new RecordingResponse()));
+    }
+
+    @Test
+    public void testAsyncStreamIsNotShared() throws Exception {
+        StreamingRequestRunner requestRunner = instance(StreamingRequestRunner.class);
+        requestRunner.followerCtx = requestContext("GET", "7");
+
+        requestRunner.process(attributeRequestContext("GET", "7"));
+
+        // The body had not been written when the leader returned, so the follower must execute the request-handler itself.
+        assertNotNull(requestRunner.follower);
+        assertFalse(requestRunner.follower.replay(new RecordingResponse()));
+    }
+
+    @Test
+    public void testKeys() throws Exception {
+        Coalescer coalescer = instance(Coalescer.class);
+        RequestHandler requestHandler = requestHandler("hotPage");
+
+        assertTrue(coalescer.join(requestHandler, requestContext("GET", "3")).isLeader());
+        assertTrue(coalescer.join(requestHandler, requestContext("GET", "4")).isLeader());
+        assertNull(coalescer.join(requestHandler, requestContext("POST", "5")));
+        assertNull(coalescer.join(requestHandler("notCoalesced"), requestContext("GET", "6")));
+    }
+
+    @Test
+    public void testCapturingResponse() throws Exception {
+        StringWriter out = new StringWriter();
+
+        CapturingResponse response = new CapturingResponse(new MockResponse() {
+            @Override
+            public PrintWriter getWriter() throws IOException {
+                return new PrintWriter(out);
+            }
+
+            @Override
+            public String getCharacterEncoding() {
+                return "UTF-8";
+            }
+        }, 1024);
+
+        response.setHeader("Cache-Control", "max-age=10");
+        response.getWriter().print("hello");
+
+        CapturedResponse capturedResponse = response.capture();
+
+        assertEquals("hello", out.toString());
+        assertNotNull(capturedResponse);
+        assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), capturedResponse.body());
+        assertEquals(Collections.singletonList("max-age=10"), capturedResponse.headers().get("Cache-Control"));
+
+        response.sendError(500);
+
+        assertNull(response.capture());
+    }
+
+    @Test
+    public void testCapturingResponseLimit() throws Exception {
+        CapturingResponse response = new CapturingResponse(new RecordingResponse(), 4);
+
+        response.getOutputStream().write("hello".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(response.capture());
+    }
+
+    protected RequestHandler requestHandler(String methodName) throws Exception {
+        return instance(RequestHandler.class).build(Handlers.class, Handlers.class.getMethod(methodName));
+    }
+
+    protected RequestContext requestContext(String method, String id) {
+        Map<String, String[]> params = new HashMap<>();
+        params.put("id", new String[] { id });
+
+        return newRequestContext("/webapp", "/servlet", "/webapp/servlet/hot", method, params);
+    }
+
+    protected RequestContext attributeRequestContext(String method, String id) {
+        Map<String, String[]> params = new HashMap<>();
+        params.put("id", new String[] { id });
+
+        MockRequest request = new MockRequest("/webapp", "/servlet", "/webapp/servlet/hot", method, params) {
+            protected final Map<String, Object> attributes = new HashMap<>();
+
+            @Override
+            public Object getAttribute(String name) {
+                return attributes.get(name);
+            }
+
+            @Override
+            public void setAttribute(String name, Object o) {
+                attributes.put(name, o);
+            }
+        };
+
+        return instance(RequestContext.class).build(request, new MockResponse(), new MockServletContext());
+    }
+
+    public static class Handlers {
+        @Coalesce(params = "id", waitMs = 100)
+        public void hotPage() {
+        }
+
+        public void notCoalesced() {
+        }
+    }
+
+    protected static class RecordingResponse extends MockResponse {
+        protected final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        protected final Map<String, String> headers = new HashMap<>();
+        protected int status;
+
+        @Override
+        public void setStatus(int sc) {
+            status = sc;
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.put(name, value);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    body.write(b);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                }
+            };
+        }
+    }
+
+    /**
+     * Runs the coalesced handler and ends like an asynchronous stream, which returns before the body has been written.
+     */
+    public static class StreamingRequestRunner extends DefaultRequestRunner {
+        protected RequestContext followerCtx;
+        protected Flight follower;
+
+        @Inject
+        public StreamingRequestRunner(CompositeControllerResolver controllerResolver, CompositeHandlerResolver handlerResolver, RequestHandlers requestHandlers, LocaleResolver localeResolver, Interceptors interceptors,
+                MethodParams methodParams, Validator validator, ViewHandler viewHandler) {
+            super(controllerResolver, handlerResolver, requestHandlers, localeResolver, interceptors, methodParams, validator, viewHandler);
+        }
+
+        @Override
+        protected RequestHandler resolveHandler(RequestContext requestCtx) throws HandlerNotFoundException {
+            try {
+                return injector.getInstance(RequestHandler.class).build(Handlers.class, Handlers.class.getMethod("hotPage"));
+            } catch (NoSuchMethodException e) {
+                throw new HandlerNotFoundException();
+            }
+        }
+
+        @Override
+        protected void processLocale(RequestContext requestCtx) {
+        }
+
+        @Override
+        protected void setContextAttributes(RequestContext requestCtx, Errors errors, Notices notices) {
+        }
+
+        @Override
+        protected Result processRequestHandler(RequestHandler requestHandler, RequestContext requestCtx, Errors errors, Notices notices) throws HandlerNotFoundException {
+            follower = coalescer.join(requestHandler, followerCtx);
+            return null;
+        }
+
+        @Override
+        protected void processResult(Result result, RequestHandler requestHandler, RequestContext requestCtx) {
+            requestCtx.setAttribute(GeemvcKey.ASYNC_STREAM, Boolean.TRUE);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.concurrency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.geemvc.concurrency.annotation.Concurrency;
+import com.geemvc.handler.RequestHandler;
+import com.geemvc.test.BaseTest;
+
+public class BulkheadTest extends BaseTest {
+    @Test
+    public void testRejectWithoutQueue() throws Exception {
+        Bulkhead bulkhead = bulkhead("limited");
+
+        assertTrue(bulkhead.acquire());
+        assertFalse(bulkhead.acquire());
+        assertEquals(1, bulkhead.rejected());
+        assertEquals(1, bulkhead.inFlight());
+        assertEquals(5, bulkhead.retryAfterSeconds());
+
+        bulkhead.release(1000);
+
+        assertTrue(bulkhead.acquire());
+    }
+
+    @Test
+    public void testQueuedRequestAcquiresReleasedPermit() throws Exception {
+        Bulkhead bulkhead = bulkhead("queued");
+
+        assertTrue(bulkhead.acquire());
+
+        CountDownLatch waiting = new CountDownLatch(1);
+        AtomicBoolean acquired = new AtomicBoolean();
+
+        Thread thread = new Thread(() -> {
+            waiting.countDown();
+            acquired.set(bulkhead.acquire());
+        });
+        thread.start();
+
+        waiting.await(1, TimeUnit.SECONDS);
+
+        // The second request must not be rejected straight away.
+        Thread.sleep(50);
+        assertEquals(0, bulkhead.rejected());
+
+        bulkhead.release(1000);
+        thread.join(5000);
+
+        assertTrue(acquired.get());
+        assertEquals(0, bulkhead.queued());
+    }
+
+    @Test
+    public void testBulkheadPerHandler() throws Exception {
+        Bulkheads bulkheads = instance(Bulkheads.class);
+
+        RequestHandler limited = instance(RequestHandler.class).build(Handlers.class, Handlers.class.getMethod("limited"));
+        RequestHandler unlimited = instance(RequestHandler.class).build(Handlers.class, Handlers.class.getMethod("unlimited"));
+
+        assertNotNull(bulkheads.get(limited));
+        assertSame(bulkheads.get(limited), bulkheads.get(limited));
+        assertNull(bulkheads.get(unlimited));
+    }
+
+    @Test
+    public void testBulkheadPerController() throws Exception {
+        Bulkheads bulkheads = instance(Bulkheads.class);
+
+        Bulkhead first = bulkheads.get(instance(RequestHandler.class).build(LimitedHandlers.class, LimitedHandlers.class.getMethod("first")));
+        Bulkhead second = bulkheads.get(instance(RequestHandler.class).build(LimitedHandlers.class, LimitedHandlers.class.getMethod("second")));
+        Bulkhead own = bulkheads.get(instance(RequestHandler.class).build(LimitedHandlers.class, LimitedHandlers.class.getMethod("own")));
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertNotNull(own);
+        assertNotSame(first, own);
+    }
+
+    @Test
+    public void testGradientLimitShrinksWithLatency() {
+        GradientLimit gradientLimit = new GradientLimit(100);
+
+        long now = System.nanoTime();
+
+        for (int window = 1; window <= 5; window++) {
+            gradientLimit.sample(1_000_000);
+            now += GradientLimit.WINDOW_NANOS;
+            gradientLimit.update(100, now);
+        }
+
+        assertEquals(100, gradientLimit.limit());
+
+        for (int window = 1; window <= 20; window++) {
+            gradientLimit.sample(10_000_000);
+            now += GradientLimit.WINDOW_NANOS;
+            gradientLimit.update(100, now);
+        }
+
+        assertTrue(gradientLimit.limit() < 50);
+        assertTrue(gradientLimit.limit() >= 1);
+    }
+
+    protected Bulkhead bulkhead(String methodName) throws Exception {
+        return instance(Bulkhead.class).build(Handlers.class.getMethod(methodName).getAnnotation(Concurrency.class));
+    }
+
+    public static class Handlers {
+        @Concurrency(max = 1, retryAfterSeconds = 5)
+        public void limited() {
+        }
+
+        @Concurrency(max = 1, queue = 1, timeoutMs = 5000)
+        public void queued() {
+        }
+
+        public void unlimited() {
+        }
+    }
+
+    @Concurrency(max = 2)
+    public static class LimitedHandlers {
+        public void first() {
+        }
+
+        public void second() {
+        }
+
+        @Concurrency(max = 1)
+        public void own() {
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.geemvc.handler;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Map;
@@ -34,6 +35,26 @@ import com.geemvc.test.BaseTest;
 import com.geemvc.view.bean.Result;
 
 public class InvokeHandlerTest extends BaseTest {
+    @Test
+    public void testResolvedHandlerIsReused() throws Exception {
+        CompositeHandlerResolver compositeHandlerResolver = instance(CompositeHandlerResolver.class);
+        CompositeControllerResolver controllerResolver = instance(CompositeControllerResolver.class);
+
+        RequestContext reqCtx = newRequestContext("/webapp", "/servlet", "/webapp/servlet/controller19/handler19a");
+        RequestHandler requestHandler = compositeHandlerResolver.resolve(reqCtx, controllerResolver.resolve(reqCtx).values());
+
+        RequestContext nextReqCtx = newRequestContext("/webapp", "/servlet", "/webapp/servlet/controller19/handler19a");
+        RequestHandler nextRequestHandler = compositeHandlerResolver.resolve(nextReqCtx, controllerResolver.resolve(nextReqCtx).values());
+
+        assertSame(requestHandler, nextRequestHandler);
+
+        // Handlers built elsewhere for the same method share the bound invoker.
+        DefaultRequestHandler builtHandler = (DefaultRequestHandler) instance(RequestHandler.class).build(TestController19.class, requestHandler.handlerMethod());
+
+        assertSame(((DefaultRequestHandler) requestHandler).invoker, builtHandler.invoker);
+        assertSame(instance(HandlerInvokers.class).controllerProvider(TestController19.class), instance(HandlerInvokers.class).controllerProvider(TestController19.class));
+    }
+
     @Test
     public void testFindController19a() {
         RequestContext reqCtx = newRequestContext("/webapp", "/servlet", "/webapp/servlet/controller19/handler19a");
@@ -17,7 +17,10 @@
 package com.geemvc.handler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -34,6 +37,7 @@ import com.geemvc.converter.SimpleConverter;
 import org.junit.Test;
 
 import com.geemvc.converter.ConverterAdapterFactory;
+import com.geemvc.converter.DefaultSimpleConverter;
 import com.geemvc.converter.adapter.ByteArrayConverterAdapter;
 import com.geemvc.converter.adapter.CharArrayConverterAdapter;
 import com.geemvc.converter.adapter.CollectionConverterAdapter;
@@ -45,6 +49,9 @@ import com.geemvc.converter.adapter.MapConverterAdapter;
 import com.geemvc.converter.adapter.ShortArrayConverterAdapter;
 import com.geemvc.mock.Id;
 import com.geemvc.mock.bean.RootBean;
+import com.geemvc.mock.type.FromStringType;
+import com.geemvc.mock.type.StringConstructorType;
+import com.geemvc.mock.type.ValueOfType;
 import com.geemvc.test.BaseTest;
 
 public class TypeConversionTest extends BaseTest {
@@ -331,4 +338,36 @@ public class TypeConversionTest extends BaseTest {
         } catch (NoSuchFieldException | SecurityException e) {
         }
     }
+
+    @Test
+    public void testSimpleConverterStrategies() {
+        SimpleConverter converter = instance(SimpleConverter.class);
+
+        assertTrue(converter.canConvert(ValueOfType.class));
+        assertTrue(converter.canConvert(FromStringType.class));
+        assertTrue(converter.canConvert(StringConstructorType.class));
+        assertFalse(converter.canConvert(RootBean.class));
+
+        assertEquals(ValueOfType.valueOf("abc"), converter.fromString("abc", ValueOfType.class));
+        assertEquals(FromStringType.fromString("abc"), converter.fromString("abc", FromStringType.class));
+        assertEquals(new StringConstructorType("abc"), converter.fromString("abc", StringConstructorType.class));
+        assertNull(converter.fromString("abc", RootBean.class));
+
+        // Exceptions thrown by the conversion method result in null.
+        assertNull(converter.fromString("abc", Locale.Category.class));
+    }
+
+    @Test
+    public void testSimpleConverterStrategyHooks() {
+        SimpleConverter converter = new DefaultSimpleConverter() {
+            @Override
+            protected boolean hasValueOfMethod(Class<?> clazz) {
+                return false;
+            }
+        };
+
+        assertFalse(converter.canConvert(ValueOfType.class));
+        assertNull(converter.fromString("abc", ValueOfType.class));
+        assertEquals(new StringConstructorType("abc"), converter.fromString("abc", StringConstructorType.class));
+    }
 }
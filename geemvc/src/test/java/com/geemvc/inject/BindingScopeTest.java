@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.geemvc.inject;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.geemvc.RequestRunner;
+import com.geemvc.bind.MethodParams;
+import com.geemvc.bind.param.ParamAdapterFactory;
+import com.geemvc.bind.param.ParamAdapters;
+import com.geemvc.converter.SimpleConverter;
+import com.geemvc.data.DataAdapterFactory;
+import com.geemvc.handler.RequestHandlers;
+import com.geemvc.helper.Paths;
+import com.geemvc.intercept.InterceptorResolver;
+import com.geemvc.intercept.Interceptors;
+import com.geemvc.reflect.ReflectionProvider;
+import com.geemvc.test.BaseTest;
+import com.geemvc.validation.ValidationAdapterFactory;
+import com.geemvc.validation.Validations;
+import com.geemvc.validation.Validator;
+import com.geemvc.view.StreamViewHandler;
+import com.geemvc.view.ViewHandler;
+import com.geemvc.view.binding.BindingResolver;
+import com.google.inject.Scopes;
+
+public class BindingScopeTest extends BaseTest {
+    protected static final Class<?>[] HOT_PATH_SERVICES = {
+            RequestRunner.class, MethodParams.class, ParamAdapters.class, ParamAdapterFactory.class, SimpleConverter.class, DataAdapterFactory.class,
+            RequestHandlers.class, Paths.class, Interceptors.class, InterceptorResolver.class, ReflectionProvider.class, Validator.class, Validations.class,
+            ValidationAdapterFactory.class, ViewHandler.class, StreamViewHandler.class, BindingResolver.class };
+
+    @Test
+    public void testHotPathBindingsAreSingletons() {
+        for (Class<?> type : HOT_PATH_SERVICES) {
+            assertTrue("Binding for " + type.getName() + " should be singleton-scoped", Scopes.isSingleton(injector.getBinding(type)));
+        }
+    }
+
+    @Test
+    public void testRequestRunnerGraphIsReused() {
+        RequestRunner requestRunner = instance(RequestRunner.class);
+
+        assertSame(requestRunner, instance(RequestRunner.class));
+        assertSame(instance(ViewHandler.class), instance(ViewHandler.class));
+        assertSame(instance(MethodParams.class), instance(MethodParams.class));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.geemvc.inject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+
+import org.junit.Test;
+
+import com.geemvc.i18n.notice.DefaultNotices;
+import com.geemvc.i18n.notice.Notices;
+import com.geemvc.matcher.DefaultMatcherContext;
+import com.geemvc.matcher.MatcherContext;
+import com.geemvc.test.BaseTest;
+import com.geemvc.validation.DefaultErrors;
+import com.geemvc.validation.Errors;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+
+public class InstanceFactoryTest extends BaseTest {
+    @Test
+    public void testCreateDefaultInstances() {
+        InstanceFactory instanceFactory = instance(InstanceFactory.class);
+
+        Errors errors = instanceFactory.create(Errors.class);
+        MatcherContext matcherCtx = instanceFactory.create(MatcherContext.class);
+
+        assertEquals(DefaultErrors.class, errors.getClass());
+        assertEquals(DefaultMatcherContext.class, matcherCtx.getClass());
+        assertNotSame(errors, instanceFactory.create(Errors.class));
+
+        errors.add("field", "message");
+        assertFalse(errors.isEmpty());
+    }
+
+    @Test
+    public void testFallbackToGuiceForReboundTypes() {
+        Injector customInjector = Guice.createInjector(Modules.override(new GeeMvcModule()).with(binder -> binder.bind(Notices.class).to(CustomNotices.class)));
+
+        InstanceFactory instanceFactory = customInjector.getInstance(InstanceFactory.class);
+
+        assertEquals(CustomNotices.class, instanceFactory.create(Notices.class).getClass());
+        assertEquals(DefaultErrors.class, instanceFactory.create(Errors.class).getClass());
+    }
+
+    public static class CustomNotices extends DefaultNotices {
+    }
+}
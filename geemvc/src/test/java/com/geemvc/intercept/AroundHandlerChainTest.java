@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.geemvc.intercept;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.geemvc.handler.RequestHandler;
+import com.geemvc.mock.controller.TestController19;
+import com.geemvc.test.BaseTest;
+
+public class AroundHandlerChainTest extends BaseTest {
+    @Test
+    public void testProceedInOrder() throws Exception {
+        List<String> calls = new ArrayList<>();
+
+        AroundHandlerChain chain = instance(AroundHandlerChain.class).build(Arrays.asList(recording("first", calls), recording("second", calls)));
+
+        Object result = chain.proceed(requestHandler(), null, null, null, null);
+
+        assertEquals("target", result);
+        assertEquals(Arrays.asList("first", "second"), calls);
+    }
+
+    @Test
+    public void testProceedIsReusable() throws Exception {
+        List<String> calls = new ArrayList<>();
+
+        AroundHandler twice = invocationCtx -> {
+            invocationCtx.proceed();
+            return invocationCtx.proceed();
+        };
+
+        AroundHandlerChain chain = instance(AroundHandlerChain.class).build(Arrays.asList(twice, recording("inner", calls)));
+
+        assertEquals("target", chain.proceed(requestHandler(), null, null, null, null));
+        assertEquals(Arrays.asList("inner", "inner"), calls);
+    }
+
+    @Test
+    public void testExceptionIsRethrown() throws Exception {
+        List<String> calls = new ArrayList<>();
+
+        AroundHandler recovering = invocationCtx -> {
+            try {
+                return invocationCtx.proceed();
+            } catch (IllegalStateException e) {
+                calls.add("recovered");
+                return "recovered";
+            }
+        };
+
+        AroundHandlerChain chain = instance(AroundHandlerChain.class).build(Arrays.asList(recovering, recording("inner", calls)));
+
+        assertEquals("recovered", chain.proceed(requestHandler("fail"), null, null, null, null));
+        assertEquals(Arrays.asList("inner", "recovered"), calls);
+
+        AroundHandler failing = invocationCtx -> {
+            throw new UnsupportedOperationException("around");
+        };
+
+        try {
+            instance(AroundHandlerChain.class).build(Arrays.asList(recording("outer", calls), failing)).proceed(requestHandler(), null, null, null, null);
+            fail("The exception of the around handler should have been rethrown");
+        } catch (UnsupportedOperationException e) {
+            assertEquals("around", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testEmptyChain() {
+        assertTrue(instance(AroundHandlerChain.class).build(null).isEmpty());
+    }
+
+    @Test
+    public void testChainIsSharedByHandlerMethod() throws Exception {
+        Method handlerMethod = TestController19.class.getMethod("handler19a");
+
+        RequestHandler requestHandler1 = instance(RequestHandler.class).build(TestController19.class, handlerMethod);
+        RequestHandler requestHandler2 = instance(RequestHandler.class).build(TestController19.class, handlerMethod);
+
+        InterceptorResolver interceptorResolver = instance(InterceptorResolver.class);
+
+        assertSame(interceptorResolver.resolveAroundHandlerChain(requestHandler1), interceptorResolver.resolveAroundHandlerChain(requestHandler2));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testInvocationContextIsBound() {
+        assertTrue(instance(InvocationContext.class) instanceof DefaultInvocationContext);
+    }
+
+    protected AroundHandler recording(String name, List<String> calls) {
+        return invocationCtx -> {
+            calls.add(name);
+            return invocationCtx.proceed();
+        };
+    }
+
+    protected RequestHandler requestHandler() throws Exception {
+        return requestHandler("handle");
+    }
+
+    protected RequestHandler requestHandler(String methodName) throws Exception {
+        return instance(RequestHandler.class).build(TargetController.class, TargetController.class.getMethod(methodName));
+    }
+
+    public static class TargetController {
+        public String handle() {
+            return "target";
+        }
+
+        public String fail() {
+            throw new IllegalStateException("target");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.geemvc.intercept;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.geemvc.handler.RequestHandler;
+import com.geemvc.intercept.annotation.PostView;
+import com.geemvc.intercept.annotation.PreBinding;
+import com.geemvc.mock.controller.TestController19;
+import com.geemvc.test.BaseTest;
+
+public class LifecyclePlanTest extends BaseTest {
+    @Test
+    public void testDecodeConditions() throws Exception {
+        LifecycleInterceptor lifecycleInterceptor = lifecycleInterceptor("onErrors");
+
+        assertEquals(LifecycleConditions.HAS_ERRORS | LifecycleConditions.VIEW_NOT_EXISTS | LifecycleConditions.VIEW_EXISTS, lifecycleInterceptor.conditions());
+        assertTrue(LifecycleConditions.matches(lifecycleInterceptor.conditions(), LifecycleConditions.HAS_ERRORS | LifecycleConditions.VIEW_EXISTS));
+        assertFalse(LifecycleConditions.matches(lifecycleInterceptor.conditions(), LifecycleConditions.NO_ERRORS | LifecycleConditions.VIEW_EXISTS));
+
+        LifecycleInterceptor defaultInterceptor = lifecycleInterceptor("byDefault");
+
+        assertTrue(LifecycleConditions.matches(defaultInterceptor.conditions(), LifecycleConditions.HAS_ERRORS | LifecycleConditions.VIEW_NOT_EXISTS));
+        assertFalse(LifecycleConditions.matches(defaultInterceptor.conditions(), LifecycleConditions.NO_ERRORS | LifecycleConditions.VIEW_EXISTS));
+    }
+
+    @Test
+    public void testPlanStages() throws Exception {
+        LifecycleInterceptor lifecycleInterceptor = lifecycleInterceptor("byDefault");
+
+        LifecyclePlan lifecyclePlan = instance(LifecyclePlan.class).build(stage -> stage == PreBinding.class ? Collections.singleton(lifecycleInterceptor) : null);
+
+        assertFalse(lifecyclePlan.isEmpty());
+        assertEquals(1, lifecyclePlan.interceptors(PreBinding.class).length);
+        assertEquals(0, lifecyclePlan.interceptors(PostView.class).length);
+
+        assertTrue(instance(LifecyclePlan.class).build(stage -> null).isEmpty());
+    }
+
+    @Test
+    public void testPlanIsSharedByHandlerMethod() throws Exception {
+        Method handlerMethod = TestController19.class.getMethod("handler19a");
+
+        RequestHandler requestHandler1 = instance(RequestHandler.class).build(TestController19.class, handlerMethod);
+        RequestHandler requestHandler2 = instance(RequestHandler.class).build(TestController19.class, handlerMethod);
+
+        InterceptorResolver interceptorResolver = instance(InterceptorResolver.class);
+
+        assertSame(interceptorResolver.resolveLifecyclePlan(requestHandler1), interceptorResolver.resolveLifecyclePlan(requestHandler2));
+    }
+
+    protected LifecycleInterceptor lifecycleInterceptor(String methodName) throws Exception {
+        Method method = LifecycleMethods.class.getDeclaredMethod(methodName);
+        return instance(LifecycleInterceptor.class).build(method.getAnnotation(PreBinding.class), method);
+    }
+
+    public static class LifecycleMethods {
+        @PreBinding(when = When.HAS_ERRORS, onView = OnView.ALWAYS)
+        public void onErrors() {
+        }
+
+        @PreBinding
+        public void byDefault() {
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.geemvc.AsyncCompletionListener;
+import com.geemvc.admission.AdmissionController;
+import com.geemvc.cache.Cache;
+import com.geemvc.coalesce.Coalescer;
+import com.geemvc.handler.CompositeControllerResolver;
+import com.geemvc.intercept.annotation.PostView;
+import com.geemvc.intercept.annotation.PreHandle;
+import com.geemvc.reflect.ReflectionProvider;
+import com.geemvc.test.BaseTest;
+
+public class RequestMetricsTest extends BaseTest {
+    @Test
+    public void testDefaultMetricsDisabled() {
+        RequestMetrics requestMetrics = instance(RequestMetrics.class);
+
+        assertFalse(requestMetrics.isEnabled());
+        assertEquals(0, requestMetrics.start());
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(1000000, histogram.max());
+        assertEquals(500500, histogram.mean());
+
+        long p50 = histogram.percentile(0.5);
+        long p99 = histogram.percentile(0.99);
+
+        assertTrue(p50 >= 500000 && p50 <= 500000 * 1.25);
+        assertTrue(p99 >= 990000 && p99 <= 1000000);
+        assertEquals(1000000, histogram.percentile(1.0));
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        for (long value = 0; value < 100000; value++) {
+            int bucket = LatencyHistogram.bucket(value);
+
+            assertTrue(LatencyHistogram.upperBound(bucket) >= value);
+            assertTrue(bucket == 0 || LatencyHistogram.upperBound(bucket - 1) < value);
+        }
+
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucket(LatencyHistogram.MAX_VALUE));
+    }
+
+    @Test
+    public void testHistogramRequestMetrics() {
+        HistogramRequestMetrics requestMetrics = new HistogramRequestMetrics();
+
+        long startNanos = requestMetrics.begin();
+        assertEquals(1, requestMetrics.inFlight());
+        requestMetrics.end(null, startNanos, false);
+
+        requestMetrics.end(null, requestMetrics.begin(), true);
+        requestMetrics.stop(Stage.RESOLVE, null, 0);
+
+        HistogramRequestMetrics.HandlerMetrics handlerMetrics = requestMetrics.handlerMetrics().get("-");
+
+        assertEquals("-", handlerMetrics.name());
+        assertEquals(2, handlerMetrics.count());
+        assertEquals(1, handlerMetrics.errors());
+        assertEquals(0, requestMetrics.inFlight());
+        assertEquals(0, handlerMetrics.histogram(Stage.RESOLVE).count());
+    }
+
+    @Test
+    public void testStripedHistogram() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram(4);
+
+        Thread[] threads = new Thread[8];
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    histogram.record(100);
+                }
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8000, histogram.count());
+        assertEquals(100, histogram.percentile(0.999));
+    }
+
+    @Test
+    public void testEndpointOutput() {
+        HistogramRequestMetrics requestMetrics = new HistogramRequestMetrics();
+        requestMetrics.end(null, requestMetrics.begin(), false);
+
+        DefaultMetricsEndpoint endpoint = new DefaultMetricsEndpoint(requestMetrics, instance(Cache.class), instance(CompositeControllerResolver.class), instance(ReflectionProvider.class), instance(Coalescer.class), instance(AdmissionController.class));
+
+        StringWriter json = new StringWriter();
+        endpoint.writeJson(requestMetrics, new PrintWriter(json));
+
+        assertTrue(json.toString().startsWith("{\"inFlight\":0,\"routes\":"));
+        assertTrue(json.toString().contains("{\"handler\":\"-\",\"count\":1,\"errors\":0,\"inFlight\":0,\"latencyMicros\":{\"count\":1,"));
+
+        StringWriter prometheus = new StringWriter();
+        endpoint.writePrometheus(requestMetrics, new PrintWriter(prometheus));
+
+        assertTrue(prometheus.toString().contains("geemvc_requests_in_flight 0\n"));
+        assertTrue(prometheus.toString().contains("geemvc_request_duration_seconds_count{handler=\"-\"} 1\n"));
+        assertTrue(prometheus.toString().contains("geemvc_request_duration_seconds{handler=\"-\",quantile=\"0.999\"} "));
+    }
+
+    @Test
+    public void testLifecycleStages() {
+        assertEquals(Stage.PRE_HANDLE, Stage.of(PreHandle.class));
+        assertEquals(Stage.POST_VIEW, Stage.of(PostView.class));
+    }
+
+    @Test
+    public void testAsyncCompletionListener() throws Exception {
+        List<Boolean> runs = new ArrayList<>();
+
+        AsyncCompletionListener listener = new AsyncCompletionListener(runs::add);
+        listener.onTimeout(null);
+        listener.onComplete(null);
+
+        // The request is only ended once, as failed.
+        assertEquals(Collections.singletonList(true), runs);
+    }
+}
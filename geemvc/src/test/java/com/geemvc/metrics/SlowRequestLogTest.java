@@ -0,0 +1,256 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.geemvc.ThreadStash;
+import com.geemvc.handler.RequestHandler;
+import com.geemvc.mock.servlet.MockResponse;
+import com.geemvc.test.BaseTest;
+
+public class SlowRequestLogTest extends BaseTest {
+    @Test
+    public void testRateLimit() {
+        DefaultSlowRequestLog slowRequestLog = new DefaultSlowRequestLog(1.0, 3, 10);
+
+        int sampled = 0;
+
+        for (int i = 0; i < 10; i++) {
+            if (slowRequestLog.isSampled())
+                sampled++;
+        }
+
+        // All calls happen within the same second unless we hit a second boundary.
+        assertTrue(sampled >= 3 && sampled <= 6);
+        assertTrue(slowRequestLog.dropped() >= 4);
+    }
+
+    @Test
+    public void testSampleRate() {
+        DefaultSlowRequestLog slowRequestLog = new DefaultSlowRequestLog(0.0, 100, 10);
+
+        assertFalse(slowRequestLog.isSampled());
+    }
+
+    @Test
+    public void testCloseStopsWriter() throws Exception {
+        DefaultSlowRequestLog slowRequestLog = new DefaultSlowRequestLog(1.0, 10, 10);
+        injector.injectMembers(slowRequestLog);
+
+        slowRequestLog.log(record());
+
+        Thread writer = slowRequestLog.writer;
+        assertNotNull(writer);
+
+        slowRequestLog.close();
+
+        assertFalse(writer.isAlive());
+        assertTrue(slowRequestLog.queue.isEmpty());
+
+        // Records logged after closing are dropped instead of starting a new writer.
+        slowRequestLog.log(record());
+
+        assertEquals(1, slowRequestLog.dropped());
+        assertTrue(slowRequestLog.queue.isEmpty());
+        assertSame(writer, slowRequestLog.writer);
+    }
+
+    @Test
+    public void testSlowRequestRecorded() {
+        CapturingSlowRequestLog slowRequestLog = new CapturingSlowRequestLog();
+        TracingRequestMetrics requestMetrics = new TracingRequestMetrics(new NoopRequestMetrics(), slowRequestLog, 1);
+
+        try {
+            long startNanos = requestMetrics.begin();
+            requestMetrics.stop(Stage.BINDING, null, requestMetrics.start() - 1_000_000);
+            requestMetrics.end(null, startNanos - 5_000_000, false);
+        } finally {
+            ThreadStash.cleanup();
+        }
+
+        assertEquals(1, slowRequestLog.records.size());
+
+        SlowRequestRecord record = slowRequestLog.records.get(0);
+
+        assertTrue(record.totalNanos() >= 5_000_000);
+        assertTrue(record.stageNanos(Stage.BINDING) >= 1_000_000);
+        assertEquals(0, record.stageNanos(Stage.VALIDATION));
+        assertTrue(record.toString().contains(" binding="));
+    }
+
+    @Test
+    public void testFastRequestNotRecorded() {
+        CapturingSlowRequestLog slowRequestLog = new CapturingSlowRequestLog();
+        TracingRequestMetrics requestMetrics = new TracingRequestMetrics(new NoopRequestMetrics(), slowRequestLog, 10_000);
+
+        try {
+            requestMetrics.end(null, requestMetrics.begin(), false);
+        } finally {
+            ThreadStash.cleanup();
+        }
+
+        assertTrue(slowRequestLog.records.isEmpty());
+    }
+
+    @Test
+    public void testHandlerThresholdWithoutGlobalThreshold() throws Exception {
+        CapturingSlowRequestLog slowRequestLog = new CapturingSlowRequestLog();
+
+        TracingRequestMetrics requestMetrics = new TracingRequestMetrics(new NoopRequestMetrics(), slowRequestLog, 0) {
+            @Override
+            protected boolean hasSlowRequestHandlers() {
+                return true;
+            }
+
+            @Override
+            protected long resolveThresholdNanos(Method handlerMethod) {
+                return "slow".equals(handlerMethod.getName()) ? 1_000_000 : super.resolveThresholdNanos(handlerMethod);
+            }
+        };
+
+        assertTrue(requestMetrics.isEnabled());
+        assertTrue(requestMetrics.isResponseSizeTracked());
+
+        try {
+            requestMetrics.end(requestHandler("slow"), requestMetrics.begin() - 5_000_000, false);
+            requestMetrics.end(requestHandler("fast"), requestMetrics.begin() - 5_000_000, false);
+        } finally {
+            ThreadStash.cleanup();
+        }
+
+        assertEquals(1, slowRequestLog.records.size());
+        assertEquals(TracedController.class.getName() + ".slow", slowRequestLog.records.get(0).handler());
+    }
+
+    @Test
+    public void testNotTracedWithoutThreshold() {
+        CapturingSlowRequestLog slowRequestLog = new CapturingSlowRequestLog();
+        TracingRequestMetrics requestMetrics = new TracingRequestMetrics(new NoopRequestMetrics(), slowRequestLog, 0);
+
+        assertFalse(requestMetrics.isEnabled());
+        assertFalse(requestMetrics.isResponseSizeTracked());
+        assertEquals(0, requestMetrics.begin());
+        assertNull(ThreadStash.get(RequestTrace.class));
+    }
+
+    @Test
+    public void testRecordToString() {
+        long[] stageNanos = new long[Stage.values().length];
+        stageNanos[Stage.HANDLER.ordinal()] = 2_500_000;
+
+        SlowRequestRecord record = new SlowRequestRecord(Instant.EPOCH, "GET", "/test", "TestController.handle", "main", 200, 3_000_000, stageNanos, 2, 1, "view", 42);
+
+        assertEquals("Slow request: GET /test took 3.0ms [time=1970-01-01T00:00:00Z, handler=TestController.handle, status=200, boundParameters=2, validationErrors=1, view=view, responseSize=42, thread=main] stages: handler=2.5ms",
+                record.toString());
+    }
+
+    @Test
+    public void testCountingResponse() throws IOException {
+        StringWriter out = new StringWriter();
+
+        CountingResponse response = new CountingResponse(new MockResponse() {
+            @Override
+            public PrintWriter getWriter() throws IOException {
+                return new PrintWriter(out);
+            }
+        });
+
+        response.getWriter().print("hello");
+        response.getWriter().write("!!", 0, 2);
+        response.getWriter().flush();
+
+        assertEquals(7, response.size());
+        assertEquals("hello!!", out.toString());
+        assertNull(response.getOutputStream());
+        assertNotNull(response.getWriter());
+    }
+
+    @Test
+    public void testCountingResponseCountsEncodedBytes() throws IOException {
+        StringWriter out = new StringWriter();
+
+        CountingResponse response = new CountingResponse(new MockResponse() {
+            @Override
+            public PrintWriter getWriter() throws IOException {
+                return new PrintWriter(out);
+            }
+
+            @Override
+            public String getCharacterEncoding() {
+                return "UTF-8";
+            }
+        });
+
+        // 1 + 2 + 3 + 4 bytes.
+        response.getWriter().print("a\u00e9\u20ac\ud83d\ude00");
+        response.getWriter().write('\u00e9');
+
+        assertEquals(12, response.size());
+        assertEquals(5, CountingResponse.byteLength(StandardCharsets.UTF_16BE, "\u00e9\u20ac", 1, 2) + CountingResponse.byteLength(StandardCharsets.ISO_8859_1, "abc", 0, 3));
+    }
+
+    protected RequestHandler requestHandler(String methodName) throws Exception {
+        return instance(RequestHandler.class).build(TracedController.class, TracedController.class.getMethod(methodName));
+    }
+
+    protected SlowRequestRecord record() {
+        return new SlowRequestRecord(Instant.EPOCH, "GET", "/test", "TestController.handle", "main", 200, 3_000_000, new long[Stage.values().length], 0, 0, "view", 0);
+    }
+
+    public static class TracedController {
+        public void slow() {
+        }
+
+        public void fast() {
+        }
+    }
+
+    protected static class CapturingSlowRequestLog implements SlowRequestLog {
+        protected final List<SlowRequestRecord> records = new ArrayList<>();
+
+        @Override
+        public boolean isSampled() {
+            return true;
+        }
+
+        @Override
+        public void log(SlowRequestRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public long dropped() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.multipart;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Test;
+
+import com.geemvc.DefaultRequestRunner;
+import com.geemvc.RequestContext;
+import com.geemvc.bind.MethodParams;
+import com.geemvc.handler.CompositeControllerResolver;
+import com.geemvc.handler.CompositeHandlerResolver;
+import com.geemvc.handler.HandlerNotFoundException;
+import com.geemvc.handler.RequestHandler;
+import com.geemvc.handler.RequestHandlers;
+import com.geemvc.i18n.locale.LocaleResolver;
+import com.geemvc.intercept.Interceptors;
+import com.geemvc.mock.servlet.MockRequest;
+import com.geemvc.mock.servlet.MockResponse;
+import com.geemvc.mock.servlet.MockServletContext;
+import com.geemvc.test.BaseTest;
+import com.geemvc.validation.Validator;
+import com.geemvc.view.ViewHandler;
+import com.google.inject.Inject;
+
+public class MultipartParserTest extends BaseTest {
+    protected static final String BOUNDARY = "----geemvcBoundary7MA4YWxk";
+
+    @Test
+    public void testFieldsAndFiles() throws IOException {
+        // Contains the start of a boundary to make sure partial matches are kept in the content.
+        byte[] smallFile = "first line\r\n------geemvcBound\r\nlast line".getBytes(StandardCharsets.UTF_8);
+        byte[] largeFile = new byte[100 * 1024];
+        Arrays.fill(largeFile, (byte) 'x');
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        field(body, "title", "Some title");
+        file(body, "attachment", "C:\\docs\\small.txt", smallFile);
+        file(body, "attachment", "large.bin", largeFile);
+        field(body, "comment", "Sent after the files");
+        body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+
+        RequestContext requestCtx = newMultipartRequestContext(body.toByteArray());
+
+        Map<String, String[]> parameterMap = requestCtx.getParameterMap();
+        assertArrayEquals(new String[] { "Some title" }, parameterMap.get("title"));
+        assertArrayEquals(new String[] { "Sent after the files" }, parameterMap.get("comment"));
+
+        Multipart multipart = requestCtx.multipart();
+        assertEquals(2, multipart.parts("attachment").size());
+
+        FilePart small = multipart.part("attachment");
+        assertEquals("small.txt", small.fileName());
+        assertEquals("text/plain", small.contentType());
+        assertTrue(small.isInMemory());
+        assertArrayEquals(smallFile, read(small.getInputStream()));
+
+        FilePart large = multipart.parts("attachment").get(1);
+        assertFalse(large.isInMemory());
+        assertNotNull(large.file());
+        assertEquals(largeFile.length, large.size());
+        assertArrayEquals(largeFile, read(large.getInputStream()));
+
+        multipart.cleanup();
+        assertFalse(large.file().exists());
+    }
+
+    @Test
+    public void testMemoryThresholdPerRequest() throws IOException {
+        byte[] content = new byte[30 * 1024];
+        Arrays.fill(content, (byte) 'x');
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        file(body, "attachment", "first.bin", content);
+        file(body, "attachment", "second.bin", content);
+        file(body, "attachment", "third.bin", content);
+        body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+
+        Multipart multipart = newMultipartRequestContext(body.toByteArray()).multipart();
+
+        // Only the first two files fit into the 64 KB that a request may keep in memory.
+        assertTrue(multipart.parts().get(0).isInMemory());
+        assertTrue(multipart.parts().get(1).isInMemory());
+        assertFalse(multipart.parts().get(2).isInMemory());
+        assertArrayEquals(content, read(multipart.parts().get(2).getInputStream()));
+
+        multipart.cleanup();
+    }
+
+    @Test(expected = MultipartException.class)
+    public void testMaxParts() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        for (int i = 0; i <= 1000; i++) {
+            field(body, "field" + i, "x");
+        }
+
+        body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+
+        newMultipartRequestContext(body.toByteArray()).multipart();
+    }
+
+    @Test(expected = MultipartException.class)
+    public void testMaxFieldSize() throws IOException {
+        char[] value = new char[1024 * 1024 + 1];
+        Arrays.fill(value, 'x');
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        field(body, "title", new String(value));
+        body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+
+        newMultipartRequestContext(body.toByteArray()).multipart();
+    }
+
+    @Test
+    public void testRejectedRequests() throws Exception {
+        char[] value = new char[1024 * 1024 + 1];
+        Arrays.fill(value, 'x');
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        field(body, "title", new String(value));
+        body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+
+        assertEquals(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, process(body.toByteArray()));
+
+        // The closing boundary is missing.
+        body = new ByteArrayOutputStream();
+        field(body, "title", "Some title");
+
+        assertEquals(HttpServletResponse.SC_BAD_REQUEST, process(body.toByteArray()));
+    }
+
+    @Test
+    public void testNotMultipart() {
+        RequestContext requestCtx = newRequestContext("/webapp", "/servlet", "/webapp/servlet/upload");
+
+        assertNull(requestCtx.multipart());
+    }
+
+    protected int process(byte[] body) throws Exception {
+        RequestContext requestCtx = newMultipartRequestContext(body);
+
+        int[] status = new int[1];
+
+        requestCtx.response(new MockResponse() {
+            @Override
+            public void sendError(int sc, String msg) throws IOException {
+                status[0] = sc;
+            }
+        });
+
+        instance(ParamsRequestRunner.class).process(requestCtx);
+
+        return status[0];
+    }
+
+    protected RequestContext newMultipartRequestContext(byte[] body) {
+        Map<String, String[]> headers = new HashMap<>();
+        headers.put("Content-Type", new String[] { "multipart/form-data; boundary=" + BOUNDARY });
+
+        MockRequest request = new MockRequest("/webapp", "/servlet", "/webapp/servlet/upload", "POST", new HashMap<>(), headers) {
+            protected final Map<String, Object> attributes = new LinkedHashMap<>();
+
+            @Override
+            public Object getAttribute(String name) {
+                return attributes.get(name);
+            }
+
+            @Override
+            public void setAttribute(String name, Object o) {
+                attributes.put(name, o);
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return body.length;
+            }
+
+            @Override
+            public ServletInputStream getInputStream() throws IOException {
+                return new BodyInputStream(new ByteArrayInputStream(body));
+            }
+        };
+
+        return instance(RequestContext.class).build(request, new MockResponse(), new MockServletContext());
+    }
+
+    protected void field(ByteArrayOutputStream body, String name, String value) throws IOException {
+        body.write(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected void file(ByteArrayOutputStream body, String name, String fileName, byte[] content) throws IOException {
+        body.write(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\nContent-Type: text/plain\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(content);
+        body.write("\r\n".getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    protected byte[] read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+
+        try (InputStream is = in) {
+            while ((n = is.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    protected static class BodyInputStream extends ServletInputStream {
+        protected final InputStream in;
+
+        protected BodyInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return in.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return false;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+        }
+    }
+
+    /**
+     * Reads the request parameters while resolving the request handler, like a parameter matcher would.
+     */
+    public static class ParamsRequestRunner extends DefaultRequestRunner {
+        @Inject
+        public ParamsRequestRunner(CompositeControllerResolver controllerResolver, CompositeHandlerResolver handlerResolver, RequestHandlers requestHandlers, LocaleResolver localeResolver, Interceptors interceptors,
+                MethodParams methodParams, Validator validator, ViewHandler viewHandler) {
+            super(controllerResolver, handlerResolver, requestHandlers, localeResolver, interceptors, methodParams, validator, viewHandler);
+        }
+
+        @Override
+        protected RequestHandler resolveHandler(RequestContext requestCtx) throws HandlerNotFoundException {
+            requestCtx.getParameterMap();
+            throw new HandlerNotFoundException();
+        }
+    }
+}
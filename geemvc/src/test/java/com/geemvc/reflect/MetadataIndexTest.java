@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.reflect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reflections.Reflections;
+import org.reflections.util.ConfigurationBuilder;
+
+import com.geemvc.annotation.Controller;
+import com.geemvc.annotation.Request;
+import com.geemvc.test.BaseTest;
+
+public class MetadataIndexTest extends BaseTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testLocateAndRead() throws Exception {
+        File classesDir = tempFolder.newFolder();
+        File indexFile = new File(classesDir, MetadataIndex.LOCATION);
+        indexFile.getParentFile().mkdirs();
+
+        String indexedController = IndexedController.class.getName();
+
+        Files.write(indexFile.toPath(), Arrays.asList( //
+                "# geeMVC metadata index.", //
+                "T com.geemvc.annotation.Controller " + indexedController, //
+                "T com.geemvc.annotation.Controller com.example.DoesNotExist", //
+                "M com.geemvc.annotation.Request " + indexedController + " list ", //
+                "M com.geemvc.annotation.Request " + indexedController + " show long,java.lang.String[],java.util.Map"), StandardCharsets.UTF_8);
+
+        URL indexUrl = MetadataIndex.locate(classesDir.toURI().toURL());
+
+        assertNotNull(indexUrl);
+
+        MetadataIndex index = new MetadataIndex(getClass().getClassLoader()).read(indexUrl);
+
+        assertEquals(Collections.singleton(IndexedController.class), index.getTypesAnnotatedWith(Controller.class));
+        assertTrue(index.getTypesAnnotatedWith(Request.class).isEmpty());
+
+        Method list = IndexedController.class.getDeclaredMethod("list");
+        Method show = IndexedController.class.getDeclaredMethod("show", long.class, String[].class, Map.class);
+
+        assertEquals(2, index.getMethodsAnnotatedWith(Request.class).size());
+        assertTrue(index.getMethodsAnnotatedWith(Request.class).containsAll(Arrays.asList(list, show)));
+    }
+
+    @Test
+    public void testLocateWithoutIndex() throws Exception {
+        File classesDir = tempFolder.newFolder();
+
+        assertNull(MetadataIndex.locate(classesDir.toURI().toURL()));
+    }
+
+    @Test
+    public void testWrapperMergesIndex() throws Exception {
+        File classesDir = tempFolder.newFolder();
+        File indexFile = new File(classesDir, MetadataIndex.LOCATION);
+        indexFile.getParentFile().mkdirs();
+
+        String annotatedController = AnnotatedController.class.getName();
+
+        Files.write(indexFile.toPath(), Arrays.asList( //
+                "T com.geemvc.annotation.Request " + annotatedController, //
+                "M com.geemvc.annotation.Request " + annotatedController + " list ", //
+                "M com.geemvc.annotation.Request " + annotatedController + " show "), StandardCharsets.UTF_8);
+
+        DefaultReflectionsWrapper reflectionsWrapper = new DefaultReflectionsWrapper();
+        reflectionsWrapper.reflections = new Reflections(new ConfigurationBuilder());
+        reflectionsWrapper.index = new MetadataIndex(getClass().getClassLoader()).read(MetadataIndex.locate(classesDir.toURI().toURL()));
+
+        Request typeRequest = AnnotatedController.class.getAnnotation(Request.class);
+        Request listRequest = AnnotatedController.class.getDeclaredMethod("list").getAnnotation(Request.class);
+
+        assertEquals(Collections.singleton(AnnotatedController.class), reflectionsWrapper.getTypesAnnotatedWith(Request.class));
+        assertEquals(Collections.singleton(AnnotatedController.class), reflectionsWrapper.getTypesAnnotatedWith(typeRequest));
+        assertTrue(reflectionsWrapper.getTypesAnnotatedWith(listRequest).isEmpty());
+
+        assertEquals(2, reflectionsWrapper.getMethodsAnnotatedWith(Request.class).size());
+        assertEquals(Collections.singleton(AnnotatedController.class.getDeclaredMethod("list")), reflectionsWrapper.getMethodsAnnotatedWith(listRequest));
+    }
+
+    @Request("/indexed")
+    public static class AnnotatedController {
+        @Request("list")
+        public void list() {
+        }
+
+        @Request("show")
+        public void show() {
+        }
+    }
+
+    public static class IndexedController {
+        public void list() {
+        }
+
+        public void show(long id, String[] tags, Map<String, String> options) {
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.geemvc.reflect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class MethodHandleInvokerTest {
+    @Test
+    public void testInvokeInstanceMethod() throws Throwable {
+        MethodInvoker invoker = new MethodHandleInvoker(Target.class.getDeclaredMethod("concat", String.class, int.class));
+
+        assertEquals(2, invoker.parameterCount());
+        assertEquals("a1", invoker.invoke(new Target(), new Object[] { "a", 1 }));
+    }
+
+    @Test
+    public void testInvokeStaticAndVoidMethods() throws Throwable {
+        MethodInvoker staticInvoker = new MethodHandleInvoker(Target.class.getDeclaredMethod("twice", long.class));
+        MethodInvoker voidInvoker = new MethodHandleInvoker(Target.class.getDeclaredMethod("nothing"));
+
+        assertEquals(10L, staticInvoker.invoke(null, new Object[] { 5L }));
+        assertNull(voidInvoker.invoke(new Target(), null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongNumberOfArguments() throws Throwable {
+        new MethodHandleInvoker(Target.class.getDeclaredMethod("concat", String.class, int.class)).invoke(new Target(), new Object[] { "a" });
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testExceptionIsNotWrapped() throws Throwable {
+        new MethodHandleInvoker(Target.class.getDeclaredMethod("fail")).invoke(new Target(), null);
+    }
+
+    static class Target {
+        String concat(String s, int i) {
+            return s + i;
+        }
+
+        static long twice(long l) {
+            return l * 2;
+        }
+
+        void nothing() {
+        }
+
+        void fail() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.reflect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+
+import org.junit.Test;
+import org.reflections.Reflections;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+
+import com.geemvc.annotation.Adapter;
+import com.geemvc.annotation.Request;
+import com.geemvc.test.BaseTest;
+
+public class ReflectionsScanTest extends BaseTest {
+    @Test
+    public void testParallelScanMatchesSequentialBuild() throws Exception {
+        Reflections reflections = configurationBuilder().build();
+
+        DefaultReflectionsProvider provider = new DefaultReflectionsProvider();
+        ConfigurationBuilder cb = configurationBuilder();
+
+        Reflections scannedReflections = provider.scan(cb, 4);
+
+        assertFalse(reflections.getTypesAnnotatedWith(Adapter.class, true).isEmpty());
+        assertEquals(reflections.getTypesAnnotatedWith(Adapter.class, true), scannedReflections.getTypesAnnotatedWith(Adapter.class, true));
+        assertEquals(reflections.getMethodsAnnotatedWith(Request.class), scannedReflections.getMethodsAnnotatedWith(Request.class));
+
+        assertEquals(cb.getUrls(), provider.scanTimes().keySet());
+    }
+
+    @Test
+    public void testPackageFilter() throws Exception {
+        ConfigurationBuilder cb = configurationBuilder().filterInputsBy(new FilterBuilder().includePackage("com.geemvc.bind"));
+
+        Reflections reflections = new DefaultReflectionsProvider().scan(cb, 1);
+
+        assertFalse(reflections.getTypesAnnotatedWith(Adapter.class, true).isEmpty());
+
+        for (Class<?> type : reflections.getTypesAnnotatedWith(Adapter.class, true)) {
+            assertTrue(type.getName().startsWith("com.geemvc.bind"));
+        }
+    }
+
+    protected ConfigurationBuilder configurationBuilder() {
+        URL testClasses = ClasspathHelper.forClass(ReflectionsScanTest.class);
+
+        return new ConfigurationBuilder().addUrls(ClasspathHelper.forClass(Adapter.class), testClasses).addClassLoader(getClass().getClassLoader())
+                .setScanners(new TypeAnnotationsScanner(), new MethodAnnotationsScanner(), new SubTypesScanner());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.reflect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reflections.Reflections;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+
+import com.geemvc.annotation.Adapter;
+import com.geemvc.annotation.Request;
+import com.geemvc.test.BaseTest;
+
+public class ReflectionsSnapshotTest extends BaseTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        ConfigurationBuilder cb = new ConfigurationBuilder().addUrls(ClasspathHelper.forClass(Adapter.class)).addClassLoader(getClass().getClassLoader())
+                .setScanners(new TypeAnnotationsScanner(), new MethodAnnotationsScanner(), new SubTypesScanner());
+
+        Reflections reflections = cb.build();
+
+        ReflectionsSnapshot snapshot = new ReflectionsSnapshot(tempFolder.newFolder("snapshot"));
+
+        String hash = snapshot.hash(cb);
+
+        assertNotNull(hash);
+        assertNull(snapshot.read(hash, cb));
+
+        snapshot.write(hash, reflections);
+
+        Reflections restoredReflections = snapshot.read(hash, cb);
+
+        assertNotNull(restoredReflections);
+        assertFalse(reflections.getTypesAnnotatedWith(Adapter.class, true).isEmpty());
+        assertEquals(reflections.getTypesAnnotatedWith(Adapter.class, true), restoredReflections.getTypesAnnotatedWith(Adapter.class, true));
+        assertEquals(reflections.getMethodsAnnotatedWith(Request.class), restoredReflections.getMethodsAnnotatedWith(Request.class));
+    }
+
+    @Test
+    public void testHashChangesWithClasspath() throws Exception {
+        File classesDir = tempFolder.newFolder("classes");
+        File classFile = new File(classesDir, "Test.class");
+        Files.write(classFile.toPath(), Collections.singletonList("v1"), StandardCharsets.UTF_8);
+
+        ConfigurationBuilder cb = new ConfigurationBuilder().addUrls(classesDir.toURI().toURL()).setScanners(new TypeAnnotationsScanner());
+
+        ReflectionsSnapshot snapshot = new ReflectionsSnapshot(tempFolder.newFolder("snapshot"));
+
+        String hash = snapshot.hash(cb);
+
+        assertEquals(hash, snapshot.hash(cb));
+
+        Files.write(classFile.toPath(), Collections.singletonList("version 2"), StandardCharsets.UTF_8);
+
+        assertFalse(hash.equals(snapshot.hash(cb)));
+    }
+
+    @Test
+    public void testHashChangesWithSettings() throws Exception {
+        File classesDir = tempFolder.newFolder("classes");
+        Files.write(new File(classesDir, "Test.class").toPath(), Collections.singletonList("v1"), StandardCharsets.UTF_8);
+
+        ConfigurationBuilder cb = new ConfigurationBuilder().addUrls(classesDir.toURI().toURL()).setScanners(new TypeAnnotationsScanner());
+
+        ReflectionsSnapshot snapshot = new ReflectionsSnapshot(tempFolder.newFolder("snapshot"));
+
+        String hash = snapshot.hash(cb);
+
+        assertEquals(hash, snapshot.hash(cb, Collections.emptyList()));
+        assertFalse(hash.equals(snapshot.hash(cb, Collections.singletonList("include:com.example"))));
+        assertFalse(snapshot.hash(cb, Collections.singletonList("include:com.example")).equals(snapshot.hash(cb, Collections.singletonList("exclude:com.example"))));
+    }
+
+    @Test
+    public void testCorruptSnapshotIsIgnored() throws Exception {
+        File snapshotDir = tempFolder.newFolder("snapshot");
+        ReflectionsSnapshot snapshot = new ReflectionsSnapshot(snapshotDir);
+
+        Files.write(snapshot.file("abc").toPath(), new byte[] { 0x67, 0x65, 0x6D, 0x76, 0, 0, 0, 1, 0x7F });
+
+        assertTrue(snapshot.file("abc").isFile());
+        assertNull(snapshot.read("abc", new ConfigurationBuilder()));
+    }
+}
@@ -17,8 +17,10 @@
 package com.geemvc.test;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -380,6 +382,161 @@ public class BaseTest {
                 return true;
             }
 
+            @Override
+            public boolean isMetricsEnabled() {
+                return false;
+            }
+
+            @Override
+            public String metricsPath() {
+                return "/_geemvc/metrics";
+            }
+
+            @Override
+            public long slowRequestThreshold() {
+                return 0;
+            }
+
+            @Override
+            public double slowRequestSampleRate() {
+                return 1.0;
+            }
+
+            @Override
+            public int slowRequestRateLimit() {
+                return 10;
+            }
+
+            @Override
+            public int slowRequestQueueSize() {
+                return 1000;
+            }
+
+            @Override
+            public int admissionMaxInFlight() {
+                return 0;
+            }
+
+            @Override
+            public long admissionMaxLatency() {
+                return 0;
+            }
+
+            @Override
+            public int admissionRetryAfter() {
+                return 1;
+            }
+
+            @Override
+            public Map<String, String> admissionCriticality() {
+                return new HashMap<>();
+            }
+
+            @Override
+            public boolean isReflectionsIndexEnabled() {
+                return true;
+            }
+
+            @Override
+            public int reflectionsScanThreads() {
+                return 1;
+            }
+
+            @Override
+            public boolean isReflectionsScanResources() {
+                return false;
+            }
+
+            @Override
+            public List<String> reflectionsIncludePackages() {
+                return new ArrayList<>();
+            }
+
+            @Override
+            public List<String> reflectionsExcludePackages() {
+                return new ArrayList<>();
+            }
+
+            @Override
+            public boolean isReflectionsSnapshotEnabled() {
+                return false;
+            }
+
+            @Override
+            public String reflectionsSnapshotDir() {
+                return null;
+            }
+
+            @Override
+            public boolean isBootstrapEager() {
+                return false;
+            }
+
+            @Override
+            public int bootstrapParallelism() {
+                return 1;
+            }
+
+            @Override
+            public int warmUpIterations() {
+                return 0;
+            }
+
+            @Override
+            public List<String> warmUpRequests() {
+                return new ArrayList<>();
+            }
+
+            @Override
+            public String readinessPath() {
+                return null;
+            }
+
+            @Override
+            public long multipartMaxRequestSize() {
+                return -1;
+            }
+
+            @Override
+            public long multipartMaxFileSize() {
+                return -1;
+            }
+
+            @Override
+            public long multipartMaxFieldSize() {
+                return 1024 * 1024;
+            }
+
+            @Override
+            public long multipartMaxFieldsSize() {
+                return 2 * 1024 * 1024;
+            }
+
+            @Override
+            public int multipartMaxParts() {
+                return 1000;
+            }
+
+            @Override
+            public int multipartFileSizeThreshold() {
+                return 64 * 1024;
+            }
+
+            @Override
+            public String multipartTempDir() {
+                return null;
+            }
+
+            @Override
+            public long deferredTimeout() {
+                return 30000;
+            }
+
+            @Override
+            public long streamTimeout() {
+                return 300000;
+            }
+
             @Override
             public InjectorProvider injectorProvider() {
                 return null;
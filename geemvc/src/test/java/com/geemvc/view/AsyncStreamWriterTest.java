@@ -0,0 +1,280 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.view;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.WriteListener;
+
+import org.junit.Test;
+
+import com.geemvc.RequestContext;
+import com.geemvc.mock.servlet.MockRequest;
+import com.geemvc.mock.servlet.MockResponse;
+import com.geemvc.mock.servlet.MockServletContext;
+import com.geemvc.test.BaseTest;
+
+public class AsyncStreamWriterTest extends BaseTest {
+    @Test
+    public void testWritesOnlyWhileReady() throws Exception {
+        byte[] data = data(3 * StreamBuffers.BUFFER_SIZE + 100);
+
+        RecordingAsyncContext asyncCtx = new RecordingAsyncContext();
+        AsyncStreamWriter streamWriter = instance(AsyncStreamWriter.class).build(asyncCtx, new ByteArrayInputStream(data));
+        streamWriter.start();
+
+        assertSame(streamWriter, asyncCtx.output.writeListener);
+
+        int calls = 0;
+
+        // Every write fills the output buffer, so the container has to call back once the client has caught up.
+        while (asyncCtx.completeCount == 0) {
+            int written = asyncCtx.output.body.size();
+
+            asyncCtx.output.ready = true;
+            streamWriter.onWritePossible();
+            calls++;
+
+            assertTrue(asyncCtx.output.body.size() - written <= StreamBuffers.BUFFER_SIZE);
+        }
+
+        assertEquals(5, calls);
+        assertEquals(1, asyncCtx.completeCount);
+        assertArrayEquals(data, asyncCtx.output.body.toByteArray());
+
+        // Nothing happens once all data has been written.
+        asyncCtx.output.ready = true;
+        streamWriter.onWritePossible();
+
+        assertEquals(data.length, asyncCtx.output.body.size());
+        assertEquals(1, asyncCtx.completeCount);
+    }
+
+    @Test
+    public void testTimeoutFinishesStream() throws Exception {
+        RecordingAsyncContext asyncCtx = new RecordingAsyncContext();
+        ClosingInputStream input = new ClosingInputStream(data(2 * StreamBuffers.BUFFER_SIZE));
+
+        AsyncStreamWriter streamWriter = instance(AsyncStreamWriter.class).build(asyncCtx, input);
+        streamWriter.start();
+
+        asyncCtx.output.ready = true;
+        streamWriter.onWritePossible();
+
+        streamWriter.onTimeout(new AsyncEvent(asyncCtx));
+
+        assertTrue(input.isClosed);
+        assertEquals(1, asyncCtx.completeCount);
+
+        // A late callback of the container must not write any more data.
+        asyncCtx.output.ready = true;
+        streamWriter.onWritePossible();
+
+        assertEquals(StreamBuffers.BUFFER_SIZE, asyncCtx.output.body.size());
+        assertEquals(1, asyncCtx.completeCount);
+    }
+
+    @Test
+    public void testStreamAsyncRegistersListener() throws Exception {
+        RecordingAsyncContext asyncCtx = new RecordingAsyncContext();
+
+        MockRequest request = new MockRequest("/webapp", "/servlet", "/webapp/servlet/stream") {
+            protected Object asyncStream;
+
+            @Override
+            public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+                return asyncCtx;
+            }
+
+            @Override
+            public boolean isAsyncSupported() {
+                return true;
+            }
+
+            @Override
+            public DispatcherType getDispatcherType() {
+                return DispatcherType.REQUEST;
+            }
+
+            @Override
+            public Object getAttribute(String name) {
+                return GeemvcKey.ASYNC_STREAM.equals(name) ? asyncStream : null;
+            }
+
+            @Override
+            public void setAttribute(String name, Object o) {
+                if (GeemvcKey.ASYNC_STREAM.equals(name))
+                    asyncStream = o;
+            }
+        };
+
+        RequestContext requestCtx = instance(RequestContext.class).build(request, new MockResponse(), new MockServletContext());
+
+        DefaultStreamViewHandler streamViewHandler = (DefaultStreamViewHandler) instance(StreamViewHandler.class);
+        streamViewHandler.streamAsync(new ByteArrayInputStream(data(10)), requestCtx);
+
+        assertEquals(300000, asyncCtx.timeout);
+        assertEquals(1, asyncCtx.listeners.size());
+        assertSame(asyncCtx.listeners.get(0), request.getAttribute(GeemvcKey.ASYNC_STREAM));
+        assertNotNull(asyncCtx.output.writeListener);
+    }
+
+    protected byte[] data(int length) {
+        byte[] data = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) i;
+        }
+
+        return data;
+    }
+
+    protected static class ClosingInputStream extends ByteArrayInputStream {
+        protected boolean isClosed;
+
+        public ClosingInputStream(byte[] data) {
+            super(data);
+        }
+
+        @Override
+        public void close() throws IOException {
+            isClosed = true;
+        }
+    }
+
+    /**
+     * Output stream that is no longer ready after each write, like one whose buffer has filled up.
+     */
+    protected static class ToggledOutputStream extends ServletOutputStream {
+        protected final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        protected WriteListener writeListener;
+        protected boolean ready;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            this.writeListener = writeListener;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            body.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            body.write(b, off, len);
+            ready = false;
+        }
+    }
+
+    protected static class RecordingAsyncContext implements AsyncContext {
+        protected final ToggledOutputStream output = new ToggledOutputStream();
+        protected final List<AsyncListener> listeners = new ArrayList<>();
+        protected long timeout;
+        protected int completeCount;
+
+        @Override
+        public ServletRequest getRequest() {
+            return null;
+        }
+
+        @Override
+        public ServletResponse getResponse() {
+            return new MockResponse() {
+                @Override
+                public ServletOutputStream getOutputStream() throws IOException {
+                    return output;
+                }
+            };
+        }
+
+        @Override
+        public boolean hasOriginalRequestAndResponse() {
+            return true;
+        }
+
+        @Override
+        public void dispatch() {
+        }
+
+        @Override
+        public void dispatch(String path) {
+        }
+
+        @Override
+        public void dispatch(ServletContext context, String path) {
+        }
+
+        @Override
+        public void complete() {
+            completeCount++;
+        }
+
+        @Override
+        public void start(Runnable run) {
+            run.run();
+        }
+
+        @Override
+        public void addListener(AsyncListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void addListener(AsyncListener listener, ServletRequest servletRequest, ServletResponse servletResponse) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public <T extends AsyncListener> T createListener(Class<T> clazz) {
+            return null;
+        }
+
+        @Override
+        public void setTimeout(long timeout) {
+            this.timeout = timeout;
+        }
+
+        @Override
+        public long getTimeout() {
+            return timeout;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.geemvc.warmup;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.ServletContext;
+
+import org.junit.Test;
+
+import com.geemvc.helper.Annotations;
+import com.geemvc.helper.Controllers;
+import com.geemvc.mock.servlet.MockServletContext;
+import com.geemvc.reflect.ReflectionProvider;
+import com.geemvc.test.BaseTest;
+
+public class WarmUpTest extends BaseTest {
+    @Test
+    public void testConfiguredRoute() {
+        DefaultWarmUp warmUp = (DefaultWarmUp) instance(WarmUp.class);
+
+        Map.Entry<String, Map<String, String[]>> route = warmUp.toRoute("/products/list?page=1&tag=a&tag=b&flag");
+
+        assertEquals("/products/list", route.getKey());
+        assertArrayEquals(new String[] { "1" }, route.getValue().get("page"));
+        assertArrayEquals(new String[] { "a", "b" }, route.getValue().get("tag"));
+        assertArrayEquals(new String[] { "" }, route.getValue().get("flag"));
+    }
+
+    @Test
+    public void testRoutesOnlyContainPlainPaths() {
+        DefaultWarmUp warmUp = (DefaultWarmUp) instance(WarmUp.class);
+
+        for (Map.Entry<String, Map<String, String[]>> route : warmUp.routes()) {
+            assertFalse(route.getKey().contains("{"));
+            assertTrue(route.getValue().isEmpty());
+        }
+    }
+
+    @Test
+    public void testRunMarksReady() {
+        DefaultWarmUp warmUp = new DefaultWarmUp(instance(ReflectionProvider.class), instance(Controllers.class), instance(Annotations.class)) {
+            @Override
+            protected List<Map.Entry<String, Map<String, String[]>>> routes() {
+                return Collections.singletonList(toRoute("/does/not/exist?id=1"));
+            }
+        };
+
+        injector.injectMembers(warmUp);
+
+        assertFalse(warmUp.isReady());
+
+        WarmUpReport report = warmUp.run(new MockServletContext(), 3);
+
+        assertTrue(warmUp.isReady());
+        assertEquals(1, report.routes());
+        assertEquals(3, report.requests());
+        assertTrue(report.toString().startsWith("geeMVC warm-up completed in "));
+    }
+
+    @Test
+    public void testFailedWarmUpIsNotReady() {
+        DefaultWarmUp warmUp = new DefaultWarmUp(instance(ReflectionProvider.class), instance(Controllers.class), instance(Annotations.class)) {
+            @Override
+            protected List<Map.Entry<String, Map<String, String[]>>> routes() {
+                return Collections.singletonList(toRoute("/products"));
+            }
+
+            @Override
+            protected boolean dispatch(ServletContext servletContext, String path, Map<String, String[]> parameters) {
+                return false;
+            }
+        };
+
+        injector.injectMembers(warmUp);
+
+        WarmUpReport report = warmUp.run(new MockServletContext(), 2);
+
+        assertEquals(2, report.failures());
+        assertFalse(warmUp.isReady());
+        assertTrue(warmUp.isFailed());
+    }
+}